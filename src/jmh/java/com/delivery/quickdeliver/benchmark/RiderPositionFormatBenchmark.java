@@ -0,0 +1,161 @@
+package com.delivery.quickdeliver.benchmark;
+
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+import com.delivery.quickdeliver.util.RiderPositionFormat;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 관제 라이더 위치 전송 포맷 비교. 한 번의 호출 = 전체 라이더가 한 번씩 움직인 주기 하나.
+ *
+ * <ul>
+ *   <li>jsonPerPing: 기존 방식. 위치마다 HashMap 을 만들어 메시지 하나씩 직렬화</li>
+ *   <li>jsonBatched: 주기마다 묶은 JSON 프레임 하나 (RiderLocationBroadcaster 기본)</li>
+ *   <li>binaryDelta: {@link RiderPositionFormat} 프레임 하나</li>
+ * </ul>
+ *
+ * <p>{@code bytes} 보조 카운터가 초당 전송 바이트, 기본 점수가 초당 주기 수(직렬화 CPU)다.
+ * 실행: {@code ./gradlew jmh}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class RiderPositionFormatBenchmark {
+
+    @Param({"100", "1000"})
+    private int riders;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final RiderPositionFormat.Encoder encoder = new RiderPositionFormat.Encoder();
+    private final Random random = new Random(42);
+
+    private String[] riderIds;
+    private String[] names;
+    private double[] latitudes;
+    private double[] longitudes;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Traffic {
+        public long bytes;
+
+        @Setup(Level.Iteration)
+        public void clear() {
+            bytes = 0;
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        riderIds = new String[riders];
+        names = new String[riders];
+        latitudes = new double[riders];
+        longitudes = new double[riders];
+        for (int i = 0; i < riders; i++) {
+            riderIds[i] = String.format("RIDER-%04d", i);
+            names[i] = "라이더" + i;
+            latitudes[i] = 37.45 + random.nextDouble() * 0.2;
+            longitudes[i] = 126.90 + random.nextDouble() * 0.2;
+        }
+
+        // 사전이 채워진 뒤의 정상 상태를 측정하고, 왕복 결과도 한 번 확인한다
+        RiderPositionFormat.Decoder decoder = new RiderPositionFormat.Decoder();
+        List<RiderPositionFormat.Position> first = positions();
+        RiderPositionFormat.Frame frame = decoder.decode(encoder.encode(first, System.currentTimeMillis()));
+        if (frame.positions().size() != riders
+                || Math.abs(frame.positions().get(0).latitude() - first.get(0).latitude()) > 1e-5) {
+            throw new IllegalStateException("위치 포맷 왕복 결과가 다릅니다");
+        }
+    }
+
+    @Benchmark
+    public long jsonPerPing(Traffic traffic) throws Exception {
+        move();
+        long bytes = 0;
+        for (int i = 0; i < riders; i++) {
+            Map<String, Object> location = new HashMap<>();
+            location.put("riderId", riderIds[i]);
+            location.put("name", names[i]);
+            location.put("status", RiderStatus.BUSY.name());
+            location.put("vehicleType", VehicleType.MOTORCYCLE.name());
+            location.put("latitude", latitudes[i]);
+            location.put("longitude", longitudes[i]);
+            location.put("timestamp", System.currentTimeMillis());
+            bytes += objectMapper.writeValueAsBytes(location).length;
+        }
+        traffic.bytes += bytes;
+        return bytes;
+    }
+
+    @Benchmark
+    public long jsonBatched(Traffic traffic) throws Exception {
+        move();
+        List<Map<String, Object>> list = new ArrayList<>(riders);
+        for (int i = 0; i < riders; i++) {
+            Map<String, Object> rider = new LinkedHashMap<>();
+            rider.put("riderId", riderIds[i]);
+            rider.put("name", names[i]);
+            rider.put("status", RiderStatus.BUSY.name());
+            rider.put("vehicleType", VehicleType.MOTORCYCLE.name());
+            rider.put("latitude", latitudes[i]);
+            rider.put("longitude", longitudes[i]);
+            list.add(rider);
+        }
+        Map<String, Object> frame = new LinkedHashMap<>();
+        frame.put("type", "RIDER_LOCATIONS");
+        frame.put("riders", list);
+        frame.put("timestamp", System.currentTimeMillis());
+        long bytes = objectMapper.writeValueAsBytes(frame).length;
+        traffic.bytes += bytes;
+        return bytes;
+    }
+
+    @Benchmark
+    public long binaryDelta(Traffic traffic) {
+        move();
+        long bytes = encoder.encode(positions(), System.currentTimeMillis()).length;
+        traffic.bytes += bytes;
+        return bytes;
+    }
+
+    private List<RiderPositionFormat.Position> positions() {
+        List<RiderPositionFormat.Position> positions = new ArrayList<>(riders);
+        for (int i = 0; i < riders; i++) {
+            positions.add(new RiderPositionFormat.Position(riderIds[i], names[i], RiderStatus.BUSY,
+                    VehicleType.MOTORCYCLE, latitudes[i], longitudes[i], null));
+        }
+        return positions;
+    }
+
+    /** 주기마다 라이더가 수십 미터씩 이동 */
+    private void move() {
+        for (int i = 0; i < riders; i++) {
+            latitudes[i] += (random.nextDouble() - 0.5) * 0.0006;
+            longitudes[i] += (random.nextDouble() - 0.5) * 0.0006;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.delivery.quickdeliver.benchmark;
+
+import com.delivery.quickdeliver.dto.websocket.DeliveryStatusMessage;
+import com.delivery.quickdeliver.dto.websocket.NotificationMessage;
+import com.delivery.quickdeliver.service.WebSocketPayloadSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.messaging.Message;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * WebSocketService 메시지 직렬화 비교 (단일 스레드 = 코어 하나당 초당 메시지 수).
+ *
+ * <ul>
+ *   <li>hashMap*: 기존 방식. 호출마다 HashMap 을 만들고 기본 ObjectMapper 로 직렬화</li>
+ *   <li>record*: 타입 레코드 + Blackbird 모듈</li>
+ *   <li>single*: 목적지 한 곳으로 보내는 메시지 생성. 페이로드가 매번 새 값이라 재사용할 것이 없는 경우</li>
+ *   <li>fanOut*: 같은 알림을 목적지 {@value #DESTINATIONS}곳에 보낼 때. 목적지마다 직렬화 vs 한 번 직렬화 후 재사용</li>
+ * </ul>
+ *
+ * <p>실행: {@code ./gradlew jmh}</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class WebSocketMessageBenchmark {
+
+    private static final int DESTINATIONS = 20;
+
+    private final ObjectMapper plainMapper = new ObjectMapper();
+    private final ObjectMapper blackbirdMapper = new ObjectMapper().registerModule(new BlackbirdModule());
+    private final WebSocketPayloadSerializer serializer =
+            new WebSocketPayloadSerializer(blackbirdMapper);
+
+    private long sequence;
+
+    @Benchmark
+    public byte[] hashMapDeliveryStatus() throws Exception {
+        Map<String, Object> update = new HashMap<>();
+        update.put("deliveryId", "DEL-20240101-0001");
+        update.put("status", "IN_TRANSIT");
+        update.put("riderId", "RIDER-001");
+        update.put("timestamp", ++sequence);
+        return plainMapper.writeValueAsBytes(update);
+    }
+
+    @Benchmark
+    public byte[] recordDeliveryStatus() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(
+                new DeliveryStatusMessage("DEL-20240101-0001", "IN_TRANSIT", "RIDER-001", ++sequence));
+    }
+
+    @Benchmark
+    public byte[] hashMapNotification() throws Exception {
+        Map<String, Object> payload = new HashMap<>();
+        payload.put("type", "STATUS_UPDATE");
+        payload.put("message", "배송 상태 업데이트: ORD-0001 - 배송 중");
+        payload.put("timestamp", ++sequence);
+        return plainMapper.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] recordNotification() throws Exception {
+        return blackbirdMapper.writeValueAsBytes(
+                new NotificationMessage("STATUS_UPDATE", "배송 상태 업데이트: ORD-0001 - 배송 중", ++sequence));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DESTINATIONS)
+    public void fanOutPerDestination(Blackhole blackhole) throws Exception {
+        long timestamp = ++sequence;
+        for (int i = 0; i < DESTINATIONS; i++) {
+            Map<String, Object> payload = new HashMap<>();
+            payload.put("type", "STATUS_UPDATE");
+            payload.put("message", "배송 상태 업데이트: ORD-0001 - 배송 중");
+            payload.put("timestamp", timestamp);
+            blackhole.consume(plainMapper.writeValueAsBytes(payload));
+        }
+    }
+
+    @Benchmark
+    public Message<byte[]> singleDestination() {
+        return serializer.toMessage(new DeliveryStatusMessage("DEL-20240101-0001", "IN_TRANSIT", "RIDER-001",
+                ++sequence), null);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(DESTINATIONS)
+    public void fanOutSerializeOnce(Blackhole blackhole) {
+        byte[] json = serializer.serialize(new NotificationMessage("STATUS_UPDATE", "배송 상태 업데이트: ORD-0001 - 배송 중",
+                ++sequence));
+        for (int i = 0; i < DESTINATIONS; i++) {
+            blackhole.consume(serializer.toMessage(json, null));
+        }
+    }
+}
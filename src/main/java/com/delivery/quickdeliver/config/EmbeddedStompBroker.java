@@ -0,0 +1,109 @@
+package com.delivery.quickdeliver.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 프로세스 안에서 띄우는 ActiveMQ Artemis STOMP 브로커 (외부 브로커 대역).
+ *
+ * <p>{@code websocket.broker.embedded.enabled=true} 일 때만 뜬다. {@code websocket.broker.mode=relay} 와 함께 켜고
+ * relay 포트를 같은 포트로 맞추면 이 인스턴스가 브로커를 겸하고, 다른 인스턴스는 이 포트로 relay 해 붙는다.
+ * STOMP 목적지의 /topic/ 은 multicast, /queue/ 는 anycast 주소로 매핑한다.</p>
+ *
+ * <p>저장하지 않는(non-persistent) 단일 노드 브로커다. 운영에서는 외부 브로커나 클러스터 구성 Artemis 를 relay 대상으로 둔다.
+ * relay 보다 먼저 시작하고 나중에 멈추도록 lifecycle 단계를 앞에 둔다.</p>
+ *
+ * <p>Artemis 는 개발(bootRun)·테스트 클래스패스에만 있다. 운영 jar 에는 없으므로 클래스가 없으면 속성과 관계없이 빈을 만들지 않는다.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnClass(name = "org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ")
+@ConditionalOnProperty(name = "websocket.broker.embedded.enabled", havingValue = "true")
+public class EmbeddedStompBroker implements SmartLifecycle {
+
+    private final String host;
+    private final int port;
+
+    private EmbeddedActiveMQ server;
+
+    /** start() 에서 만든 브로커 인스턴스 디렉터리. stop() 에서 지운다 */
+    private Path dataDirectory;
+
+    public EmbeddedStompBroker(@Value("${websocket.broker.embedded.host:localhost}") String host,
+                               @Value("${websocket.broker.embedded.port:61613}") int port) {
+        this.host = host;
+        this.port = port;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (server != null) return;
+        try {
+            dataDirectory = Files.createTempDirectory("quick-deliver-broker");
+            Configuration configuration = new ConfigurationImpl()
+                    .setPersistenceEnabled(false)
+                    .setSecurityEnabled(false)
+                    .setJMXManagementEnabled(false)
+                    .addAcceptorConfiguration("stomp", "tcp://" + host + ":" + port
+                            + "?protocols=STOMP;anycastPrefix=/queue/;multicastPrefix=/topic/");
+            configuration.setBrokerInstance(dataDirectory.toFile());
+
+            EmbeddedActiveMQ embedded = new EmbeddedActiveMQ();
+            embedded.setConfiguration(configuration);
+            embedded.start();
+            server = embedded;
+            log.info("[Broker] 내장 STOMP 브로커 시작: {}:{}", host, port);
+        } catch (Exception e) {
+            deleteDataDirectory();
+            throw new IllegalStateException("내장 STOMP 브로커 시작 실패: " + host + ":" + port, e);
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (server == null) return;
+        try {
+            server.stop();
+            log.info("[Broker] 내장 STOMP 브로커 종료");
+        } catch (Exception e) {
+            log.warn("[Broker] 내장 STOMP 브로커 종료 실패", e);
+        } finally {
+            server = null;
+            deleteDataDirectory();
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    private void deleteDataDirectory() {
+        if (dataDirectory == null) return;
+        try {
+            FileSystemUtils.deleteRecursively(dataDirectory);
+        } catch (IOException e) {
+            log.warn("[Broker] 브로커 디렉터리 삭제 실패: {}", dataDirectory, e);
+        } finally {
+            dataDirectory = null;
+        }
+    }
+
+    /** STOMP relay(기본 단계)보다 먼저 시작하고 나중에 멈춘다 */
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+}
@@ -0,0 +1,19 @@
+package com.delivery.quickdeliver.config;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * 게터·생성자 호출을 리플렉션 대신 LambdaMetafactory 로 만든 호출로 바꾼다.
+     * Boot 가 ObjectMapper 에 등록하므로 REST 응답과 STOMP 메시지 직렬화 모두에 적용된다.
+     */
+    @Bean
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+}
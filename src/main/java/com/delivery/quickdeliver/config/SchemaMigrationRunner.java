@@ -0,0 +1,140 @@
+package com.delivery.quickdeliver.config;
+
+import com.delivery.quickdeliver.domain.entity.SchemaMigration;
+import com.delivery.quickdeliver.repository.SchemaMigrationRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * 버전 SQL 스크립트로 인덱스 등 스키마 변경을 관리한다 (Flyway 방식).
+ *
+ * <p>{@code db/migration/common} 과 DB 종류별 {@code db/migration/h2}, {@code db/migration/postgresql} 아래의
+ * {@code V<버전>__<설명>.sql} 을 버전 순으로 한 번씩 실행하고 schema_migrations 에 기록한다.
+ * 테이블은 JPA(ddl-auto)가 만들므로 리포지토리(EntityManagerFactory) 초기화 뒤에 실행된다.
+ * 이미 적용한 스크립트의 내용이 바뀌었으면 기동을 중단한다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaMigrationRunner {
+
+    private static final String LOCATION = "classpath*:db/migration/";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(\\w+)\\.sql");
+
+    private final DataSource dataSource;
+    private final SchemaMigrationRepository schemaMigrationRepository;
+
+    @Value("${schema.migration.enabled:true}")
+    private boolean enabled;
+
+    @PostConstruct
+    public void migrate() throws IOException {
+        if (!enabled) {
+            log.info("[Migration] 스키마 마이그레이션 비활성화");
+            return;
+        }
+
+        String vendor = vendor();
+        // 버전 순. 공통/DB별 디렉터리를 합쳐 버전이 겹치면 안 된다
+        Map<Integer, Migration> migrations = new TreeMap<>();
+        scan("common", migrations);
+        if (vendor != null) {
+            scan(vendor, migrations);
+        } else {
+            log.warn("[Migration] 지원하지 않는 DB, 공통 스크립트만 적용합니다");
+        }
+
+        Map<Integer, SchemaMigration> applied = schemaMigrationRepository.findAll().stream()
+                .collect(Collectors.toMap(SchemaMigration::getVersion, Function.identity()));
+
+        int count = 0;
+        for (Migration migration : migrations.values()) {
+            SchemaMigration history = applied.get(migration.version());
+            if (history != null) {
+                if (history.getChecksum() != migration.checksum()) {
+                    throw new IllegalStateException("이미 적용된 마이그레이션이 변경되었습니다: " + migration.script());
+                }
+                continue;
+            }
+
+            long started = System.currentTimeMillis();
+            try {
+                new ResourceDatabasePopulator(migration.resource()).execute(dataSource);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("마이그레이션 실패: " + migration.script(), e);
+            }
+            long elapsed = System.currentTimeMillis() - started;
+
+            schemaMigrationRepository.save(SchemaMigration.builder()
+                    .version(migration.version())
+                    .description(migration.description())
+                    .script(migration.script())
+                    .checksum(migration.checksum())
+                    .installedAt(LocalDateTime.now())
+                    .executionMs(elapsed)
+                    .build());
+            log.info("[Migration] V{} {} 적용 ({}ms)", migration.version(), migration.description(), elapsed);
+            count++;
+        }
+        log.info("[Migration] DB={}, 스크립트 {}개 중 {}개 적용", vendor, migrations.size(), count);
+    }
+
+    /** h2, postgresql 등 스크립트 디렉터리 이름. 알 수 없는 DB 면 null */
+    private String vendor() {
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseDriver driver = DatabaseDriver.fromProductName(connection.getMetaData().getDatabaseProductName());
+            return driver == DatabaseDriver.UNKNOWN ? null : driver.getId();
+        } catch (SQLException e) {
+            throw new IllegalStateException("DB 종류 확인 실패", e);
+        }
+    }
+
+    private void scan(String directory, Map<Integer, Migration> migrations) throws IOException {
+        Resource[] resources = new PathMatchingResourcePatternResolver().getResources(LOCATION + directory + "/*.sql");
+        for (Resource resource : resources) {
+            String script = directory + "/" + resource.getFilename();
+            Matcher matcher = SCRIPT_NAME.matcher(resource.getFilename());
+            if (!matcher.matches()) {
+                throw new IllegalStateException("마이그레이션 파일 이름 형식 오류: " + script);
+            }
+            Migration migration = new Migration(Integer.parseInt(matcher.group(1)),
+                    matcher.group(2).replace('_', ' '), script, resource, checksum(resource));
+            Migration duplicate = migrations.put(migration.version(), migration);
+            if (duplicate != null) {
+                throw new IllegalStateException("마이그레이션 버전 중복: " + duplicate.script() + ", " + script);
+            }
+        }
+    }
+
+    private static long checksum(Resource resource) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream in = resource.getInputStream()) {
+            crc.update(in.readAllBytes());
+        }
+        return crc.getValue();
+    }
+
+    private record Migration(int version, String description, String script, Resource resource, long checksum) {
+    }
+}
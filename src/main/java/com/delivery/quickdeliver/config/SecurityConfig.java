@@ -51,6 +51,8 @@ public class SecurityConfig {
                         // Public endpoints
                         .requestMatchers("/", "/api/auth/**", "/api/config/**").permitAll()
                         .requestMatchers("/h2-console/**").permitAll()
+                        // 메트릭(커넥션 풀, 캐시, 위치 버퍼 등)은 관리자만
+                        .requestMatchers("/actuator/metrics/**").hasRole("ADMIN")
                         .requestMatchers("/actuator/**").permitAll()
                         
                         // Static resources (HTML, CSS, JS, images)
@@ -69,12 +71,17 @@ public class SecurityConfig {
                         // BackOffice
                         .requestMatchers("/api/backoffice/**").hasAnyRole("ADMIN", "BACKOFFICE")
                         
+                        // 집계 재생성은 재집계 잠금을 오래 잡으므로 운영자만
+                        .requestMatchers(HttpMethod.POST, "/api/analytics/rollups/backfill").hasAnyRole("ADMIN", "BACKOFFICE")
+
                         // Rider endpoints
                         .requestMatchers(HttpMethod.POST, "/api/riders/register").permitAll()
                         .requestMatchers("/api/riders/**").hasAnyRole("ADMIN", "BACKOFFICE", "RIDER")
                         
                         // Delivery endpoints
                         .requestMatchers(HttpMethod.GET, "/api/deliveries/*/track").permitAll()
+                        // 상담용 검색은 고객 연락처·주소를 돌려주므로 운영자만
+                        .requestMatchers(HttpMethod.GET, "/api/deliveries/search").hasAnyRole("ADMIN", "BACKOFFICE")
                         .requestMatchers("/api/deliveries/**").authenticated()
                         
                         // All other requests
@@ -2,32 +2,136 @@ package com.delivery.quickdeliver.config;
 
 import com.delivery.quickdeliver.security.WebSocketAuthInterceptor;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.messaging.simp.config.StompBrokerRelayRegistration;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.messaging.support.NativeMessageHeaderAccessor;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
 
+import java.util.Map;
+
+/**
+ * STOMP 메시지 브로커 설정.
+ *
+ * <p>{@code websocket.broker.mode}</p>
+ * <ul>
+ *   <li>simple (기본): 인메모리 브로커. 구독과 전파가 이 JVM 안에서만 일어나 인스턴스 하나일 때만 쓴다.</li>
+ *   <li>relay: 외부 STOMP 브로커(RabbitMQ, ActiveMQ Artemis 등)로 /topic, /queue 를 중계한다.
+ *       여러 인스턴스가 같은 브로커를 보면 다른 노드에 연결된 구독자도 메시지를 받는다.
+ *       /user 목적지는 사용자 레지스트리와 미해결 목적지를 브로커로 공유해 다른 노드 세션까지 찾는다.</li>
+ * </ul>
+ * <p>브로커를 따로 띄우지 않은 개발·테스트 환경은 {@link EmbeddedStompBroker}로 프로세스 안에 브로커를 띄워 relay 대상으로 쓴다.</p>
+ *
+ * <p>relay 모드로 여러 노드를 띄울 때 브로커로 공유되는 것은 STOMP 메시지뿐이다. 나머지 구성 요소는 다음과 같이 동작한다.</p>
+ * <ul>
+ *   <li>한 노드씩 또는 한 노드만 실행: {@code BatchDispatchService}(scheduler_locks 잠금 행),
+ *       {@code DeliveryRollupService} 재집계(delivery_rollup_locks 잠금 행),
+ *       {@code MonitoringSnapshotPublisher} delta 발행(scheduler_locks 임대, 모든 노드가 발행 주기마다 DB 재적재).</li>
+ *   <li>노드마다 따로 두고 주기적 DB 재적재로만 맞춰지는 상태: {@code RiderLocationIndex}, {@code ActiveDeliveryRegistry},
+ *       {@code GeofenceEngine} 진입·체류 판정, {@code DashboardMetricsAggregator} 카운터,
+ *       {@code DeliverySearchService} 색인(다른 노드가 만든 배송은 재색인 전까지 DB 검색으로만 찾는다).</li>
+ *   <li>노드 로컬로 충분한 것: {@code MonitoringViewportRegistry}(그 노드의 세션), {@code RiderLocationBroadcaster}
+ *       영역별 프레임(그 노드가 받은 위치만), {@code RiderLocationBuffer}, 길찾기 캐시·서킷 브레이커.</li>
+ *   <li>모든 노드에서 따로 도는 작업: {@code ColumnarExportService} 일일 내보내기(노드 로컬 디렉터리에 같은 파일),
+ *       {@code LocationSimulatorService}(dev 프로필 시뮬레이터라 dev 프로필은 한 노드에만 준다).</li>
+ * </ul>
+ */
+@Slf4j
 @Configuration
 @EnableWebSocketMessageBroker
 @RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    /** Artemis STOMP 라우팅 타입 헤더 */
+    private static final String DESTINATION_TYPE_HEADER = "destination-type";
+
     private final WebSocketAuthInterceptor webSocketAuthInterceptor;
 
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    @Value("${websocket.broker.relay.host:localhost}")
+    private String relayHost;
+
+    @Value("${websocket.broker.relay.port:61613}")
+    private int relayPort;
+
+    @Value("${websocket.broker.relay.login:guest}")
+    private String relayLogin;
+
+    @Value("${websocket.broker.relay.passcode:guest}")
+    private String relayPasscode;
+
+    @Value("${websocket.broker.relay.virtual-host:}")
+    private String relayVirtualHost;
+
     @Override
     public void configureMessageBroker(MessageBrokerRegistry config) {
         // 메시지 브로커 설정
         // /topic: 1:N 브로드캐스트
         // /queue: 1:1 메시징
-        config.enableSimpleBroker("/topic", "/queue");
+        if ("relay".equalsIgnoreCase(brokerMode)) {
+            StompBrokerRelayRegistration relay = config.enableStompBrokerRelay("/topic", "/queue")
+                    .setRelayHost(relayHost)
+                    .setRelayPort(relayPort)
+                    .setClientLogin(relayLogin)
+                    .setClientPasscode(relayPasscode)
+                    .setSystemLogin(relayLogin)
+                    .setSystemPasscode(relayPasscode)
+                    // 이 노드에서 못 찾은 /user 목적지는 다른 노드가 풀도록 브로커로 돌린다
+                    .setUserDestinationBroadcast("/topic/unresolved-user-destination")
+                    // 노드별 접속 사용자 목록을 주기적으로 공유한다
+                    .setUserRegistryBroadcast("/topic/simp-user-registry");
+            if (!relayVirtualHost.isBlank()) {
+                relay.setVirtualHost(relayVirtualHost);
+            }
+            config.configureBrokerChannel().interceptors(destinationTypeHeaderRemover());
+            log.info("[WebSocket] STOMP 브로커 relay 사용: {}:{}", relayHost, relayPort);
+        } else {
+            config.enableSimpleBroker("/topic", "/queue");
+        }
 
         // 클라이언트에서 메시지 전송 시 사용할 prefix
         config.setApplicationDestinationPrefixes("/app");
 
         // 특정 사용자에게 메시지 전송 시 사용할 prefix
         config.setUserDestinationPrefix("/user");
+
+        // 세션별 전송 순서 보장 (바이너리 위치 프레임은 직전 프레임 대비 delta)
+        config.setPreservePublishOrder(true);
+    }
+
+    /**
+     * 브로커로 나가는 메시지의 {@value #DESTINATION_TYPE_HEADER} 헤더를 뗀다.
+     *
+     * <p>Artemis 는 MESSAGE 프레임에 이 헤더(MULTICAST/ANYCAST)를 붙이고, 보내는 프레임에 있으면 그 라우팅 타입을 따른다.
+     * 다른 노드가 /topic/unresolved-user-destination 으로 넘긴 /user 메시지는 이 헤더(MULTICAST)를 단 채
+     * /queue/...-user{세션} 로 다시 나가므로, 떼지 않으면 anycast 큐에 닿지 못하고 버려진다.</p>
+     */
+    private static ChannelInterceptor destinationTypeHeaderRemover() {
+        return new ChannelInterceptor() {
+            @Override
+            public Message<?> preSend(Message<?> message, MessageChannel channel) {
+                Map<?, ?> nativeHeaders = message.getHeaders().get(NativeMessageHeaderAccessor.NATIVE_HEADERS, Map.class);
+                if (nativeHeaders == null || !nativeHeaders.containsKey(DESTINATION_TYPE_HEADER)) {
+                    return message;
+                }
+                NativeMessageHeaderAccessor accessor = (NativeMessageHeaderAccessor)
+                        MessageHeaderAccessor.getMutableAccessor(message);
+                accessor.removeNativeHeader(DESTINATION_TYPE_HEADER);
+                return MessageBuilder.createMessage(message.getPayload(), accessor.getMessageHeaders());
+            }
+        };
     }
 
     @Override
@@ -2,6 +2,7 @@ package com.delivery.quickdeliver.controller;
 
 import com.delivery.quickdeliver.dto.response.ApiResponse;
 import com.delivery.quickdeliver.service.AnalyticsService;
+import com.delivery.quickdeliver.service.DeliveryRollupService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,6 +12,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Map;
 
@@ -22,6 +24,7 @@ import java.util.Map;
 public class AnalyticsController {
 
     private final AnalyticsService analyticsService;
+    private final DeliveryRollupService deliveryRollupService;
 
     @GetMapping("/dashboard")
     @Operation(summary = "대시보드 분석", 
@@ -243,4 +246,24 @@ public class AnalyticsController {
         
         return ResponseEntity.ok(ApiResponse.success(metrics));
     }
+
+    @PostMapping("/rollups/backfill")
+    @Operation(summary = "배송 집계 재생성", 
+               description = "지정된 기간(양끝 포함)의 시간/일 단위 배송 집계를 원본 배송 데이터로 다시 만듭니다.")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> backfillRollups(
+            @Parameter(description = "시작 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "종료 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        
+        log.info("Backfilling delivery rollups from {} to {}", startDate, endDate);
+        
+        int days = deliveryRollupService.backfill(startDate, endDate);
+        
+        return ResponseEntity.ok(ApiResponse.success("배송 집계를 다시 만들었습니다.", Map.of(
+                "startDate", startDate,
+                "endDate", endDate,
+                "days", days
+        )));
+    }
 }
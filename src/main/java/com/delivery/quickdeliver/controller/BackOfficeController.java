@@ -1,23 +1,44 @@
 package com.delivery.quickdeliver.controller;
 
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import com.delivery.quickdeliver.domain.enums.Priority;
 import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.dto.export.ColumnarPartitionInfo;
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import com.delivery.quickdeliver.dto.request.GeofenceAreaRequest;
 import com.delivery.quickdeliver.dto.response.ApiResponse;
+import com.delivery.quickdeliver.dto.response.CursorPage;
 import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.dto.response.GeofenceAreaResponse;
+import com.delivery.quickdeliver.dto.response.PageResponse;
+import com.delivery.quickdeliver.dto.response.RiderRankingResponse;
 import com.delivery.quickdeliver.dto.response.RiderResponse;
+import com.delivery.quickdeliver.exception.InvalidRequestException;
+import com.delivery.quickdeliver.exception.ResourceNotFoundException;
 import com.delivery.quickdeliver.service.BackOfficeService;
+import com.delivery.quickdeliver.service.BatchDispatchService;
+import com.delivery.quickdeliver.service.ColumnarExportService;
+import com.delivery.quickdeliver.service.GeofencingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -27,6 +48,9 @@ import java.util.Map;
 public class BackOfficeController {
 
     private final BackOfficeService backOfficeService;
+    private final BatchDispatchService batchDispatchService;
+    private final ColumnarExportService columnarExportService;
+    private final GeofencingService geofencingService;
 
     @GetMapping("/dashboard")
     @Operation(summary = "전체 대시보드", 
@@ -99,18 +123,33 @@ public class BackOfficeController {
     // ==================== 배송 관리 ====================
 
     @GetMapping("/deliveries")
-    @Operation(summary = "전체 배송 목록", 
-               description = "모든 배송 목록을 조회합니다. 상태, 날짜로 필터링 가능합니다.")
-    public ResponseEntity<ApiResponse<List<DeliveryResponse>>> getAllDeliveries(
-            @Parameter(description = "상태 필터") @RequestParam(required = false) DeliveryStatus status,
+    @Operation(summary = "배송 검색", 
+               description = "배송 목록을 최근 요청 순으로 조회합니다. 상태, 우선순위, 라이더, 구역, 요청 기간으로 필터링 가능하며 " +
+                       "nextCursor 로 다음 페이지를 조회합니다. 첫 페이지에는 전체 건수(상한 초과 시 totalCountExact=false)가 포함됩니다.")
+    public ResponseEntity<ApiResponse<CursorPage<DeliveryResponse>>> searchDeliveries(
+            @Parameter(description = "상태 필터 (콤마로 여러 개)") @RequestParam(required = false) List<DeliveryStatus> status,
+            @Parameter(description = "우선순위 필터 (콤마로 여러 개)") @RequestParam(required = false) List<Priority> priority,
+            @Parameter(description = "라이더 ID") @RequestParam(required = false) String riderId,
+            @Parameter(description = "배송지 구역 (예: 강남구)") @RequestParam(required = false) String zone,
             @Parameter(description = "시작 날짜") @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "종료 날짜") @RequestParam(required = false) 
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        log.info("Getting all deliveries, status: {}, startDate: {}, endDate: {}", 
-                status, startDate, endDate);
-        
-        List<DeliveryResponse> deliveries = backOfficeService.getAllDeliveries(status, startDate, endDate);
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "이전 페이지의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 200)") @RequestParam(defaultValue = "50") int size) {
+        log.info("Searching deliveries, status: {}, priority: {}, riderId: {}, zone: {}, startDate: {}, endDate: {}", 
+                status, priority, riderId, zone, startDate, endDate);
+        
+        DeliverySearchCondition condition = DeliverySearchCondition.builder()
+                .statuses(status)
+                .priorities(priority)
+                .riderId(riderId)
+                .zone(zone)
+                .requestedFrom(startDate)
+                .requestedTo(endDate)
+                .build();
+        
+        CursorPage<DeliveryResponse> deliveries = backOfficeService.searchDeliveries(condition, cursor, size);
         
         return ResponseEntity.ok(ApiResponse.success(deliveries));
     }
@@ -153,13 +192,26 @@ public class BackOfficeController {
         return ResponseEntity.ok(ApiResponse.success("배송이 재배정되었습니다.", delivery));
     }
 
+    @PostMapping("/deliveries/dispatch")
+    @Operation(summary = "대기 배송 일괄 배정",
+               description = "대기 중인 배송 전체를 가용 라이더에게 최소 비용으로 일괄 배정합니다. (주기 실행과 동일)")
+    public ResponseEntity<ApiResponse<Map<String, Integer>>> dispatchPendingDeliveries() {
+        log.info("Running batch dispatch");
+
+        int assigned = batchDispatchService.dispatchPending();
+
+        return ResponseEntity.ok(ApiResponse.success(Map.of("assigned", assigned)));
+    }
+
     @GetMapping("/deliveries/delayed")
     @Operation(summary = "지연 배송 목록", 
-               description = "예상 배송 시간을 초과한 지연 배송 목록을 조회합니다.")
-    public ResponseEntity<ApiResponse<List<DeliveryResponse>>> getDelayedDeliveries() {
+               description = "예상 배송 시간을 초과한 지연 배송 목록을 예상 시간이 이른 순으로 조회합니다.")
+    public ResponseEntity<ApiResponse<CursorPage<DeliveryResponse>>> getDelayedDeliveries(
+            @Parameter(description = "이전 페이지의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 200)") @RequestParam(defaultValue = "50") int size) {
         log.info("Getting delayed deliveries");
         
-        List<DeliveryResponse> deliveries = backOfficeService.getDelayedDeliveries();
+        CursorPage<DeliveryResponse> deliveries = backOfficeService.getDelayedDeliveries(cursor, size);
         
         return ResponseEntity.ok(ApiResponse.success(deliveries));
     }
@@ -203,20 +255,58 @@ public class BackOfficeController {
         return ResponseEntity.ok(ApiResponse.success(alerts));
     }
 
+    // ==================== 지오펜스 ====================
+
+    @GetMapping("/geofences")
+    @Operation(summary = "지오펜스 영역 목록", description = "등록된 가맹점·배송 지오펜스 영역을 조회합니다.")
+    public ResponseEntity<ApiResponse<List<GeofenceAreaResponse>>> getGeofenceAreas() {
+        return ResponseEntity.ok(ApiResponse.success(geofencingService.getAreas()));
+    }
+
+    @PutMapping("/geofences/{ownerType}/{ownerId}")
+    @Operation(summary = "지오펜스 영역 등록",
+               description = "가맹점(MERCHANT) 펜스 또는 배송 픽업지(PICKUP)·배달지(DROP)의 원/다각형 영역을 등록하거나 교체합니다. " +
+                       "배송 영역이 없으면 픽업지·배달지 좌표를 기준으로 판정합니다.")
+    public ResponseEntity<ApiResponse<GeofenceAreaResponse>> saveGeofenceArea(
+            @Parameter(description = "MERCHANT, PICKUP, DROP") @PathVariable GeofenceOwnerType ownerType,
+            @Parameter(description = "가맹점 ID 또는 배송 ID") @PathVariable String ownerId,
+            @Valid @RequestBody GeofenceAreaRequest request) {
+        log.info("Saving geofence area {}:{}", ownerType, ownerId);
+
+        GeofenceAreaResponse area = geofencingService.saveArea(ownerType, ownerId, request);
+
+        return ResponseEntity.ok(ApiResponse.success("지오펜스 영역이 등록되었습니다.", area));
+    }
+
+    @DeleteMapping("/geofences/{ownerType}/{ownerId}")
+    @Operation(summary = "지오펜스 영역 삭제", description = "등록된 영역을 삭제합니다. 배송 영역은 좌표 기준 판정으로 돌아갑니다.")
+    public ResponseEntity<ApiResponse<Void>> deleteGeofenceArea(
+            @PathVariable GeofenceOwnerType ownerType,
+            @PathVariable String ownerId) {
+        log.info("Deleting geofence area {}:{}", ownerType, ownerId);
+
+        geofencingService.deleteArea(ownerType, ownerId);
+
+        return ResponseEntity.ok(ApiResponse.success("지오펜스 영역이 삭제되었습니다."));
+    }
+
     // ==================== 성과 관리 ====================
 
     @GetMapping("/performance/riders")
     @Operation(summary = "라이더 성과 순위", 
-               description = "기간별 라이더 성과를 순위별로 조회합니다.")
-    public ResponseEntity<ApiResponse<List<Map<String, Object>>>> getRidersPerformanceRanking(
+               description = "기간별 라이더 성과를 효율성 점수 순으로 페이지 단위 조회합니다.")
+    public ResponseEntity<ApiResponse<PageResponse<RiderRankingResponse>>> getRidersPerformanceRanking(
             @Parameter(description = "시작 날짜") @RequestParam(required = false) 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "종료 날짜") @RequestParam(required = false) 
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        log.info("Getting riders performance ranking from {} to {}", startDate, endDate);
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "페이지 번호 (0부터)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "페이지 크기 (최대 200)") @RequestParam(defaultValue = "50") int size) {
+        log.info("Getting riders performance ranking from {} to {} (page={}, size={})",
+                startDate, endDate, page, size);
         
-        List<Map<String, Object>> ranking = backOfficeService.getRidersPerformanceRanking(
-                startDate, endDate);
+        PageResponse<RiderRankingResponse> ranking = backOfficeService.getRidersPerformanceRanking(
+                startDate, endDate, page, size);
         
         return ResponseEntity.ok(ApiResponse.success(ranking));
     }
@@ -261,16 +351,83 @@ public class BackOfficeController {
 
     @GetMapping("/export/deliveries")
     @Operation(summary = "배송 데이터 내보내기", 
-               description = "지정된 기간의 배송 데이터를 CSV 형식으로 내보냅니다.")
-    public ResponseEntity<ApiResponse<String>> exportDeliveries(
+               description = "지정된 기간의 배송 데이터를 CSV 파일로 내려받습니다. gzip=true 면 .csv.gz 로 압축합니다.")
+    public void exportDeliveries(
             @Parameter(description = "시작 날짜") @RequestParam 
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
             @Parameter(description = "종료 날짜") @RequestParam 
-            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
-        log.info("Exporting deliveries from {} to {}", startDate, endDate);
-        
-        String csvData = backOfficeService.exportDeliveriesCSV(startDate, endDate);
-        
-        return ResponseEntity.ok(ApiResponse.success("데이터 내보내기 완료", csvData));
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "gzip 압축 여부") @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        log.info("Exporting deliveries from {} to {} (gzip={})", startDate, endDate, gzip);
+
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidRequestException("시작 날짜가 종료 날짜보다 늦습니다.");
+        }
+
+        String filename = "deliveries_" + startDate.toLocalDate() + "_" + endDate.toLocalDate()
+                + (gzip ? ".csv.gz" : ".csv");
+        response.setContentType(gzip ? "application/gzip" : "text/csv; charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        long rows;
+        if (gzip) {
+            GZIPOutputStream out = new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+            rows = backOfficeService.exportDeliveriesCsv(startDate, endDate, out);
+            out.finish();
+        } else {
+            rows = backOfficeService.exportDeliveriesCsv(startDate, endDate, response.getOutputStream());
+        }
+        response.flushBuffer();
+
+        log.info("Exported {} deliveries", rows);
+    }
+
+    @PostMapping("/export/columnar")
+    @Operation(summary = "열 지향 내보내기 생성",
+               description = "분석용 열 지향(.qdc) 파일을 일자별로 백그라운드에서 생성합니다. 어제까지의 일자만 가능합니다.")
+    public ResponseEntity<ApiResponse<List<LocalDate>>> requestColumnarExport(
+            @Parameter(description = "시작 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "종료 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @Parameter(description = "이미 있는 파일도 다시 생성") @RequestParam(defaultValue = "false") boolean overwrite) {
+        log.info("Requesting columnar export from {} to {} (overwrite={})", startDate, endDate, overwrite);
+
+        List<LocalDate> scheduled = columnarExportService.requestExport(startDate, endDate, overwrite);
+
+        return ResponseEntity.accepted()
+                .body(ApiResponse.success(scheduled.size() + "일치 내보내기를 시작했습니다.", scheduled));
+    }
+
+    @GetMapping("/export/columnar")
+    @Operation(summary = "열 지향 내보내기 목록", description = "기간 내 생성된 열 지향 파일 목록을 조회합니다.")
+    public ResponseEntity<ApiResponse<List<ColumnarPartitionInfo>>> getColumnarExports(
+            @Parameter(description = "시작 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "종료 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        return ResponseEntity.ok(ApiResponse.success(columnarExportService.listPartitions(startDate, endDate)));
+    }
+
+    @GetMapping("/export/columnar/download")
+    @Operation(summary = "열 지향 내보내기 다운로드", description = "기간 내 열 지향 파일을 zip 하나로 내려받습니다.")
+    public void downloadColumnarExports(
+            @Parameter(description = "시작 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @Parameter(description = "종료 일자") @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            HttpServletResponse response) throws IOException {
+        List<ColumnarPartitionInfo> partitions = columnarExportService.listPartitions(startDate, endDate);
+        if (partitions.isEmpty()) {
+            throw new ResourceNotFoundException("해당 기간에 생성된 내보내기 파일이 없습니다.");
+        }
+
+        response.setContentType("application/zip");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("deliveries_columnar_" + startDate + "_" + endDate + ".zip").build().toString());
+        columnarExportService.writeArchive(partitions, response.getOutputStream());
+        response.flushBuffer();
     }
 }
@@ -5,6 +5,7 @@ import com.delivery.quickdeliver.dto.request.DeliveryStatusUpdateRequest;
 import com.delivery.quickdeliver.dto.response.ApiResponse;
 import com.delivery.quickdeliver.dto.response.DeliveryResponse;
 import com.delivery.quickdeliver.dto.response.DeliveryTrackingResponse;
+import com.delivery.quickdeliver.service.DeliverySearchService;
 import com.delivery.quickdeliver.service.DeliveryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -26,6 +27,7 @@ import java.util.List;
 public class DeliveryController {
 
     private final DeliveryService deliveryService;
+    private final DeliverySearchService deliverySearchService;
 
     @PostMapping
     @Operation(summary = "배송 생성", 
@@ -127,12 +129,15 @@ public class DeliveryController {
 
     @GetMapping("/search")
     @Operation(summary = "배송 검색", 
-               description = "주문번호 또는 배송ID로 배송을 검색합니다.")
-    public ResponseEntity<ApiResponse<DeliveryResponse>> searchDelivery(
-            @Parameter(description = "주문번호 또는 배송ID") @RequestParam String query) {
-        log.info("Searching delivery with query: {}", query);
+               description = "주문번호, 배송ID, 연락처, 주소 일부로 배송을 검색합니다 (최근 요청 순). " +
+                       "최근 7일은 부분 일치, 그 이전은 배송ID·주문번호 앞부분 또는 연락처 전체 일치로 찾습니다.")
+    public ResponseEntity<ApiResponse<List<DeliveryResponse>>> searchDelivery(
+            @Parameter(description = "검색어 (2자 이상)") @RequestParam String query,
+            @Parameter(description = "최대 결과 수 (최대 50)") @RequestParam(defaultValue = "20") int limit) {
+        log.debug("Searching delivery with query: {}", query);
         
-        // TODO: DeliveryService에 search 메소드 추가 필요
-        throw new UnsupportedOperationException("Not implemented yet");
+        List<DeliveryResponse> deliveries = deliverySearchService.search(query, limit);
+        
+        return ResponseEntity.ok(ApiResponse.success(deliveries));
     }
 }
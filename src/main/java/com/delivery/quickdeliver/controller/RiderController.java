@@ -4,6 +4,7 @@ import com.delivery.quickdeliver.domain.enums.RiderStatus;
 import com.delivery.quickdeliver.dto.request.LocationUpdateRequest;
 import com.delivery.quickdeliver.dto.request.RiderRegisterRequest;
 import com.delivery.quickdeliver.dto.response.ApiResponse;
+import com.delivery.quickdeliver.dto.response.CursorPage;
 import com.delivery.quickdeliver.dto.response.DeliveryResponse;
 import com.delivery.quickdeliver.dto.response.RiderDashboardResponse;
 import com.delivery.quickdeliver.dto.response.RiderResponse;
@@ -115,12 +116,14 @@ public class RiderController {
 
     @GetMapping("/{riderId}/deliveries")
     @Operation(summary = "내 배송 목록 조회", 
-               description = "라이더에게 할당된 배송 목록을 조회합니다.")
-    public ResponseEntity<ApiResponse<List<DeliveryResponse>>> getMyDeliveries(
-            @Parameter(description = "라이더 ID") @PathVariable String riderId) {
+               description = "라이더에게 할당된 배송 목록을 최근 요청 순으로 조회합니다. nextCursor 로 다음 페이지를 조회합니다.")
+    public ResponseEntity<ApiResponse<CursorPage<DeliveryResponse>>> getMyDeliveries(
+            @Parameter(description = "라이더 ID") @PathVariable String riderId,
+            @Parameter(description = "이전 페이지의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 200)") @RequestParam(defaultValue = "50") int size) {
         log.info("Getting deliveries for rider: {}", riderId);
         
-        List<DeliveryResponse> deliveries = deliveryService.getRiderDeliveries(riderId);
+        CursorPage<DeliveryResponse> deliveries = deliveryService.getRiderDeliveries(riderId, cursor, size);
         
         return ResponseEntity.ok(ApiResponse.success(deliveries));
     }
@@ -132,12 +135,7 @@ public class RiderController {
             @Parameter(description = "라이더 ID") @PathVariable String riderId) {
         log.info("Getting active deliveries for rider: {}", riderId);
         
-        List<DeliveryResponse> deliveries = deliveryService.getRiderDeliveries(riderId);
-        
-        // 진행 중인 배송만 필터링
-        List<DeliveryResponse> activeDeliveries = deliveries.stream()
-                .filter(d -> d.getStatus().name().matches("ASSIGNED|PICKING_UP|IN_TRANSIT"))
-                .toList();
+        List<DeliveryResponse> activeDeliveries = deliveryService.getRiderActiveDeliveries(riderId);
         
         return ResponseEntity.ok(ApiResponse.success(activeDeliveries));
     }
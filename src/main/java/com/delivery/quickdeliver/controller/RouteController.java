@@ -1,24 +1,42 @@
 package com.delivery.quickdeliver.controller;
 
+import com.delivery.quickdeliver.dto.request.MultiLegRouteRequest;
 import com.delivery.quickdeliver.dto.response.ApiResponse;
+import com.delivery.quickdeliver.dto.response.MultiLegRouteInfo;
+import com.delivery.quickdeliver.dto.response.OptimizedRouteResponse;
 import com.delivery.quickdeliver.dto.response.RouteInfo;
 import com.delivery.quickdeliver.service.KakaoRouteService;
+import com.delivery.quickdeliver.service.RouteOptimizationService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 /**
  * 길찾기(경로 조회) REST API
  * GET /api/routes
  *   ?originLat=37.xxx&originLng=127.xxx
  *   &destLat=37.yyy&destLng=127.yyy
  *   [&waypointLat=37.zzz&waypointLng=127.zzz]
+ *   [&format=polyline]
+ * POST /api/routes/batch  { "waypoints": [{ "latitude": .., "longitude": .. }, ...] }
+ * GET /api/routes/riders/{riderId}/optimized
+ * GET /api/routes/cache/stats
+ * GET /api/routes/client/stats
  */
 @Slf4j
 @RestController
@@ -27,27 +45,81 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Route", description = "길찾기 / 경로 조회 API")
 public class RouteController {
 
+    private static final String FORMAT_PATH = "path";
+    private static final String FORMAT_POLYLINE = "polyline";
+
     private final KakaoRouteService kakaoRouteService;
+    private final RouteOptimizationService routeOptimizationService;
 
     @Operation(summary = "도로 경로 조회",
                description = "Kakao Mobility API를 통해 실제 도로 경로와 ETA를 반환한다. " +
                              "API 키 미설정 시 available=false를 반환하며 프론트엔드는 직선 fallback을 사용한다.")
     @GetMapping
-    public ResponseEntity<ApiResponse<RouteInfo>> getRoute(
+    public CompletableFuture<ResponseEntity<ApiResponse<RouteInfo>>> getRoute(
             @RequestParam double originLat,
             @RequestParam double originLng,
             @RequestParam double destLat,
             @RequestParam double destLng,
             @RequestParam(required = false) Double waypointLat,
-            @RequestParam(required = false) Double waypointLng) {
+            @RequestParam(required = false) Double waypointLng,
+            @Parameter(description = "경로 좌표 형식 (path: [[lat, lng], ...] / polyline: Google encoded polyline)")
+            @RequestParam(defaultValue = FORMAT_PATH) String format) {
 
         log.debug("[Route] 경로 조회 요청: ({},{}) → ({},{})", originLat, originLng, destLat, destLng);
 
-        RouteInfo route = kakaoRouteService.getRoute(
+        // 외부 호출을 기다리는 동안 서블릿 스레드를 점유하지 않도록 비동기로 응답
+        return kakaoRouteService.getRouteAsync(
                 originLat, originLng,
                 destLat,   destLng,
                 waypointLat, waypointLng
-        );
+        ).thenApply(route -> ResponseEntity.ok(ApiResponse.success(
+                FORMAT_POLYLINE.equals(format) ? route.toPolylineFormat() : route)));
+    }
+
+    @Operation(summary = "다중 경유 경로 일괄 조회",
+               description = "방문 순서대로 정렬된 지점 목록(예: 최적 경로 waypoints)의 모든 구간을 동시에 조회해 " +
+                             "하나로 합친 경로와 구간별 소요 시간을 반환한다. 조회에 실패한 구간은 직선으로 채운다.")
+    @PostMapping("/batch")
+    public CompletableFuture<ResponseEntity<ApiResponse<MultiLegRouteInfo>>> getMultiLegRoute(
+            @Valid @RequestBody MultiLegRouteRequest request,
+            @Parameter(description = "경로 좌표 형식 (path / polyline)")
+            @RequestParam(defaultValue = FORMAT_PATH) String format) {
+
+        log.debug("[Route] 다중 경유 경로 조회 요청: {}개 지점", request.getWaypoints().size());
+
+        List<double[]> points = request.getWaypoints().stream()
+                .map(p -> new double[]{p.getLatitude(), p.getLongitude()})
+                .toList();
+
+        return kakaoRouteService.getMultiLegRouteAsync(points)
+                .thenApply(route -> ResponseEntity.ok(ApiResponse.success(
+                        FORMAT_POLYLINE.equals(format) ? route.toPolylineFormat() : route)));
+    }
+
+    @Operation(summary = "경로 캐시 통계",
+               description = "길찾기 결과 캐시의 적중/미스/축출 통계를 반환한다.")
+    @GetMapping("/cache/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRouteCacheStats() {
+        return ResponseEntity.ok(ApiResponse.success(kakaoRouteService.getCacheStats()));
+    }
+
+    @Operation(summary = "길찾기 클라이언트 상태",
+               description = "Kakao Mobility 호출의 서킷 브레이커 상태와 남은 동시 호출 슬롯을 반환한다.")
+    @GetMapping("/client/stats")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRouteClientStats() {
+        return ResponseEntity.ok(ApiResponse.success(kakaoRouteService.getClientStats()));
+    }
+
+    @Operation(summary = "라이더 다중 배송 최적 경로",
+               description = "라이더가 진행 중인 배송 전체의 방문 순서를 픽업 → 배송 순서를 지키며 최적화하고, " +
+                             "정차 지점별 누적 도착 예정 시간(분)을 반환한다.")
+    @GetMapping("/riders/{riderId}/optimized")
+    public ResponseEntity<ApiResponse<OptimizedRouteResponse>> getOptimizedRiderRoute(
+            @PathVariable String riderId) {
+
+        log.debug("[Route] 라이더 최적 경로 요청: {}", riderId);
+
+        OptimizedRouteResponse route = routeOptimizationService.optimizeRiderRoute(riderId);
 
         return ResponseEntity.ok(ApiResponse.success(route));
     }
@@ -1,9 +1,14 @@
 package com.delivery.quickdeliver.controller;
 
 import com.delivery.quickdeliver.domain.entity.Rider;
-import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.dto.websocket.UrgentMessage;
 import com.delivery.quickdeliver.repository.RiderRepository;
 import com.delivery.quickdeliver.service.GeofencingService;
+import com.delivery.quickdeliver.service.MonitoringSnapshotPublisher;
+import com.delivery.quickdeliver.service.MonitoringViewportRegistry;
+import com.delivery.quickdeliver.service.RiderLocationBroadcaster;
+import com.delivery.quickdeliver.service.RiderLocationBuffer;
+import com.delivery.quickdeliver.service.RiderLocationIndex;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.handler.annotation.MessageMapping;
@@ -11,12 +16,10 @@ import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.handler.annotation.SendTo;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.security.Principal;
-import java.time.LocalDateTime;
-import java.util.HashMap;
 import java.util.Map;
 
 @Slf4j
@@ -27,14 +30,21 @@ public class WebSocketController {
     private final SimpMessagingTemplate messagingTemplate;
     private final RiderRepository riderRepository;
     private final GeofencingService geofencingService;
+    private final RiderLocationIndex riderLocationIndex;
+    private final RiderLocationBuffer riderLocationBuffer;
+    private final RiderLocationBroadcaster riderLocationBroadcaster;
+    private final MonitoringSnapshotPublisher monitoringSnapshotPublisher;
+    private final MonitoringViewportRegistry monitoringViewportRegistry;
 
     /**
-     * 라이더 위치 업데이트 수신 → DB 저장 + 관제 브로드캐스트
+     * 라이더 위치 업데이트 수신 → 위치 버퍼 기록 + 관제 브로드캐스트
      * 라이더 앱: /app/rider/location 으로 전송
-     * 관제 센터: /topic/monitoring/riders 로 수신
+     * 관제 센터: /topic/monitoring/riders 로 묶음 프레임 수신 ({@link RiderLocationBroadcaster})
+     *
+     * DB 반영은 {@link RiderLocationBuffer}가 주기적으로 배치 처리하고,
+     * 라이더 이름·상태는 {@link RiderLocationIndex}에서 읽어 위치 수신마다 DB를 조회하지 않는다.
      */
     @MessageMapping("/rider/location")
-    @Transactional
     public void handleRiderLocation(@Payload Map<String, Object> payload, Principal principal) {
         String riderId = (String) payload.get("riderId");
         if (riderId == null) {
@@ -49,11 +59,16 @@ public class WebSocketController {
             return;
         }
 
-        // DB 저장
-        Rider rider = riderRepository.findByRiderId(riderId).orElse(null);
+        RiderLocationIndex.RiderPosition rider = riderLocationIndex.get(riderId);
         if (rider == null) {
-            log.warn("위치 업데이트 수신: 존재하지 않는 라이더 riderId={}", riderId);
-            return;
+            // 인덱스에 없는 라이더만 DB에서 적재
+            Rider entity = riderRepository.findByRiderId(riderId).orElse(null);
+            if (entity == null) {
+                log.warn("위치 업데이트 수신: 존재하지 않는 라이더 riderId={}", riderId);
+                return;
+            }
+            riderLocationIndex.update(entity);
+            rider = riderLocationIndex.get(riderId);
         }
 
         // JWT Principal과 라이더 이메일(username) 일치 검증 — 타인 위치 위조 방지
@@ -63,29 +78,16 @@ public class WebSocketController {
             return;
         }
 
-        rider.setCurrentLatitude(latitude);
-        rider.setCurrentLongitude(longitude);
-        rider.setLastLocationUpdate(LocalDateTime.now());
-        riderRepository.save(rider);
-
-        // 관제 지도에 필요한 데이터를 enriched 형태로 브로드캐스트
-        Map<String, Object> broadcast = new HashMap<>();
-        broadcast.put("riderId", riderId);
-        broadcast.put("name", rider.getName());
-        broadcast.put("status", rider.getStatus().name());
-        broadcast.put("vehicleType", rider.getVehicleType() != null ? rider.getVehicleType().name() : null);
-        broadcast.put("latitude", latitude);
-        broadcast.put("longitude", longitude);
-        broadcast.put("timestamp", System.currentTimeMillis());
+        riderLocationBuffer.offer(riderId, latitude, longitude);
+        riderLocationIndex.updateLocation(riderId, latitude, longitude);
 
-        messagingTemplate.convertAndSend("/topic/monitoring/riders", broadcast);
+        // 관제 지도 브로드캐스트는 병합기가 주기마다 묶어 보낸다
+        riderLocationBroadcaster.offer(riderId, latitude, longitude);
 
         log.debug("위치 업데이트 처리 완료: {} ({}, {})", riderId, latitude, longitude);
 
-        // 지오펜싱 체크: BUSY 라이더만 자동 상태 전환 대상
-        if (rider.getStatus() == RiderStatus.BUSY) {
-            geofencingService.checkAndAutoTransition(riderId, latitude, longitude);
-        }
+        // 지오펜싱 체크: 가맹점 펜스는 모든 라이더, 자동 상태 전환은 진행 중 배송이 있는 라이더만
+        geofencingService.checkAndAutoTransition(riderId, latitude, longitude);
     }
 
     /**
@@ -99,6 +101,54 @@ public class WebSocketController {
         return status;
     }
 
+    /**
+     * 관제 화면 초기 상태
+     * /app/monitoring/snapshot 구독 시 전체 상태를 구독자에게만 한 번 응답하고,
+     * 이후 변경분은 /topic/monitoring/active 로 수신한다
+     */
+    @SubscribeMapping("/monitoring/snapshot")
+    public Map<String, Object> monitoringSnapshot() {
+        return monitoringSnapshotPublisher.snapshot();
+    }
+
+    /**
+     * 관제 지도 표시 영역 등록
+     * /app/monitoring/viewport 로 {minLatitude, minLongitude, maxLatitude, maxLongitude} 를 보내면
+     * 이후 영역 안 라이더 위치만 /user/queue/monitoring/riders 로 받는다. 좌표 없이 보내면 등록을 해제한다.
+     */
+    @MessageMapping("/monitoring/viewport")
+    public void handleViewport(@Payload Map<String, Object> payload, SimpMessageHeaderAccessor headerAccessor) {
+        String sessionId = headerAccessor.getSessionId();
+        if (sessionId == null) return;
+
+        Double minLatitude  = toDouble(payload.get("minLatitude"));
+        Double minLongitude = toDouble(payload.get("minLongitude"));
+        Double maxLatitude  = toDouble(payload.get("maxLatitude"));
+        Double maxLongitude = toDouble(payload.get("maxLongitude"));
+        if (minLatitude == null || minLongitude == null || maxLatitude == null || maxLongitude == null) {
+            monitoringViewportRegistry.remove(sessionId);
+            log.debug("관제 영역 해제: session={}", sessionId);
+            return;
+        }
+
+        if (!Double.isFinite(minLatitude) || !Double.isFinite(minLongitude)
+                || !Double.isFinite(maxLatitude) || !Double.isFinite(maxLongitude)) {
+            log.warn("관제 영역 등록 실패: session={}, 좌표가 숫자가 아님", sessionId);
+            return;
+        }
+
+        try {
+            // 축소한 지도는 경계가 위·경도 범위를 넘을 수 있어 잘라서 등록한다
+            monitoringViewportRegistry.update(sessionId, new MonitoringViewportRegistry.Viewport(
+                    clamp(minLatitude, -90, 90), clamp(minLongitude, -180, 180),
+                    clamp(maxLatitude, -90, 90), clamp(maxLongitude, -180, 180)));
+        } catch (IllegalArgumentException e) {
+            log.warn("관제 영역 등록 실패: session={}, {}", sessionId, e.getMessage());
+            return;
+        }
+        riderLocationBroadcaster.sendViewportSnapshot(sessionId);
+    }
+
     /**
      * 라이더 연결 등록
      */
@@ -145,7 +195,7 @@ public class WebSocketController {
         messagingTemplate.convertAndSendToUser(
                 riderId,
                 "/queue/urgent",
-                Map.of("type", "URGENT", "message", urgentMessage, "timestamp", System.currentTimeMillis())
+                UrgentMessage.of(urgentMessage)
         );
     }
 
@@ -160,6 +210,10 @@ public class WebSocketController {
         return null;
     }
 
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
     /**
      * 채팅 메시지 (고객 지원)
      */
@@ -2,6 +2,7 @@ package com.delivery.quickdeliver.domain.entity;
 
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
 import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.util.DeliveryZones;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -9,6 +10,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+// 인덱스는 db/migration 스크립트에서 관리한다 (SchemaMigrationRunner)
 @Entity
 @Table(name = "deliveries")
 @Getter
@@ -51,6 +53,9 @@ public class Delivery extends BaseTimeEntity {
     })
     private Address deliveryAddress;
 
+    /** 배송지 구역 (검색 필터용, 배송지 주소에서 계산) */
+    private String zone;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private DeliveryStatus status;
@@ -100,6 +105,12 @@ public class Delivery extends BaseTimeEntity {
     @Column(columnDefinition = "TEXT")
     private String specialInstructions;
 
+    @PrePersist
+    @PreUpdate
+    void assignZone() {
+        this.zone = DeliveryZones.of(deliveryAddress != null ? deliveryAddress.getAddress() : null);
+    }
+
     // 배송 상태 변경 메소드
     public void assignRider(Rider rider) {
         this.rider = rider;
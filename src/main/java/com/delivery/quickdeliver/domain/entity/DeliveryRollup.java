@@ -0,0 +1,63 @@
+package com.delivery.quickdeliver.domain.entity;
+
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.domain.enums.RollupGranularity;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 시간/일 단위 배송 사전 집계.
+ * 요청 시각이 구간에 속한 배송을 (상태, 우선순위, 구역, 라이더)별로 묶어 건수와 합계를 저장한다.
+ * 평균은 조회 시 합계 / 건수로 계산한다.
+ * 인덱스는 db/migration 스크립트에서 관리한다.
+ */
+@Entity
+@Table(name = "delivery_rollups")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliveryRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private RollupGranularity granularity;
+
+    /** 구간 시작 (HOUR 는 정시, DAY 는 자정) */
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    // 집계 차원
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DeliveryStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Priority priority;
+
+    @Column(nullable = false)
+    private String zone;
+
+    /** 미배정이면 null */
+    private String riderId;
+
+    // 집계 값
+    private long deliveryCount;
+    private long timedCount;          // 요청·완료 시각이 모두 있는 건
+    private long deliveryMinutesSum;  // 요청 ~ 완료 분
+    private long onTimeCount;         // 예상 도착 시각 이내 완료
+    private long ratingCount;
+    private long ratingSum;
+    private long actualDistanceCount;
+    private double actualDistanceSum;     // km
+    private double estimatedDistanceSum;  // km
+}
@@ -0,0 +1,39 @@
+package com.delivery.quickdeliver.domain.entity;
+
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * 관리자가 등록한 지오펜스 도형.
+ * MERCHANT 는 가맹점 펜스, PICKUP/DROP 은 배송 픽업지·배달지 기본 원 대신 쓸 도형(대단지 아파트, 쇼핑몰 등)이다.
+ */
+@Entity
+@Table(name = "geofence_areas", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_geofence_areas_owner", columnNames = {"owner_type", "owner_id"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeofenceArea extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "owner_type", nullable = false, length = 16)
+    private GeofenceOwnerType ownerType;
+
+    /** 가맹점 ID 또는 배송 ID */
+    @Column(name = "owner_id", nullable = false)
+    private String ownerId;
+
+    private String name;
+
+    /** {@link com.delivery.quickdeliver.util.GeofenceShape} 저장 형식 */
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String shape;
+}
@@ -4,12 +4,15 @@ import com.delivery.quickdeliver.domain.enums.RiderStatus;
 import com.delivery.quickdeliver.domain.enums.VehicleType;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+// 위치 컬럼은 RiderLocationBuffer가 별도로 갱신하므로 변경된 컬럼만 UPDATE 해서 덮어쓰지 않는다
+@DynamicUpdate
 @Table(name = "riders")
 @Getter
 @Setter
@@ -87,4 +90,9 @@ public class Rider extends BaseTimeEntity {
         this.shiftEndTime = LocalDateTime.now();
         this.status = RiderStatus.OFFLINE;
     }
+
+    // RiderRepository.findActiveRiders 와 같은 기준
+    public boolean isOnShift() {
+        return shiftStartTime != null && shiftEndTime == null;
+    }
 }
@@ -0,0 +1,38 @@
+package com.delivery.quickdeliver.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * 적용된 스키마 마이그레이션 이력.
+ * 테이블과 같은 ddl-auto 수명을 갖도록 엔티티로 둔다 (테이블을 다시 만들면 이력도 비어 스크립트가 다시 적용된다).
+ */
+@Entity
+@Table(name = "schema_migrations")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SchemaMigration {
+
+    @Id
+    private Integer version;
+
+    @Column(nullable = false)
+    private String description;
+
+    @Column(nullable = false)
+    private String script;
+
+    /** 스크립트 내용 CRC32. 적용 후 내용이 바뀌면 기동을 중단한다 */
+    @Column(nullable = false)
+    private Long checksum;
+
+    @Column(nullable = false)
+    private LocalDateTime installedAt;
+
+    private Long executionMs;
+}
@@ -0,0 +1,20 @@
+package com.delivery.quickdeliver.domain.enums;
+
+import lombok.Getter;
+
+/**
+ * 지오펜스 소유 대상. PICKUP/DROP 은 배송별, MERCHANT 는 가맹점별 펜스다.
+ */
+@Getter
+public enum GeofenceOwnerType {
+    PICKUP("픽업지"),
+    DROP("배달지"),
+    MERCHANT("가맹점");
+
+    private final String description;
+
+    GeofenceOwnerType(String description) {
+        this.description = description;
+    }
+
+}
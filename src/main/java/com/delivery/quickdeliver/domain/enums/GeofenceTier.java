@@ -0,0 +1,22 @@
+package com.delivery.quickdeliver.domain.enums;
+
+import lombok.Getter;
+
+/**
+ * 지오펜스 단계. 도형 경계에서 radiusMeters 이내면 그 단계 안에 있는 것으로 본다.
+ */
+@Getter
+public enum GeofenceTier {
+    APPROACH("접근", 500),
+    SITE("현장", 100),
+    ARRIVAL("도착", 50);
+
+    private final String description;
+    private final double radiusMeters;
+
+    GeofenceTier(String description, double radiusMeters) {
+        this.description = description;
+        this.radiusMeters = radiusMeters;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.delivery.quickdeliver.domain.enums;
+
+/**
+ * 배송 집계 테이블의 집계 단위
+ */
+public enum RollupGranularity {
+    HOUR,
+    DAY
+}
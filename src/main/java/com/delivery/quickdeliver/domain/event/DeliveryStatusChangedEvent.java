@@ -0,0 +1,21 @@
+package com.delivery.quickdeliver.domain.event;
+
+import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+
+/**
+ * 배송 상태 변경 이벤트. 커밋 이후 리스너에서 사용하므로 엔티티 대신 응답 DTO로 복사해 둔다.
+ *
+ * @param previousStatus 이전 상태 (신규 생성이면 null)
+ */
+public record DeliveryStatusChangedEvent(DeliveryResponse delivery, DeliveryStatus previousStatus) {
+
+    public static DeliveryStatusChangedEvent of(Delivery delivery, DeliveryStatus previousStatus) {
+        return new DeliveryStatusChangedEvent(DeliveryResponse.from(delivery), previousStatus);
+    }
+
+    public DeliveryStatus status() {
+        return delivery.getStatus();
+    }
+}
@@ -0,0 +1,29 @@
+package com.delivery.quickdeliver.domain.event;
+
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import com.delivery.quickdeliver.domain.enums.GeofenceTier;
+
+import java.time.LocalDateTime;
+
+/**
+ * 라이더의 지오펜스 진입·이탈·체류 이벤트.
+ *
+ * @param ownerId        배송 ID (PICKUP/DROP) 또는 가맹점 ID (MERCHANT)
+ * @param distanceMeters 이벤트 시점의 도형 경계까지 거리 (안쪽이면 0)
+ */
+public record GeofenceEvent(
+        Type type,
+        String riderId,
+        GeofenceOwnerType ownerType,
+        String ownerId,
+        GeofenceTier tier,
+        double distanceMeters,
+        LocalDateTime occurredAt) {
+
+    public enum Type {
+        ENTER,
+        EXIT,
+        /** 진입 후 geofence.dwell-seconds 이상 머묾 (진입당 한 번) */
+        DWELL
+    }
+}
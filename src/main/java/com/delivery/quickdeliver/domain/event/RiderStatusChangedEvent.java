@@ -0,0 +1,26 @@
+package com.delivery.quickdeliver.domain.event;
+
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+
+/**
+ * 라이더 상태 또는 근무 여부 변경 이벤트.
+ *
+ * @param previousStatus 이전 상태 (신규 등록이면 null)
+ */
+public record RiderStatusChangedEvent(
+        String riderId,
+        RiderStatus previousStatus,
+        RiderStatus status,
+        boolean previouslyOnShift,
+        boolean onShift) {
+
+    public static RiderStatusChangedEvent of(Rider rider, RiderStatus previousStatus, boolean previouslyOnShift) {
+        return new RiderStatusChangedEvent(
+                rider.getRiderId(), previousStatus, rider.getStatus(), previouslyOnShift, rider.isOnShift());
+    }
+
+    public static RiderStatusChangedEvent registered(Rider rider) {
+        return new RiderStatusChangedEvent(rider.getRiderId(), null, rider.getStatus(), false, rider.isOnShift());
+    }
+}
@@ -0,0 +1,21 @@
+package com.delivery.quickdeliver.dto.export;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 열 지향 내보내기 파일 (일자 × 테이블 단위) 정보.
+ */
+@Getter
+@Builder
+public class ColumnarPartitionInfo {
+    private LocalDate date;
+    private String table;
+    private String path;
+    private long sizeBytes;
+    private int rowCount;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,28 @@
+package com.delivery.quickdeliver.dto.export;
+
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배송 내보내기 한 행. JPQL 생성자 표현식으로 라이더 컬럼까지 한 번에 조회한다 (엔티티 미관리 상태).
+ */
+@Getter
+@AllArgsConstructor
+public class DeliveryExportRow {
+    private String deliveryId;
+    private String orderNumber;
+    private DeliveryStatus status;
+    private Priority priority;
+    private LocalDateTime requestedTime;
+    private LocalDateTime actualDeliveryTime;
+    private String riderId;
+    private String riderName;
+    private String pickupAddress;
+    private String deliveryAddress;
+    private Integer deliveryFee;
+    private Integer rating;
+}
@@ -0,0 +1,28 @@
+package com.delivery.quickdeliver.dto.projection;
+
+/**
+ * 배송 집계 테이블의 기간 합계 (JPQL 인터페이스 projection).
+ */
+public interface DeliveryRollupTotals {
+    Long getDeliveryCount();
+    Long getTimedCount();
+    Long getDeliveryMinutesSum();
+    Long getOnTimeCount();
+    Long getRatingCount();
+    Long getRatingSum();
+    Long getActualDistanceCount();
+    Double getActualDistanceSum();
+    Double getEstimatedDistanceSum();
+
+    default double averageDeliveryMinutes() {
+        return getTimedCount() > 0 ? (double) getDeliveryMinutesSum() / getTimedCount() : 0.0;
+    }
+
+    default double averageRating(double defaultValue) {
+        return getRatingCount() > 0 ? (double) getRatingSum() / getRatingCount() : defaultValue;
+    }
+
+    default double averageActualDistance() {
+        return getActualDistanceCount() > 0 ? getActualDistanceSum() / getActualDistanceCount() : 0.0;
+    }
+}
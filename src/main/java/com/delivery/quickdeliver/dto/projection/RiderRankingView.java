@@ -0,0 +1,13 @@
+package com.delivery.quickdeliver.dto.projection;
+
+/**
+ * 라이더 성과 순위 집계 쿼리 결과 (native query 인터페이스 projection).
+ */
+public interface RiderRankingView {
+    String getRiderId();
+    String getName();
+    Double getAverageRating();
+    Long getTotalDeliveries();
+    Double getAvgDeliveryTime();
+    Double getEfficiencyScore();
+}
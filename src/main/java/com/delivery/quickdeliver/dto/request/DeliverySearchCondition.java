@@ -0,0 +1,31 @@
+package com.delivery.quickdeliver.dto.request;
+
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * 배송 목록 조회 조건. null 인 조건은 적용하지 않는다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DeliverySearchCondition {
+
+    private Collection<DeliveryStatus> statuses;
+    private Collection<Priority> priorities;
+    private String riderId;
+    private String zone;
+
+    /** 요청 시각 범위 [requestedFrom, requestedTo] */
+    private LocalDateTime requestedFrom;
+    private LocalDateTime requestedTo;
+
+    /** 예상 도착 시각이 이 시각보다 이른 건 (지연 배송) */
+    private LocalDateTime estimatedBefore;
+}
@@ -0,0 +1,27 @@
+package com.delivery.quickdeliver.dto.request;
+
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * 배송 목록 keyset 정렬 기준. 정렬 시각이 같으면 id 로 순서를 정한다.
+ */
+@Getter
+public enum DeliverySort {
+    REQUESTED_DESC("d.requestedTime", true, DeliveryResponse::getRequestedTime),
+    REQUESTED_ASC("d.requestedTime", false, DeliveryResponse::getRequestedTime),
+    ESTIMATED_ASC("d.estimatedDeliveryTime", false, DeliveryResponse::getEstimatedDeliveryTime);
+
+    private final String path;
+    private final boolean descending;
+    private final Function<DeliveryResponse, LocalDateTime> key;
+
+    DeliverySort(String path, boolean descending, Function<DeliveryResponse, LocalDateTime> key) {
+        this.path = path;
+        this.descending = descending;
+        this.key = key;
+    }
+}
@@ -0,0 +1,61 @@
+package com.delivery.quickdeliver.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 지오펜스 영역 등록 요청. CIRCLE 은 중심 좌표와 반경, POLYGON 은 꼭짓점 목록(순서대로)이 필요하다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeofenceAreaRequest {
+
+    public enum ShapeType {
+        CIRCLE,
+        POLYGON
+    }
+
+    @NotNull(message = "도형 종류는 필수입니다")
+    private ShapeType type;
+
+    private String name;
+
+    @Min(value = -90, message = "위도는 -90 이상이어야 합니다")
+    @Max(value = 90, message = "위도는 90 이하여야 합니다")
+    private Double latitude;
+
+    @Min(value = -180, message = "경도는 -180 이상이어야 합니다")
+    @Max(value = 180, message = "경도는 180 이하여야 합니다")
+    private Double longitude;
+
+    private Double radiusMeters;
+
+    @Valid
+    private List<Point> points;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+
+        @NotNull(message = "위도는 필수입니다")
+        @Min(value = -90, message = "위도는 -90 이상이어야 합니다")
+        @Max(value = 90, message = "위도는 90 이하여야 합니다")
+        private Double latitude;
+
+        @NotNull(message = "경도는 필수입니다")
+        @Min(value = -180, message = "경도는 -180 이상이어야 합니다")
+        @Max(value = 180, message = "경도는 180 이하여야 합니다")
+        private Double longitude;
+    }
+}
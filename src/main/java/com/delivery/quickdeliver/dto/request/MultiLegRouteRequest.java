@@ -0,0 +1,44 @@
+package com.delivery.quickdeliver.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * 다중 경유 경로 일괄 조회 요청 (방문 순서대로 정렬된 지점 목록)
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MultiLegRouteRequest {
+
+    @NotNull(message = "경유 지점은 필수입니다")
+    @Size(min = 2, max = 30, message = "경유 지점은 2개 이상 30개 이하여야 합니다")
+    @Valid
+    private List<Point> waypoints;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Point {
+
+        @NotNull(message = "위도는 필수입니다")
+        @Min(value = -90, message = "위도는 -90 이상이어야 합니다")
+        @Max(value = 90, message = "위도는 90 이하여야 합니다")
+        private Double latitude;
+
+        @NotNull(message = "경도는 필수입니다")
+        @Min(value = -180, message = "경도는 -180 이상이어야 합니다")
+        @Max(value = 180, message = "경도는 180 이하여야 합니다")
+        private Double longitude;
+    }
+}
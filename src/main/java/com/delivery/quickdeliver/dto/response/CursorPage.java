@@ -0,0 +1,45 @@
+package com.delivery.quickdeliver.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * keyset 페이지 응답. 다음 페이지는 {@code nextCursor} 를 cursor 파라미터로 넘겨 조회한다.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    /** 조건에 맞는 전체 건수. 검색 API에서만 채운다 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long totalCount;
+
+    /** false 면 totalCount 는 상한까지만 센 값이며 실제 건수는 그 이상이다 */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Boolean totalCountExact;
+
+    /**
+     * size + 1 건까지 조회한 결과로 페이지를 만든다. 남는 1건은 다음 페이지 존재 여부 확인용이다.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? rows.subList(0, size) : rows;
+        return CursorPage.<T>builder()
+                .content(content)
+                .size(content.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null)
+                .build();
+    }
+}
@@ -15,6 +15,7 @@ import java.time.LocalDateTime;
 @Builder
 public class DeliveryResponse {
 
+    // 필드 순서는 DeliveryQueryRepositoryImpl 의 생성자 projection 인자 순서와 같아야 한다
     private Long id;
     private String deliveryId;
     private String orderNumber;
@@ -0,0 +1,34 @@
+package com.delivery.quickdeliver.dto.response;
+
+import com.delivery.quickdeliver.domain.entity.GeofenceArea;
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class GeofenceAreaResponse {
+
+    private Long id;
+    private GeofenceOwnerType ownerType;
+    private String ownerId;
+    private String name;
+    /** circle:위도,경도,반경m / polygon:위도,경도;... */
+    private String shape;
+    private LocalDateTime updatedAt;
+
+    public static GeofenceAreaResponse from(GeofenceArea area) {
+        return GeofenceAreaResponse.builder()
+                .id(area.getId())
+                .ownerType(area.getOwnerType())
+                .ownerId(area.getOwnerId())
+                .name(area.getName())
+                .shape(area.getShape())
+                .updatedAt(area.getUpdatedAt())
+                .build();
+    }
+}
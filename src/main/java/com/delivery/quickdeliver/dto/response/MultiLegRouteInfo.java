@@ -0,0 +1,60 @@
+package com.delivery.quickdeliver.dto.response;
+
+import com.delivery.quickdeliver.util.LatLngPathSerializer;
+import com.delivery.quickdeliver.util.PolylineUtils;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 다중 경유 경로 조회 결과. 구간별 경로를 하나의 좌표 배열로 합치고 구간별 소요 시간을 함께 반환한다.
+ */
+@Getter
+@Builder(toBuilder = true)
+public class MultiLegRouteInfo {
+
+    /** 모든 구간의 도로 경로 조회 성공 여부 (false 인 구간은 직선으로 채운다) */
+    private boolean available;
+
+    /** 전체 경로 좌표 버퍼 [lat1, lng1, ...] — JSON 에는 [[lat, lng], ...] 로 직렬화 */
+    @JsonSerialize(using = LatLngPathSerializer.class)
+    private double[] path;
+
+    /** Google encoded polyline (format=polyline 요청 시에만) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String polyline;
+
+    /** 전체 예상 소요 시간 (초) */
+    private int durationSeconds;
+
+    /** 전체 거리 (미터) */
+    private int distanceMeters;
+
+    /** 포맷된 전체 ETA 문자열 */
+    private String etaFormatted;
+
+    private List<Leg> legs;
+
+    /**
+     * path 대신 encoded polyline 을 담은 사본
+     */
+    public MultiLegRouteInfo toPolylineFormat() {
+        if (path == null) return this;
+        return toBuilder().path(null).polyline(PolylineUtils.encode(path)).build();
+    }
+
+    @Getter
+    @Builder
+    public static class Leg {
+        /** 구간 순번 (waypoints[index] → waypoints[index + 1]) */
+        private int index;
+        private boolean available;
+        private int durationSeconds;
+        private int distanceMeters;
+        /** 출발부터 이 구간 도착까지 누적 소요 시간 (초) */
+        private int cumulativeDurationSeconds;
+    }
+}
@@ -0,0 +1,32 @@
+package com.delivery.quickdeliver.dto.response;
+
+import com.delivery.quickdeliver.dto.projection.RiderRankingView;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RiderRankingResponse {
+
+    private long rank;
+    private String riderId;
+    private String name;
+    private long totalDeliveries;
+    private Double averageRating;
+    private double avgDeliveryTime;
+    private double efficiencyScore;
+
+    public static RiderRankingResponse from(RiderRankingView view, long rank) {
+        return RiderRankingResponse.builder()
+                .rank(rank)
+                .riderId(view.getRiderId())
+                .name(view.getName())
+                .totalDeliveries(view.getTotalDeliveries() != null ? view.getTotalDeliveries() : 0)
+                .averageRating(view.getAverageRating())
+                .avgDeliveryTime(view.getAvgDeliveryTime() != null ? view.getAvgDeliveryTime() : 0.0)
+                .efficiencyScore(view.getEfficiencyScore() != null ? view.getEfficiencyScore() : 0.0)
+                .build();
+    }
+}
@@ -1,22 +1,32 @@
 package com.delivery.quickdeliver.dto.response;
 
+import com.delivery.quickdeliver.util.LatLngPathSerializer;
+import com.delivery.quickdeliver.util.PolylineUtils;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.Builder;
 import lombok.Getter;
 
-import java.util.List;
-
 /**
  * Kakao Mobility 길찾기 API 응답을 가공한 경로 정보 DTO
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 public class RouteInfo {
 
     /** API 호출 성공 여부 (false 면 fallback 직선 경로를 사용) */
     private boolean available;
 
-    /** 경로 좌표 배열 [[lat, lng], ...] — Kakao Maps LatLng 순서 */
-    private List<double[]> path;
+    /**
+     * 경로 좌표 버퍼 [lat1, lng1, lat2, lng2, ...].
+     * JSON 에는 [[lat, lng], ...] (Kakao Maps LatLng 순서)로 직렬화된다.
+     */
+    @JsonSerialize(using = LatLngPathSerializer.class)
+    private double[] path;
+
+    /** Google encoded polyline (format=polyline 요청 시에만 채워지며 이때 path 는 생략) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String polyline;
 
     /** 예상 소요 시간 */
     private int durationSeconds;
@@ -26,4 +36,12 @@ public class RouteInfo {
 
     /** 포맷된 ETA 문자열 (예: 약 23분, 약 1시간 5분) */
     private String etaFormatted;
+
+    /**
+     * path 대신 encoded polyline 을 담은 사본
+     */
+    public RouteInfo toPolylineFormat() {
+        if (path == null) return this;
+        return toBuilder().path(null).polyline(PolylineUtils.encode(path)).build();
+    }
 }
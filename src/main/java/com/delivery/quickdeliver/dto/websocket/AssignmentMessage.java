@@ -0,0 +1,14 @@
+package com.delivery.quickdeliver.dto.websocket;
+
+/**
+ * 라이더 배송 배정 알림. 알림 필드(type, message)에 배송 식별자를 더한다.
+ */
+public record AssignmentMessage(String type, String message, String deliveryId, String orderNumber,
+                                long timestamp) {
+
+    public static final String TYPE = "DELIVERY_ASSIGNED";
+
+    public static AssignmentMessage of(String message, String deliveryId, String orderNumber) {
+        return new AssignmentMessage(TYPE, message, deliveryId, orderNumber, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,11 @@
+package com.delivery.quickdeliver.dto.websocket;
+
+/**
+ * 관제 배송 상태 변경 ({@code /topic/monitoring/deliveries}).
+ */
+public record DeliveryStatusMessage(String deliveryId, String status, String riderId, long timestamp) {
+
+    public static DeliveryStatusMessage of(String deliveryId, String status, String riderId) {
+        return new DeliveryStatusMessage(deliveryId, status, riderId, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,11 @@
+package com.delivery.quickdeliver.dto.websocket;
+
+/**
+ * 라이더·고객 알림 ({@code /topic/rider/{riderId}}, {@code /topic/order/{orderNumber}}).
+ */
+public record NotificationMessage(String type, String message, long timestamp) {
+
+    public static NotificationMessage of(String type, String message) {
+        return new NotificationMessage(type, message, System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,19 @@
+package com.delivery.quickdeliver.dto.websocket;
+
+import com.delivery.quickdeliver.util.RiderPositionFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * 관제 라이더 위치 하나 ({@link RiderLocationsFrame} 항목).
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RiderLocationMessage(String riderId, String name, String status, String vehicleType,
+                                   double latitude, double longitude, String description) {
+
+    public static RiderLocationMessage from(RiderPositionFormat.Position position) {
+        return new RiderLocationMessage(position.riderId(), position.name(),
+                position.status() != null ? position.status().name() : null,
+                position.vehicleType() != null ? position.vehicleType().name() : null,
+                position.latitude(), position.longitude(), position.description());
+    }
+}
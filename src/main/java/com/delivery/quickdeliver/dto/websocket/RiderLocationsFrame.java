@@ -0,0 +1,15 @@
+package com.delivery.quickdeliver.dto.websocket;
+
+import java.util.List;
+
+/**
+ * 관제 라이더 위치 묶음 프레임 ({@code /topic/monitoring/riders}, {@code /user/queue/monitoring/riders}).
+ */
+public record RiderLocationsFrame(String type, List<RiderLocationMessage> riders, long timestamp) {
+
+    public static final String TYPE = "RIDER_LOCATIONS";
+
+    public static RiderLocationsFrame of(List<RiderLocationMessage> riders, long timestamp) {
+        return new RiderLocationsFrame(TYPE, riders, timestamp);
+    }
+}
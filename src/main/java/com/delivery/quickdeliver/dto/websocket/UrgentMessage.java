@@ -0,0 +1,17 @@
+package com.delivery.quickdeliver.dto.websocket;
+
+/**
+ * 라이더 긴급 메시지 (관리자 긴급 알림, 긴급 배송 배정).
+ */
+public record UrgentMessage(String type, String message, long timestamp) {
+
+    public static final String TYPE = "URGENT";
+
+    public static UrgentMessage of(String message) {
+        return new UrgentMessage(TYPE, message, System.currentTimeMillis());
+    }
+
+    public static UrgentMessage of(String type, String message) {
+        return new UrgentMessage(type, message, System.currentTimeMillis());
+    }
+}
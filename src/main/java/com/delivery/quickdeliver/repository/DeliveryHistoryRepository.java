@@ -0,0 +1,27 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.DeliveryHistory;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+@Repository
+public interface DeliveryHistoryRepository extends JpaRepository<DeliveryHistory, Long> {
+
+    // 열 지향 내보내기용: 기간 내 요청된 배송의 이력 [id, deliveryId, event, status, eventTime, latitude, longitude]
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT h.id, d.deliveryId, h.event, h.status, h.eventTime, h.latitude, h.longitude " +
+            "FROM DeliveryHistory h JOIN h.delivery d " +
+            "WHERE d.requestedTime >= :from AND d.requestedTime < :to ORDER BY h.eventTime")
+    Stream<Object[]> streamColumnarRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
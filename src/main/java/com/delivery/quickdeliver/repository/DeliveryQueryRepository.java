@@ -0,0 +1,42 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import com.delivery.quickdeliver.dto.request.DeliverySort;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 배송 목록 조회 전용 쿼리. 엔티티를 로딩하지 않고 {@link DeliveryResponse} 로 바로 읽는다.
+ */
+public interface DeliveryQueryRepository {
+
+    // 배송 한 건 (라이더 ID 포함)
+    Optional<DeliveryResponse> findResponseByDeliveryId(String deliveryId);
+
+    // 대기 중인 배송 (우선순위 순)
+    List<DeliveryResponse> findPendingResponses();
+
+    /**
+     * 조건에 맞는 배송을 정렬 순서대로 커서 다음부터 최대 limit 건 조회한다.
+     *
+     * @param after 이전 페이지 마지막 행의 커서 (첫 페이지면 null)
+     */
+    List<DeliveryResponse> findResponses(DeliverySearchCondition condition, DeliverySort sort,
+                                         KeysetCursor after, int limit);
+
+    /**
+     * 조건에 맞는 건수를 limit 까지만 센다. 인덱스 범위만 읽고 전체 COUNT 스캔은 하지 않는다.
+     */
+    long countUpTo(DeliverySearchCondition condition, int limit);
+
+    /**
+     * before 이전에 요청된 배송 중 배송ID·주문번호가 검색어로 시작하거나 연락처가 검색어와 같은 건 (최근 요청 순).
+     * 검색어는 {@link com.delivery.quickdeliver.util.NgramIndex#normalize} 한 값이며, 저장된 하이픈 형태로 되돌려 찾는다.
+     * 각 조건을 인덱스가 있는 컬럼별 쿼리로 나눠 조회한 뒤 합친다.
+     */
+    List<DeliveryResponse> findByIdentifierPrefix(String normalizedQuery, LocalDateTime before, int limit);
+}
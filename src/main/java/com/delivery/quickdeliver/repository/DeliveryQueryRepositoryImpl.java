@@ -0,0 +1,258 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import com.delivery.quickdeliver.dto.request.DeliverySort;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.util.KeysetCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+class DeliveryQueryRepositoryImpl implements DeliveryQueryRepository {
+
+    private static final int IDENTIFIER_PREFIX_LENGTH = 3;
+
+    /** DeliveryResponse 필드 순서의 생성자 projection. 라이더는 조인한 컬럼만 읽는다 */
+    static final String SELECT_RESPONSE = "SELECT new com.delivery.quickdeliver.dto.response.DeliveryResponse(" +
+            "d.id, d.deliveryId, d.orderNumber, d.pickupAddress, d.deliveryAddress, d.status, d.priority, " +
+            "d.itemDescription, d.weight, d.quantity, d.deliveryFee, " +
+            "d.requestedTime, d.estimatedDeliveryTime, d.actualDeliveryTime, d.estimatedDistance, " +
+            "r.riderId, r.name, d.rating, d.feedback) " +
+            "FROM Delivery d LEFT JOIN d.rider r";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<DeliveryResponse> findResponseByDeliveryId(String deliveryId) {
+        return entityManager.createQuery(SELECT_RESPONSE + " WHERE d.deliveryId = :deliveryId", DeliveryResponse.class)
+                .setParameter("deliveryId", deliveryId)
+                .getResultStream()
+                .findFirst();
+    }
+
+    @Override
+    public List<DeliveryResponse> findPendingResponses() {
+        return entityManager.createQuery(SELECT_RESPONSE + " WHERE d.status = 'PENDING' " +
+                        "ORDER BY d.priority DESC, d.requestedTime ASC", DeliveryResponse.class)
+                .getResultList();
+    }
+
+    @Override
+    public List<DeliveryResponse> findResponses(DeliverySearchCondition condition, DeliverySort sort,
+                                                KeysetCursor after, int limit) {
+        Where where = Where.of(condition);
+
+        // keyset: (정렬 시각, id) 가 커서보다 뒤인 행
+        String path = sort.getPath();
+        String op = sort.isDescending() ? "<" : ">";
+        where.add(path + " IS NOT NULL");
+        if (after != null) {
+            where.add("(" + path + " " + op + " :cursorTime OR (" + path + " = :cursorTime AND d.id " + op + " :cursorId))");
+            where.parameters.put("cursorTime", after.time());
+            where.parameters.put("cursorId", after.id());
+        }
+
+        String direction = sort.isDescending() ? " DESC" : " ASC";
+        TypedQuery<DeliveryResponse> query = entityManager.createQuery(
+                SELECT_RESPONSE + where + " ORDER BY " + path + direction + ", d.id" + direction,
+                DeliveryResponse.class);
+        where.parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countUpTo(DeliverySearchCondition condition, int limit) {
+        // 파생 테이블 안에서 limit 행까지만 읽고 건수 하나만 돌려받는다.
+        // HQL 은 ORDER BY 없는 서브쿼리 LIMIT 을 받지 않아 네이티브 SQL 로 쓴다
+        Where where = Where.ofColumns(condition);
+        Query query = entityManager.createNativeQuery(
+                "SELECT COUNT(*) FROM (SELECT 1 FROM deliveries d" + where + " LIMIT :countLimit) matched");
+        where.parameters.forEach(query::setParameter);
+        return ((Number) query.setParameter("countLimit", limit).getSingleResult()).longValue();
+    }
+
+    @Override
+    public List<DeliveryResponse> findByIdentifierPrefix(String normalizedQuery, LocalDateTime before, int limit) {
+        Map<String, DeliveryResponse> merged = new LinkedHashMap<>();
+        // 배송ID는 항상 대문자 "DEL-…" 로 발급된다
+        collect(merged, "d.deliveryId LIKE :value ESCAPE '\\'",
+                escapeLike(restoreHyphen(normalizedQuery).toUpperCase(Locale.ROOT)) + "%", before, limit);
+        for (String form : orderNumberForms(normalizedQuery)) {
+            collect(merged, "d.orderNumber LIKE :value ESCAPE '\\'", escapeLike(form) + "%", before, limit);
+        }
+        List<String> phones = phoneForms(normalizedQuery);
+        if (!phones.isEmpty()) {
+            collect(merged, "d.deliveryAddress.contactPhone IN :value", phones, before, limit);
+            collect(merged, "d.pickupAddress.contactPhone IN :value", phones, before, limit);
+        }
+
+        return merged.values().stream()
+                .sorted(Comparator.comparing(DeliveryResponse::getRequestedTime,
+                        Comparator.nullsLast(Comparator.reverseOrder())))
+                .limit(limit)
+                .toList();
+    }
+
+    private void collect(Map<String, DeliveryResponse> merged, String predicate, Object value,
+                         LocalDateTime before, int limit) {
+        entityManager.createQuery(SELECT_RESPONSE + " WHERE " + predicate + " AND d.requestedTime < :before " +
+                        "ORDER BY d.requestedTime DESC", DeliveryResponse.class)
+                .setParameter("value", value)
+                .setParameter("before", before)
+                .setMaxResults(limit)
+                .getResultList()
+                .forEach(d -> merged.putIfAbsent(d.getDeliveryId(), d));
+    }
+
+    /**
+     * 정규화로 빠진 식별자 접두어 하이픈을 되살린다 ("del1a2b" → "del-1a2b").
+     * 배송ID·주문번호는 영문 3자 접두어 뒤에 하이픈을 둔다.
+     */
+    static String restoreHyphen(String normalized) {
+        if (normalized.length() <= IDENTIFIER_PREFIX_LENGTH) return normalized;
+        for (int i = 0; i < IDENTIFIER_PREFIX_LENGTH; i++) {
+            char c = normalized.charAt(i);
+            if (c < 'a' || c > 'z') return normalized;
+        }
+        return normalized.substring(0, IDENTIFIER_PREFIX_LENGTH) + "-" + normalized.substring(IDENTIFIER_PREFIX_LENGTH);
+    }
+
+    /** 주문번호는 외부에서 받으므로 대소문자와 하이픈 유무가 다른 형태를 함께 찾는다 */
+    static List<String> orderNumberForms(String normalized) {
+        String hyphenated = restoreHyphen(normalized);
+        Set<String> forms = new LinkedHashSet<>();
+        if (!hyphenated.equals(normalized)) {
+            // "ord-1a2b" → "ORD-1a2b", "ORD-1A2B"
+            forms.add(hyphenated.substring(0, IDENTIFIER_PREFIX_LENGTH).toUpperCase(Locale.ROOT)
+                    + hyphenated.substring(IDENTIFIER_PREFIX_LENGTH));
+            forms.add(hyphenated.toUpperCase(Locale.ROOT));
+        }
+        forms.add(normalized);
+        forms.add(normalized.toUpperCase(Locale.ROOT));
+        return new ArrayList<>(forms);
+    }
+
+    /**
+     * 숫자만으로 된 검색어를 저장된 연락처 형태(하이픈 포함/미포함)로 바꾼다. 전화번호가 아니면 빈 목록.
+     */
+    static List<String> phoneForms(String normalized) {
+        if (normalized.length() < 9 || normalized.length() > 11 || !normalized.chars().allMatch(Character::isDigit)) {
+            return List.of();
+        }
+        Set<String> forms = new LinkedHashSet<>();
+        forms.add(normalized);
+        int length = normalized.length();
+        // 서울(02)은 지역번호가 두 자리
+        int area = normalized.startsWith("02") ? 2 : 3;
+        int subscriber = length - area - 4;
+        if (subscriber == 3 || subscriber == 4) {
+            forms.add(normalized.substring(0, area) + "-" + normalized.substring(area, area + subscriber)
+                    + "-" + normalized.substring(area + subscriber));
+        }
+        return new ArrayList<>(forms);
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * 조회 조건을 JPQL WHERE 절과 파라미터로 바꾼다. 라이더는 riders 를 조인하지 않고
+     * 외래 키(rider_id)로 비교해 (rider_id, requested_time) 인덱스를 탈 수 있게 한다.
+     */
+    private static final class Where {
+
+        private final List<String> predicates = new ArrayList<>();
+        private final Map<String, Object> parameters = new HashMap<>();
+
+        static Where of(DeliverySearchCondition condition) {
+            Where where = new Where();
+            if (condition.getStatuses() != null && !condition.getStatuses().isEmpty()) {
+                where.add("d.status IN :statuses");
+                where.parameters.put("statuses", condition.getStatuses());
+            }
+            if (condition.getPriorities() != null && !condition.getPriorities().isEmpty()) {
+                where.add("d.priority IN :priorities");
+                where.parameters.put("priorities", condition.getPriorities());
+            }
+            if (condition.getRiderId() != null) {
+                where.add("d.rider.id = (SELECT rr.id FROM Rider rr WHERE rr.riderId = :riderId)");
+                where.parameters.put("riderId", condition.getRiderId());
+            }
+            if (condition.getZone() != null) {
+                where.add("d.zone = :zone");
+                where.parameters.put("zone", condition.getZone());
+            }
+            if (condition.getRequestedFrom() != null) {
+                where.add("d.requestedTime >= :requestedFrom");
+                where.parameters.put("requestedFrom", condition.getRequestedFrom());
+            }
+            if (condition.getRequestedTo() != null) {
+                where.add("d.requestedTime <= :requestedTo");
+                where.parameters.put("requestedTo", condition.getRequestedTo());
+            }
+            if (condition.getEstimatedBefore() != null) {
+                where.add("d.estimatedDeliveryTime < :estimatedBefore");
+                where.parameters.put("estimatedBefore", condition.getEstimatedBefore());
+            }
+            return where;
+        }
+
+        /** {@link #of} 와 같은 조건을 테이블 컬럼 이름으로 만든다 (네이티브 SQL 용) */
+        static Where ofColumns(DeliverySearchCondition condition) {
+            Where where = new Where();
+            if (condition.getStatuses() != null && !condition.getStatuses().isEmpty()) {
+                where.add("d.status IN :statuses");
+                where.parameters.put("statuses", condition.getStatuses().stream().map(Enum::name).toList());
+            }
+            if (condition.getPriorities() != null && !condition.getPriorities().isEmpty()) {
+                where.add("d.priority IN :priorities");
+                where.parameters.put("priorities", condition.getPriorities().stream().map(Enum::name).toList());
+            }
+            if (condition.getRiderId() != null) {
+                where.add("d.rider_id = (SELECT rr.id FROM riders rr WHERE rr.rider_id = :riderId)");
+                where.parameters.put("riderId", condition.getRiderId());
+            }
+            if (condition.getZone() != null) {
+                where.add("d.zone = :zone");
+                where.parameters.put("zone", condition.getZone());
+            }
+            if (condition.getRequestedFrom() != null) {
+                where.add("d.requested_time >= :requestedFrom");
+                where.parameters.put("requestedFrom", condition.getRequestedFrom());
+            }
+            if (condition.getRequestedTo() != null) {
+                where.add("d.requested_time <= :requestedTo");
+                where.parameters.put("requestedTo", condition.getRequestedTo());
+            }
+            if (condition.getEstimatedBefore() != null) {
+                where.add("d.estimated_delivery_time < :estimatedBefore");
+                where.parameters.put("estimatedBefore", condition.getEstimatedBefore());
+            }
+            return where;
+        }
+
+        void add(String predicate) {
+            predicates.add(predicate);
+        }
+
+        @Override
+        public String toString() {
+            return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        }
+    }
+}
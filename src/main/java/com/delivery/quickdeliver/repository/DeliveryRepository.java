@@ -3,19 +3,25 @@ package com.delivery.quickdeliver.repository;
 import com.delivery.quickdeliver.domain.entity.Delivery;
 import com.delivery.quickdeliver.domain.entity.Rider;
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.dto.export.DeliveryExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
+public interface DeliveryRepository extends JpaRepository<Delivery, Long>, DeliveryQueryRepository {
     
     Optional<Delivery> findByDeliveryId(String deliveryId);
     
@@ -23,6 +29,9 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     
     List<Delivery> findByStatus(DeliveryStatus status);
     
+    @Query("SELECT d FROM Delivery d LEFT JOIN FETCH d.rider WHERE d.status IN :statuses")
+    List<Delivery> findByStatusInWithRider(@Param("statuses") Collection<DeliveryStatus> statuses);
+    
     List<Delivery> findByRider(Rider rider);
     
     Page<Delivery> findByRiderAndStatus(Rider rider, DeliveryStatus status, Pageable pageable);
@@ -31,17 +40,78 @@ public interface DeliveryRepository extends JpaRepository<Delivery, Long> {
     @Query("SELECT d FROM Delivery d WHERE d.status = 'PENDING' " +
             "ORDER BY d.priority DESC, d.requestedTime ASC")
     List<Delivery> findPendingDeliveries();
+
+    // 일괄 배정 대상: 픽업 좌표가 있는 대기 배송을 같은 순서로 pageable 크기만큼
+    @Query("SELECT d FROM Delivery d WHERE d.status = 'PENDING' " +
+            "AND d.pickupAddress.latitude IS NOT NULL AND d.pickupAddress.longitude IS NOT NULL " +
+            "ORDER BY d.priority DESC, d.requestedTime ASC")
+    List<Delivery> findPendingDeliveriesWithPickup(Pageable pageable);
     
     // 특정 기간의 배송 조회
     @Query("SELECT d FROM Delivery d WHERE d.requestedTime BETWEEN :startDate AND :endDate")
     List<Delivery> findDeliveriesBetweenDates(@Param("startDate") LocalDateTime startDate,
                                                @Param("endDate") LocalDateTime endDate);
     
+    // 내보내기용 스트리밍 조회: 라이더 컬럼을 조인한 projection 을 커서로 읽는다 (트랜잭션 안에서 사용 후 close)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.delivery.quickdeliver.dto.export.DeliveryExportRow(" +
+            "d.deliveryId, d.orderNumber, d.status, d.priority, d.requestedTime, d.actualDeliveryTime, " +
+            "r.riderId, r.name, d.pickupAddress.address, d.deliveryAddress.address, d.deliveryFee, d.rating) " +
+            "FROM Delivery d LEFT JOIN d.rider r " +
+            "WHERE d.requestedTime BETWEEN :startDate AND :endDate ORDER BY d.requestedTime")
+    Stream<DeliveryExportRow> streamExportRows(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+    
+    // 열 지향 내보내기용 [id, deliveryId, orderNumber, status, priority, riderId, requestedTime,
+    //  estimatedDeliveryTime, actualPickupTime, actualDeliveryTime, pickupLat, pickupLng,
+    //  deliveryLat, deliveryLng, estimatedDistance, weight, deliveryFee, rating]
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT d.id, d.deliveryId, d.orderNumber, d.status, d.priority, r.riderId, d.requestedTime, " +
+            "d.estimatedDeliveryTime, d.actualPickupTime, d.actualDeliveryTime, " +
+            "d.pickupAddress.latitude, d.pickupAddress.longitude, " +
+            "d.deliveryAddress.latitude, d.deliveryAddress.longitude, " +
+            "d.estimatedDistance, d.weight, d.deliveryFee, d.rating " +
+            "FROM Delivery d LEFT JOIN d.rider r " +
+            "WHERE d.requestedTime >= :from AND d.requestedTime < :to ORDER BY d.requestedTime")
+    Stream<Object[]> streamColumnarRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
+    // 배송 집계 재계산용: [requestedTime, status, priority, zone, riderId, actualDeliveryTime,
+    //  estimatedDeliveryTime, rating, estimatedDistance, actualDistance]
+    @Query("SELECT d.requestedTime, d.status, d.priority, d.zone, r.riderId, " +
+            "d.actualDeliveryTime, d.estimatedDeliveryTime, d.rating, d.estimatedDistance, d.actualDistance " +
+            "FROM Delivery d LEFT JOIN d.rider r " +
+            "WHERE d.requestedTime >= :from AND d.requestedTime < :to")
+    List<Object[]> findRollupSourceRows(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+    
     // 지연된 배송 찾기
     @Query("SELECT d FROM Delivery d WHERE d.status IN ('ASSIGNED', 'PICKING_UP', 'IN_TRANSIT') " +
             "AND d.estimatedDeliveryTime < :now")
     List<Delivery> findDelayedDeliveries(@Param("now") LocalDateTime now);
     
+    @Query("SELECT COUNT(d) FROM Delivery d WHERE d.status IN ('ASSIGNED', 'PICKING_UP', 'IN_TRANSIT') " +
+            "AND d.estimatedDeliveryTime < :now")
+    long countDelayedDeliveries(@Param("now") LocalDateTime now);
+    
+    // 대시보드 집계 보정용: 기간 내 요청 건의 상태별 건수 [status, count]
+    @Query("SELECT d.status, COUNT(d) FROM Delivery d WHERE d.requestedTime >= :since GROUP BY d.status")
+    List<Object[]> countByStatusSince(@Param("since") LocalDateTime since);
+    
+    // 대시보드 집계 보정용: 기간 내 요청 건의 시간대별 건수 [hour, count]
+    @Query("SELECT EXTRACT(HOUR FROM d.requestedTime), COUNT(d) FROM Delivery d " +
+            "WHERE d.requestedTime >= :since GROUP BY EXTRACT(HOUR FROM d.requestedTime)")
+    List<Object[]> countByRequestedHourSince(@Param("since") LocalDateTime since);
+    
+    // 대시보드 집계 보정용: 기간 내 완료 건의 [requestedTime, actualDeliveryTime]
+    @Query("SELECT d.requestedTime, d.actualDeliveryTime FROM Delivery d " +
+            "WHERE d.requestedTime >= :since AND d.actualDeliveryTime IS NOT NULL")
+    List<Object[]> findDeliveryTimesSince(@Param("since") LocalDateTime since);
+    
     // 라이더별 일일 배송 건수 (Native Query)
     @Query(value = "SELECT COUNT(*) FROM deliveries d WHERE d.rider_id = :#{#rider.id} " +
             "AND CAST(d.actual_delivery_time AS DATE) = CAST(:date AS DATE) " +
@@ -0,0 +1,78 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.DeliveryRollup;
+import com.delivery.quickdeliver.domain.enums.RollupGranularity;
+import com.delivery.quickdeliver.dto.projection.DeliveryRollupTotals;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DeliveryRollupRepository extends JpaRepository<DeliveryRollup, Long> {
+
+    /**
+     * 조회 구간 [from, to) 를 앞뒤 자투리 시간은 HOUR 행, 가운데 온전한 날짜 [dayFrom, dayTo) 는 DAY 행으로 덮는 조건.
+     * from <= dayFrom <= dayTo <= to 이어야 한다.
+     */
+    String WINDOW = "((r.granularity = 'HOUR' AND ((r.bucketStart >= :from AND r.bucketStart < :dayFrom) " +
+            "OR (r.bucketStart >= :dayTo AND r.bucketStart < :to))) " +
+            "OR (r.granularity = 'DAY' AND r.bucketStart >= :dayFrom AND r.bucketStart < :dayTo))";
+
+    @Query("SELECT COALESCE(SUM(r.deliveryCount), 0) AS deliveryCount, " +
+            "COALESCE(SUM(r.timedCount), 0) AS timedCount, " +
+            "COALESCE(SUM(r.deliveryMinutesSum), 0) AS deliveryMinutesSum, " +
+            "COALESCE(SUM(r.onTimeCount), 0) AS onTimeCount, " +
+            "COALESCE(SUM(r.ratingCount), 0) AS ratingCount, " +
+            "COALESCE(SUM(r.ratingSum), 0) AS ratingSum, " +
+            "COALESCE(SUM(r.actualDistanceCount), 0) AS actualDistanceCount, " +
+            "COALESCE(SUM(r.actualDistanceSum), 0.0) AS actualDistanceSum, " +
+            "COALESCE(SUM(r.estimatedDistanceSum), 0.0) AS estimatedDistanceSum " +
+            "FROM DeliveryRollup r WHERE " + WINDOW)
+    DeliveryRollupTotals sumTotals(@Param("from") LocalDateTime from, @Param("dayFrom") LocalDateTime dayFrom,
+                                   @Param("dayTo") LocalDateTime dayTo, @Param("to") LocalDateTime to);
+
+    // [status, count]
+    @Query("SELECT r.status, SUM(r.deliveryCount) FROM DeliveryRollup r WHERE " + WINDOW + " GROUP BY r.status")
+    List<Object[]> sumCountByStatus(@Param("from") LocalDateTime from, @Param("dayFrom") LocalDateTime dayFrom,
+                                    @Param("dayTo") LocalDateTime dayTo, @Param("to") LocalDateTime to);
+
+    // [priority, count]
+    @Query("SELECT r.priority, SUM(r.deliveryCount) FROM DeliveryRollup r WHERE " + WINDOW + " GROUP BY r.priority")
+    List<Object[]> sumCountByPriority(@Param("from") LocalDateTime from, @Param("dayFrom") LocalDateTime dayFrom,
+                                      @Param("dayTo") LocalDateTime dayTo, @Param("to") LocalDateTime to);
+
+    // [zone, count]
+    @Query("SELECT r.zone, SUM(r.deliveryCount) FROM DeliveryRollup r WHERE " + WINDOW + " GROUP BY r.zone")
+    List<Object[]> sumCountByZone(@Param("from") LocalDateTime from, @Param("dayFrom") LocalDateTime dayFrom,
+                                  @Param("dayTo") LocalDateTime dayTo, @Param("to") LocalDateTime to);
+
+    // 구간별 건수 [bucketStart, count]
+    @Query("SELECT r.bucketStart, SUM(r.deliveryCount) FROM DeliveryRollup r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to " +
+            "GROUP BY r.bucketStart")
+    List<Object[]> sumCountByBucket(@Param("granularity") RollupGranularity granularity,
+                                    @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT r FROM DeliveryRollup r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    List<DeliveryRollup> findBuckets(@Param("granularity") RollupGranularity granularity,
+                                     @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    /**
+     * 재집계 잠금 행을 트랜잭션 끝까지 잡는다. 다른 노드의 재집계는 커밋할 때까지 기다린다.
+     * 잠금 행은 db/migration V3 스크립트가 만든다.
+     */
+    @Query(value = "SELECT name FROM delivery_rollup_locks WHERE name = 'rebuild' FOR UPDATE", nativeQuery = true)
+    String lockRebuild();
+
+    @Modifying
+    @Query("DELETE FROM DeliveryRollup r " +
+            "WHERE r.granularity = :granularity AND r.bucketStart >= :from AND r.bucketStart < :to")
+    int deleteBuckets(@Param("granularity") RollupGranularity granularity,
+                      @Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,14 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.GeofenceArea;
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface GeofenceAreaRepository extends JpaRepository<GeofenceArea, Long> {
+
+    Optional<GeofenceArea> findByOwnerTypeAndOwnerId(GeofenceOwnerType ownerType, String ownerId);
+}
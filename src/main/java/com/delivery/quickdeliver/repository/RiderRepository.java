@@ -2,11 +2,17 @@ package com.delivery.quickdeliver.repository;
 
 import com.delivery.quickdeliver.domain.entity.Rider;
 import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.dto.projection.RiderRankingView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,11 +21,20 @@ public interface RiderRepository extends JpaRepository<Rider, Long> {
     
     Optional<Rider> findByRiderId(String riderId);
     
+    boolean existsByRiderId(String riderId);
+    
     Optional<Rider> findByEmail(String email);
     
     Optional<Rider> findByPhoneNumber(String phoneNumber);
     
     List<Rider> findByStatus(RiderStatus status);
+
+    List<Rider> findByRiderIdIn(Collection<String> riderIds);
+
+    // AVAILABLE 일 때만 BUSY 로 바꾼다. 동시에 같은 라이더를 잡으면 행 잠금 뒤 한쪽만 1을 받는다
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Rider r SET r.status = 'BUSY' WHERE r.id = :id AND r.status = 'AVAILABLE'")
+    int claimIfAvailable(@Param("id") Long id);
     
     // 특정 위치 근처의 가용 라이더 찾기 (거리 기반)
     @Query(value = "SELECT * FROM riders r WHERE r.status = 'AVAILABLE' " +
@@ -32,16 +47,58 @@ public interface RiderRepository extends JpaRepository<Rider, Long> {
                                           @Param("radius") Double radius);
     
     // 간단한 거리 계산 버전 (H2 DB용)
+    default List<Rider> findAvailableRidersWithinRadius(Double latitude, Double longitude, Double radiusKm) {
+        // 거리식(도 단위 유클리드 * 111)과 같은 기준의 위도/경도 범위를 먼저 걸어 위치 인덱스를 타게 한다
+        double delta = radiusKm / 111;
+        return findAvailableRidersInBox(latitude, longitude, radiusKm,
+                latitude - delta, latitude + delta, longitude - delta, longitude + delta);
+    }
+
     @Query("SELECT r FROM Rider r WHERE r.status = 'AVAILABLE' " +
+            "AND r.currentLatitude BETWEEN :minLatitude AND :maxLatitude " +
+            "AND r.currentLongitude BETWEEN :minLongitude AND :maxLongitude " +
             "AND SQRT(POWER(r.currentLatitude - :latitude, 2) + " +
             "POWER(r.currentLongitude - :longitude, 2)) * 111 <= :radiusKm " +
             "ORDER BY SQRT(POWER(r.currentLatitude - :latitude, 2) + " +
             "POWER(r.currentLongitude - :longitude, 2))")
-    List<Rider> findAvailableRidersWithinRadius(@Param("latitude") Double latitude,
-                                                @Param("longitude") Double longitude,
-                                                @Param("radiusKm") Double radiusKm);
+    List<Rider> findAvailableRidersInBox(@Param("latitude") Double latitude,
+                                         @Param("longitude") Double longitude,
+                                         @Param("radiusKm") Double radiusKm,
+                                         @Param("minLatitude") Double minLatitude,
+                                         @Param("maxLatitude") Double maxLatitude,
+                                         @Param("minLongitude") Double minLongitude,
+                                         @Param("maxLongitude") Double maxLongitude);
     
     @Query("SELECT r FROM Rider r WHERE r.shiftStartTime IS NOT NULL " +
             "AND r.shiftEndTime IS NULL")
     List<Rider> findActiveRiders();
+
+    @Query("SELECT COUNT(r) FROM Rider r WHERE r.shiftStartTime IS NOT NULL " +
+            "AND r.shiftEndTime IS NULL")
+    long countActiveRiders();
+
+    // 기간 내 완료 건수·평균 배송 시간(분)을 라이더별로 한 번에 집계하고 효율성 점수 순으로 페이지 조회
+    // 효율성 점수 = 완료 건수 * 10 + 평균 평점 * 20 - 평균 배송 시간 * 0.5 (완료 건이 없는 라이더도 포함)
+    @Query(value = "SELECT r.rider_id AS riderId, r.name AS name, r.average_rating AS averageRating, " +
+            "COALESCE(s.cnt, 0) AS totalDeliveries, COALESCE(s.avg_minutes, 0) AS avgDeliveryTime, " +
+            "COALESCE(s.cnt, 0) * 10 + COALESCE(r.average_rating, 0) * 20 - COALESCE(s.avg_minutes, 0) * 0.5 " +
+            "AS efficiencyScore " +
+            "FROM riders r LEFT JOIN (" +
+            "  SELECT d.rider_id, COUNT(*) AS cnt, " +
+            "  AVG(FLOOR(EXTRACT(EPOCH FROM (d.actual_delivery_time - d.requested_time)) / 60)) AS avg_minutes " +
+            "  FROM deliveries d " +
+            "  WHERE d.rider_id IS NOT NULL " +
+            "  AND d.actual_delivery_time > :startDate AND d.actual_delivery_time < :endDate " +
+            "  GROUP BY d.rider_id" +
+            ") s ON s.rider_id = r.id " +
+            "ORDER BY efficiencyScore DESC, r.rider_id",
+            countQuery = "SELECT COUNT(*) FROM riders",
+            nativeQuery = true)
+    Page<RiderRankingView> findPerformanceRanking(@Param("startDate") LocalDateTime startDate,
+                                                  @Param("endDate") LocalDateTime endDate,
+                                                  Pageable pageable);
+
+    // 상태별 라이더 수 [status, count]
+    @Query("SELECT r.status, COUNT(r) FROM Rider r GROUP BY r.status")
+    List<Object[]> countByStatus();
 }
@@ -0,0 +1,9 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.SchemaMigration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SchemaMigrationRepository extends JpaRepository<SchemaMigration, Integer> {
+}
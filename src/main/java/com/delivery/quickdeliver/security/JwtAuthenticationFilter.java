@@ -56,6 +56,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * 비동기 응답(CompletableFuture 반환 컨트롤러)의 ASYNC 디스패치에서도 인증을 다시 세운다.
+     * STATELESS 라 보안 컨텍스트가 저장되지 않으므로, 건너뛰면 ASYNC 디스패치가 인증 없이 거부된다.
+     */
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    /**
+     * 권한 부족(403) 등으로 /error 로 넘어가는 ERROR 디스패치도 같은 이유로 인증을 다시 세운다.
+     * 건너뛰면 /error 가 인증 없이 거부되어 403 대신 401 이 나간다.
+     */
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return false;
+    }
+
     /**
      * Request에서 JWT 토큰 추출
      */
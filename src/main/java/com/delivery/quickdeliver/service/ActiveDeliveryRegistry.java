@@ -0,0 +1,206 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라이더별 진행 중 배송의 지오펜스(픽업지·배달지 좌표, 상태)를 메모리에 유지한다.
+ *
+ * <p>GPS 수신마다 지오펜스를 확인할 때 DB 조회 없이 {@link #current(String)} 만 읽는다.
+ * 픽업지·배달지 펜스는 {@link GeofenceEngine} 에 함께 등록한다.
+ * 배송 상태 변경 이벤트로 갱신하고, 이벤트를 거치지 않은 변경은 주기적으로 DB에서 다시 적재해 바로잡는다.</p>
+ *
+ * <p>라이더별 목록은 바꿀 때마다 새 불변 목록으로 교체하므로 읽기는 잠금이 없다. 쓰기는 this 로 동기화한다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ActiveDeliveryRegistry {
+
+    /** 지오펜스 확인 대상 상태 (findActiveDeliveriesByRiderId 와 같다) */
+    private static final Set<DeliveryStatus> ACTIVE_STATUSES = EnumSet.of(
+            DeliveryStatus.ASSIGNED, DeliveryStatus.PICKING_UP, DeliveryStatus.IN_TRANSIT);
+
+    /** 최근 요청 순 */
+    private static final Comparator<ActiveDelivery> LATEST_FIRST = Comparator
+            .comparing(ActiveDelivery::requestedTime, Comparator.nullsLast(Comparator.reverseOrder()));
+
+    private final DeliveryRepository deliveryRepository;
+    private final GeofenceEngine geofenceEngine;
+
+    private final Map<String, List<ActiveDelivery>> byRider = new ConcurrentHashMap<>();
+
+    /** deliveryId → 등록된 지오펜스. 라이더가 바뀌거나 배송이 끝나면 이전 라이더 목록에서 빼는 데 쓴다 (this 로 동기화) */
+    private final Map<String, ActiveDelivery> byDelivery = new HashMap<>();
+
+    /** 재적재 중 들어온 변경. 교체할 때 다시 반영한다 (this 로 동기화) */
+    private List<DeliveryResponse> changesDuringReload;
+
+    /**
+     * 진행 중 배송 하나의 지오펜스 정보.
+     * 좌표가 없는 주소는 null 이다.
+     */
+    public record ActiveDelivery(String deliveryId,
+                                 String orderNumber,
+                                 String riderId,
+                                 DeliveryStatus status,
+                                 Double pickupLatitude,
+                                 Double pickupLongitude,
+                                 Double dropLatitude,
+                                 Double dropLongitude,
+                                 LocalDateTime requestedTime) {
+
+        static ActiveDelivery from(DeliveryResponse delivery) {
+            Address pickup = delivery.getPickupAddress();
+            Address drop = delivery.getDeliveryAddress();
+            return new ActiveDelivery(delivery.getDeliveryId(), delivery.getOrderNumber(),
+                    delivery.getRiderId(), delivery.getStatus(),
+                    pickup != null ? pickup.getLatitude() : null,
+                    pickup != null ? pickup.getLongitude() : null,
+                    drop != null ? drop.getLatitude() : null,
+                    drop != null ? drop.getLongitude() : null,
+                    delivery.getRequestedTime());
+        }
+    }
+
+    /**
+     * 라이더의 가장 최근 진행 중 배송. 없으면 null.
+     */
+    public ActiveDelivery current(String riderId) {
+        List<ActiveDelivery> deliveries = byRider.get(riderId);
+        return deliveries == null || deliveries.isEmpty() ? null : deliveries.get(0);
+    }
+
+    /**
+     * 진행 중 배송. 없으면 null.
+     */
+    public synchronized ActiveDelivery get(String deliveryId) {
+        return byDelivery.get(deliveryId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        refresh(event.delivery());
+    }
+
+    /**
+     * 배송의 현재 상태로 지오펜스를 갱신한다. 진행 중이 아니거나 라이더가 없으면 제거한다.
+     */
+    public synchronized void refresh(DeliveryResponse delivery) {
+        if (changesDuringReload != null) {
+            changesDuringReload.add(delivery);
+        }
+        apply(delivery);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+    }
+
+    @Scheduled(fixedDelayString = "${geofence.registry.resync-interval-ms:60000}",
+               initialDelayString = "${geofence.registry.resync-interval-ms:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("[Geofence] 진행 중 배송 재적재 실패", e);
+        }
+    }
+
+    /**
+     * DB의 진행 중 배송으로 전체를 교체한다. 읽는 동안 들어온 변경은 교체 후 다시 반영한다.
+     */
+    public void reload() {
+        synchronized (this) {
+            changesDuringReload = new ArrayList<>();
+        }
+
+        List<DeliveryResponse> active;
+        try {
+            active = deliveryRepository.findByStatusInWithRider(ACTIVE_STATUSES).stream()
+                    .map(DeliveryResponse::from)
+                    .toList();
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringReload = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            // 새 상태를 따로 만든 뒤 라이더 단위로 바꿔 넣어 읽는 쪽이 빈 상태를 보지 않게 한다
+            Map<String, List<ActiveDelivery>> freshByRider = new HashMap<>();
+            Map<String, ActiveDelivery> freshByDelivery = new HashMap<>();
+            active.forEach(d -> apply(freshByRider, freshByDelivery, d));
+            changesDuringReload.forEach(d -> apply(freshByRider, freshByDelivery, d));
+            changesDuringReload = null;
+
+            byRider.keySet().retainAll(freshByRider.keySet());
+            byRider.putAll(freshByRider);
+            byDelivery.clear();
+            byDelivery.putAll(freshByDelivery);
+            geofenceEngine.replaceDeliveries(freshByDelivery.values());
+        }
+        log.info("[Geofence] 진행 중 배송 적재: {}건, 라이더 {}명", active.size(), byRider.size());
+    }
+
+    private void apply(DeliveryResponse delivery) {
+        apply(byRider, byDelivery, delivery);
+        ActiveDelivery active = byDelivery.get(delivery.getDeliveryId());
+        if (active != null) {
+            geofenceEngine.putDelivery(active);
+        } else {
+            geofenceEngine.removeDelivery(delivery.getDeliveryId());
+        }
+    }
+
+    private static void apply(Map<String, List<ActiveDelivery>> riders, Map<String, ActiveDelivery> deliveries,
+                              DeliveryResponse delivery) {
+        ActiveDelivery previous = deliveries.remove(delivery.getDeliveryId());
+        if (previous != null) {
+            replace(riders, previous.riderId(), previous.deliveryId(), null);
+        }
+        if (delivery.getRiderId() != null && ACTIVE_STATUSES.contains(delivery.getStatus())) {
+            ActiveDelivery active = ActiveDelivery.from(delivery);
+            deliveries.put(active.deliveryId(), active);
+            replace(riders, active.riderId(), active.deliveryId(), active);
+        }
+    }
+
+    /** 라이더 목록에서 deliveryId 를 빼고 active 가 있으면 넣어 새 목록으로 교체한다 */
+    private static void replace(Map<String, List<ActiveDelivery>> riders, String riderId, String deliveryId,
+                                ActiveDelivery active) {
+        List<ActiveDelivery> updated = new ArrayList<>(riders.getOrDefault(riderId, List.of()));
+        updated.removeIf(g -> g.deliveryId().equals(deliveryId));
+        if (active != null) {
+            updated.add(active);
+            updated.sort(LATEST_FIRST);
+        }
+        if (updated.isEmpty()) {
+            riders.remove(riderId);
+        } else {
+            riders.put(riderId, List.copyOf(updated));
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.delivery.quickdeliver.service;
 import com.delivery.quickdeliver.domain.entity.Delivery;
 import com.delivery.quickdeliver.domain.entity.Rider;
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.dto.projection.DeliveryRollupTotals;
 import com.delivery.quickdeliver.dto.response.AnalyticsResponse;
 import com.delivery.quickdeliver.repository.DeliveryRepository;
 import com.delivery.quickdeliver.repository.RiderRepository;
@@ -23,9 +24,10 @@ public class AnalyticsService {
     private final DeliveryRepository deliveryRepository;
     private final RiderRepository riderRepository;
     private final RouteOptimizationService routeOptimizationService;
+    private final DeliveryRollupService deliveryRollupService;
 
     /**
-     * 전체 대시보드 분석 데이터
+     * 전체 대시보드 분석 데이터 (배송 집계 테이블 기준)
      */
     public AnalyticsResponse.DashboardAnalytics getDashboardAnalytics() {
         LocalDateTime now = LocalDateTime.now();
@@ -33,44 +35,43 @@ public class AnalyticsService {
         LocalDateTime weekStart = now.minusDays(7);
 
         // 오늘의 통계
-        List<Delivery> todayDeliveries = deliveryRepository.findDeliveriesBetweenDates(
-                todayStart, now);
+        DeliveryRollupTotals today = deliveryRollupService.totals(todayStart, now);
+        Map<DeliveryStatus, Long> todayStatus = deliveryRollupService.countByStatus(todayStart, now);
         
         // 주간 통계
-        List<Delivery> weekDeliveries = deliveryRepository.findDeliveriesBetweenDates(
-                weekStart, now);
+        DeliveryRollupTotals week = deliveryRollupService.totals(weekStart, now);
 
         return AnalyticsResponse.DashboardAnalytics.builder()
-                .totalDeliveriesToday(todayDeliveries.size())
-                .totalDeliveriesWeek(weekDeliveries.size())
-                .completedDeliveries(countByStatus(todayDeliveries, DeliveryStatus.DELIVERED))
-                .pendingDeliveries(countByStatus(todayDeliveries, DeliveryStatus.PENDING))
-                .activeRiders(riderRepository.findActiveRiders().size())
-                .averageDeliveryTime(calculateAverageDeliveryTime(todayDeliveries))
-                .onTimeDeliveryRate(calculateOnTimeRate(todayDeliveries))
-                .customerSatisfaction(calculateSatisfactionScore(weekDeliveries))
+                .totalDeliveriesToday(today.getDeliveryCount().intValue())
+                .totalDeliveriesWeek(week.getDeliveryCount().intValue())
+                .completedDeliveries(todayStatus.getOrDefault(DeliveryStatus.DELIVERED, 0L))
+                .pendingDeliveries(todayStatus.getOrDefault(DeliveryStatus.PENDING, 0L))
+                .activeRiders((int) riderRepository.countActiveRiders())
+                .averageDeliveryTime(today.averageDeliveryMinutes())
+                .onTimeDeliveryRate(calculateOnTimeRate(today))
+                .customerSatisfaction(week.averageRating(5.0) * 20) // Convert 5-star to 100-point scale
                 .build();
     }
 
     /**
-     * 배송 효율성 분석
+     * 배송 효율성 분석 (배송 집계 테이블 기준)
      */
     public AnalyticsResponse.EfficiencyAnalytics getEfficiencyAnalytics(
             LocalDateTime startDate, LocalDateTime endDate) {
         
-        List<Delivery> deliveries = deliveryRepository.findDeliveriesBetweenDates(
-                startDate, endDate);
+        DeliveryRollupTotals totals = deliveryRollupService.totals(startDate, endDate);
+        long totalDeliveries = totals.getDeliveryCount();
         
         Map<String, Object> densityAnalysis = routeOptimizationService
-                .analyzeDeliveryDensity(deliveries);
+                .analyzeZoneDensity(deliveryRollupService.countByZone(startDate, endDate));
 
         return AnalyticsResponse.EfficiencyAnalytics.builder()
-                .totalDeliveries(deliveries.size())
-                .averageDistancePerDelivery(calculateAverageDistance(deliveries))
-                .routeOptimizationScore(calculateRouteOptimizationScore(deliveries))
-                .peakHours(identifyPeakHours(deliveries))
+                .totalDeliveries((int) totalDeliveries)
+                .averageDistancePerDelivery(totals.averageActualDistance())
+                .routeOptimizationScore(calculateRouteOptimizationScore(totals))
+                .peakHours(identifyPeakHours(countByHourOfDay(deliveryRollupService.countByHour(startDate, endDate))))
                 .deliveryDensityMap(densityAnalysis)
-                .recommendedRiderCount(calculateOptimalRiderCount(deliveries))
+                .recommendedRiderCount(calculateOptimalRiderCount(totalDeliveries))
                 .build();
     }
 
@@ -106,22 +107,15 @@ public class AnalyticsService {
      * 예측 분석 - 수요 예측
      */
     public AnalyticsResponse.PredictiveAnalytics getPredictiveAnalytics() {
-        // 과거 4주 데이터 기반 예측
+        // 과거 4주 데이터 기반 예측 (시간 단위 집계)
         LocalDateTime now = LocalDateTime.now();
-        List<Delivery> historicalData = deliveryRepository.findDeliveriesBetweenDates(
-                now.minusWeeks(4), now);
+        Map<LocalDateTime, Long> hourlyCounts = deliveryRollupService.countByHour(now.minusWeeks(4), now);
 
-        Map<Integer, Long> hourlyPattern = historicalData.stream()
-                .collect(Collectors.groupingBy(
-                        d -> d.getRequestedTime().getHour(),
-                        Collectors.counting()
-                ));
+        Map<Integer, Long> hourlyPattern = countByHourOfDay(hourlyCounts);
 
-        Map<String, Long> dailyPattern = historicalData.stream()
-                .collect(Collectors.groupingBy(
-                        d -> d.getRequestedTime().getDayOfWeek().toString(),
-                        Collectors.counting()
-                ));
+        Map<String, Long> dailyPattern = new HashMap<>();
+        hourlyCounts.forEach((hour, count) ->
+                dailyPattern.merge(hour.getDayOfWeek().toString(), count, Long::sum));
 
         // 다음 시간 예측
         int currentHour = now.getHour();
@@ -176,12 +170,6 @@ public class AnalyticsService {
                 .build();
     }
 
-    private long countByStatus(List<Delivery> deliveries, DeliveryStatus status) {
-        return deliveries.stream()
-                .filter(d -> d.getStatus() == status)
-                .count();
-    }
-
     private double calculateAverageDeliveryTime(List<Delivery> deliveries) {
         return deliveries.stream()
                 .filter(d -> d.getActualDeliveryTime() != null && d.getRequestedTime() != null)
@@ -202,45 +190,27 @@ public class AnalyticsService {
         return (double) onTime / deliveries.size() * 100;
     }
 
-    private double calculateSatisfactionScore(List<Delivery> deliveries) {
-        return deliveries.stream()
-                .filter(d -> d.getRating() != null)
-                .mapToInt(Delivery::getRating)
-                .average()
-                .orElse(5.0) * 20; // Convert 5-star to 100-point scale
+    private double calculateOnTimeRate(DeliveryRollupTotals totals) {
+        if (totals.getDeliveryCount() == 0) return 100.0;
+        return (double) totals.getOnTimeCount() / totals.getDeliveryCount() * 100;
     }
 
-    private double calculateAverageDistance(List<Delivery> deliveries) {
-        return deliveries.stream()
-                .filter(d -> d.getActualDistance() != null)
-                .mapToDouble(Delivery::getActualDistance)
-                .average()
-                .orElse(0.0);
-    }
-
-    private double calculateRouteOptimizationScore(List<Delivery> deliveries) {
+    private double calculateRouteOptimizationScore(DeliveryRollupTotals totals) {
         // 실제 거리 vs 예상 거리 비교
-        double actualTotal = deliveries.stream()
-                .filter(d -> d.getActualDistance() != null)
-                .mapToDouble(Delivery::getActualDistance)
-                .sum();
-        
-        double estimatedTotal = deliveries.stream()
-                .filter(d -> d.getEstimatedDistance() != null)
-                .mapToDouble(Delivery::getEstimatedDistance)
-                .sum();
+        double actualTotal = totals.getActualDistanceSum();
+        double estimatedTotal = totals.getEstimatedDistanceSum();
         
         if (estimatedTotal == 0) return 0;
         return Math.min(100, (estimatedTotal / actualTotal) * 100);
     }
 
-    private List<String> identifyPeakHours(List<Delivery> deliveries) {
-        Map<Integer, Long> hourCounts = deliveries.stream()
-                .collect(Collectors.groupingBy(
-                        d -> d.getRequestedTime().getHour(),
-                        Collectors.counting()
-                ));
-        
+    private Map<Integer, Long> countByHourOfDay(Map<LocalDateTime, Long> hourlyCounts) {
+        Map<Integer, Long> hourCounts = new HashMap<>();
+        hourlyCounts.forEach((hour, count) -> hourCounts.merge(hour.getHour(), count, Long::sum));
+        return hourCounts;
+    }
+
+    private List<String> identifyPeakHours(Map<Integer, Long> hourCounts) {
         long avgCount = (long) hourCounts.values().stream()
                 .mapToLong(Long::longValue)
                 .average()
@@ -252,9 +222,9 @@ public class AnalyticsService {
                 .collect(Collectors.toList());
     }
 
-    private int calculateOptimalRiderCount(List<Delivery> deliveries) {
+    private int calculateOptimalRiderCount(long totalDeliveries) {
         // 시간당 평균 배송 수 / 라이더당 시간당 처리 가능 배송 수
-        double avgDeliveriesPerHour = deliveries.size() / 24.0;
+        double avgDeliveriesPerHour = totalDeliveries / 24.0;
         double deliveriesPerRiderPerHour = 3.0; // 가정: 라이더당 시간당 3건
         return (int) Math.ceil(avgDeliveriesPerHour / deliveriesPerRiderPerHour * 1.2); // 20% 버퍼
     }
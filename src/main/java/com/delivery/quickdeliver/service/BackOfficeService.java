@@ -4,7 +4,17 @@ import com.delivery.quickdeliver.domain.entity.Delivery;
 import com.delivery.quickdeliver.domain.entity.Rider;
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
 import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
+import com.delivery.quickdeliver.dto.export.DeliveryExportRow;
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import com.delivery.quickdeliver.dto.request.DeliverySort;
+import com.delivery.quickdeliver.dto.projection.DeliveryRollupTotals;
+import com.delivery.quickdeliver.dto.projection.RiderRankingView;
+import com.delivery.quickdeliver.dto.response.CursorPage;
 import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.dto.response.PageResponse;
+import com.delivery.quickdeliver.dto.response.RiderRankingResponse;
 import com.delivery.quickdeliver.dto.response.RiderResponse;
 import com.delivery.quickdeliver.exception.InvalidRequestException;
 import com.delivery.quickdeliver.exception.ResourceNotFoundException;
@@ -12,14 +22,25 @@ import com.delivery.quickdeliver.repository.DeliveryRepository;
 import com.delivery.quickdeliver.repository.RiderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -27,81 +48,31 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class BackOfficeService {
 
+    private static final String CSV_HEADER =
+            "배송ID,주문번호,상태,우선순위,요청시간,완료시간,라이더ID,라이더명,픽업주소,배송주소,배송료,평점\n";
+    private static final DateTimeFormatter CSV_TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int CSV_BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_RANKING_PAGE_SIZE = 200;
+
     private final RiderRepository riderRepository;
     private final DeliveryRepository deliveryRepository;
     private final DeliveryService deliveryService;
-    private final NotificationService notificationService;
+    private final RiderLocationIndex riderLocationIndex;
+    private final DashboardMetricsAggregator dashboardMetricsAggregator;
+    private final MonitoringSnapshotPublisher monitoringSnapshotPublisher;
+    private final DeliveryRollupService deliveryRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 배송 검색 전체 건수를 셀 최대 건수 */
+    @Value("${delivery.search.count-limit:10000}")
+    private int searchCountLimit;
 
     /**
      * 전체 대시보드 정보 조회
+     * 상태 변경 이벤트로 유지되는 집계 카운터를 반환한다 ({@link DashboardMetricsAggregator})
      */
     public Map<String, Object> getDashboard() {
-        Map<String, Object> dashboard = new HashMap<>();
-        
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
-        
-        // 오늘의 배송 통계
-        List<Delivery> todayDeliveries = deliveryRepository.findDeliveriesBetweenDates(
-                todayStart, now);
-        
-        long totalDeliveries = todayDeliveries.size();
-        long completedDeliveries = todayDeliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.DELIVERED)
-                .count();
-        long inProgressDeliveries = todayDeliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.IN_TRANSIT || 
-                           d.getStatus() == DeliveryStatus.PICKING_UP)
-                .count();
-        long pendingDeliveries = todayDeliveries.stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.PENDING)
-                .count();
-        
-        dashboard.put("totalDeliveriesToday", totalDeliveries);
-        dashboard.put("completedDeliveries", completedDeliveries);
-        dashboard.put("inProgressDeliveries", inProgressDeliveries);
-        dashboard.put("pendingDeliveries", pendingDeliveries);
-        dashboard.put("completionRate", 
-                totalDeliveries > 0 ? (double) completedDeliveries / totalDeliveries * 100 : 0);
-        
-        // 라이더 현황
-        List<Rider> allRiders = riderRepository.findAll();
-        long totalRiders = allRiders.size();
-        long activeRiders = riderRepository.findActiveRiders().size();
-        long availableRiders = allRiders.stream()
-                .filter(r -> r.getStatus() == RiderStatus.AVAILABLE)
-                .count();
-        long busyRiders = allRiders.stream()
-                .filter(r -> r.getStatus() == RiderStatus.BUSY)
-                .count();
-        
-        dashboard.put("totalRiders", totalRiders);
-        dashboard.put("activeRiders", activeRiders);
-        dashboard.put("availableRiders", availableRiders);
-        dashboard.put("busyRiders", busyRiders);
-        
-        // 평균 배송 시간
-        double avgDeliveryTime = todayDeliveries.stream()
-                .filter(d -> d.getActualDeliveryTime() != null && d.getRequestedTime() != null)
-                .mapToLong(d -> ChronoUnit.MINUTES.between(
-                        d.getRequestedTime(), d.getActualDeliveryTime()))
-                .average()
-                .orElse(0.0);
-        dashboard.put("avgDeliveryTimeMinutes", avgDeliveryTime);
-        
-        // 지연 배송
-        List<Delivery> delayedDeliveries = deliveryRepository.findDelayedDeliveries(now);
-        dashboard.put("delayedDeliveries", delayedDeliveries.size());
-        
-        // 오늘의 시간대별 배송 건수
-        Map<Integer, Long> hourlyDistribution = todayDeliveries.stream()
-                .collect(Collectors.groupingBy(
-                        d -> d.getRequestedTime().getHour(),
-                        Collectors.counting()
-                ));
-        dashboard.put("hourlyDistribution", hourlyDistribution);
-        
-        return dashboard;
+        return dashboardMetricsAggregator.snapshot();
     }
 
     /**
@@ -166,8 +137,11 @@ public class BackOfficeService {
                 .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
         
         // 실제로는 isActive 같은 필드가 있어야 하지만, 현재는 status를 OFFLINE으로 변경
+        RiderStatus previousStatus = rider.getStatus();
         rider.setStatus(RiderStatus.OFFLINE);
         riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+        eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, previousStatus, rider.isOnShift()));
         
         log.info("Rider {} activated", riderId);
     }
@@ -192,8 +166,11 @@ public class BackOfficeService {
                     "진행 중인 배송이 있어 비활성화할 수 없습니다. 배송 수: " + activeDeliveries.size());
         }
         
+        RiderStatus previousStatus = rider.getStatus();
         rider.setStatus(RiderStatus.OFFLINE);
         riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+        eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, previousStatus, rider.isOnShift()));
         
         log.info("Rider {} deactivated", riderId);
     }
@@ -230,29 +207,27 @@ public class BackOfficeService {
     }
 
     /**
-     * 전체 배송 목록 조회
+     * 배송 검색 (최근 요청 순, keyset 페이지)
+     * 전체 건수는 {@code delivery.search.count-limit} 건까지만 센다.
      */
-    public List<DeliveryResponse> getAllDeliveries(DeliveryStatus status, 
-                                                   LocalDateTime startDate, 
-                                                   LocalDateTime endDate) {
-        List<Delivery> deliveries;
-        
-        if (startDate != null && endDate != null) {
-            deliveries = deliveryRepository.findDeliveriesBetweenDates(startDate, endDate);
-        } else {
-            deliveries = deliveryRepository.findAll();
+    public CursorPage<DeliveryResponse> searchDeliveries(DeliverySearchCondition condition, 
+                                                         String cursor, 
+                                                         int size) {
+        if (condition.getRequestedFrom() != null && condition.getRequestedTo() != null
+                && condition.getRequestedFrom().isAfter(condition.getRequestedTo())) {
+            throw new InvalidRequestException("시작 날짜가 종료 날짜보다 늦습니다.");
         }
         
-        if (status != null) {
-            deliveries = deliveries.stream()
-                    .filter(d -> d.getStatus() == status)
-                    .collect(Collectors.toList());
-        }
+        CursorPage<DeliveryResponse> page = deliveryService.findDeliveries(
+                condition, DeliverySort.REQUESTED_DESC, cursor, size);
         
-        return deliveries.stream()
-                .map(DeliveryResponse::from)
-                .sorted(Comparator.comparing(DeliveryResponse::getRequestedTime).reversed())
-                .collect(Collectors.toList());
+        // 첫 페이지에서만 센다 (다음 페이지는 클라이언트가 이전 값을 유지)
+        if (cursor == null || cursor.isBlank()) {
+            long counted = deliveryRepository.countUpTo(condition, searchCountLimit + 1);
+            page.setTotalCount(Math.min(counted, searchCountLimit));
+            page.setTotalCountExact(counted <= searchCountLimit);
+        }
+        return page;
     }
 
     /**
@@ -322,15 +297,10 @@ public class BackOfficeService {
                     "이미 배정된 배송입니다. 현재 상태: " + delivery.getStatus());
         }
         
-        // 배정
-        delivery.assignRider(rider);
-        rider.setStatus(RiderStatus.BUSY);
-        
-        deliveryRepository.save(delivery);
-        riderRepository.save(rider);
-        
-        // 알림
-        notificationService.notifyRiderAssignment(rider, delivery);
+        // 배정 및 알림 (확인 뒤 다른 배정이 먼저 잡았을 수 있다)
+        if (!deliveryService.assignRider(delivery, rider)) {
+            throw new InvalidRequestException("라이더가 방금 다른 배송에 배정되었습니다: " + riderId);
+        }
         
         log.info("Manually assigned delivery {} to rider {}", deliveryId, riderId);
         
@@ -348,13 +318,19 @@ public class BackOfficeService {
         // 현재 라이더 해제
         Rider oldRider = delivery.getRider();
         if (oldRider != null) {
+            RiderStatus previousRiderStatus = oldRider.getStatus();
             oldRider.setStatus(RiderStatus.AVAILABLE);
             riderRepository.save(oldRider);
+            riderLocationIndex.update(oldRider);
+            eventPublisher.publishEvent(
+                    RiderStatusChangedEvent.of(oldRider, previousRiderStatus, oldRider.isOnShift()));
         }
         
+        DeliveryStatus previousStatus = delivery.getStatus();
         delivery.setRider(null);
         delivery.setStatus(DeliveryStatus.PENDING);
         deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(DeliveryStatusChangedEvent.of(delivery, previousStatus));
         
         // 새 라이더 배정
         if (newRiderId != null) {
@@ -367,19 +343,19 @@ public class BackOfficeService {
     }
 
     /**
-     * 지연 배송 목록
+     * 지연 배송 목록 (예상 도착 시각이 이른 순, keyset 페이지)
      */
-    public List<DeliveryResponse> getDelayedDeliveries() {
-        List<Delivery> delayed = deliveryRepository.findDelayedDeliveries(LocalDateTime.now());
+    public CursorPage<DeliveryResponse> getDelayedDeliveries(String cursor, int size) {
+        DeliverySearchCondition condition = DeliverySearchCondition.builder()
+                .statuses(List.of(DeliveryStatus.ASSIGNED, DeliveryStatus.PICKING_UP, DeliveryStatus.IN_TRANSIT))
+                .estimatedBefore(LocalDateTime.now())
+                .build();
         
-        return delayed.stream()
-                .map(DeliveryResponse::from)
-                .sorted(Comparator.comparing(DeliveryResponse::getEstimatedDeliveryTime))
-                .collect(Collectors.toList());
+        return deliveryService.findDeliveries(condition, DeliverySort.ESTIMATED_ASC, cursor, size);
     }
 
     /**
-     * 배송 통계
+     * 배송 통계 (배송 집계 테이블 기준, {@link DeliveryRollupService})
      */
     public Map<String, Object> getDeliveryStatistics(LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate == null) {
@@ -389,48 +365,33 @@ public class BackOfficeService {
             endDate = LocalDateTime.now();
         }
         
-        List<Delivery> deliveries = deliveryRepository.findDeliveriesBetweenDates(startDate, endDate);
+        DeliveryRollupTotals totals = deliveryRollupService.totals(startDate, endDate);
+        long total = totals.getDeliveryCount();
         
         Map<String, Object> stats = new HashMap<>();
         stats.put("period", Map.of("start", startDate, "end", endDate));
-        stats.put("totalDeliveries", deliveries.size());
+        stats.put("totalDeliveries", total);
         
         // 상태별 통계
-        Map<DeliveryStatus, Long> statusCount = deliveries.stream()
-                .collect(Collectors.groupingBy(Delivery::getStatus, Collectors.counting()));
+        Map<DeliveryStatus, Long> statusCount = deliveryRollupService.countByStatus(startDate, endDate);
         stats.put("statusDistribution", statusCount);
         
         long completed = statusCount.getOrDefault(DeliveryStatus.DELIVERED, 0L);
         long cancelled = statusCount.getOrDefault(DeliveryStatus.CANCELLED, 0L);
         
-        stats.put("completionRate", deliveries.isEmpty() ? 0 : 
-                (double) completed / deliveries.size() * 100);
-        stats.put("cancellationRate", deliveries.isEmpty() ? 0 : 
-                (double) cancelled / deliveries.size() * 100);
+        stats.put("completionRate", total == 0 ? 0 : 
+                (double) completed / total * 100);
+        stats.put("cancellationRate", total == 0 ? 0 : 
+                (double) cancelled / total * 100);
         
         // 평균 배송 시간
-        double avgTime = deliveries.stream()
-                .filter(d -> d.getActualDeliveryTime() != null && d.getRequestedTime() != null)
-                .mapToLong(d -> ChronoUnit.MINUTES.between(
-                        d.getRequestedTime(), d.getActualDeliveryTime()))
-                .average()
-                .orElse(0.0);
-        stats.put("avgDeliveryTimeMinutes", avgTime);
+        stats.put("avgDeliveryTimeMinutes", totals.averageDeliveryMinutes());
         
         // 평균 평점
-        double avgRating = deliveries.stream()
-                .filter(d -> d.getRating() != null)
-                .mapToInt(Delivery::getRating)
-                .average()
-                .orElse(0.0);
-        stats.put("avgRating", avgRating);
+        stats.put("avgRating", totals.averageRating(0.0));
         
         // 우선순위별 통계
-        Map<String, Long> priorityCount = deliveries.stream()
-                .collect(Collectors.groupingBy(
-                        d -> d.getPriority().name(),
-                        Collectors.counting()
-                ));
+        Map<String, Long> priorityCount = deliveryRollupService.countByPriority(startDate, endDate);
         stats.put("priorityDistribution", priorityCount);
         
         return stats;
@@ -438,49 +399,10 @@ public class BackOfficeService {
 
     /**
      * 실시간 모니터링
+     * 이벤트로 유지되는 관제 상태를 반환한다 ({@link MonitoringSnapshotPublisher})
      */
     public Map<String, Object> getRealtimeMonitoring() {
-        Map<String, Object> monitoring = new HashMap<>();
-        
-        // 진행 중인 배송
-        List<Delivery> inProgress = deliveryRepository.findAll().stream()
-                .filter(d -> d.getStatus() == DeliveryStatus.PICKING_UP ||
-                           d.getStatus() == DeliveryStatus.IN_TRANSIT ||
-                           d.getStatus() == DeliveryStatus.ASSIGNED)
-                .toList();
-        
-        monitoring.put("activeDeliveries", inProgress.stream()
-                .map(DeliveryResponse::from)
-                .collect(Collectors.toList()));
-        
-        // 근무 중인 라이더
-        List<Rider> activeRiders = riderRepository.findActiveRiders();
-        monitoring.put("activeRidersCount", activeRiders.size());
-        
-        // 대기 중인 배송
-        List<Delivery> pending = deliveryRepository.findPendingDeliveries();
-        monitoring.put("pendingDeliveriesCount", pending.size());
-        
-        // 가용 라이더
-        long available = activeRiders.stream()
-                .filter(r -> r.getStatus() == RiderStatus.AVAILABLE)
-                .count();
-        monitoring.put("availableRidersCount", available);
-        
-        // 시스템 부하
-        String loadStatus;
-        if (available == 0 && !pending.isEmpty()) {
-            loadStatus = "CRITICAL";
-        } else if (pending.size() > available * 3) {
-            loadStatus = "HIGH";
-        } else {
-            loadStatus = "NORMAL";
-        }
-        monitoring.put("systemLoad", loadStatus);
-        
-        monitoring.put("timestamp", LocalDateTime.now());
-        
-        return monitoring;
+        return monitoringSnapshotPublisher.realtimeMonitoring();
     }
 
     /**
@@ -538,52 +460,39 @@ public class BackOfficeService {
 
     /**
      * 라이더 성과 순위
+     * 라이더별 완료 건수와 평균 배송 시간을 집계 쿼리 한 번으로 구하고 DB에서 정렬·페이지 처리한다.
      */
-    public List<Map<String, Object>> getRidersPerformanceRanking(
-            LocalDateTime startDate, LocalDateTime endDate) {
+    public PageResponse<RiderRankingResponse> getRidersPerformanceRanking(
+            LocalDateTime startDate, LocalDateTime endDate, int page, int size) {
         if (startDate == null) {
             startDate = LocalDateTime.now().minusDays(30);
         }
         if (endDate == null) {
             endDate = LocalDateTime.now();
         }
-        
-        List<Rider> riders = riderRepository.findAll();
-        LocalDateTime finalStartDate = startDate;
-        LocalDateTime finalEndDate = endDate;
-        
-        return riders.stream()
-                .map(rider -> {
-                    List<Delivery> riderDeliveries = deliveryRepository.findByRider(rider).stream()
-                            .filter(d -> d.getActualDeliveryTime() != null &&
-                                       d.getActualDeliveryTime().isAfter(finalStartDate) &&
-                                       d.getActualDeliveryTime().isBefore(finalEndDate))
-                            .toList();
-                    
-                    Map<String, Object> performance = new HashMap<>();
-                    performance.put("riderId", rider.getRiderId());
-                    performance.put("name", rider.getName());
-                    performance.put("totalDeliveries", riderDeliveries.size());
-                    performance.put("averageRating", rider.getAverageRating());
-                    
-                    double avgTime = riderDeliveries.stream()
-                            .mapToLong(d -> ChronoUnit.MINUTES.between(
-                                    d.getRequestedTime(), d.getActualDeliveryTime()))
-                            .average()
-                            .orElse(0.0);
-                    performance.put("avgDeliveryTime", avgTime);
-                    
-                    // 효율성 점수 계산
-                    double score = riderDeliveries.size() * 10 + 
-                                 rider.getAverageRating() * 20 - 
-                                 avgTime * 0.5;
-                    performance.put("efficiencyScore", score);
-                    
-                    return performance;
-                })
-                .sorted(Comparator.comparingDouble(
-                        (Map<String, Object> m) -> (Double) m.get("efficiencyScore")).reversed())
-                .collect(Collectors.toList());
+        if (page < 0 || size < 1 || size > MAX_RANKING_PAGE_SIZE) {
+            throw new InvalidRequestException(
+                    "page는 0 이상, size는 1~" + MAX_RANKING_PAGE_SIZE + " 사이여야 합니다.");
+        }
+
+        Page<RiderRankingView> ranking = riderRepository.findPerformanceRanking(
+                startDate, endDate, PageRequest.of(page, size));
+
+        long offset = ranking.getPageable().getOffset();
+        List<RiderRankingView> views = ranking.getContent();
+        List<RiderRankingResponse> content = new ArrayList<>(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            content.add(RiderRankingResponse.from(views.get(i), offset + i + 1));
+        }
+
+        return PageResponse.<RiderRankingResponse>builder()
+                .content(content)
+                .page(ranking.getNumber())
+                .size(ranking.getSize())
+                .totalElements(ranking.getTotalElements())
+                .totalPages(ranking.getTotalPages())
+                .hasNext(ranking.hasNext())
+                .build();
     }
 
     /**
@@ -643,32 +552,62 @@ public class BackOfficeService {
 
     /**
      * 배송 데이터 CSV 내보내기
+     * 커서로 한 행씩 읽어 바로 출력 스트림에 쓰므로 기간 길이와 관계없이 메모리 사용량이 일정하다.
+     * 스트림은 호출 측에서 닫는다.
+     *
+     * @return 내보낸 행 수
      */
-    public String exportDeliveriesCSV(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Delivery> deliveries = deliveryRepository.findDeliveriesBetweenDates(startDate, endDate);
-        
-        StringBuilder csv = new StringBuilder();
-        csv.append("배송ID,주문번호,상태,우선순위,요청시간,완료시간,라이더ID,라이더명,픽업주소,배송주소,배송료,평점\n");
-        
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
-        
-        for (Delivery d : deliveries) {
-            csv.append(String.format("%s,%s,%s,%s,%s,%s,%s,%s,\"%s\",\"%s\",%d,%s\n",
-                    d.getDeliveryId(),
-                    d.getOrderNumber(),
-                    d.getStatus().getDescription(),
-                    d.getPriority().getDescription(),
-                    d.getRequestedTime().format(formatter),
-                    d.getActualDeliveryTime() != null ? d.getActualDeliveryTime().format(formatter) : "",
-                    d.getRider() != null ? d.getRider().getRiderId() : "",
-                    d.getRider() != null ? d.getRider().getName() : "",
-                    d.getPickupAddress().getAddress(),
-                    d.getDeliveryAddress().getAddress(),
-                    d.getDeliveryFee(),
-                    d.getRating() != null ? d.getRating() : ""
-            ));
+    public long exportDeliveriesCsv(LocalDateTime startDate, LocalDateTime endDate,
+                                    OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), CSV_BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+
+        long rows = 0;
+        try (Stream<DeliveryExportRow> stream = deliveryRepository.streamExportRows(startDate, endDate)) {
+            Iterator<DeliveryExportRow> iterator = stream.iterator();
+            while (iterator.hasNext()) {
+                writeCsvRow(writer, iterator.next());
+                rows++;
+            }
         }
-        
-        return csv.toString();
+        writer.flush();
+        return rows;
+    }
+
+    private void writeCsvRow(Writer writer, DeliveryExportRow row) throws IOException {
+        writer.write(nullToEmpty(row.getDeliveryId()));
+        writer.write(',');
+        writer.write(nullToEmpty(row.getOrderNumber()));
+        writer.write(',');
+        writer.write(row.getStatus().getDescription());
+        writer.write(',');
+        writer.write(row.getPriority().getDescription());
+        writer.write(',');
+        writer.write(row.getRequestedTime().format(CSV_TIME_FORMAT));
+        writer.write(',');
+        if (row.getActualDeliveryTime() != null) writer.write(row.getActualDeliveryTime().format(CSV_TIME_FORMAT));
+        writer.write(',');
+        writer.write(nullToEmpty(row.getRiderId()));
+        writer.write(',');
+        writer.write(nullToEmpty(row.getRiderName()));
+        writer.write(',');
+        writeQuoted(writer, row.getPickupAddress());
+        writer.write(',');
+        writeQuoted(writer, row.getDeliveryAddress());
+        writer.write(',');
+        if (row.getDeliveryFee() != null) writer.write(Integer.toString(row.getDeliveryFee()));
+        writer.write(',');
+        if (row.getRating() != null) writer.write(Integer.toString(row.getRating()));
+        writer.write('\n');
+    }
+
+    private void writeQuoted(Writer writer, String value) throws IOException {
+        writer.write('"');
+        if (value != null) writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private String nullToEmpty(String value) {
+        return value != null ? value : "";
     }
 }
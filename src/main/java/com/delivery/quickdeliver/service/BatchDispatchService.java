@@ -0,0 +1,214 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import com.delivery.quickdeliver.util.GeoUtils;
+import com.delivery.quickdeliver.util.HungarianSolver;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 대기 배송 일괄 배정 (배치 매칭).
+ *
+ * <p>주기마다 PENDING 배송과 AVAILABLE 라이더를 모아 비용 행렬을 만들고, 헝가리안 알고리즘으로
+ * 총 비용이 최소인 배정을 한 번에 구해 하나의 트랜잭션으로 반영한다.
+ * 먼저 들어온 주문이 가장 가까운 라이더를 가져가는 탐욕 배정보다 평균 픽업 거리가 짧아지고,
+ * 생성 시점에 라이더가 없던 배송도 다음 주기에 다시 배정된다.</p>
+ *
+ * <p>비용 = 픽업지까지 거리(km) − 긴급도 보너스. 긴급도는 대기 시간을 우선순위별 허용 시간으로 나눈 값이라,
+ * 라이더가 부족할 때 오래 기다린 긴급 배송이 먼저 배정된다. 적재 무게 초과나 탐색 반경 밖은 배정 불가.</p>
+ *
+ * <p>모든 노드에서 돌지만 배정 트랜잭션은 {@link SchedulerLocks#DISPATCH} 잠금 행으로 한 번에 하나씩 실행된다.
+ * 뒤에 실행되는 노드는 앞 노드가 배정을 커밋한 뒤의 대기 배송·라이더를 읽는다.
+ * 이 잠금 밖의 자동·수동 배정과는 {@link DeliveryService#assignRider} 의 조건부 UPDATE 로 겹치지 않는다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchDispatchService {
+
+    /** 배정 불가 조합 비용. 헝가리안 알고리즘은 유한한 값이 필요하다 */
+    private static final double INFEASIBLE = 1e9;
+
+    private final DeliveryRepository deliveryRepository;
+    private final RiderRepository riderRepository;
+    private final RiderLocationIndex riderLocationIndex;
+    private final DeliveryService deliveryService;
+    private final MeterRegistry meterRegistry;
+    private final PlatformTransactionManager transactionManager;
+    private final SchedulerLocks schedulerLocks;
+
+    @Value("${dispatch.batch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${dispatch.batch.max-deliveries:200}")
+    private int maxDeliveries;
+
+    @Value("${dispatch.batch.candidates-per-delivery:10}")
+    private int candidatesPerDelivery;
+
+    @Value("${dispatch.batch.radius-km:5.0}")
+    private double radiusKm;
+
+    /** 허용 시간을 모두 기다린 배송에 주는 보너스 (km 환산) */
+    @Value("${dispatch.batch.urgency-weight-km:2.0}")
+    private double urgencyWeightKm;
+
+    /** 스케줄러의 자기 호출은 프록시를 거치지 않으므로 트랜잭션을 직접 연다 */
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${dispatch.batch.interval-ms:10000}",
+               initialDelayString = "${dispatch.batch.interval-ms:10000}")
+    public void scheduledDispatch() {
+        if (!enabled) return;
+        try {
+            dispatchPending();
+        } catch (Exception e) {
+            log.error("[BatchDispatch] 일괄 배정 실패", e);
+        }
+    }
+
+    /**
+     * 대기 배송을 일괄 배정한다. 배정은 모두 반영되거나 모두 되돌려진다.
+     *
+     * @return 배정된 배송 수
+     */
+    public int dispatchPending() {
+        Integer assigned = transactionTemplate.execute(status -> assignPending());
+        return assigned != null ? assigned : 0;
+    }
+
+    private int assignPending() {
+        // 여러 노드가 같은 대기 배송·라이더를 동시에 배정하지 않도록 한 노드씩 (커밋까지 잠금)
+        schedulerLocks.lock(SchedulerLocks.DISPATCH);
+
+        List<Delivery> deliveries = deliveryRepository.findPendingDeliveriesWithPickup(
+                PageRequest.of(0, maxDeliveries));
+        if (deliveries.isEmpty()) return 0;
+
+        List<Rider> riders = loadCandidateRiders(deliveries);
+        if (riders.isEmpty()) {
+            log.debug("[BatchDispatch] 대기 배송 {}건, 가용 라이더 없음", deliveries.size());
+            return 0;
+        }
+
+        long started = System.nanoTime();
+        double[][] cost = buildCostMatrix(deliveries, riders, LocalDateTime.now());
+        int[] assignment = HungarianSolver.solve(cost);
+
+        int assigned = 0;
+        double totalKm = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            int j = assignment[i];
+            if (j < 0 || cost[i][j] >= INFEASIBLE) continue;
+
+            Delivery delivery = deliveries.get(i);
+            Rider rider = riders.get(j);
+            // 읽은 뒤 자동·수동 배정이 먼저 잡은 라이더는 건너뛰고, 그 배송은 다음 주기에 다시 배정된다
+            if (!deliveryService.assignRider(delivery, rider)) continue;
+            totalKm += pickupDistanceKm(delivery, rider);
+            assigned++;
+        }
+
+        meterRegistry.counter("dispatch.batch.assigned").increment(assigned);
+        meterRegistry.timer("dispatch.batch.solve").record(Duration.ofNanos(System.nanoTime() - started));
+        if (assigned > 0) {
+            log.info("[BatchDispatch] 배송 {}건 / 라이더 {}명 중 {}건 배정 (평균 픽업 거리 {}km)",
+                    deliveries.size(), riders.size(), assigned,
+                    String.format("%.2f", totalKm / assigned));
+        }
+        return assigned;
+    }
+
+    /**
+     * 각 배송 픽업지 근처 라이더를 공간 인덱스에서 모은 뒤, DB에서 AVAILABLE 인 라이더만 남긴다.
+     */
+    private List<Rider> loadCandidateRiders(List<Delivery> deliveries) {
+        Set<String> riderIds = new LinkedHashSet<>();
+        for (Delivery delivery : deliveries) {
+            Address pickup = delivery.getPickupAddress();
+            riderLocationIndex.findNearest(pickup.getLatitude(), pickup.getLongitude(),
+                            candidatesPerDelivery, radiusKm, RiderStatus.AVAILABLE, weightOf(delivery))
+                    .forEach(candidate -> riderIds.add(candidate.getRiderId()));
+        }
+        if (riderIds.isEmpty()) return List.of();
+
+        List<Rider> riders = new ArrayList<>();
+        for (Rider rider : riderRepository.findByRiderIdIn(riderIds)) {
+            if (rider.getStatus() == RiderStatus.AVAILABLE) {
+                riders.add(rider);
+            } else {
+                // 인덱스가 DB보다 늦은 경우
+                riderLocationIndex.update(rider);
+            }
+        }
+        return riders;
+    }
+
+    private double[][] buildCostMatrix(List<Delivery> deliveries, List<Rider> riders, LocalDateTime now) {
+        double[][] cost = new double[deliveries.size()][riders.size()];
+        for (int i = 0; i < deliveries.size(); i++) {
+            Delivery delivery = deliveries.get(i);
+            double weight = weightOf(delivery);
+            double bonus = urgencyBonus(delivery, now);
+            for (int j = 0; j < riders.size(); j++) {
+                Rider rider = riders.get(j);
+                double distance = pickupDistanceKm(delivery, rider);
+                boolean feasible = distance <= radiusKm
+                        && rider.getVehicleType() != null
+                        && rider.getVehicleType().getMaxWeight() >= weight;
+                cost[i][j] = feasible ? distance - bonus : INFEASIBLE;
+            }
+        }
+        return cost;
+    }
+
+    private double urgencyBonus(Delivery delivery, LocalDateTime now) {
+        if (delivery.getRequestedTime() == null || delivery.getPriority() == null) return 0.0;
+        double waitedMinutes = Math.max(0, Duration.between(delivery.getRequestedTime(), now).toSeconds() / 60.0);
+        return urgencyWeightKm * Math.min(waitedMinutes / delivery.getPriority().getMaxMinutes(), 2.0);
+    }
+
+    /**
+     * 라이더 위치는 DB보다 최신인 인덱스 값을 우선 사용한다.
+     */
+    private double pickupDistanceKm(Delivery delivery, Rider rider) {
+        RiderLocationIndex.RiderPosition position = riderLocationIndex.get(rider.getRiderId());
+        Double lat = position != null && position.getLatitude() != null
+                ? position.getLatitude() : rider.getCurrentLatitude();
+        Double lon = position != null && position.getLongitude() != null
+                ? position.getLongitude() : rider.getCurrentLongitude();
+        if (lat == null || lon == null) return Double.POSITIVE_INFINITY;
+
+        Address pickup = delivery.getPickupAddress();
+        return GeoUtils.distanceKm(lat, lon, pickup.getLatitude(), pickup.getLongitude());
+    }
+
+    private static double weightOf(Delivery delivery) {
+        return delivery.getWeight() != null ? delivery.getWeight() : 0.0;
+    }
+}
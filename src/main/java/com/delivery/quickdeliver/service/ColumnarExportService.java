@@ -0,0 +1,302 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.dto.export.ColumnarPartitionInfo;
+import com.delivery.quickdeliver.exception.InvalidRequestException;
+import com.delivery.quickdeliver.repository.DeliveryHistoryRepository;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.util.ColumnarFormat;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * 분석용 열 지향 일괄 내보내기.
+ *
+ * <p>배송과 배송 이력을 요청 일자별로 {@link ColumnarFormat} 파일로 만들어
+ * {@code {directory}/{yyyy-MM-dd}/{table}.qdc} 에 저장한다. 매일 새벽 전날 분을 만들고,
+ * 지난 기간은 API로 요청하면 백그라운드에서 생성한다. 생성은 단일 스레드에서 하루씩 처리해 DB 부하를 제한한다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ColumnarExportService {
+
+    public static final String DELIVERIES = "deliveries";
+    public static final String DELIVERY_HISTORIES = "delivery_histories";
+    private static final List<String> TABLES = List.of(DELIVERIES, DELIVERY_HISTORIES);
+
+    /** 한 번에 요청할 수 있는 최대 일수 */
+    private static final int MAX_RANGE_DAYS = 366;
+
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryHistoryRepository deliveryHistoryRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${export.columnar.directory:${java.io.tmpdir}/quick-deliver/columnar}")
+    private String directory;
+
+    private Path baseDirectory;
+    private TransactionTemplate readOnlyTransaction;
+    private ExecutorService executor;
+
+    /** 생성 대기 또는 진행 중인 일자 */
+    private final Set<LocalDate> inFlight = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        baseDirectory = Paths.get(directory).toAbsolutePath();
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "columnar-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("[ColumnarExport] 저장 경로: {}", baseDirectory);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Scheduled(cron = "${export.columnar.cron:0 30 3 * * *}")
+    public void exportPreviousDay() {
+        submit(LocalDate.now().minusDays(1));
+    }
+
+    /**
+     * 기간 내 일자 중 파일이 없는 일자(overwrite 면 전부)의 생성을 예약한다.
+     *
+     * @return 새로 예약한 일자
+     */
+    public List<LocalDate> requestExport(LocalDate startDate, LocalDate endDate, boolean overwrite) {
+        validateRange(startDate, endDate);
+        if (!endDate.isBefore(LocalDate.now())) {
+            throw new InvalidRequestException("어제까지의 일자만 내보낼 수 있습니다.");
+        }
+
+        List<LocalDate> scheduled = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            if ((overwrite || !isComplete(day)) && submit(day)) {
+                scheduled.add(day);
+            }
+        }
+        return scheduled;
+    }
+
+    /**
+     * 기간 내 생성된 파일 목록.
+     */
+    public List<ColumnarPartitionInfo> listPartitions(LocalDate startDate, LocalDate endDate) {
+        validateRange(startDate, endDate);
+
+        List<ColumnarPartitionInfo> partitions = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            for (String table : TABLES) {
+                Path file = partitionFile(day, table);
+                if (!Files.isRegularFile(file)) continue;
+                try (InputStream in = Files.newInputStream(file)) {
+                    partitions.add(ColumnarPartitionInfo.builder()
+                            .date(day)
+                            .table(table)
+                            .path(baseDirectory.relativize(file).toString())
+                            .sizeBytes(Files.size(file))
+                            .rowCount(ColumnarFormat.readRowCount(in))
+                            .createdAt(LocalDateTime.ofInstant(
+                                    Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault()))
+                            .build());
+                } catch (IOException e) {
+                    log.warn("[ColumnarExport] 파일 정보 조회 실패: {}", file, e);
+                }
+            }
+        }
+        return partitions;
+    }
+
+    /**
+     * 기간 내 파일을 zip 하나로 묶어 쓴다. 파일이 이미 압축되어 있어 zip 은 저장만 한다.
+     */
+    public void writeArchive(List<ColumnarPartitionInfo> partitions, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.setLevel(Deflater.NO_COMPRESSION);
+        for (ColumnarPartitionInfo partition : partitions) {
+            zip.putNextEntry(new ZipEntry(partition.getPath().replace('\\', '/')));
+            Files.copy(baseDirectory.resolve(partition.getPath()), zip);
+            zip.closeEntry();
+        }
+        zip.finish();
+    }
+
+    /**
+     * 하루치 배송·이력 파일을 만든다. 임시 파일에 쓴 뒤 교체하므로 읽는 쪽은 완성된 파일만 본다.
+     */
+    public void exportDay(LocalDate day) {
+        LocalDateTime from = day.atStartOfDay();
+        LocalDateTime to = day.plusDays(1).atStartOfDay();
+        long started = System.nanoTime();
+
+        int[] rows = new int[2];
+        readOnlyTransaction.executeWithoutResult(status -> {
+            rows[0] = writeTable(day, DELIVERIES, buildDeliveriesTable(from, to));
+            rows[1] = writeTable(day, DELIVERY_HISTORIES, buildHistoriesTable(from, to));
+        });
+
+        log.info("[ColumnarExport] {} 생성 완료: 배송 {}건, 이력 {}건 ({}ms)",
+                day, rows[0], rows[1], (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private boolean submit(LocalDate day) {
+        if (!inFlight.add(day)) return false;
+        executor.execute(() -> {
+            try {
+                exportDay(day);
+            } catch (Exception e) {
+                log.error("[ColumnarExport] {} 생성 실패", day, e);
+            } finally {
+                inFlight.remove(day);
+            }
+        });
+        return true;
+    }
+
+    private ColumnarFormat.Table buildDeliveriesTable(LocalDateTime from, LocalDateTime to) {
+        ColumnarFormat.Table table = new ColumnarFormat.Table();
+        ColumnarFormat.Column id = table.column("id", ColumnarFormat.Encoding.LONG);
+        ColumnarFormat.Column deliveryId = table.column("delivery_id", ColumnarFormat.Encoding.STRING);
+        ColumnarFormat.Column orderNumber = table.column("order_number", ColumnarFormat.Encoding.STRING);
+        ColumnarFormat.Column status = table.column("status", ColumnarFormat.Encoding.DICTIONARY);
+        ColumnarFormat.Column priority = table.column("priority", ColumnarFormat.Encoding.DICTIONARY);
+        ColumnarFormat.Column riderId = table.column("rider_id", ColumnarFormat.Encoding.DICTIONARY);
+        ColumnarFormat.Column requestedTime = table.column("requested_time", ColumnarFormat.Encoding.TIMESTAMP);
+        ColumnarFormat.Column estimatedDeliveryTime =
+                table.column("estimated_delivery_time", ColumnarFormat.Encoding.TIMESTAMP);
+        ColumnarFormat.Column actualPickupTime = table.column("actual_pickup_time", ColumnarFormat.Encoding.TIMESTAMP);
+        ColumnarFormat.Column actualDeliveryTime =
+                table.column("actual_delivery_time", ColumnarFormat.Encoding.TIMESTAMP);
+        ColumnarFormat.Column pickupLat = table.column("pickup_latitude", ColumnarFormat.Encoding.COORDINATE);
+        ColumnarFormat.Column pickupLng = table.column("pickup_longitude", ColumnarFormat.Encoding.COORDINATE);
+        ColumnarFormat.Column deliveryLat = table.column("delivery_latitude", ColumnarFormat.Encoding.COORDINATE);
+        ColumnarFormat.Column deliveryLng = table.column("delivery_longitude", ColumnarFormat.Encoding.COORDINATE);
+        ColumnarFormat.Column estimatedDistance = table.column("estimated_distance", ColumnarFormat.Encoding.DOUBLE);
+        ColumnarFormat.Column weight = table.column("weight", ColumnarFormat.Encoding.DOUBLE);
+        ColumnarFormat.Column deliveryFee = table.column("delivery_fee", ColumnarFormat.Encoding.LONG);
+        ColumnarFormat.Column rating = table.column("rating", ColumnarFormat.Encoding.LONG);
+
+        try (Stream<Object[]> stream = deliveryRepository.streamColumnarRows(from, to)) {
+            stream.forEach(row -> {
+                id.addLong((Number) row[0]);
+                deliveryId.addString((String) row[1]);
+                orderNumber.addString((String) row[2]);
+                status.addString(row[3] != null ? ((DeliveryStatus) row[3]).name() : null);
+                priority.addString(row[4] != null ? ((Priority) row[4]).name() : null);
+                riderId.addString((String) row[5]);
+                requestedTime.addTimestamp((LocalDateTime) row[6]);
+                estimatedDeliveryTime.addTimestamp((LocalDateTime) row[7]);
+                actualPickupTime.addTimestamp((LocalDateTime) row[8]);
+                actualDeliveryTime.addTimestamp((LocalDateTime) row[9]);
+                pickupLat.addCoordinate((Double) row[10]);
+                pickupLng.addCoordinate((Double) row[11]);
+                deliveryLat.addCoordinate((Double) row[12]);
+                deliveryLng.addCoordinate((Double) row[13]);
+                estimatedDistance.addDouble((Double) row[14]);
+                weight.addDouble((Double) row[15]);
+                deliveryFee.addLong((Number) row[16]);
+                rating.addLong((Number) row[17]);
+            });
+        }
+        return table;
+    }
+
+    private ColumnarFormat.Table buildHistoriesTable(LocalDateTime from, LocalDateTime to) {
+        ColumnarFormat.Table table = new ColumnarFormat.Table();
+        ColumnarFormat.Column id = table.column("id", ColumnarFormat.Encoding.LONG);
+        ColumnarFormat.Column deliveryId = table.column("delivery_id", ColumnarFormat.Encoding.DICTIONARY);
+        ColumnarFormat.Column event = table.column("event", ColumnarFormat.Encoding.DICTIONARY);
+        ColumnarFormat.Column status = table.column("status", ColumnarFormat.Encoding.DICTIONARY);
+        ColumnarFormat.Column eventTime = table.column("event_time", ColumnarFormat.Encoding.TIMESTAMP);
+        ColumnarFormat.Column latitude = table.column("latitude", ColumnarFormat.Encoding.COORDINATE);
+        ColumnarFormat.Column longitude = table.column("longitude", ColumnarFormat.Encoding.COORDINATE);
+
+        try (Stream<Object[]> stream = deliveryHistoryRepository.streamColumnarRows(from, to)) {
+            stream.forEach(row -> {
+                id.addLong((Number) row[0]);
+                deliveryId.addString((String) row[1]);
+                event.addString((String) row[2]);
+                status.addString(row[3] != null ? ((DeliveryStatus) row[3]).name() : null);
+                eventTime.addTimestamp((LocalDateTime) row[4]);
+                latitude.addCoordinate((Double) row[5]);
+                longitude.addCoordinate((Double) row[6]);
+            });
+        }
+        return table;
+    }
+
+    private int writeTable(LocalDate day, String tableName, ColumnarFormat.Table table) {
+        Path target = partitionFile(day, tableName);
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), tableName, ".tmp");
+            try {
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(temp), 64 * 1024)) {
+                    table.write(out);
+                }
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("열 지향 파일 쓰기 실패: " + target, e);
+        }
+        return table.rowCount();
+    }
+
+    private boolean isComplete(LocalDate day) {
+        return TABLES.stream().allMatch(table -> Files.isRegularFile(partitionFile(day, table)));
+    }
+
+    private Path partitionFile(LocalDate day, String table) {
+        return baseDirectory.resolve(day.toString()).resolve(table + ColumnarFormat.FILE_EXTENSION);
+    }
+
+    private void validateRange(LocalDate startDate, LocalDate endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new InvalidRequestException("시작 날짜가 종료 날짜보다 늦습니다.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_RANGE_DAYS) {
+            throw new InvalidRequestException("최대 " + MAX_RANGE_DAYS + "일까지 요청할 수 있습니다.");
+        }
+    }
+}
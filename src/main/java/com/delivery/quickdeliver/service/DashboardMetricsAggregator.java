@@ -0,0 +1,230 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 백오피스 대시보드 실시간 집계.
+ *
+ * <p>배송·라이더 상태 변경 이벤트를 커밋 이후에 받아 오늘의 상태별 건수, 시간대별 요청 건수,
+ * 평균 배송 시간, 라이더 상태별 수를 카운터로 유지한다. 대시보드 조회는 카운터를 복사만 하므로
+ * 조회 수와 배송 건수에 관계없이 비용이 일정하다.</p>
+ *
+ * <p>이벤트를 거치지 않는 변경(초기 데이터 적재, 직접 SQL 등)이나 보정 조회와 이벤트가 겹쳐 생기는 오차는
+ * 주기적인 DB 집계 쿼리로 덮어써서 바로잡는다. 지연 배송 수는 시간이 지나면 바뀌므로 이 보정 주기에 함께 갱신한다.</p>
+ *
+ * <p>카운터는 노드마다 따로 있다. relay 모드(여러 노드)에서는 다른 노드에서 일어난 변경이 이벤트로 오지 않으므로
+ * 보정 주기({@code dashboard.metrics.reconcile-interval-ms})만큼 늦게 반영된다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DashboardMetricsAggregator {
+
+    private static final DeliveryStatus[] DELIVERY_STATUSES = DeliveryStatus.values();
+    private static final RiderStatus[] RIDER_STATUSES = RiderStatus.values();
+
+    private final DeliveryRepository deliveryRepository;
+    private final RiderRepository riderRepository;
+
+    // 아래 필드는 모두 this 로 동기화한다
+
+    /** 배송 카운터의 기준 일자. 날짜가 바뀌면 배송 카운터를 비운다 */
+    private LocalDate day = LocalDate.now();
+    /** 오늘 요청된 배송의 상태별 건수 (DeliveryStatus.ordinal 기준) */
+    private final long[] deliveryCounts = new long[DELIVERY_STATUSES.length];
+    /** 오늘 요청된 배송의 시간대별 건수 */
+    private final long[] hourlyCounts = new long[24];
+    private long completedCount;
+    private long completedMinutesSum;
+
+    /** 라이더 상태별 수 (RiderStatus.ordinal 기준) */
+    private final long[] riderCounts = new long[RIDER_STATUSES.length];
+    private long activeRiders;
+    private long delayedDeliveries;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        LocalDateTime requestedTime = event.delivery().getRequestedTime();
+        if (requestedTime == null) return;
+
+        synchronized (this) {
+            rollOverIfNeeded();
+            // 어제 이전에 요청된 배송은 오늘 통계에 포함하지 않는다
+            if (!requestedTime.toLocalDate().equals(day)) return;
+
+            DeliveryStatus previous = event.previousStatus();
+            if (previous == null) {
+                hourlyCounts[requestedTime.getHour()]++;
+                deliveryCounts[event.status().ordinal()]++;
+            } else if (previous != event.status()) {
+                decrement(deliveryCounts, previous.ordinal());
+                deliveryCounts[event.status().ordinal()]++;
+            }
+
+            if (event.status() == DeliveryStatus.DELIVERED && previous != DeliveryStatus.DELIVERED
+                    && event.delivery().getActualDeliveryTime() != null) {
+                completedCount++;
+                completedMinutesSum += ChronoUnit.MINUTES.between(
+                        requestedTime, event.delivery().getActualDeliveryTime());
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRiderStatusChanged(RiderStatusChangedEvent event) {
+        synchronized (this) {
+            RiderStatus previous = event.previousStatus();
+            if (previous == null) {
+                riderCounts[event.status().ordinal()]++;
+            } else if (previous != event.status()) {
+                decrement(riderCounts, previous.ordinal());
+                riderCounts[event.status().ordinal()]++;
+            }
+
+            if (event.onShift() && !event.previouslyOnShift()) {
+                activeRiders++;
+            } else if (!event.onShift() && event.previouslyOnShift()) {
+                activeRiders = Math.max(0, activeRiders - 1);
+            }
+        }
+    }
+
+    /**
+     * 대시보드 응답. 키 구성은 기존 전체 조회 방식과 같다.
+     */
+    public synchronized Map<String, Object> snapshot() {
+        rollOverIfNeeded();
+
+        long total = Arrays.stream(deliveryCounts).sum();
+        long completed = deliveryCounts[DeliveryStatus.DELIVERED.ordinal()];
+
+        Map<String, Object> dashboard = new HashMap<>();
+        dashboard.put("totalDeliveriesToday", total);
+        dashboard.put("completedDeliveries", completed);
+        dashboard.put("inProgressDeliveries", deliveryCounts[DeliveryStatus.IN_TRANSIT.ordinal()]
+                + deliveryCounts[DeliveryStatus.PICKING_UP.ordinal()]);
+        dashboard.put("pendingDeliveries", deliveryCounts[DeliveryStatus.PENDING.ordinal()]);
+        dashboard.put("completionRate", total > 0 ? (double) completed / total * 100 : 0);
+
+        dashboard.put("totalRiders", Arrays.stream(riderCounts).sum());
+        dashboard.put("activeRiders", activeRiders);
+        dashboard.put("availableRiders", riderCounts[RiderStatus.AVAILABLE.ordinal()]);
+        dashboard.put("busyRiders", riderCounts[RiderStatus.BUSY.ordinal()]);
+
+        dashboard.put("avgDeliveryTimeMinutes",
+                completedCount > 0 ? (double) completedMinutesSum / completedCount : 0.0);
+        dashboard.put("delayedDeliveries", delayedDeliveries);
+
+        Map<Integer, Long> hourlyDistribution = new LinkedHashMap<>();
+        for (int hour = 0; hour < hourlyCounts.length; hour++) {
+            if (hourlyCounts[hour] > 0) {
+                hourlyDistribution.put(hour, hourlyCounts[hour]);
+            }
+        }
+        dashboard.put("hourlyDistribution", hourlyDistribution);
+
+        return dashboard;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+        log.info("[Dashboard] 집계 초기화 완료");
+    }
+
+    @Scheduled(fixedDelayString = "${dashboard.metrics.reconcile-interval-ms:60000}",
+               initialDelayString = "${dashboard.metrics.reconcile-interval-ms:60000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("[Dashboard] 집계 보정 실패", e);
+        }
+    }
+
+    /**
+     * DB 집계 쿼리 결과로 카운터를 덮어쓴다.
+     * 조회는 잠금 밖에서 하고 교체만 잠금 안에서 하므로, 조회 중 반영된 이벤트로 생긴 오차는 다음 주기에 보정된다.
+     */
+    public void reconcile() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+        LocalDateTime todayStart = today.atStartOfDay();
+
+        long[] freshDeliveryCounts = new long[DELIVERY_STATUSES.length];
+        for (Object[] row : deliveryRepository.countByStatusSince(todayStart)) {
+            freshDeliveryCounts[((DeliveryStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+
+        long[] freshHourlyCounts = new long[24];
+        for (Object[] row : deliveryRepository.countByRequestedHourSince(todayStart)) {
+            freshHourlyCounts[((Number) row[0]).intValue()] = ((Number) row[1]).longValue();
+        }
+
+        List<Object[]> deliveryTimes = deliveryRepository.findDeliveryTimesSince(todayStart);
+        long freshCompletedMinutes = 0;
+        for (Object[] row : deliveryTimes) {
+            freshCompletedMinutes += ChronoUnit.MINUTES.between((LocalDateTime) row[0], (LocalDateTime) row[1]);
+        }
+
+        long[] freshRiderCounts = new long[RIDER_STATUSES.length];
+        for (Object[] row : riderRepository.countByStatus()) {
+            freshRiderCounts[((RiderStatus) row[0]).ordinal()] = ((Number) row[1]).longValue();
+        }
+        long freshActiveRiders = riderRepository.countActiveRiders();
+        long freshDelayed = deliveryRepository.countDelayedDeliveries(now);
+
+        synchronized (this) {
+            if (log.isDebugEnabled()) {
+                log.debug("[Dashboard] 보정 전후 배송 {} -> {}, 라이더 {} -> {}",
+                        Arrays.toString(deliveryCounts), Arrays.toString(freshDeliveryCounts),
+                        Arrays.toString(riderCounts), Arrays.toString(freshRiderCounts));
+            }
+            day = today;
+            System.arraycopy(freshDeliveryCounts, 0, deliveryCounts, 0, deliveryCounts.length);
+            System.arraycopy(freshHourlyCounts, 0, hourlyCounts, 0, hourlyCounts.length);
+            completedCount = deliveryTimes.size();
+            completedMinutesSum = freshCompletedMinutes;
+            System.arraycopy(freshRiderCounts, 0, riderCounts, 0, riderCounts.length);
+            activeRiders = freshActiveRiders;
+            delayedDeliveries = freshDelayed;
+        }
+    }
+
+    /** 자정이 지나면 오늘 기준 배송 카운터를 비운다. 라이더 카운터는 날짜와 무관하다 */
+    private void rollOverIfNeeded() {
+        LocalDate today = LocalDate.now();
+        if (today.equals(day)) return;
+
+        day = today;
+        Arrays.fill(deliveryCounts, 0);
+        Arrays.fill(hourlyCounts, 0);
+        completedCount = 0;
+        completedMinutesSum = 0;
+    }
+
+    private static void decrement(long[] counts, int index) {
+        if (counts[index] > 0) counts[index]--;
+    }
+}
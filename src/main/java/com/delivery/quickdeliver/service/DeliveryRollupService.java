@@ -0,0 +1,331 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.DeliveryRollup;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.domain.enums.RollupGranularity;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.dto.projection.DeliveryRollupTotals;
+import com.delivery.quickdeliver.exception.InvalidRequestException;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.DeliveryRollupRepository;
+import com.delivery.quickdeliver.util.DeliveryZones;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 분석 API용 배송 사전 집계 ({@link DeliveryRollup}).
+ *
+ * <p>배송 상태가 바뀌면 그 배송의 요청 시각이 속한 시간 구간을 표시해 두고, 짧은 주기로 표시된 구간만
+ * 원본에서 다시 집계해 HOUR 행과 그날의 DAY 행을 교체한다. 구간 단위로 통째로 다시 만들기 때문에
+ * 라이더 재배정이나 이벤트 누락이 있어도 합계가 어긋나지 않는다.</p>
+ *
+ * <p>기동 시 최근 기간을 채우고, 매일 새벽 지난 이틀을 다시 집계해 이벤트를 거치지 않은 변경(평점 등)을 반영한다.
+ * 지난 기간은 {@link #backfill(LocalDate, LocalDate)} 로 채운다.</p>
+ *
+ * <p>조회는 시간 단위로 맞춘 구간에서 앞뒤 자투리는 HOUR 행, 가운데 온전한 날짜는 DAY 행을 합산한다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliveryRollupService {
+
+    /** 한 번에 다시 집계할 수 있는 최대 일수 */
+    private static final int MAX_BACKFILL_DAYS = 366;
+
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryRollupRepository deliveryRollupRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${analytics.rollup.backfill-days:35}")
+    private int backfillDays;
+
+    private TransactionTemplate transactionTemplate;
+
+    /** 다시 집계할 시간 구간 (정시) */
+    private final Set<LocalDateTime> dirtyHours = ConcurrentHashMap.newKeySet();
+
+    /** 같은 구간의 삭제·삽입이 겹치지 않도록 재집계는 한 번에 하나씩 (노드 사이는 {@link DeliveryRollupRepository#lockRebuild}) */
+    private final Object rebuildLock = new Object();
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        LocalDateTime requestedTime = event.delivery().getRequestedTime();
+        if (requestedTime != null) {
+            dirtyHours.add(requestedTime.truncatedTo(ChronoUnit.HOURS));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.flush-interval-ms:5000}")
+    public void flushDirtyHours() {
+        if (dirtyHours.isEmpty()) return;
+
+        Set<LocalDateTime> hours = new TreeSet<>(dirtyHours);
+        dirtyHours.removeAll(hours);
+        try {
+            Map<LocalDate, List<LocalDateTime>> hoursByDay = new TreeMap<>();
+            for (LocalDateTime hour : hours) {
+                hoursByDay.computeIfAbsent(hour.toLocalDate(), d -> new ArrayList<>()).add(hour);
+            }
+            hoursByDay.forEach((day, dayHours) -> inTransaction(() -> {
+                for (LocalDateTime hour : dayHours) {
+                    rebuildHourly(hour, hour.plusHours(1));
+                }
+                rebuildDaily(day);
+            }));
+        } catch (Exception e) {
+            // 다음 주기에 다시 시도
+            dirtyHours.addAll(hours);
+            log.error("[Rollup] 집계 갱신 실패: {}개 구간", hours.size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        LocalDate today = LocalDate.now();
+        backfill(today.minusDays(backfillDays), today);
+    }
+
+    @Scheduled(cron = "${analytics.rollup.backfill-cron:0 10 3 * * *}")
+    public void backfillRecentDays() {
+        LocalDate today = LocalDate.now();
+        try {
+            backfill(today.minusDays(2), today.minusDays(1));
+        } catch (Exception e) {
+            log.error("[Rollup] 정기 재집계 실패", e);
+        }
+    }
+
+    /**
+     * 기간(양끝 포함)의 HOUR/DAY 집계를 원본에서 다시 만든다. 하루씩 별도 트랜잭션으로 처리한다.
+     *
+     * @return 처리한 일수
+     */
+    public int backfill(LocalDate startDate, LocalDate endDate) {
+        if (startDate == null || endDate == null || startDate.isAfter(endDate)) {
+            throw new InvalidRequestException("집계 기간이 올바르지 않습니다.");
+        }
+        if (ChronoUnit.DAYS.between(startDate, endDate) >= MAX_BACKFILL_DAYS) {
+            throw new InvalidRequestException("집계 기간은 최대 " + MAX_BACKFILL_DAYS + "일입니다.");
+        }
+
+        long started = System.currentTimeMillis();
+        int days = 0;
+        for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+            LocalDate target = day;
+            inTransaction(() -> {
+                LocalDateTime dayStart = target.atStartOfDay();
+                rebuildHourly(dayStart, dayStart.plusDays(1));
+                rebuildDaily(target);
+            });
+            days++;
+        }
+        log.info("[Rollup] {} ~ {} 재집계 완료 ({}일, {}ms)", startDate, endDate, days,
+                System.currentTimeMillis() - started);
+        return days;
+    }
+
+    // ---- 조회 ----
+
+    public DeliveryRollupTotals totals(LocalDateTime from, LocalDateTime to) {
+        Window w = Window.of(from, to);
+        return deliveryRollupRepository.sumTotals(w.from(), w.dayFrom(), w.dayTo(), w.to());
+    }
+
+    public Map<DeliveryStatus, Long> countByStatus(LocalDateTime from, LocalDateTime to) {
+        Window w = Window.of(from, to);
+        Map<DeliveryStatus, Long> counts = new EnumMap<>(DeliveryStatus.class);
+        for (Object[] row : deliveryRollupRepository.sumCountByStatus(w.from(), w.dayFrom(), w.dayTo(), w.to())) {
+            counts.put((DeliveryStatus) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    public Map<String, Long> countByPriority(LocalDateTime from, LocalDateTime to) {
+        Window w = Window.of(from, to);
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : deliveryRollupRepository.sumCountByPriority(w.from(), w.dayFrom(), w.dayTo(), w.to())) {
+            counts.put(((Priority) row[0]).name(), ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    public Map<String, Long> countByZone(LocalDateTime from, LocalDateTime to) {
+        Window w = Window.of(from, to);
+        Map<String, Long> counts = new HashMap<>();
+        for (Object[] row : deliveryRollupRepository.sumCountByZone(w.from(), w.dayFrom(), w.dayTo(), w.to())) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    /**
+     * 시간 구간별 요청 건수 (구간 시작 시각 순)
+     */
+    public Map<LocalDateTime, Long> countByHour(LocalDateTime from, LocalDateTime to) {
+        Window w = Window.of(from, to);
+        Map<LocalDateTime, Long> counts = new TreeMap<>();
+        for (Object[] row : deliveryRollupRepository.sumCountByBucket(RollupGranularity.HOUR, w.from(), w.to())) {
+            counts.put((LocalDateTime) row[0], ((Number) row[1]).longValue());
+        }
+        return counts;
+    }
+
+    // ---- 재집계 ----
+
+    private void inTransaction(Runnable work) {
+        synchronized (rebuildLock) {
+            transactionTemplate.executeWithoutResult(status -> {
+                // 다른 노드와의 삭제·삽입 겹침은 DB 잠금 행으로 막는다
+                deliveryRollupRepository.lockRebuild();
+                work.run();
+            });
+        }
+    }
+
+    /** 저장된 배송 구역. 저장 시 계산되므로 비어 있는 건 구역을 알 수 없는 배송뿐이다 */
+    private static String zoneOf(String zone) {
+        return zone != null ? zone : DeliveryZones.UNKNOWN;
+    }
+
+    /** [from, to) 에 요청된 배송으로 HOUR 행을 다시 만든다. from, to 는 정시여야 한다 */
+    private void rebuildHourly(LocalDateTime from, LocalDateTime to) {
+        Map<RollupKey, DeliveryRollup> rollups = new LinkedHashMap<>();
+        for (Object[] row : deliveryRepository.findRollupSourceRows(from, to)) {
+            LocalDateTime requestedTime = (LocalDateTime) row[0];
+            RollupKey key = new RollupKey(requestedTime.truncatedTo(ChronoUnit.HOURS),
+                    (DeliveryStatus) row[1], (Priority) row[2], zoneOf((String) row[3]), (String) row[4]);
+            accumulate(rollups.computeIfAbsent(key, k -> k.newRollup(RollupGranularity.HOUR)), row);
+        }
+        deliveryRollupRepository.deleteBuckets(RollupGranularity.HOUR, from, to);
+        deliveryRollupRepository.saveAll(rollups.values());
+    }
+
+    /** 그날의 HOUR 행을 합쳐 DAY 행을 다시 만든다 */
+    private void rebuildDaily(LocalDate day) {
+        LocalDateTime dayStart = day.atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1);
+
+        Map<RollupKey, DeliveryRollup> rollups = new LinkedHashMap<>();
+        for (DeliveryRollup hourly : deliveryRollupRepository.findBuckets(RollupGranularity.HOUR, dayStart, dayEnd)) {
+            RollupKey key = new RollupKey(dayStart, hourly.getStatus(), hourly.getPriority(),
+                    hourly.getZone(), hourly.getRiderId());
+            merge(rollups.computeIfAbsent(key, k -> k.newRollup(RollupGranularity.DAY)), hourly);
+        }
+        deliveryRollupRepository.deleteBuckets(RollupGranularity.DAY, dayStart, dayEnd);
+        deliveryRollupRepository.saveAll(rollups.values());
+    }
+
+    /** row: DeliveryRepository#findRollupSourceRows 컬럼 순서 */
+    private static void accumulate(DeliveryRollup rollup, Object[] row) {
+        LocalDateTime requestedTime = (LocalDateTime) row[0];
+        LocalDateTime actualDeliveryTime = (LocalDateTime) row[5];
+        LocalDateTime estimatedDeliveryTime = (LocalDateTime) row[6];
+        Integer rating = (Integer) row[7];
+        Double estimatedDistance = (Double) row[8];
+        Double actualDistance = (Double) row[9];
+
+        rollup.setDeliveryCount(rollup.getDeliveryCount() + 1);
+        if (actualDeliveryTime != null) {
+            rollup.setTimedCount(rollup.getTimedCount() + 1);
+            rollup.setDeliveryMinutesSum(rollup.getDeliveryMinutesSum()
+                    + ChronoUnit.MINUTES.between(requestedTime, actualDeliveryTime));
+            if (estimatedDeliveryTime != null && !actualDeliveryTime.isAfter(estimatedDeliveryTime)) {
+                rollup.setOnTimeCount(rollup.getOnTimeCount() + 1);
+            }
+        }
+        if (rating != null) {
+            rollup.setRatingCount(rollup.getRatingCount() + 1);
+            rollup.setRatingSum(rollup.getRatingSum() + rating);
+        }
+        if (estimatedDistance != null) {
+            rollup.setEstimatedDistanceSum(rollup.getEstimatedDistanceSum() + estimatedDistance);
+        }
+        if (actualDistance != null) {
+            rollup.setActualDistanceCount(rollup.getActualDistanceCount() + 1);
+            rollup.setActualDistanceSum(rollup.getActualDistanceSum() + actualDistance);
+        }
+    }
+
+    private static void merge(DeliveryRollup target, DeliveryRollup source) {
+        target.setDeliveryCount(target.getDeliveryCount() + source.getDeliveryCount());
+        target.setTimedCount(target.getTimedCount() + source.getTimedCount());
+        target.setDeliveryMinutesSum(target.getDeliveryMinutesSum() + source.getDeliveryMinutesSum());
+        target.setOnTimeCount(target.getOnTimeCount() + source.getOnTimeCount());
+        target.setRatingCount(target.getRatingCount() + source.getRatingCount());
+        target.setRatingSum(target.getRatingSum() + source.getRatingSum());
+        target.setActualDistanceCount(target.getActualDistanceCount() + source.getActualDistanceCount());
+        target.setActualDistanceSum(target.getActualDistanceSum() + source.getActualDistanceSum());
+        target.setEstimatedDistanceSum(target.getEstimatedDistanceSum() + source.getEstimatedDistanceSum());
+    }
+
+    private record RollupKey(LocalDateTime bucketStart, DeliveryStatus status, Priority priority,
+                             String zone, String riderId) {
+
+        DeliveryRollup newRollup(RollupGranularity granularity) {
+            return DeliveryRollup.builder()
+                    .granularity(granularity)
+                    .bucketStart(bucketStart)
+                    .status(status)
+                    .priority(priority)
+                    .zone(zone)
+                    .riderId(riderId)
+                    .build();
+        }
+    }
+
+    /**
+     * 조회 구간을 정시로 넓힌 [from, to) 와 그 안의 온전한 날짜 [dayFrom, dayTo).
+     * 시작 시각이 속한 시간과 종료 시각이 속한 시간은 전체가 포함된다.
+     */
+    private record Window(LocalDateTime from, LocalDateTime dayFrom, LocalDateTime dayTo, LocalDateTime to) {
+
+        static Window of(LocalDateTime from, LocalDateTime to) {
+            LocalDateTime hourFrom = from.truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime hourTo = ceil(to, ChronoUnit.HOURS);
+            if (hourTo.isBefore(hourFrom)) hourTo = hourFrom;
+
+            LocalDateTime dayFrom = min(ceil(hourFrom, ChronoUnit.DAYS), hourTo);
+            LocalDateTime dayTo = hourTo.truncatedTo(ChronoUnit.DAYS);
+            if (dayTo.isBefore(dayFrom)) dayTo = dayFrom;
+            return new Window(hourFrom, dayFrom, dayTo, hourTo);
+        }
+
+        private static LocalDateTime ceil(LocalDateTime time, ChronoUnit unit) {
+            LocalDateTime truncated = time.truncatedTo(unit);
+            return truncated.equals(time) ? time : truncated.plus(1, unit);
+        }
+
+        private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+            return a.isBefore(b) ? a : b;
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import com.delivery.quickdeliver.dto.request.DeliverySort;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.exception.InvalidRequestException;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.util.KeysetCursor;
+import com.delivery.quickdeliver.util.NgramIndex;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 상담용 배송 검색 (주문번호·배송ID·연락처·주소 일부).
+ *
+ * <p>최근 {@code search.index.window-days}일 동안 요청된 배송은 메모리 bigram 색인({@link NgramIndex})에서 부분 일치로 찾는다.
+ * 색인은 배송 생성·상태 변경 이벤트로 갱신하고, 주기적으로 DB에서 다시 만들어 기간이 지난 배송을 빼낸다.</p>
+ *
+ * <p>색인 결과가 없거나 검색어가 식별자(배송ID·주문번호·연락처)처럼 보이면, 그 이전 배송을
+ * 인덱스가 있는 컬럼(배송ID·주문번호 prefix, 연락처 일치)으로만 DB에서 찾는다. 주소 일부 검색은 색인 기간 안에서만 된다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DeliverySearchService {
+
+    private static final int MAX_LIMIT = 50;
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final DeliveryRepository deliveryRepository;
+
+    @Value("${search.index.window-days:7}")
+    private int windowDays;
+
+    private volatile NgramIndex<DeliveryResponse> index = new NgramIndex<>();
+
+    /** 현재 색인이 담당하는 요청 시각 하한. 이보다 이전 배송은 DB에서 찾는다 */
+    private volatile LocalDateTime indexedFrom = LocalDateTime.now();
+
+    /** 재색인 중 들어온 변경. 새 색인으로 교체할 때 다시 반영한다 (this 로 동기화) */
+    private List<DeliveryResponse> changesDuringRebuild;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        DeliveryResponse delivery = event.delivery();
+        synchronized (this) {
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(delivery);
+            }
+            add(index, delivery, indexedFrom);
+        }
+    }
+
+    /**
+     * 검색어를 포함하는 배송을 최근 요청 순으로 돌려준다.
+     */
+    public List<DeliveryResponse> search(String query, int limit) {
+        String normalized = NgramIndex.normalize(query);
+        if (normalized.length() < NgramIndex.GRAM_LENGTH) {
+            throw new InvalidRequestException("검색어는 " + NgramIndex.GRAM_LENGTH + "자 이상 입력해야 합니다.");
+        }
+        int max = Math.min(Math.max(limit, 1), MAX_LIMIT);
+
+        List<DeliveryResponse> results = new ArrayList<>(index.search(normalized, max));
+        // 입력마다 DB 를 치지 않도록, 색인에 없거나 식별자처럼 보이는 검색어만 이전 배송을 찾는다
+        if (results.size() < max && (results.isEmpty() || looksLikeIdentifier(normalized))) {
+            Set<String> found = new HashSet<>();
+            results.forEach(d -> found.add(d.getDeliveryId()));
+            for (DeliveryResponse delivery : deliveryRepository.findByIdentifierPrefix(
+                    normalized, indexedFrom, max - results.size())) {
+                if (found.add(delivery.getDeliveryId())) {
+                    results.add(delivery);
+                }
+            }
+        }
+        return results;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval-ms:3600000}",
+               initialDelayString = "${search.index.rebuild-interval-ms:3600000}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("[Search] 검색 색인 재구성 실패", e);
+        }
+    }
+
+    /**
+     * 최근 기간 배송으로 새 색인을 만들어 교체한다. 만드는 동안의 변경은 교체 시 다시 반영한다.
+     */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        LocalDateTime from = LocalDateTime.now().minusDays(windowDays);
+        synchronized (this) {
+            changesDuringRebuild = new ArrayList<>();
+        }
+
+        NgramIndex<DeliveryResponse> fresh = new NgramIndex<>();
+        try {
+            DeliverySearchCondition condition = DeliverySearchCondition.builder().requestedFrom(from).build();
+            KeysetCursor cursor = null;
+            List<DeliveryResponse> page;
+            do {
+                // 오래된 순으로 넣어야 색인 결과가 최근 순이 된다
+                page = deliveryRepository.findResponses(condition, DeliverySort.REQUESTED_ASC, cursor, LOAD_PAGE_SIZE);
+                for (DeliveryResponse delivery : page) {
+                    add(fresh, delivery, from);
+                }
+                if (!page.isEmpty()) {
+                    DeliveryResponse last = page.get(page.size() - 1);
+                    cursor = new KeysetCursor(last.getRequestedTime(), last.getId());
+                }
+            } while (page.size() == LOAD_PAGE_SIZE);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringRebuild = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            for (DeliveryResponse delivery : changesDuringRebuild) {
+                add(fresh, delivery, from);
+            }
+            changesDuringRebuild = null;
+            index = fresh;
+            indexedFrom = from;
+        }
+        log.info("[Search] 검색 색인 재구성: {}건, {}ms", fresh.size(), System.currentTimeMillis() - started);
+    }
+
+    /** 영문·숫자로만 되어 있고 숫자가 들어간 검색어 (배송ID, 주문번호, 연락처) */
+    static boolean looksLikeIdentifier(String normalized) {
+        boolean hasDigit = false;
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (c >= '0' && c <= '9') {
+                hasDigit = true;
+            } else if (c < 'a' || c > 'z') {
+                return false;
+            }
+        }
+        return hasDigit;
+    }
+
+    private static void add(NgramIndex<DeliveryResponse> target, DeliveryResponse delivery, LocalDateTime from) {
+        if (delivery.getRequestedTime() == null || delivery.getRequestedTime().isBefore(from)) {
+            // 기간 밖이지만 이미 색인된 건은 상태만 갱신
+            target.update(delivery.getDeliveryId(), delivery);
+            return;
+        }
+        Address pickup = delivery.getPickupAddress();
+        Address dropoff = delivery.getDeliveryAddress();
+        target.put(delivery.getDeliveryId(), delivery,
+                delivery.getDeliveryId(),
+                delivery.getOrderNumber(),
+                pickup != null ? pickup.getAddress() : null,
+                pickup != null ? pickup.getContactPhone() : null,
+                dropoff != null ? dropoff.getAddress() : null,
+                dropoff != null ? dropoff.getDetailAddress() : null,
+                dropoff != null ? dropoff.getContactName() : null,
+                dropoff != null ? dropoff.getContactPhone() : null);
+    }
+}
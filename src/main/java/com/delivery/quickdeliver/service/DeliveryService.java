@@ -1,25 +1,36 @@
 package com.delivery.quickdeliver.service;
 
+import com.delivery.quickdeliver.domain.entity.Address;
 import com.delivery.quickdeliver.domain.entity.Delivery;
 import com.delivery.quickdeliver.domain.entity.DeliveryHistory;
 import com.delivery.quickdeliver.domain.entity.Rider;
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
 import com.delivery.quickdeliver.domain.enums.Priority;
 import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
 import com.delivery.quickdeliver.dto.request.DeliveryCreateRequest;
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import com.delivery.quickdeliver.dto.request.DeliverySort;
 import com.delivery.quickdeliver.dto.request.DeliveryStatusUpdateRequest;
+import com.delivery.quickdeliver.dto.response.CursorPage;
 import com.delivery.quickdeliver.dto.response.DeliveryResponse;
 import com.delivery.quickdeliver.dto.response.DeliveryTrackingResponse;
 import com.delivery.quickdeliver.exception.ResourceNotFoundException;
 import com.delivery.quickdeliver.repository.DeliveryRepository;
 import com.delivery.quickdeliver.repository.RiderRepository;
+import com.delivery.quickdeliver.util.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -29,11 +40,26 @@ import java.util.stream.Collectors;
 @Transactional(readOnly = true)
 public class DeliveryService {
 
+    /** 자동 배정 시 픽업지 기준 라이더 탐색 반경 (km) */
+    private static final double DISPATCH_RADIUS_KM = 5.0;
+
+    /** 목록 조회 한 페이지 최대 건수 */
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private static final Set<DeliveryStatus> ACTIVE_STATUSES = EnumSet.of(
+            DeliveryStatus.ASSIGNED, DeliveryStatus.PICKING_UP, DeliveryStatus.IN_TRANSIT);
+
     private final DeliveryRepository deliveryRepository;
     private final RiderRepository riderRepository;
     private final RouteOptimizationService routeOptimizationService;
     private final NotificationService notificationService;
     private final WebSocketService webSocketService;
+    private final RiderLocationIndex riderLocationIndex;
+    private final ApplicationEventPublisher eventPublisher;
+
+    /** 생성 즉시 탐욕 배정 여부. false 면 {@link BatchDispatchService}가 주기적으로 일괄 배정한다 */
+    @Value("${dispatch.assign-on-create:true}")
+    private boolean assignOnCreate;
 
     @Transactional
     public DeliveryResponse createDelivery(DeliveryCreateRequest request) {
@@ -63,9 +89,12 @@ public class DeliveryService {
         delivery.setEstimatedDistance(distance);
 
         delivery = deliveryRepository.save(delivery);
+        eventPublisher.publishEvent(DeliveryStatusChangedEvent.of(delivery, null));
         
         // 자동 배정 시도
-        assignOptimalRider(delivery);
+        if (assignOnCreate) {
+            assignOptimalRider(delivery);
+        }
         
         return DeliveryResponse.from(delivery);
     }
@@ -74,49 +103,81 @@ public class DeliveryService {
     public void assignOptimalRider(Delivery delivery) {
         log.info("Finding optimal rider for delivery {}", delivery.getDeliveryId());
 
-        // 픽업 위치 근처의 가용 라이더 찾기
-        List<Rider> availableRiders = riderRepository.findAvailableRidersWithinRadius(
-                delivery.getPickupAddress().getLatitude(),
-                delivery.getPickupAddress().getLongitude(),
-                5.0 // 5km 반경
-        );
-
-        if (!availableRiders.isEmpty()) {
-            // 최적 라이더 선택 (거리, 성과, 차량 타입 고려)
-            Rider optimalRider = selectOptimalRider(availableRiders, delivery);
-            
-            delivery.assignRider(optimalRider);
-            optimalRider.setStatus(RiderStatus.BUSY);
-            
-            deliveryRepository.save(delivery);
-            riderRepository.save(optimalRider);
-            
-            // 라이더에게 알림
-            notificationService.notifyRiderAssignment(optimalRider, delivery);
-            
-            log.info("Assigned delivery {} to rider {}", 
-                    delivery.getDeliveryId(), optimalRider.getRiderId());
+        Rider optimalRider = findOptimalRider(delivery);
+
+        if (optimalRider != null) {
+            if (!assignRider(delivery, optimalRider)) {
+                log.warn("Rider {} was taken before assignment, delivery {} stays pending",
+                        optimalRider.getRiderId(), delivery.getDeliveryId());
+            }
         } else {
             log.warn("No available riders found for delivery {}", delivery.getDeliveryId());
         }
     }
 
-    private Rider selectOptimalRider(List<Rider> riders, Delivery delivery) {
-		// 거리 기반 정렬 (가장 가까운 라이더)
-		return riders.stream()
-				.filter(r -> r.getVehicleType().getMaxWeight() >= delivery.getWeight()).min((r1, r2) -> {
-					// 거리 기반 정렬 (가장 가까운 라이더)
-					double dist1 = calculateDistance(
-							r1.getCurrentLatitude(), r1.getCurrentLongitude(),
-							delivery.getPickupAddress().getLatitude(),
-							delivery.getPickupAddress().getLongitude());
-					double dist2 = calculateDistance(
-							r2.getCurrentLatitude(), r2.getCurrentLongitude(),
-							delivery.getPickupAddress().getLatitude(),
-							delivery.getPickupAddress().getLongitude());
-					return Double.compare(dist1, dist2);
-				})
-                .orElse(riders.get(0));
+    /**
+     * 배송을 라이더에게 배정하고 라이더를 BUSY 로 전환한다.
+     * 라이더는 DB에서 여전히 AVAILABLE 일 때만 조건부 UPDATE 로 잡으므로,
+     * 읽은 뒤 다른 트랜잭션(자동 배정, 일괄 배정, 수동 배정)이 먼저 잡았으면 아무것도 바꾸지 않는다.
+     *
+     * @return 배정했으면 true, 라이더를 잡지 못했으면 false
+     */
+    @Transactional
+    public boolean assignRider(Delivery delivery, Rider rider) {
+        if (riderRepository.claimIfAvailable(rider.getId()) == 0) {
+            return false;
+        }
+
+        DeliveryStatus previousDeliveryStatus = delivery.getStatus();
+        RiderStatus previousRiderStatus = rider.getStatus();
+
+        delivery.assignRider(rider);
+        rider.setStatus(RiderStatus.BUSY);
+
+        deliveryRepository.save(delivery);
+        riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+
+        eventPublisher.publishEvent(DeliveryStatusChangedEvent.of(delivery, previousDeliveryStatus));
+        eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, previousRiderStatus, rider.isOnShift()));
+
+        // 라이더에게 알림
+        notificationService.notifyRiderAssignment(rider, delivery);
+
+        log.info("Assigned delivery {} to rider {}",
+                delivery.getDeliveryId(), rider.getRiderId());
+        return true;
+    }
+
+    /**
+     * 픽업 위치 근처의 가용 라이더를 공간 인덱스에서 가까운 순으로 찾고,
+     * DB에서 여전히 AVAILABLE 인 첫 번째 라이더를 반환한다.
+     */
+    private Rider findOptimalRider(Delivery delivery) {
+        Address pickup = delivery.getPickupAddress();
+        if (pickup == null || pickup.getLatitude() == null || pickup.getLongitude() == null) {
+            log.warn("Delivery {} has no pickup coordinate", delivery.getDeliveryId());
+            return null;
+        }
+
+        double weight = delivery.getWeight() != null ? delivery.getWeight() : 0.0;
+        List<RiderLocationIndex.Candidate> candidates = riderLocationIndex.findWithinRadius(
+                pickup.getLatitude(), pickup.getLongitude(),
+                DISPATCH_RADIUS_KM, RiderStatus.AVAILABLE, weight);
+
+        for (RiderLocationIndex.Candidate candidate : candidates) {
+            Rider rider = riderRepository.findByRiderId(candidate.getRiderId()).orElse(null);
+            if (rider == null) {
+                riderLocationIndex.remove(candidate.getRiderId());
+                continue;
+            }
+            // 인덱스가 DB보다 늦을 수 있으므로 상태를 다시 확인
+            if (rider.getStatus() == RiderStatus.AVAILABLE) {
+                return rider;
+            }
+            riderLocationIndex.update(rider);
+        }
+        return null;
     }
 
     @Transactional
@@ -126,6 +187,9 @@ public class DeliveryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Delivery not found"));
 
         DeliveryStatus newStatus = request.getStatus();
+        DeliveryStatus previousStatus = delivery.getStatus();
+        Rider rider = delivery.getRider();
+        RiderStatus previousRiderStatus = rider != null ? rider.getStatus() : null;
         
         switch (newStatus) {
             case PICKING_UP:
@@ -140,12 +204,14 @@ public class DeliveryService {
                     delivery.getRider().setStatus(RiderStatus.AVAILABLE);
                     delivery.getRider().setTotalDeliveries(
                             delivery.getRider().getTotalDeliveries() + 1);
+                    riderLocationIndex.update(delivery.getRider());
                 }
                 break;
             case CANCELLED:
                 delivery.cancelDelivery(request.getReason());
                 if (delivery.getRider() != null) {
                     delivery.getRider().setStatus(RiderStatus.AVAILABLE);
+                    riderLocationIndex.update(delivery.getRider());
                 }
                 break;
             default:
@@ -166,6 +232,11 @@ public class DeliveryService {
 
         delivery = deliveryRepository.save(delivery);
 
+        eventPublisher.publishEvent(DeliveryStatusChangedEvent.of(delivery, previousStatus));
+        if (rider != null && rider.getStatus() != previousRiderStatus) {
+            eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, previousRiderStatus, rider.isOnShift()));
+        }
+
         // 고객에게 알림
         notificationService.notifyStatusChange(delivery);
 
@@ -205,18 +276,48 @@ public class DeliveryService {
     }
 
     public List<DeliveryResponse> getPendingDeliveries() {
-        return deliveryRepository.findPendingDeliveries().stream()
-                .map(DeliveryResponse::from)
-                .collect(Collectors.toList());
+        return deliveryRepository.findPendingResponses();
     }
 
-    public List<DeliveryResponse> getRiderDeliveries(String riderId) {
-        Rider rider = riderRepository.findByRiderId(riderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
-        
-        return deliveryRepository.findByRider(rider).stream()
-                .map(DeliveryResponse::from)
-                .collect(Collectors.toList());
+    /**
+     * 라이더 배송 목록 (최근 요청 순, keyset 페이지)
+     */
+    public CursorPage<DeliveryResponse> getRiderDeliveries(String riderId, String cursor, int size) {
+        requireRider(riderId);
+        return findDeliveries(DeliverySearchCondition.builder().riderId(riderId).build(),
+                DeliverySort.REQUESTED_DESC, cursor, size);
+    }
+
+    /**
+     * 라이더가 진행 중인 배송 (ASSIGNED, PICKING_UP, IN_TRANSIT)
+     */
+    public List<DeliveryResponse> getRiderActiveDeliveries(String riderId) {
+        requireRider(riderId);
+        DeliverySearchCondition condition = DeliverySearchCondition.builder()
+                .riderId(riderId)
+                .statuses(ACTIVE_STATUSES)
+                .build();
+        return deliveryRepository.findResponses(condition, DeliverySort.REQUESTED_DESC, null, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * 배송 목록 공통 조회. 엔티티 대신 projection 으로 읽고 (정렬 시각, id) keyset 으로 페이지를 나눈다.
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     */
+    public CursorPage<DeliveryResponse> findDeliveries(DeliverySearchCondition condition, DeliverySort sort,
+                                                       String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        List<DeliveryResponse> rows = deliveryRepository.findResponses(
+                condition, sort, KeysetCursor.decode(cursor), pageSize + 1);
+        return CursorPage.of(rows, pageSize,
+                d -> new KeysetCursor(sort.getKey().apply(d), d.getId()).encode());
+    }
+
+    private void requireRider(String riderId) {
+        if (!riderRepository.existsByRiderId(riderId)) {
+            throw new ResourceNotFoundException("Rider not found");
+        }
     }
 
     private String generateDeliveryId() {
@@ -226,16 +327,4 @@ public class DeliveryService {
     private LocalDateTime calculateEstimatedDeliveryTime(Priority priority) {
         return LocalDateTime.now().plusMinutes(priority.getMaxMinutes());
     }
-
-    private double calculateDistance(double lat1, double lon1, double lat2, double lon2) {
-        // 하버사인 공식으로 거리 계산
-        double R = 6371; // 지구 반지름 (km)
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) *
-                Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
-    }
 }
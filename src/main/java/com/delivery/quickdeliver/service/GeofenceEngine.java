@@ -0,0 +1,331 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import com.delivery.quickdeliver.domain.enums.GeofenceTier;
+import com.delivery.quickdeliver.domain.event.GeofenceEvent;
+import com.delivery.quickdeliver.util.GeofenceShape;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 원·다각형 지오펜스를 균등 그리드로 색인하고 GPS 좌표마다 진입·이탈·체류를 판정한다.
+ *
+ * <p>펜스는 가장 넓은 단계({@link GeofenceTier#APPROACH}) 반경과 히스테리시스만큼 넓힌 범위가 걸치는 셀에 모두 등록한다.
+ * 따라서 좌표가 속한 셀 하나의 목록만 보면 판정에 필요한 펜스가 전부 나온다.</p>
+ *
+ * <p>단계마다 진입은 경계 거리 &lt;= 반경, 이탈은 반경 + {@code geofence.hysteresis-meters} 초과로 판정해
+ * GPS 흔들림으로 진입/이탈이 반복되지 않게 한다. 진입 후 {@code geofence.dwell-seconds} 이상 머물면 DWELL 을 한 번 낸다.</p>
+ *
+ * <p>배송 펜스(PICKUP/DROP)는 배정된 라이더에게만, 가맹점 펜스는 모든 라이더에게 적용한다.
+ * 배송 펜스 도형은 등록된 영역({@link #putArea})이 있으면 그 도형, 없으면 좌표 한 점이다.
+ * 펜스 변경은 this 로 동기화하고, 판정은 라이더별 상태 객체로 동기화한다.</p>
+ */
+@Component
+public class GeofenceEngine {
+
+    /** 그리드 셀 크기 (도). 위도 기준 약 1.1km */
+    private static final double CELL_SIZE_DEGREES = 0.01;
+
+    /** 펜스 하나가 걸칠 수 있는 최대 셀 수 (위도 37도 기준 약 55km 사방). 넓은 도형 하나가 색인을 채우지 않게 한다 */
+    private static final int MAX_FENCE_CELLS = 2_500;
+
+    private static final GeofenceTier[] TIERS = GeofenceTier.values();
+
+    private static final double MAX_TIER_METERS = Arrays.stream(TIERS)
+            .mapToDouble(GeofenceTier::getRadiusMeters).max().orElse(0);
+
+    @Value("${geofence.hysteresis-meters:20}")
+    private double hysteresisMeters;
+
+    @Value("${geofence.dwell-seconds:60}")
+    private long dwellSeconds;
+
+    private final ConcurrentHashMap<String, Fence> fences = new ConcurrentHashMap<>();
+
+    /** 셀 → 펜스 목록. 목록은 바꿀 때마다 새 불변 목록으로 교체한다 */
+    private final ConcurrentHashMap<Long, List<Fence>> cells = new ConcurrentHashMap<>();
+
+    /** 펜스 ID → 등록된 도형 (this 로 동기화) */
+    private final Map<String, GeofenceShape> areas = new HashMap<>();
+
+    /** deliveryId → 진행 중 배송 (this 로 동기화). 영역이 바뀌면 배송 펜스를 다시 만드는 데 쓴다 */
+    private final Map<String, ActiveDeliveryRegistry.ActiveDelivery> deliveries = new HashMap<>();
+
+    private final ConcurrentHashMap<String, RiderState> riders = new ConcurrentHashMap<>();
+
+    /**
+     * 색인된 펜스.
+     *
+     * @param riderId 이 라이더에게만 적용 (null 이면 모든 라이더)
+     */
+    public record Fence(String id, GeofenceOwnerType ownerType, String ownerId, String riderId,
+                        GeofenceShape shape, long[] cellKeys) {
+
+        boolean appliesTo(String rider) {
+            return riderId == null || riderId.equals(rider);
+        }
+    }
+
+    public static String fenceId(GeofenceOwnerType ownerType, String ownerId) {
+        return ownerType.name() + ":" + ownerId;
+    }
+
+    // ==================== 펜스 관리 ====================
+
+    public synchronized void putDelivery(ActiveDeliveryRegistry.ActiveDelivery delivery) {
+        deliveries.put(delivery.deliveryId(), delivery);
+        registerDelivery(delivery);
+    }
+
+    public synchronized void removeDelivery(String deliveryId) {
+        deliveries.remove(deliveryId);
+        removeFence(fenceId(GeofenceOwnerType.PICKUP, deliveryId));
+        removeFence(fenceId(GeofenceOwnerType.DROP, deliveryId));
+    }
+
+    /**
+     * 진행 중 배송 전체를 교체한다. 목록에 없는 배송의 펜스는 제거한다.
+     */
+    public synchronized void replaceDeliveries(Collection<ActiveDeliveryRegistry.ActiveDelivery> active) {
+        Set<String> fresh = new HashSet<>();
+        active.forEach(d -> fresh.add(d.deliveryId()));
+        for (String deliveryId : new ArrayList<>(deliveries.keySet())) {
+            if (!fresh.contains(deliveryId)) {
+                removeDelivery(deliveryId);
+            }
+        }
+        active.forEach(this::putDelivery);
+    }
+
+    /**
+     * 가맹점 펜스 또는 배송 픽업지·배달지 도형을 등록한다.
+     */
+    public synchronized void putArea(GeofenceOwnerType ownerType, String ownerId, GeofenceShape shape) {
+        // 너무 넓은 도형은 영역으로 남기기 전에 거부한다
+        cellKeys(shape);
+        areas.put(fenceId(ownerType, ownerId), shape);
+        refreshOwner(ownerType, ownerId);
+    }
+
+    public synchronized void removeArea(GeofenceOwnerType ownerType, String ownerId) {
+        areas.remove(fenceId(ownerType, ownerId));
+        refreshOwner(ownerType, ownerId);
+    }
+
+    public int fenceCount() {
+        return fences.size();
+    }
+
+    private void refreshOwner(GeofenceOwnerType ownerType, String ownerId) {
+        if (ownerType == GeofenceOwnerType.MERCHANT) {
+            GeofenceShape shape = areas.get(fenceId(ownerType, ownerId));
+            if (shape != null) {
+                putFence(ownerType, ownerId, null, shape);
+            } else {
+                removeFence(fenceId(ownerType, ownerId));
+            }
+            return;
+        }
+        ActiveDeliveryRegistry.ActiveDelivery delivery = deliveries.get(ownerId);
+        if (delivery != null) {
+            registerDelivery(delivery);
+        }
+    }
+
+    private void registerDelivery(ActiveDeliveryRegistry.ActiveDelivery delivery) {
+        registerDeliveryFence(GeofenceOwnerType.PICKUP, delivery,
+                delivery.pickupLatitude(), delivery.pickupLongitude());
+        registerDeliveryFence(GeofenceOwnerType.DROP, delivery,
+                delivery.dropLatitude(), delivery.dropLongitude());
+    }
+
+    private void registerDeliveryFence(GeofenceOwnerType ownerType, ActiveDeliveryRegistry.ActiveDelivery delivery,
+                                       Double latitude, Double longitude) {
+        String id = fenceId(ownerType, delivery.deliveryId());
+        GeofenceShape shape = areas.get(id);
+        if (shape == null && latitude != null && longitude != null) {
+            shape = new GeofenceShape.Circle(latitude, longitude, 0);
+        }
+        if (shape == null) {
+            removeFence(id);
+        } else {
+            putFence(ownerType, delivery.deliveryId(), delivery.riderId(), shape);
+        }
+    }
+
+    private void putFence(GeofenceOwnerType ownerType, String ownerId, String riderId, GeofenceShape shape) {
+        String id = fenceId(ownerType, ownerId);
+        Fence previous = fences.get(id);
+        if (previous != null && previous.shape().equals(shape) && Objects.equals(previous.riderId(), riderId)) {
+            return;
+        }
+        long[] keys = cellKeys(shape);
+        removeFence(id);
+
+        Fence fence = new Fence(id, ownerType, ownerId, riderId, shape, keys);
+        fences.put(id, fence);
+        for (long key : keys) {
+            cells.compute(key, (cell, list) -> {
+                List<Fence> updated = list == null ? new ArrayList<>(1) : new ArrayList<>(list);
+                updated.add(fence);
+                return List.copyOf(updated);
+            });
+        }
+    }
+
+    private void removeFence(String id) {
+        Fence fence = fences.remove(id);
+        if (fence == null) return;
+        for (long key : fence.cellKeys()) {
+            cells.computeIfPresent(key, (cell, list) -> {
+                List<Fence> updated = new ArrayList<>(list);
+                updated.remove(fence);
+                return updated.isEmpty() ? null : List.copyOf(updated);
+            });
+        }
+    }
+
+    // ==================== 판정 ====================
+
+    /**
+     * 라이더의 새 좌표로 모든 펜스·단계의 진입, 이탈, 체류를 판정한다.
+     *
+     * @return 이번 좌표로 발생한 이벤트 (없으면 빈 목록)
+     */
+    public List<GeofenceEvent> evaluate(String riderId, double latitude, double longitude, LocalDateTime now) {
+        List<Fence> candidates = cells.getOrDefault(cellKey(cellIndex(latitude), cellIndex(longitude)), List.of());
+        RiderState state = riders.computeIfAbsent(riderId, id -> new RiderState());
+        List<GeofenceEvent> events = new ArrayList<>(0);
+
+        synchronized (state) {
+            long round = ++state.round;
+            for (Fence fence : candidates) {
+                if (!fence.appliesTo(riderId)) continue;
+                double distance = fence.shape().distanceMeters(latitude, longitude);
+
+                for (GeofenceTier tier : TIERS) {
+                    MembershipKey key = new MembershipKey(fence.id(), tier);
+                    Membership membership = state.memberships.get(key);
+                    if (membership == null) {
+                        if (distance <= tier.getRadiusMeters()) {
+                            state.memberships.put(key, new Membership(now, round));
+                            events.add(event(GeofenceEvent.Type.ENTER, riderId, fence, tier, distance, now));
+                        }
+                    } else if (distance > tier.getRadiusMeters() + hysteresisMeters) {
+                        state.memberships.remove(key);
+                        events.add(event(GeofenceEvent.Type.EXIT, riderId, fence, tier, distance, now));
+                    } else {
+                        membership.seenRound = round;
+                        if (!membership.dwellReported && !now.isBefore(membership.enteredAt.plusSeconds(dwellSeconds))) {
+                            membership.dwellReported = true;
+                            events.add(event(GeofenceEvent.Type.DWELL, riderId, fence, tier, distance, now));
+                        }
+                    }
+                }
+            }
+
+            // 이번 후보에 없던 소속: 셀 밖으로 멀리 이동했거나 펜스가 없어졌거나 다른 라이더로 바뀜
+            Iterator<Map.Entry<MembershipKey, Membership>> it = state.memberships.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<MembershipKey, Membership> entry = it.next();
+                if (entry.getValue().seenRound == round) continue;
+                it.remove();
+                Fence fence = fences.get(entry.getKey().fenceId());
+                if (fence != null && fence.appliesTo(riderId)) {
+                    events.add(event(GeofenceEvent.Type.EXIT, riderId, fence, entry.getKey().tier(),
+                            fence.shape().distanceMeters(latitude, longitude), now));
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * 라이더가 현재 펜스의 해당 단계 안에 있는지 (마지막 판정 기준).
+     */
+    public boolean isInside(String riderId, GeofenceOwnerType ownerType, String ownerId, GeofenceTier tier) {
+        RiderState state = riders.get(riderId);
+        if (state == null) return false;
+        synchronized (state) {
+            return state.memberships.containsKey(new MembershipKey(fenceId(ownerType, ownerId), tier));
+        }
+    }
+
+    /**
+     * 근무를 마친 라이더의 판정 상태를 버린다.
+     */
+    public void clearRider(String riderId) {
+        riders.remove(riderId);
+    }
+
+    private static GeofenceEvent event(GeofenceEvent.Type type, String riderId, Fence fence, GeofenceTier tier,
+                                       double distance, LocalDateTime now) {
+        return new GeofenceEvent(type, riderId, fence.ownerType(), fence.ownerId(), tier, distance, now);
+    }
+
+    /**
+     * 도형을 가장 넓은 단계 반경과 히스테리시스만큼 넓힌 범위가 걸치는 셀 키.
+     *
+     * @throws IllegalArgumentException 셀이 {@value #MAX_FENCE_CELLS}개를 넘을 때
+     */
+    private long[] cellKeys(GeofenceShape shape) {
+        GeofenceShape.Bounds bounds = shape.bounds(MAX_TIER_METERS + hysteresisMeters);
+        int minLat = cellIndex(bounds.minLatitude());
+        int maxLat = cellIndex(bounds.maxLatitude());
+        int minLng = cellIndex(bounds.minLongitude());
+        int maxLng = cellIndex(bounds.maxLongitude());
+        long count = (long) (maxLat - minLat + 1) * (maxLng - minLng + 1);
+        if (count > MAX_FENCE_CELLS) {
+            throw new IllegalArgumentException("지오펜스가 너무 넓습니다: 셀 " + count + "개 (최대 " + MAX_FENCE_CELLS + ")");
+        }
+        long[] keys = new long[(int) count];
+        int k = 0;
+        for (int i = minLat; i <= maxLat; i++) {
+            for (int j = minLng; j <= maxLng; j++) {
+                keys[k++] = cellKey(i, j);
+            }
+        }
+        return keys;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private record MembershipKey(String fenceId, GeofenceTier tier) {
+    }
+
+    private static final class Membership {
+        private final LocalDateTime enteredAt;
+        private long seenRound;
+        private boolean dwellReported;
+
+        private Membership(LocalDateTime enteredAt, long seenRound) {
+            this.enteredAt = enteredAt;
+            this.seenRound = seenRound;
+        }
+    }
+
+    /** 라이더별 판정 상태 (이 객체로 동기화) */
+    private static final class RiderState {
+        private final Map<MembershipKey, Membership> memberships = new HashMap<>();
+        private long round;
+    }
+}
@@ -1,107 +1,226 @@
 package com.delivery.quickdeliver.service;
 
-import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.entity.GeofenceArea;
 import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import com.delivery.quickdeliver.domain.enums.GeofenceTier;
+import com.delivery.quickdeliver.domain.event.GeofenceEvent;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
 import com.delivery.quickdeliver.dto.request.DeliveryStatusUpdateRequest;
+import com.delivery.quickdeliver.dto.request.GeofenceAreaRequest;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.dto.response.GeofenceAreaResponse;
+import com.delivery.quickdeliver.exception.InvalidRequestException;
+import com.delivery.quickdeliver.exception.ResourceNotFoundException;
 import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.GeofenceAreaRepository;
+import com.delivery.quickdeliver.util.GeoUtils;
+import com.delivery.quickdeliver.util.GeofenceShape;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
  * 지오펜싱 기반 배송 상태 자동 전환 서비스
- * 라이더가 픽업지/배달지 반경 내에 진입하면 배송 상태를 자동으로 전환한다.
- *   ASSIGNED   + 픽업지  100m 이내 진입 → PICKING_UP 자동 전환
- *   PICKING_UP + 배달지  100m 이내 진입 → IN_TRANSIT  자동 전환
+ * 라이더 좌표를 {@link GeofenceEngine} 으로 판정해 진입·이탈·체류 이벤트({@link GeofenceEvent})를 발행하고,
+ * 현장(SITE) 단계 안에 들어오면 배송 상태를 자동으로 전환한다.
+ *   ASSIGNED   + 픽업지 현장 진입 → PICKING_UP 자동 전환
+ *   PICKING_UP + 배달지 현장 진입 → IN_TRANSIT  자동 전환
+ * 배달지 접근(APPROACH)·도착(ARRIVAL) 진입 시 고객에게 미리 알린다.
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeofencingService {
 
-    /** 자동 상태 전환 임계 거리 (미터) */
-    public static final double GEOFENCE_RADIUS_METERS = 100.0;
+    /** 다각형 최대 꼭짓점 수 */
+    private static final int MAX_POLYGON_POINTS = 200;
 
+    /** 원형 영역 최대 반경 (미터) */
+    private static final double MAX_CIRCLE_RADIUS_METERS = 5000;
+
+    /** 다각형 외접 사각형의 최대 가로·세로 길이 (미터). 원형 최대 지름과 같다 */
+    private static final double MAX_POLYGON_SPAN_METERS = 2 * MAX_CIRCLE_RADIUS_METERS;
+
+    private final GeofenceEngine geofenceEngine;
+    private final ActiveDeliveryRegistry activeDeliveryRegistry;
+    private final GeofenceAreaRepository geofenceAreaRepository;
     private final DeliveryRepository deliveryRepository;
     private final DeliveryService deliveryService;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * 라이더의 현재 위치를 기준으로 픽업지·배달지 지오펜스 진입 여부를 확인하고,
-     * 조건에 맞으면 배송 상태를 자동으로 전환한다.
+     * 라이더의 새 좌표로 지오펜스를 판정하고, 조건에 맞으면 배송 상태를 자동으로 전환한다.
+     * 판정은 메모리에서만 하고, 전환할 때만 DB에 접근한다.
      *
      * @param riderId   위치가 업데이트된 라이더 ID
      * @param latitude  현재 위도
      * @param longitude 현재 경도
      */
     public void checkAndAutoTransition(String riderId, double latitude, double longitude) {
-        List<Delivery> activeDeliveries = deliveryRepository.findActiveDeliveriesByRiderId(riderId);
-        if (activeDeliveries.isEmpty()) return;
+        List<GeofenceEvent> events = geofenceEngine.evaluate(riderId, latitude, longitude, LocalDateTime.now());
+        events.forEach(eventPublisher::publishEvent);
 
         // 가장 최근 진행 중인 배송 하나만 처리
-        Delivery delivery = activeDeliveries.get(0);
-        DeliveryStatus currentStatus = delivery.getStatus();
-
-        if (currentStatus == DeliveryStatus.ASSIGNED) {
-            // 픽업지 진입 여부 확인
-            if (hasValidCoordinate(delivery.getPickupAddress())) {
-                double dist = distanceMeters(
-                        latitude, longitude,
-                        delivery.getPickupAddress().getLatitude(),
-                        delivery.getPickupAddress().getLongitude()
-                );
-                if (dist <= GEOFENCE_RADIUS_METERS) {
-                    log.info("[지오펜싱] 라이더 {} 픽업지 진입 ({}m) → PICKING_UP 자동 전환",
-                            riderId, (int) dist);
-                    autoTransition(delivery.getDeliveryId(), DeliveryStatus.PICKING_UP,
-                            latitude, longitude);
-                }
-            }
+        ActiveDeliveryRegistry.ActiveDelivery delivery = activeDeliveryRegistry.current(riderId);
+        if (delivery == null) return;
 
-        } else if (currentStatus == DeliveryStatus.PICKING_UP) {
-            // 배달지 진입 여부 확인
-            if (hasValidCoordinate(delivery.getDeliveryAddress())) {
-                double dist = distanceMeters(
-                        latitude, longitude,
-                        delivery.getDeliveryAddress().getLatitude(),
-                        delivery.getDeliveryAddress().getLongitude()
-                );
-                if (dist <= GEOFENCE_RADIUS_METERS) {
-                    log.info("[지오펜싱] 라이더 {} 배달지 진입 ({}m) → IN_TRANSIT 자동 전환",
-                            riderId, (int) dist);
-                    autoTransition(delivery.getDeliveryId(), DeliveryStatus.IN_TRANSIT,
-                            latitude, longitude);
-                }
-            }
+        if (delivery.status() == DeliveryStatus.ASSIGNED
+                && geofenceEngine.isInside(riderId, GeofenceOwnerType.PICKUP, delivery.deliveryId(), GeofenceTier.SITE)) {
+            log.info("[지오펜싱] 라이더 {} 픽업지 진입 → PICKING_UP 자동 전환", riderId);
+            autoTransition(delivery, DeliveryStatus.PICKING_UP, latitude, longitude);
+
+        } else if (delivery.status() == DeliveryStatus.PICKING_UP
+                && geofenceEngine.isInside(riderId, GeofenceOwnerType.DROP, delivery.deliveryId(), GeofenceTier.SITE)) {
+            log.info("[지오펜싱] 라이더 {} 배달지 진입 → IN_TRANSIT 자동 전환", riderId);
+            autoTransition(delivery, DeliveryStatus.IN_TRANSIT, latitude, longitude);
+        }
+    }
+
+    /**
+     * 배달지 접근·도착 단계 진입을 고객에게 알린다.
+     */
+    @EventListener
+    public void onGeofenceEvent(GeofenceEvent event) {
+        log.debug("[지오펜싱] {} {} {}:{} ({}m)", event.riderId(), event.type(), event.ownerType(),
+                event.ownerId(), (int) event.distanceMeters());
+        if (event.type() != GeofenceEvent.Type.ENTER || event.ownerType() != GeofenceOwnerType.DROP) {
+            return;
+        }
+        ActiveDeliveryRegistry.ActiveDelivery delivery = activeDeliveryRegistry.get(event.ownerId());
+        if (delivery == null) return;
+
+        if (event.tier() == GeofenceTier.APPROACH) {
+            notificationService.notifyRiderApproaching(delivery.orderNumber());
+        } else if (event.tier() == GeofenceTier.ARRIVAL) {
+            notificationService.notifyRiderArrived(delivery.orderNumber());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRiderStatusChanged(RiderStatusChangedEvent event) {
+        if (!event.onShift()) {
+            geofenceEngine.clearRider(event.riderId());
         }
     }
 
-    private void autoTransition(String deliveryId, DeliveryStatus newStatus,
+    private void autoTransition(ActiveDeliveryRegistry.ActiveDelivery active, DeliveryStatus newStatus,
                                 double latitude, double longitude) {
+        // 레지스트리가 DB보다 늦었을 수 있으므로 전환 직전에 상태와 라이더를 다시 확인
+        DeliveryResponse delivery = deliveryRepository.findResponseByDeliveryId(active.deliveryId()).orElse(null);
+        if (delivery == null || delivery.getStatus() != active.status()
+                || !active.riderId().equals(delivery.getRiderId())) {
+            log.info("[지오펜싱] 배송 {} 상태가 레지스트리와 달라 전환하지 않음", active.deliveryId());
+            if (delivery != null) {
+                activeDeliveryRegistry.refresh(delivery);
+            }
+            return;
+        }
+
         DeliveryStatusUpdateRequest req = new DeliveryStatusUpdateRequest();
         req.setStatus(newStatus);
         req.setLatitude(latitude);
         req.setLongitude(longitude);
-        deliveryService.updateDeliveryStatus(deliveryId, req);
+        deliveryService.updateDeliveryStatus(active.deliveryId(), req);
     }
 
-    private boolean hasValidCoordinate(com.delivery.quickdeliver.domain.entity.Address address) {
-        return address != null
-                && address.getLatitude() != null
-                && address.getLongitude() != null;
+    // ==================== 영역 관리 ====================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadAreas() {
+        List<GeofenceArea> areas = geofenceAreaRepository.findAll();
+        for (GeofenceArea area : areas) {
+            try {
+                geofenceEngine.putArea(area.getOwnerType(), area.getOwnerId(), GeofenceShape.parse(area.getShape()));
+            } catch (IllegalArgumentException e) {
+                log.warn("[지오펜싱] 영역 {} 도형 오류, 건너뜀: {}", area.getId(), e.getMessage());
+            }
+        }
+        log.info("[지오펜싱] 영역 {}개 적재, 펜스 {}개", areas.size(), geofenceEngine.fenceCount());
+    }
+
+    @Transactional(readOnly = true)
+    public List<GeofenceAreaResponse> getAreas() {
+        return geofenceAreaRepository.findAll().stream()
+                .map(GeofenceAreaResponse::from)
+                .toList();
     }
 
     /**
-     * 하버사인 공식으로 두 좌표 간 거리(미터)를 계산한다.
+     * 가맹점 펜스 또는 배송 픽업지·배달지 도형을 등록(교체)한다.
      */
-    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
-        final double R = 6_371_000; // 지구 반지름 (m)
-        double dLat = Math.toRadians(lat2 - lat1);
-        double dLon = Math.toRadians(lon2 - lon1);
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
-                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
-                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        return R * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    @Transactional
+    public GeofenceAreaResponse saveArea(GeofenceOwnerType ownerType, String ownerId, GeofenceAreaRequest request) {
+        GeofenceShape shape = toShape(request);
+        GeofenceArea area = geofenceAreaRepository.findByOwnerTypeAndOwnerId(ownerType, ownerId)
+                .orElseGet(() -> GeofenceArea.builder().ownerType(ownerType).ownerId(ownerId).build());
+        area.setName(request.getName());
+        area.setShape(shape.format());
+        geofenceAreaRepository.save(area);
+
+        try {
+            geofenceEngine.putArea(ownerType, ownerId, shape);
+        } catch (IllegalArgumentException e) {
+            // 고위도 등에서 미터 길이는 작아도 셀 수가 상한을 넘는 도형 (저장도 되돌린다)
+            throw new InvalidRequestException(e.getMessage());
+        }
+        log.info("[지오펜싱] 영역 등록 {}:{}", ownerType, ownerId);
+        return GeofenceAreaResponse.from(area);
+    }
+
+    @Transactional
+    public void deleteArea(GeofenceOwnerType ownerType, String ownerId) {
+        GeofenceArea area = geofenceAreaRepository.findByOwnerTypeAndOwnerId(ownerType, ownerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Geofence area not found"));
+        geofenceAreaRepository.delete(area);
+
+        geofenceEngine.removeArea(ownerType, ownerId);
+        log.info("[지오펜싱] 영역 삭제 {}:{}", ownerType, ownerId);
+    }
+
+    private GeofenceShape toShape(GeofenceAreaRequest request) {
+        if (request.getType() == GeofenceAreaRequest.ShapeType.CIRCLE) {
+            if (request.getLatitude() == null || request.getLongitude() == null || request.getRadiusMeters() == null) {
+                throw new InvalidRequestException("원형 영역은 중심 좌표와 반경이 필요합니다.");
+            }
+            if (request.getRadiusMeters() <= 0 || request.getRadiusMeters() > MAX_CIRCLE_RADIUS_METERS) {
+                throw new InvalidRequestException("반경은 0 초과 " + (int) MAX_CIRCLE_RADIUS_METERS + "m 이하여야 합니다.");
+            }
+            return new GeofenceShape.Circle(request.getLatitude(), request.getLongitude(), request.getRadiusMeters());
+        }
+
+        List<GeofenceAreaRequest.Point> points = request.getPoints();
+        if (points == null || points.size() < 3 || points.size() > MAX_POLYGON_POINTS) {
+            throw new InvalidRequestException("다각형은 꼭짓점이 3개 이상 " + MAX_POLYGON_POINTS + "개 이하여야 합니다.");
+        }
+        double[] latitudes = new double[points.size()];
+        double[] longitudes = new double[points.size()];
+        for (int i = 0; i < points.size(); i++) {
+            GeofenceAreaRequest.Point point = points.get(i);
+            if (point.getLatitude() == null || point.getLongitude() == null) {
+                throw new InvalidRequestException("다각형 꼭짓점 좌표가 비어 있습니다.");
+            }
+            latitudes[i] = point.getLatitude();
+            longitudes[i] = point.getLongitude();
+        }
+        GeofenceShape.Polygon polygon = new GeofenceShape.Polygon(latitudes, longitudes);
+
+        GeofenceShape.Bounds bounds = polygon.bounds(0);
+        double midLatitude = (bounds.minLatitude() + bounds.maxLatitude()) / 2;
+        double heightMeters = (bounds.maxLatitude() - bounds.minLatitude()) * GeoUtils.KM_PER_DEGREE_LAT * 1000;
+        double widthMeters = (bounds.maxLongitude() - bounds.minLongitude()) * GeoUtils.kmPerDegreeLon(midLatitude) * 1000;
+        if (heightMeters > MAX_POLYGON_SPAN_METERS || widthMeters > MAX_POLYGON_SPAN_METERS) {
+            throw new InvalidRequestException("다각형은 가로·세로 " + (int) MAX_POLYGON_SPAN_METERS + "m 이내여야 합니다.");
+        }
+        return polygon;
     }
 }
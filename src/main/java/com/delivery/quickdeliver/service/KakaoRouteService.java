@@ -1,22 +1,45 @@
 package com.delivery.quickdeliver.service;
 
+import com.delivery.quickdeliver.dto.response.MultiLegRouteInfo;
 import com.delivery.quickdeliver.dto.response.RouteInfo;
+import com.delivery.quickdeliver.exception.InvalidRequestException;
+import com.delivery.quickdeliver.util.CircuitBreaker;
+import com.delivery.quickdeliver.util.PolylineUtils;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 /**
  * Kakao Mobility Directions v1 API를 호출해 실제 도로 경로와 ETA를 조회하는 서비스.
@@ -25,18 +48,100 @@ import java.util.List;
  * 반환한다. 프론트엔드는 이 경우 기존 직선 점선 경로(fallback)를 유지한다.</p>
  *
  * <p>Kakao Mobility API 좌표 형식은 <b>경도(lng), 위도(lat)</b> 순서다.</p>
+ *
+ * <p>조회 결과는 출발지·목적지·경유지 좌표를 약 {@code cache.grid-meters} 격자로 맞춘 키로 캐시한다.
+ * 같은 키를 동시에 조회하면 외부 호출은 한 번만 나가고 나머지는 그 결과를 기다린다.
+ * 실패(available=false) 결과는 캐시하지 않는다.</p>
+ *
+ * <p>외부 호출은 JDK {@link HttpClient}(커넥션 풀 내장)의 비동기 API로 보내며, 요청마다 마감 시간을 두고
+ * 동시 호출 수를 제한한다. 최근 실패율이 높으면 서킷 브레이커가 열려 외부 호출 없이 바로 fallback 을 반환한다.</p>
  */
 @Slf4j
 @Service
+@RequiredArgsConstructor
 public class KakaoRouteService {
 
-    private static final String KAKAO_MOBILITY_URL =
-            "https://apis-navi.kakaomobility.com/v1/directions";
+    private static final String DIRECTIONS_PATH = "/v1/directions";
+
+    /** 위도 1도당 거리 (m) */
+    private static final double METERS_PER_DEGREE = 111_320.0;
+
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
 
     @Value("${kakao.mobility.api-key:}")
     private String apiKey;
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    @Value("${kakao.mobility.base-url:https://apis-navi.kakaomobility.com}")
+    private String baseUrl;
+
+    @Value("${kakao.mobility.cache.grid-meters:30}")
+    private double gridMeters;
+
+    @Value("${kakao.mobility.cache.ttl-seconds:600}")
+    private long cacheTtlSeconds;
+
+    @Value("${kakao.mobility.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    @Value("${kakao.mobility.http.connect-timeout-ms:1000}")
+    private long connectTimeoutMillis;
+
+    /** 요청 전송부터 응답 본문 수신까지의 마감 시간 */
+    @Value("${kakao.mobility.http.request-timeout-ms:3000}")
+    private long requestTimeoutMillis;
+
+    /** 동시에 진행 가능한 외부 호출 수. 초과분은 대기 없이 fallback */
+    @Value("${kakao.mobility.http.max-concurrent:32}")
+    private int maxConcurrent;
+
+    /** 경로 좌표 단순화 허용 오차 (미터, 0 이면 단순화하지 않음) */
+    @Value("${kakao.mobility.polyline.tolerance-meters:3}")
+    private double simplifyToleranceMeters;
+
+    /** 다중 경유 경로 조회 시 동시에 진행하는 구간 수 */
+    @Value("${kakao.mobility.batch.parallelism:4}")
+    private int batchParallelism;
+
+    @Value("${kakao.mobility.circuit.window-size:20}")
+    private int circuitWindowSize;
+
+    @Value("${kakao.mobility.circuit.minimum-calls:10}")
+    private int circuitMinimumCalls;
+
+    @Value("${kakao.mobility.circuit.failure-rate-threshold:50}")
+    private double circuitFailureRateThreshold;
+
+    @Value("${kakao.mobility.circuit.open-ms:30000}")
+    private long circuitOpenMillis;
+
+    private HttpClient httpClient;
+    private Semaphore bulkhead;
+    private CircuitBreaker circuitBreaker;
+
+    private AsyncCache<RouteKey, RouteInfo> routeCache;
+
+    /** 격자 한 칸의 크기 (도) */
+    private double gridDegrees;
+
+    /** 격자에 맞춘 좌표 키. 경유지가 없으면 경유지 칸은 {@link Long#MIN_VALUE} */
+    private record RouteKey(long originLat, long originLng, long destLat, long destLng,
+                            long waypointLat, long waypointLng) {
+    }
+
+    /** 서킷 브레이커가 실패로 집계하는 상태 (타임아웃, 연결 오류, 429, 5xx) */
+    private static class UpstreamFailureException extends RuntimeException {
+        UpstreamFailureException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    /** 실패 결과를 캐시에 남기지 않기 위해 로드 future 를 예외로 완료할 때 사용 */
+    private static class RouteUnavailableException extends RuntimeException {
+        RouteUnavailableException() {
+            super(null, null, false, false);
+        }
+    }
 
     @Getter
     @NoArgsConstructor
@@ -75,11 +180,41 @@ public class KakaoRouteService {
     @JsonIgnoreProperties(ignoreUnknown = true)
     private static class Road {
         /** 경도·위도 교대 배열: [lng1, lat1, lng2, lat2, ...] */
-        private List<Double> vertexes;
+        private double[] vertexes;
+    }
+
+    @PostConstruct
+    void init() {
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .build();
+        bulkhead = new Semaphore(Math.max(1, maxConcurrent));
+        circuitBreaker = new CircuitBreaker("kakaoRoute", circuitWindowSize, circuitMinimumCalls,
+                circuitFailureRateThreshold, Duration.ofMillis(circuitOpenMillis));
+
+        Gauge.builder("kakao.route.circuit.open", circuitBreaker,
+                        cb -> cb.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                .description("서킷 브레이커 상태 (0 = CLOSED, 1 = OPEN/HALF_OPEN)")
+                .register(meterRegistry);
+        Gauge.builder("kakao.route.bulkhead.available", bulkhead, Semaphore::availablePermits)
+                .description("남은 동시 호출 슬롯")
+                .register(meterRegistry);
+
+        initCache();
+    }
+
+    private void initCache() {
+        gridDegrees = Math.max(gridMeters, 1.0) / METERS_PER_DEGREE;
+        routeCache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, routeCache.synchronous(), "kakaoRoutes");
     }
 
     /**
-     * 출발지 → (경유지) → 목적지 경로를 조회한다.
+     * 출발지 → (경유지) → 목적지 경로를 조회한다. 결과가 나올 때까지 호출 스레드를 막는다.
      *
      * @param originLat   출발지 위도
      * @param originLng   출발지 경도
@@ -92,38 +227,246 @@ public class KakaoRouteService {
     public RouteInfo getRoute(double originLat, double originLng,
                               double destLat, double destLng,
                               Double waypointLat, Double waypointLng) {
+        return getRouteAsync(originLat, originLng, destLat, destLng, waypointLat, waypointLng).join();
+    }
+
+    /**
+     * 비동기 경로 조회. 반환된 future 는 예외 없이 항상 {@link RouteInfo}로 완료된다.
+     */
+    public CompletableFuture<RouteInfo> getRouteAsync(double originLat, double originLng,
+                                                      double destLat, double destLng,
+                                                      Double waypointLat, Double waypointLng) {
 
         if (apiKey == null || apiKey.isBlank()) {
             log.debug("[KakaoRoute] Mobility API 키 미설정 → fallback 반환");
-            return unavailable();
+            return CompletableFuture.completedFuture(unavailable());
         }
 
-        try {
-            // Kakao Mobility API는 경도(lng),위도(lat) 순서
-            UriComponentsBuilder uriBuilder = UriComponentsBuilder
-                    .fromUriString(KAKAO_MOBILITY_URL)
-                    .queryParam("origin",      originLng + "," + originLat)
-                    .queryParam("destination", destLng   + "," + destLat)
-                    .queryParam("priority",    "RECOMMEND");
-
-            if (waypointLat != null && waypointLng != null) {
-                uriBuilder.queryParam("waypoints", waypointLng + "," + waypointLat);
+        RouteKey key = new RouteKey(
+                snap(originLat), snap(originLng), snap(destLat), snap(destLng),
+                waypointLat != null && waypointLng != null ? snap(waypointLat) : Long.MIN_VALUE,
+                waypointLat != null && waypointLng != null ? snap(waypointLng) : Long.MIN_VALUE);
+
+        // 미스일 때만 외부 호출 future 가 캐시에 들어가고, 같은 키의 동시 조회는 그 future 를 공유한다
+        return routeCache
+                .get(key, (k, executor) ->
+                        fetchRoute(originLat, originLng, destLat, destLng, waypointLat, waypointLng)
+                                .thenApply(route -> {
+                                    if (!route.isAvailable()) throw new RouteUnavailableException();
+                                    return route;
+                                }))
+                .handle((route, error) -> error == null ? route : unavailable());
+    }
+
+    /**
+     * 방문 순서대로 정렬된 지점들의 전체 도로 경로를 조회한다.
+     *
+     * <p>구간(i → i+1)마다 {@link #getRouteAsync}를 호출하되 {@code batch.parallelism}개의 레인으로 나눠
+     * 레인 안에서는 순차, 레인끼리는 동시에 진행한다. 캐시에 있는 구간은 외부 호출 없이 바로 채워진다.
+     * 조회에 실패한 구간은 직선으로 채우고 available=false 로 표시한다.</p>
+     *
+     * @param points [lat, lng] 배열 목록 (2개 이상)
+     */
+    public CompletableFuture<MultiLegRouteInfo> getMultiLegRouteAsync(List<double[]> points) {
+        int legCount = points.size() - 1;
+        if (legCount < 1) {
+            throw new InvalidRequestException("경유 지점은 2개 이상이어야 합니다");
+        }
+
+        @SuppressWarnings("unchecked")
+        CompletableFuture<RouteInfo>[] legs = new CompletableFuture[legCount];
+        int lanes = Math.max(1, Math.min(batchParallelism, legCount));
+        for (int lane = 0; lane < lanes; lane++) {
+            CompletableFuture<RouteInfo> previous = null;
+            for (int i = lane; i < legCount; i += lanes) {
+                int leg = i;
+                legs[leg] = previous == null
+                        ? fetchLeg(points, leg)
+                        : previous.thenCompose(ignored -> fetchLeg(points, leg));
+                previous = legs[leg];
             }
+        }
+
+        return CompletableFuture.allOf(legs).thenApply(ignored -> mergeLegs(points, legs));
+    }
+
+    private CompletableFuture<RouteInfo> fetchLeg(List<double[]> points, int leg) {
+        double[] from = points.get(leg);
+        double[] to = points.get(leg + 1);
+        return getRouteAsync(from[0], from[1], to[0], to[1], null, null);
+    }
+
+    private MultiLegRouteInfo mergeLegs(List<double[]> points, CompletableFuture<RouteInfo>[] legs) {
+        RouteInfo[] routes = new RouteInfo[legs.length];
+        int capacity = 0;
+        for (int i = 0; i < legs.length; i++) {
+            routes[i] = legs[i].join();
+            capacity += hasPath(routes[i]) ? routes[i].getPath().length : 4;
+        }
+
+        double[] path = new double[capacity];
+        int size = 0;
+        List<MultiLegRouteInfo.Leg> legInfos = new ArrayList<>(legs.length);
+        boolean allAvailable = true;
+        int totalDuration = 0;
+        int totalDistance = 0;
+
+        for (int i = 0; i < routes.length; i++) {
+            RouteInfo route = routes[i];
+            double[] legPath = hasPath(route)
+                    ? route.getPath()
+                    : new double[]{points.get(i)[0], points.get(i)[1], points.get(i + 1)[0], points.get(i + 1)[1]};
+
+            // 앞 구간의 마지막 좌표와 같으면 중복 제거
+            int from = size >= 2 && path[size - 2] == legPath[0] && path[size - 1] == legPath[1] ? 2 : 0;
+            System.arraycopy(legPath, from, path, size, legPath.length - from);
+            size += legPath.length - from;
+
+            allAvailable &= route.isAvailable();
+            totalDuration += route.getDurationSeconds();
+            totalDistance += route.getDistanceMeters();
+            legInfos.add(MultiLegRouteInfo.Leg.builder()
+                    .index(i)
+                    .available(route.isAvailable())
+                    .durationSeconds(route.getDurationSeconds())
+                    .distanceMeters(route.getDistanceMeters())
+                    .cumulativeDurationSeconds(totalDuration)
+                    .build());
+        }
+
+        return MultiLegRouteInfo.builder()
+                .available(allAvailable)
+                .path(size == path.length ? path : Arrays.copyOf(path, size))
+                .durationSeconds(totalDuration)
+                .distanceMeters(totalDistance)
+                .etaFormatted(formatDuration(totalDuration))
+                .legs(legInfos)
+                .build();
+    }
+
+    private static boolean hasPath(RouteInfo route) {
+        return route.isAvailable() && route.getPath() != null && route.getPath().length >= 2;
+    }
+
+    /**
+     * 서킷 브레이커·동시 호출 상태
+     */
+    public Map<String, Object> getClientStats() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("circuitState", circuitBreaker.getState().name());
+        result.put("availableConcurrency", bulkhead.availablePermits());
+        result.put("maxConcurrency", Math.max(1, maxConcurrent));
+        return result;
+    }
+
+    /**
+     * 캐시 적중/미스/축출 통계
+     */
+    public Map<String, Object> getCacheStats() {
+        CacheStats stats = routeCache.synchronous().stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", routeCache.synchronous().estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        result.put("loadSuccessCount", stats.loadSuccessCount());
+        result.put("loadFailureCount", stats.loadFailureCount());
+        result.put("averageLoadPenaltyMillis", stats.averageLoadPenalty() / 1_000_000.0);
+        return result;
+    }
+
+    private long snap(double degrees) {
+        return Math.round(degrees / gridDegrees);
+    }
+
+    private CompletableFuture<RouteInfo> fetchRoute(double originLat, double originLng,
+                                                    double destLat, double destLng,
+                                                    Double waypointLat, Double waypointLng) {
+        if (!bulkhead.tryAcquire()) {
+            meterRegistry.counter("kakao.route.rejected", "reason", "bulkhead_full").increment();
+            log.debug("[KakaoRoute] 동시 호출 한도 초과 → fallback 반환");
+            return CompletableFuture.completedFuture(unavailable());
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            bulkhead.release();
+            meterRegistry.counter("kakao.route.rejected", "reason", "circuit_open").increment();
+            log.debug("[KakaoRoute] 서킷 OPEN → fallback 반환");
+            return CompletableFuture.completedFuture(unavailable());
+        }
 
-            HttpHeaders headers = new HttpHeaders();
-            headers.set("Authorization", "KakaoAK " + apiKey);
+        // Kakao Mobility API는 경도(lng),위도(lat) 순서
+        UriComponentsBuilder uriBuilder = UriComponentsBuilder
+                .fromUriString(baseUrl + DIRECTIONS_PATH)
+                .queryParam("origin",      originLng + "," + originLat)
+                .queryParam("destination", destLng   + "," + destLat)
+                .queryParam("priority",    "RECOMMEND");
 
-            ResponseEntity<ApiResponse> response = restTemplate.exchange(
-                    uriBuilder.build(true).toUri(),
-                    HttpMethod.GET,
-                    new HttpEntity<>(headers),
-                    ApiResponse.class
-            );
+        if (waypointLat != null && waypointLng != null) {
+            uriBuilder.queryParam("waypoints", waypointLng + "," + waypointLat);
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(uriBuilder.build(true).toUri())
+                .timeout(Duration.ofMillis(requestTimeoutMillis))
+                .header("Authorization", "KakaoAK " + apiKey)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
 
-            return parseResponse(response.getBody());
+        long started = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        return response
+                .orTimeout(requestTimeoutMillis, TimeUnit.MILLISECONDS)
+                .thenApply(this::toRouteInfo)
+                .handle((route, error) -> {
+                    bulkhead.release();
+                    String outcome;
+                    if (error == null) {
+                        circuitBreaker.onSuccess();
+                        outcome = route.isAvailable() ? "success" : "no_route";
+                    } else {
+                        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                                ? error.getCause() : error;
+                        if (cause instanceof UpstreamFailureException
+                                || cause instanceof IOException
+                                || cause instanceof TimeoutException) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                        outcome = cause instanceof TimeoutException || cause instanceof HttpTimeoutException
+                                ? "timeout" : "error";
+                        log.warn("[KakaoRoute] API 호출 실패 ({}): {}", outcome, cause.toString());
+                        route = unavailable();
+                    }
+                    Timer.builder("kakao.route.request")
+                            .description("Kakao Mobility 길찾기 호출 지연")
+                            .tag("outcome", outcome)
+                            .publishPercentileHistogram()
+                            .register(meterRegistry)
+                            .record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                    return route;
+                });
+    }
 
-        } catch (Exception e) {
-            log.warn("[KakaoRoute] API 호출 실패: {}", e.getMessage());
+    private RouteInfo toRouteInfo(HttpResponse<byte[]> response) {
+        int status = response.statusCode();
+        if (status == 429 || status >= 500) {
+            throw new UpstreamFailureException("HTTP " + status);
+        }
+        if (status != 200) {
+            log.warn("[KakaoRoute] 요청 오류 HTTP {}", status);
+            return unavailable();
+        }
+        try {
+            return parseResponse(objectMapper.readValue(response.body(), ApiResponse.class));
+        } catch (IOException e) {
+            log.warn("[KakaoRoute] 응답 파싱 실패: {}", e.getMessage());
             return unavailable();
         }
     }
@@ -143,20 +486,35 @@ public class KakaoRouteService {
         int duration     = summary.getDuration(); // 초
         int distance     = summary.getDistance(); // 미터
 
-        // vertexes에서 좌표 추출: [lng1, lat1, lng2, lat2, ...] → [[lat, lng], ...]
-        List<double[]> path = new ArrayList<>();
+        // vertexes에서 좌표 추출: [lng1, lat1, lng2, lat2, ...] → [lat1, lng1, lat2, lng2, ...]
+        int capacity = 0;
         if (route.getSections() != null) {
             for (Section section : route.getSections()) {
                 if (section.getRoads() == null) continue;
                 for (Road road : section.getRoads()) {
-                    if (road.getVertexes() == null) continue;
-                    List<Double> v = road.getVertexes();
-                    for (int i = 0; i + 1 < v.size(); i += 2) {
-                        path.add(new double[]{v.get(i + 1), v.get(i)}); // lat, lng
+                    if (road.getVertexes() != null) capacity += road.getVertexes().length & ~1;
+                }
+            }
+        }
+
+        double[] path = new double[capacity];
+        int size = 0;
+        if (capacity > 0) {
+            for (Section section : route.getSections()) {
+                if (section.getRoads() == null) continue;
+                for (Road road : section.getRoads()) {
+                    double[] v = road.getVertexes();
+                    if (v == null) continue;
+                    for (int i = 0; i + 1 < v.length; i += 2) {
+                        // 도로 경계에서 겹치는 좌표는 한 번만
+                        if (size >= 2 && path[size - 2] == v[i + 1] && path[size - 1] == v[i]) continue;
+                        path[size++] = v[i + 1]; // lat
+                        path[size++] = v[i];     // lng
                     }
                 }
             }
         }
+        path = PolylineUtils.simplify(size == capacity ? path : Arrays.copyOf(path, size), simplifyToleranceMeters);
 
         return RouteInfo.builder()
                 .available(true)
@@ -0,0 +1,157 @@
+package com.delivery.quickdeliver.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 최근접 이웃 해에서 출발해 2-opt / Or-opt 지역 탐색으로 경로를 개선한다.
+ *
+ * <p>픽업 → 배송 선후 제약을 깨는 이동은 건너뛰고, 더 이상 개선이 없거나 시간 한도에 닿으면 멈춘다.
+ * 거리 행렬은 대칭(하버사인)이라고 가정하므로 2-opt 구간 뒤집기의 내부 비용은 변하지 않는다.</p>
+ */
+@Component
+public class LocalSearchRouteSolver implements RouteSolver {
+
+    public static final String NAME = "local-search";
+
+    private static final double EPSILON = 1e-9;
+
+    /** Or-opt 로 옮길 연속 구간 최대 길이 */
+    private static final int MAX_SEGMENT = 3;
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int[] solve(double[][] distance, int[] predecessor, long timeBudgetMillis) {
+        int[] order = NearestNeighborRouteSolver.construct(distance, predecessor);
+        if (order.length < 3) return order;
+
+        long deadline = System.nanoTime() + Math.max(1, timeBudgetMillis) * 1_000_000L;
+        int[] pos = new int[distance.length];
+        boolean improved = true;
+        while (improved && System.nanoTime() < deadline) {
+            indexPositions(order, pos);
+            improved = twoOpt(distance, predecessor, order, pos);
+            if (!improved) {
+                improved = orOpt(distance, predecessor, order, pos);
+            }
+        }
+        return order;
+    }
+
+    /**
+     * 구간 [i, j]를 뒤집어 짧아지면 적용한다. 구간 안에 선후 관계가 있는 두 노드가 모두 있으면 불가.
+     */
+    private boolean twoOpt(double[][] d, int[] predecessor, int[] order, int[] pos) {
+        int n = order.length;
+        for (int i = 0; i < n - 1; i++) {
+            int before = i == 0 ? 0 : order[i - 1];
+            for (int j = i + 1; j < n; j++) {
+                int after = j + 1 < n ? order[j + 1] : -1;
+                double delta = d[before][order[j]] - d[before][order[i]];
+                if (after >= 0) {
+                    delta += d[order[i]][after] - d[order[j]][after];
+                }
+                if (delta < -EPSILON && canReverse(predecessor, order, pos, i, j)) {
+                    reverse(order, i, j);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 길이 1~{@link #MAX_SEGMENT}의 연속 구간을 다른 위치로 옮겨 짧아지면 적용한다.
+     */
+    private boolean orOpt(double[][] d, int[] predecessor, int[] order, int[] pos) {
+        int n = order.length;
+        for (int len = 1; len <= MAX_SEGMENT; len++) {
+            for (int i = 0; i + len <= n; i++) {
+                int k = i + len - 1;
+                int first = order[i];
+                int last = order[k];
+                int before = i == 0 ? 0 : order[i - 1];
+                int after = k + 1 < n ? order[k + 1] : -1;
+
+                double removeGain = d[before][first];
+                if (after >= 0) {
+                    removeGain += d[last][after] - d[before][after];
+                }
+
+                // p: 구간을 order[p] 뒤에 끼운다 (-1 이면 출발지 바로 뒤)
+                for (int p = -1; p < n; p++) {
+                    if (p >= i - 1 && p <= k) continue;
+                    int a = p < 0 ? 0 : order[p];
+                    int b = p + 1 < n ? order[p + 1] : -1;
+                    double insertCost = d[a][first];
+                    if (b >= 0) {
+                        insertCost += d[last][b] - d[a][b];
+                    }
+                    if (insertCost - removeGain < -EPSILON
+                            && canMove(predecessor, order, pos, i, k, p)) {
+                        move(order, i, k, p);
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean canReverse(int[] predecessor, int[] order, int[] pos, int i, int j) {
+        for (int idx = i; idx <= j; idx++) {
+            int required = predecessor[order[idx]];
+            if (required > 0 && pos[required] >= i && pos[required] <= j) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean canMove(int[] predecessor, int[] order, int[] pos, int i, int k, int p) {
+        if (p > k) {
+            // 앞으로 이동: 건너뛰는 노드의 선행 노드가 구간 안에 있으면 불가
+            for (int idx = k + 1; idx <= p; idx++) {
+                int required = predecessor[order[idx]];
+                if (required > 0 && pos[required] >= i && pos[required] <= k) return false;
+            }
+        } else {
+            // 뒤로 이동: 구간 노드의 선행 노드를 건너뛰면 불가
+            for (int idx = i; idx <= k; idx++) {
+                int required = predecessor[order[idx]];
+                if (required > 0 && pos[required] > p && pos[required] < i) return false;
+            }
+        }
+        return true;
+    }
+
+    private static void reverse(int[] order, int i, int j) {
+        while (i < j) {
+            int tmp = order[i];
+            order[i++] = order[j];
+            order[j--] = tmp;
+        }
+    }
+
+    private static void move(int[] order, int i, int k, int p) {
+        int len = k - i + 1;
+        int[] segment = new int[len];
+        System.arraycopy(order, i, segment, 0, len);
+        if (p > k) {
+            System.arraycopy(order, k + 1, order, i, p - k);
+            System.arraycopy(segment, 0, order, p - len + 1, len);
+        } else {
+            System.arraycopy(order, p + 1, order, p + 1 + len, i - p - 1);
+            System.arraycopy(segment, 0, order, p + 1, len);
+        }
+    }
+
+    private static void indexPositions(int[] order, int[] pos) {
+        for (int idx = 0; idx < order.length; idx++) {
+            pos[order[idx]] = idx;
+        }
+    }
+}
@@ -10,14 +10,11 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.io.ClassPathResource;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
-import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -28,8 +25,10 @@ import java.util.Map;
 public class LocationSimulatorService {
 
     private final RiderRepository riderRepository;
-    private final SimpMessagingTemplate messagingTemplate;
     private final ObjectMapper objectMapper;
+    private final RiderLocationIndex riderLocationIndex;
+    private final RiderLocationBuffer riderLocationBuffer;
+    private final RiderLocationBroadcaster riderLocationBroadcaster;
     
     private final Map<String, RiderRoute> activeRoutes = new HashMap<>();
     private RouteData routeData;
@@ -71,7 +70,6 @@ public class LocationSimulatorService {
      * 5초마다 라이더 위치 업데이트
      */
     @Scheduled(fixedRate = 5000)
-    @Transactional
     public void updateRiderLocations() {
         if (activeRoutes.isEmpty()) {
             return;
@@ -89,25 +87,15 @@ public class LocationSimulatorService {
                 continue;
             }
             
-            // DB 업데이트
-            Rider rider = riderRepository.findByRiderId(riderId).orElse(null);
+            // 위치 버퍼 기록 (DB 반영은 배치 플러시)
+            RiderLocationIndex.RiderPosition rider = riderLocationIndex.get(riderId);
             if (rider != null) {
-                rider.setCurrentLatitude(currentWaypoint.getLatitude());
-                rider.setCurrentLongitude(currentWaypoint.getLongitude());
-                rider.setLastLocationUpdate(LocalDateTime.now());
-                riderRepository.save(rider);
+                riderLocationBuffer.offer(riderId, currentWaypoint.getLatitude(), currentWaypoint.getLongitude());
+                riderLocationIndex.updateLocation(riderId, currentWaypoint.getLatitude(), currentWaypoint.getLongitude());
                 
-                // WebSocket으로 브로드캐스트
-                Map<String, Object> locationUpdate = new HashMap<>();
-                locationUpdate.put("riderId", riderId);
-                locationUpdate.put("name", rider.getName());
-                locationUpdate.put("latitude", currentWaypoint.getLatitude());
-                locationUpdate.put("longitude", currentWaypoint.getLongitude());
-                locationUpdate.put("status", rider.getStatus().name());
-                locationUpdate.put("description", currentWaypoint.getDescription());
-                locationUpdate.put("timestamp", System.currentTimeMillis());
-                
-                messagingTemplate.convertAndSend("/topic/monitoring/riders", locationUpdate);
+                // 관제 브로드캐스트 (주기마다 묶어 전송)
+                riderLocationBroadcaster.offer(riderId, currentWaypoint.getLatitude(),
+                        currentWaypoint.getLongitude(), currentWaypoint.getDescription());
                 
                 log.debug("Updated location for {}: {} - {}", 
                     riderId, currentWaypoint.getDescription(), 
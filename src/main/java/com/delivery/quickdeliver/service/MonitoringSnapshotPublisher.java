@@ -0,0 +1,309 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.event.DeliveryStatusChangedEvent;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 관제 화면용 실시간 모니터링 상태를 서버에서 한 벌만 유지하고 STOMP로 변경분을 푸시한다.
+ *
+ * <p>대기·진행 중 배송 목록과 근무 중/가용 라이더 집합을 상태 변경 이벤트로 갱신하고,
+ * 일정 주기마다 그 사이 바뀐 배송과 부하 지표만 {@value #DELTA_DESTINATION}으로 보낸다.
+ * 화면 수와 관계없이 계산은 한 번이며 DB 조회가 없다.</p>
+ *
+ * <p>클라이언트는 {@code /app/monitoring/snapshot} 구독으로 전체 상태와 {@code seq}를 받고,
+ * 그보다 큰 {@code seq}의 delta만 적용한다. 이벤트를 거치지 않은 변경은 주기적으로 DB에서 다시 적재해 바로잡는다.</p>
+ *
+ * <p>relay 모드(여러 노드)에서는 이벤트가 그 노드에서만 나고 {@code seq}도 노드마다 따로 센다. 그래서
+ * {@link SchedulerLocks#MONITORING_PUBLISHER} 임대를 가진 노드 하나만 delta 를 보내고, 모든 노드가 발행 주기마다
+ * DB에서 다시 적재해 다른 노드에서 커밋된 변경도 반영한다. 메시지에는 보낸 노드({@code node})를 싣는다.
+ * 클라이언트는 같은 노드의 delta 만 {@code seq}로 거르고, 발행 노드가 바뀌면 새 노드가 보내는 전체 상태(SNAPSHOT)로 교체한다.</p>
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class MonitoringSnapshotPublisher {
+
+    public static final String DELTA_DESTINATION = "/topic/monitoring/active";
+
+    /** 관제 화면에 표시하는 배송 상태 (대기 + 진행 중) */
+    private static final Set<DeliveryStatus> OPEN_STATUSES = EnumSet.of(
+            DeliveryStatus.PENDING, DeliveryStatus.ASSIGNED,
+            DeliveryStatus.PICKING_UP, DeliveryStatus.IN_TRANSIT);
+
+    private final DeliveryRepository deliveryRepository;
+    private final RiderRepository riderRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final SchedulerLocks schedulerLocks;
+
+    @Value("${websocket.broker.mode:simple}")
+    private String brokerMode;
+
+    /** 발행 임대 유지 시간. 발행 주기보다 충분히 길어야 한다 */
+    @Value("${monitoring.publish.lease-ttl-ms:10000}")
+    private long leaseTtlMillis;
+
+    /** 이 노드가 발행 임대를 가지고 있는지 (relay 모드) */
+    private volatile boolean publisher;
+
+    // 아래 필드는 모두 this 로 동기화한다
+
+    private final Map<String, DeliveryResponse> openDeliveries = new HashMap<>();
+    private final Set<String> activeRiderIds = new HashSet<>();
+    private final Set<String> availableRiderIds = new HashSet<>();
+    private long pendingCount;
+
+    /** 마지막 발행 이후 바뀐 배송 (upsert / 제거) */
+    private final Map<String, DeliveryResponse> changedDeliveries = new LinkedHashMap<>();
+    private final Set<String> removedDeliveryIds = new LinkedHashSet<>();
+    private boolean countsChanged;
+
+    /** 마지막으로 발행한 delta 번호 */
+    private long seq;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onDeliveryStatusChanged(DeliveryStatusChangedEvent event) {
+        DeliveryResponse delivery = event.delivery();
+        String deliveryId = delivery.getDeliveryId();
+
+        DeliveryResponse previous;
+        if (OPEN_STATUSES.contains(delivery.getStatus())) {
+            previous = openDeliveries.put(deliveryId, delivery);
+            changedDeliveries.put(deliveryId, delivery);
+            removedDeliveryIds.remove(deliveryId);
+            if (delivery.getStatus() == DeliveryStatus.PENDING) pendingCount++;
+        } else {
+            previous = openDeliveries.remove(deliveryId);
+            if (previous != null) {
+                changedDeliveries.remove(deliveryId);
+                removedDeliveryIds.add(deliveryId);
+            }
+        }
+        if (previous != null && previous.getStatus() == DeliveryStatus.PENDING) pendingCount--;
+        countsChanged = true;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRiderStatusChanged(RiderStatusChangedEvent event) {
+        String riderId = event.riderId();
+        if (event.onShift()) {
+            activeRiderIds.add(riderId);
+        } else {
+            activeRiderIds.remove(riderId);
+        }
+        if (event.onShift() && event.status() == RiderStatus.AVAILABLE) {
+            availableRiderIds.add(riderId);
+        } else {
+            availableRiderIds.remove(riderId);
+        }
+        countsChanged = true;
+    }
+
+    /**
+     * 마지막 발행 이후 변경분을 관제 토픽으로 보낸다. 변경이 없으면 보내지 않는다.
+     * relay 모드에서는 DB에서 다시 적재한 뒤 발행 임대를 가진 노드만 보낸다.
+     */
+    @Scheduled(fixedRateString = "${monitoring.publish.interval-ms:1000}")
+    public void publishDelta() {
+        if (isClustered()) {
+            boolean wasPublisher = publisher;
+            publisher = schedulerLocks.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofMillis(leaseTtlMillis));
+            try {
+                reload();
+            } catch (Exception e) {
+                log.error("[Monitoring] 관제 상태 재적재 실패", e);
+            }
+            if (!publisher) {
+                discardChanges();
+                return;
+            }
+            if (!wasPublisher) {
+                // 이전 발행 노드의 delta 에 이어 붙이지 않도록 전체 상태부터 보낸다
+                log.info("[Monitoring] 관제 delta 발행 노드로 전환: {}", schedulerLocks.getNodeId());
+                Map<String, Object> snapshot;
+                synchronized (this) {
+                    snapshot = snapshot();
+                    discardChanges();
+                }
+                send(snapshot);
+                return;
+            }
+        }
+
+        Map<String, Object> delta;
+        synchronized (this) {
+            if (changedDeliveries.isEmpty() && removedDeliveryIds.isEmpty() && !countsChanged) {
+                return;
+            }
+            delta = loadStatus();
+            delta.put("type", "DELTA");
+            delta.put("seq", ++seq);
+            delta.put("node", schedulerLocks.getNodeId());
+            delta.put("upserted", new ArrayList<>(changedDeliveries.values()));
+            delta.put("removed", new ArrayList<>(removedDeliveryIds));
+
+            discardChanges();
+        }
+        send(delta);
+    }
+
+    private void send(Map<String, Object> message) {
+        try {
+            messagingTemplate.convertAndSend(DELTA_DESTINATION, message);
+        } catch (Exception e) {
+            log.warn("[Monitoring] {} 발행 실패 seq={}", message.get("type"), message.get("seq"), e);
+        }
+    }
+
+    /** 보낼 변경분을 비운다 */
+    private synchronized void discardChanges() {
+        changedDeliveries.clear();
+        removedDeliveryIds.clear();
+        countsChanged = false;
+    }
+
+    private boolean isClustered() {
+        return "relay".equalsIgnoreCase(brokerMode);
+    }
+
+    /**
+     * 구독 직후 한 번 보내는 전체 상태. {@code seq} 이후의 delta를 이어서 적용하면 된다.
+     */
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = loadStatus();
+        snapshot.put("type", "SNAPSHOT");
+        snapshot.put("seq", seq);
+        snapshot.put("node", schedulerLocks.getNodeId());
+        snapshot.put("deliveries", new ArrayList<>(openDeliveries.values()));
+        return snapshot;
+    }
+
+    /**
+     * REST 실시간 모니터링 응답 (진행 중 배송 + 부하 지표).
+     */
+    public synchronized Map<String, Object> realtimeMonitoring() {
+        Map<String, Object> monitoring = loadStatus();
+        monitoring.put("activeDeliveries", openDeliveries.values().stream()
+                .filter(d -> d.getStatus() != DeliveryStatus.PENDING)
+                .collect(Collectors.toList()));
+        return monitoring;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reload();
+        log.info("[Monitoring] 관제 상태 적재 완료: 배송 {}건", openDeliveries.size());
+    }
+
+    @Scheduled(fixedDelayString = "${monitoring.resync-interval-ms:60000}",
+               initialDelayString = "${monitoring.resync-interval-ms:60000}")
+    public void scheduledReload() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("[Monitoring] 관제 상태 재적재 실패", e);
+        }
+    }
+
+    /**
+     * DB에서 대기·진행 중 배송과 근무 중 라이더를 다시 읽어 상태를 교체하고,
+     * 기존 상태와 다른 항목은 다음 delta에 포함한다.
+     */
+    public void reload() {
+        Map<String, DeliveryResponse> freshDeliveries = deliveryRepository.findByStatusInWithRider(OPEN_STATUSES).stream()
+                .map(DeliveryResponse::from)
+                .collect(Collectors.toMap(DeliveryResponse::getDeliveryId, d -> d, (a, b) -> b, LinkedHashMap::new));
+
+        Set<String> freshActive = new HashSet<>();
+        Set<String> freshAvailable = new HashSet<>();
+        for (Rider rider : riderRepository.findActiveRiders()) {
+            freshActive.add(rider.getRiderId());
+            if (rider.getStatus() == RiderStatus.AVAILABLE) {
+                freshAvailable.add(rider.getRiderId());
+            }
+        }
+
+        synchronized (this) {
+            for (String deliveryId : openDeliveries.keySet()) {
+                if (!freshDeliveries.containsKey(deliveryId)) {
+                    changedDeliveries.remove(deliveryId);
+                    removedDeliveryIds.add(deliveryId);
+                }
+            }
+            for (DeliveryResponse delivery : freshDeliveries.values()) {
+                DeliveryResponse current = openDeliveries.get(delivery.getDeliveryId());
+                if (current == null || current.getStatus() != delivery.getStatus()
+                        || !Objects.equals(current.getRiderId(), delivery.getRiderId())) {
+                    changedDeliveries.put(delivery.getDeliveryId(), delivery);
+                    removedDeliveryIds.remove(delivery.getDeliveryId());
+                }
+            }
+            openDeliveries.clear();
+            openDeliveries.putAll(freshDeliveries);
+            long freshPending = freshDeliveries.values().stream()
+                    .filter(d -> d.getStatus() == DeliveryStatus.PENDING)
+                    .count();
+            // relay 모드는 발행 주기마다 다시 적재하므로, 바뀐 것이 없으면 delta 를 만들지 않는다
+            if (freshPending != pendingCount || !freshActive.equals(activeRiderIds)
+                    || !freshAvailable.equals(availableRiderIds)) {
+                countsChanged = true;
+            }
+            pendingCount = freshPending;
+
+            activeRiderIds.clear();
+            activeRiderIds.addAll(freshActive);
+            availableRiderIds.clear();
+            availableRiderIds.addAll(freshAvailable);
+        }
+    }
+
+    /** 호출 측에서 this 잠금을 잡고 있어야 한다 */
+    private Map<String, Object> loadStatus() {
+        long pending = pendingCount;
+        long available = availableRiderIds.size();
+
+        String loadStatus;
+        if (available == 0 && pending > 0) {
+            loadStatus = "CRITICAL";
+        } else if (pending > available * 3) {
+            loadStatus = "HIGH";
+        } else {
+            loadStatus = "NORMAL";
+        }
+
+        Map<String, Object> status = new HashMap<>();
+        status.put("activeRidersCount", activeRiderIds.size());
+        status.put("pendingDeliveriesCount", pending);
+        status.put("availableRidersCount", available);
+        status.put("systemLoad", loadStatus);
+        status.put("timestamp", LocalDateTime.now());
+        return status;
+    }
+}
@@ -0,0 +1,171 @@
+package com.delivery.quickdeliver.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 관제 세션별 지도 표시 영역(viewport) 색인.
+ *
+ * <p>영역을 {@code monitoring.viewport.tile-size-degrees} 크기 타일로 나눠 타일 → 세션 ID 집합을 유지한다.
+ * 라이더 위치 하나를 받을 세션은 그 좌표가 속한 타일 하나만 보면 되므로, 전체 세션 수와 무관하게 찾는다.</p>
+ *
+ * <p>타일이 {@code monitoring.viewport.max-tiles} 를 넘는 넓은 영역은 타일로 나누지 않고 전체 라이더를 받는 세션으로 둔다.
+ * 타일 집합은 바꿀 때마다 새 불변 집합으로 교체하므로 읽기는 잠금이 없다. 쓰기는 this 로 동기화한다.</p>
+ */
+@Slf4j
+@Component
+public class MonitoringViewportRegistry {
+
+    private final double tileSizeDegrees;
+    private final int maxTiles;
+
+    private final ConcurrentHashMap<Long, Set<String>> tiles = new ConcurrentHashMap<>();
+
+    /** 전체 라이더를 받는 세션 (불변 집합으로 교체) */
+    private volatile Set<String> fleetWideSessions = Set.of();
+
+    /** 세션 → 등록한 영역 (this 로 동기화) */
+    private final Map<String, Viewport> sessions = new HashMap<>();
+
+    /**
+     * 지도 표시 영역 (위·경도 범위).
+     */
+    public record Viewport(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+
+        public Viewport {
+            if (!validLatitude(minLatitude) || !validLatitude(maxLatitude)
+                    || !validLongitude(minLongitude) || !validLongitude(maxLongitude)) {
+                throw new IllegalArgumentException("영역 좌표가 위·경도 범위를 벗어났습니다");
+            }
+            if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+                throw new IllegalArgumentException("영역 최소값이 최대값보다 큽니다");
+            }
+        }
+
+        /** NaN 은 범위 비교가 모두 거짓이라 여기서 걸러진다 */
+        private static boolean validLatitude(double latitude) {
+            return latitude >= -90 && latitude <= 90;
+        }
+
+        private static boolean validLongitude(double longitude) {
+            return longitude >= -180 && longitude <= 180;
+        }
+
+        public boolean contains(double latitude, double longitude) {
+            return latitude >= minLatitude && latitude <= maxLatitude
+                    && longitude >= minLongitude && longitude <= maxLongitude;
+        }
+    }
+
+    public MonitoringViewportRegistry(@Value("${monitoring.viewport.tile-size-degrees:0.05}") double tileSizeDegrees,
+                                      @Value("${monitoring.viewport.max-tiles:400}") int maxTiles) {
+        this.tileSizeDegrees = tileSizeDegrees;
+        this.maxTiles = maxTiles;
+    }
+
+    /**
+     * 세션의 표시 영역을 등록(교체)한다.
+     */
+    public synchronized void update(String sessionId, Viewport viewport) {
+        remove(sessionId);
+        sessions.put(sessionId, viewport);
+
+        int minLat = tileIndex(viewport.minLatitude());
+        int maxLat = tileIndex(viewport.maxLatitude());
+        int minLng = tileIndex(viewport.minLongitude());
+        int maxLng = tileIndex(viewport.maxLongitude());
+        if ((long) (maxLat - minLat + 1) * (maxLng - minLng + 1) > maxTiles) {
+            fleetWideSessions = with(fleetWideSessions, sessionId);
+            return;
+        }
+        for (int i = minLat; i <= maxLat; i++) {
+            for (int j = minLng; j <= maxLng; j++) {
+                tiles.compute(tileKey(i, j), (key, set) -> with(set, sessionId));
+            }
+        }
+    }
+
+    /**
+     * 세션의 표시 영역 등록을 해제한다.
+     */
+    public synchronized void remove(String sessionId) {
+        Viewport viewport = sessions.remove(sessionId);
+        if (viewport == null) return;
+
+        if (fleetWideSessions.contains(sessionId)) {
+            fleetWideSessions = without(fleetWideSessions, sessionId);
+            return;
+        }
+        for (int i = tileIndex(viewport.minLatitude()); i <= tileIndex(viewport.maxLatitude()); i++) {
+            for (int j = tileIndex(viewport.minLongitude()); j <= tileIndex(viewport.maxLongitude()); j++) {
+                tiles.computeIfPresent(tileKey(i, j), (key, set) -> {
+                    Set<String> updated = without(set, sessionId);
+                    return updated.isEmpty() ? null : updated;
+                });
+            }
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            remove(sessionId);
+        }
+    }
+
+    /**
+     * 좌표가 속한 타일을 보는 세션 (타일 경계 여유로 영역 밖 세션이 조금 섞일 수 있다).
+     */
+    public Set<String> sessionsAt(double latitude, double longitude) {
+        Set<String> inTile = tiles.getOrDefault(tileKey(tileIndex(latitude), tileIndex(longitude)), Set.of());
+        Set<String> fleetWide = fleetWideSessions;
+        if (fleetWide.isEmpty()) return inTile;
+        if (inTile.isEmpty()) return fleetWide;
+        Set<String> result = new HashSet<>(inTile);
+        result.addAll(fleetWide);
+        return result;
+    }
+
+    public synchronized Viewport get(String sessionId) {
+        return sessions.get(sessionId);
+    }
+
+    public boolean isEmpty() {
+        return tiles.isEmpty() && fleetWideSessions.isEmpty();
+    }
+
+    public synchronized int sessionCount() {
+        return sessions.size();
+    }
+
+    private int tileIndex(double degrees) {
+        return (int) Math.floor(degrees / tileSizeDegrees);
+    }
+
+    private static long tileKey(int latIdx, int lonIdx) {
+        return ((long) latIdx << 32) | (lonIdx & 0xffffffffL);
+    }
+
+    private static Set<String> with(Set<String> set, String sessionId) {
+        Set<String> updated = set == null ? new HashSet<>() : new HashSet<>(set);
+        updated.add(sessionId);
+        return Set.copyOf(updated);
+    }
+
+    private static Set<String> without(Set<String> set, String sessionId) {
+        Set<String> updated = new HashSet<>(set);
+        updated.remove(sessionId);
+        return Set.copyOf(updated);
+    }
+}
@@ -0,0 +1,49 @@
+package com.delivery.quickdeliver.service;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 최근접 이웃 경로 탐색기.
+ * 현재 위치에서 방문 가능한(선행 노드를 이미 방문한) 가장 가까운 지점으로 이동한다.
+ */
+@Component
+public class NearestNeighborRouteSolver implements RouteSolver {
+
+    public static final String NAME = "nearest-neighbor";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public int[] solve(double[][] distance, int[] predecessor, long timeBudgetMillis) {
+        return construct(distance, predecessor);
+    }
+
+    static int[] construct(double[][] distance, int[] predecessor) {
+        int n = distance.length - 1;
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n + 1];
+        visited[0] = true;
+
+        int current = 0;
+        for (int step = 0; step < n; step++) {
+            int next = -1;
+            double best = Double.POSITIVE_INFINITY;
+            for (int node = 1; node <= n; node++) {
+                if (visited[node]) continue;
+                int required = predecessor[node];
+                if (required > 0 && !visited[required]) continue;
+                if (distance[current][node] < best) {
+                    best = distance[current][node];
+                    next = node;
+                }
+            }
+            order[step] = next;
+            visited[next] = true;
+            current = next;
+        }
+        return order;
+    }
+}
@@ -2,6 +2,8 @@ package com.delivery.quickdeliver.service;
 
 import com.delivery.quickdeliver.domain.entity.Delivery;
 import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.dto.websocket.AssignmentMessage;
+import com.delivery.quickdeliver.dto.websocket.UrgentMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -21,7 +23,8 @@ public class NotificationService {
         );
 
         // WebSocket으로 실시간 알림
-        webSocketService.sendToRider(rider.getRiderId(), "DELIVERY_ASSIGNED", message);
+        webSocketService.sendToRider(rider.getRiderId(),
+                AssignmentMessage.of(message, delivery.getDeliveryId(), delivery.getOrderNumber()));
         
         // TODO: Push 알림 추가
         log.info("Notified rider {} about new delivery {}", 
@@ -42,6 +45,22 @@ public class NotificationService {
                 delivery.getDeliveryId(), delivery.getStatus());
     }
 
+    /**
+     * 라이더가 배달지 접근 반경에 들어왔을 때
+     */
+    public void notifyRiderApproaching(String orderNumber) {
+        webSocketService.sendToCustomer(orderNumber, "RIDER_APPROACHING", "라이더가 곧 도착합니다.");
+        log.info("Notified customer that rider is approaching order {}", orderNumber);
+    }
+
+    /**
+     * 라이더가 배달지에 도착했을 때
+     */
+    public void notifyRiderArrived(String orderNumber) {
+        webSocketService.sendToCustomer(orderNumber, "RIDER_ARRIVED", "라이더가 도착했습니다.");
+        log.info("Notified customer that rider arrived for order {}", orderNumber);
+    }
+
     public void notifyDeliveryDelay(Delivery delivery, int delayMinutes) {
         String message = String.format(
                 "배송이 약 %d분 지연될 예정입니다. 불편을 드려 죄송합니다.",
@@ -61,7 +80,7 @@ public class NotificationService {
                 delivery.getPriority().getMaxMinutes()
         );
 
-        webSocketService.sendToRider(rider.getRiderId(), "URGENT_DELIVERY", message);
+        webSocketService.sendToRider(rider.getRiderId(), UrgentMessage.of("URGENT_DELIVERY", message));
         
         log.info("Sent urgent delivery notification to rider {}", rider.getRiderId());
     }
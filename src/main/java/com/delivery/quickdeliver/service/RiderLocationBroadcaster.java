@@ -0,0 +1,318 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
+import com.delivery.quickdeliver.dto.websocket.RiderLocationMessage;
+import com.delivery.quickdeliver.dto.websocket.RiderLocationsFrame;
+import com.delivery.quickdeliver.util.GeoUtils;
+import com.delivery.quickdeliver.util.RiderPositionFormat;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.socket.messaging.SessionConnectEvent;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 관제 화면 라이더 위치 브로드캐스트 병합기.
+ *
+ * <p>위치 수신마다 {@value #DESTINATION}으로 바로 보내지 않고 라이더별 최신 위치만 남겨둔 뒤,
+ * 주기마다 마지막 전송 위치에서 {@code monitoring.riders.min-distance-meters} 이상 움직였거나
+ * 상태가 바뀐 라이더만 묶어 프레임 하나로 보낸다.</p>
+ *
+ * <p>프레임 형식은 {@link RiderLocationsFrame}. 이름·상태는 전송 시점에 {@link RiderLocationIndex}에서 읽는다.
+ * 같은 주기에 같은 라이더 목록을 받는 세션끼리는 JSON 직렬화를 한 번만 하고 바이트를 재사용한다.</p>
+ *
+ * <p>지도 표시 영역을 등록한 세션({@link MonitoringViewportRegistry})에는 같은 형식의 프레임을
+ * {@code /user/queue/monitoring/riders} 로 따로 보내며, 영역 안(또는 영역을 막 벗어난) 라이더만 담는다.</p>
+ *
+ * <p>STOMP CONNECT 헤더 {@code position-format: delta-v1} 로 연결한 세션은 이 영역 프레임을
+ * JSON 대신 {@link RiderPositionFormat} 바이너리(application/octet-stream)로 받는다.
+ * 바이너리 프레임은 SockJS 가 아닌 순수 WebSocket({@code /ws})에서만 쓸 수 있다.</p>
+ */
+@Slf4j
+@Component
+public class RiderLocationBroadcaster {
+
+    public static final String DESTINATION = "/topic/monitoring/riders";
+
+    /** 영역 구독 세션용 (사용자 대상: /user/queue/monitoring/riders) */
+    public static final String VIEWPORT_DESTINATION = "/queue/monitoring/riders";
+
+    /** 바이너리 위치 포맷을 요청하는 CONNECT 헤더와 값 */
+    public static final String FORMAT_HEADER = "position-format";
+    public static final String DELTA_FORMAT = "delta-v1";
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final RiderLocationIndex riderLocationIndex;
+    private final MonitoringViewportRegistry viewportRegistry;
+    private final WebSocketPayloadSerializer payloadSerializer;
+    private final double minDistanceMeters;
+
+    /** 전송 대기 중인 라이더별 최신 위치 */
+    private final ConcurrentHashMap<String, PendingLocation> pending = new ConcurrentHashMap<>();
+
+    /** 라이더별 마지막으로 보낸 위치 (this 로 동기화) */
+    private final Map<String, SentLocation> lastSent = new HashMap<>();
+
+    /** 바이너리 포맷 세션 → 인코더 (this 로 동기화해 인코딩 순서와 전송 순서를 맞춘다) */
+    private final ConcurrentHashMap<String, RiderPositionFormat.Encoder> binarySessions = new ConcurrentHashMap<>();
+
+    private final Counter receivedCounter;
+    private final Counter sentCounter;
+    private final Counter frameCounter;
+
+    private record PendingLocation(double latitude, double longitude, String description) {
+    }
+
+    private record SentLocation(double latitude, double longitude, RiderStatus status) {
+    }
+
+    /** 이번 프레임에 담을 라이더와 직전 전송 위치 (처음 보내면 null) */
+    private record Outgoing(RiderPositionFormat.Position position, SentLocation previous) {
+    }
+
+    public RiderLocationBroadcaster(SimpMessagingTemplate messagingTemplate,
+                                    RiderLocationIndex riderLocationIndex,
+                                    MonitoringViewportRegistry viewportRegistry,
+                                    WebSocketPayloadSerializer payloadSerializer,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${monitoring.riders.min-distance-meters:10}") double minDistanceMeters) {
+        this.messagingTemplate = messagingTemplate;
+        this.riderLocationIndex = riderLocationIndex;
+        this.viewportRegistry = viewportRegistry;
+        this.payloadSerializer = payloadSerializer;
+        this.minDistanceMeters = minDistanceMeters;
+
+        this.receivedCounter = Counter.builder("monitoring.riders.updates.received")
+                .description("브로드캐스트 대상으로 수신한 라이더 위치 수")
+                .register(meterRegistry);
+        this.sentCounter = Counter.builder("monitoring.riders.updates.sent")
+                .description("관제 프레임에 담아 보낸 라이더 위치 수")
+                .register(meterRegistry);
+        this.frameCounter = Counter.builder("monitoring.riders.frames")
+                .description("보낸 라이더 위치 프레임 수")
+                .register(meterRegistry);
+    }
+
+    public void offer(String riderId, double latitude, double longitude) {
+        offer(riderId, latitude, longitude, null);
+    }
+
+    /**
+     * 라이더 위치를 다음 프레임 후보로 기록한다. 대기 중인 위치가 있으면 덮어쓴다.
+     *
+     * @param description 위치 설명 (시뮬레이터 경유지 이름 등, 없으면 null)
+     */
+    public void offer(String riderId, double latitude, double longitude, String description) {
+        pending.put(riderId, new PendingLocation(latitude, longitude, description));
+        receivedCounter.increment();
+    }
+
+    /**
+     * 대기 중인 위치 가운데 충분히 움직였거나 상태가 바뀐 라이더만 묶어 한 번에 보낸다.
+     */
+    @Scheduled(fixedDelayString = "${monitoring.riders.broadcast-interval-ms:500}")
+    public synchronized void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Outgoing> outgoing = new ArrayList<>(pending.size());
+        for (Map.Entry<String, PendingLocation> entry : pending.entrySet()) {
+            // 꺼내는 사이 새 위치가 들어온 라이더는 다음 주기에 보낸다
+            if (!pending.remove(entry.getKey(), entry.getValue())) {
+                continue;
+            }
+            Outgoing rider = toOutgoing(entry.getKey(), entry.getValue());
+            if (rider != null) {
+                outgoing.add(rider);
+            }
+        }
+        if (outgoing.isEmpty()) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        List<RiderPositionFormat.Position> positions = new ArrayList<>(outgoing.size());
+        outgoing.forEach(rider -> positions.add(rider.position()));
+        byte[] json = payloadSerializer.serialize(jsonFrame(positions, now));
+        messagingTemplate.send(DESTINATION, payloadSerializer.toMessage(json, null));
+        frameCounter.increment();
+        sentCounter.increment(positions.size());
+
+        if (!viewportRegistry.isEmpty()) {
+            sendToViewports(outgoing, json, now);
+        }
+        log.debug("[RiderBroadcast] 라이더 {}명 위치 프레임 전송", positions.size());
+    }
+
+    /**
+     * 표시 영역을 새로 등록한 세션에 영역 안 라이더 전체를 한 번 보낸다.
+     * 바이너리 세션은 이 프레임에서 사전과 좌표를 처음부터 다시 보낸다.
+     */
+    public synchronized void sendViewportSnapshot(String sessionId) {
+        MonitoringViewportRegistry.Viewport viewport = viewportRegistry.get(sessionId);
+        if (viewport == null) return;
+
+        List<RiderPositionFormat.Position> positions = new ArrayList<>();
+        for (RiderLocationIndex.RiderPosition rider : riderLocationIndex.findWithinBounds(
+                viewport.minLatitude(), viewport.minLongitude(), viewport.maxLatitude(), viewport.maxLongitude())) {
+            positions.add(new RiderPositionFormat.Position(rider.getRiderId(), rider.getName(), rider.getStatus(),
+                    rider.getVehicleType(), rider.getLatitude(), rider.getLongitude(), null));
+        }
+        RiderPositionFormat.Encoder encoder = binarySessions.get(sessionId);
+        if (encoder != null) {
+            encoder.reset();
+        }
+        sendToSession(sessionId, positions, System.currentTimeMillis());
+        log.debug("[RiderBroadcast] 세션 {} 영역 스냅샷 {}명", sessionId, positions.size());
+    }
+
+    /**
+     * CONNECT 헤더로 바이너리 위치 포맷을 요청한 세션을 기록한다. 기본은 JSON.
+     */
+    @EventListener
+    public void onSessionConnect(SessionConnectEvent event) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.wrap(event.getMessage());
+        if (accessor.getSessionId() != null && DELTA_FORMAT.equals(accessor.getFirstNativeHeader(FORMAT_HEADER))) {
+            binarySessions.put(accessor.getSessionId(), new RiderPositionFormat.Encoder());
+            log.debug("[RiderBroadcast] 세션 {} 바이너리 위치 포맷 사용", accessor.getSessionId());
+        }
+    }
+
+    @EventListener
+    public void onSessionDisconnect(SessionDisconnectEvent event) {
+        String sessionId = StompHeaderAccessor.wrap(event.getMessage()).getSessionId();
+        if (sessionId != null) {
+            binarySessions.remove(sessionId);
+        }
+    }
+
+    /**
+     * 세션마다 자기 영역에 걸친 라이더만 모아 보낸다. 영역을 벗어난 라이더도 마지막 위치를 한 번 받는다.
+     * 세션별 라이더는 outgoing 순번 집합으로 모으고, 같은 집합을 받는 JSON 세션은 이번 주기에 직렬화한 바이트를 함께 쓴다.
+     *
+     * @param allJson 전체 프레임({@value #DESTINATION})으로 보낸 JSON. 모든 라이더를 받는 세션은 이것을 쓴다
+     */
+    private void sendToViewports(List<Outgoing> outgoing, byte[] allJson, long now) {
+        Map<String, BitSet> bySession = new HashMap<>();
+        for (int i = 0; i < outgoing.size(); i++) {
+            Outgoing rider = outgoing.get(i);
+            RiderPositionFormat.Position position = rider.position();
+            Set<String> sessions = new HashSet<>(viewportRegistry.sessionsAt(position.latitude(), position.longitude()));
+            if (rider.previous() != null) {
+                sessions.addAll(viewportRegistry.sessionsAt(rider.previous().latitude(), rider.previous().longitude()));
+            }
+            for (String sessionId : sessions) {
+                bySession.computeIfAbsent(sessionId, id -> new BitSet(outgoing.size())).set(i);
+            }
+        }
+
+        BitSet all = new BitSet(outgoing.size());
+        all.set(0, outgoing.size());
+        Map<BitSet, byte[]> jsonByRiders = new HashMap<>();
+        jsonByRiders.put(all, allJson);
+
+        bySession.forEach((sessionId, riders) -> {
+            RiderPositionFormat.Encoder encoder = binarySessions.get(sessionId);
+            if (encoder != null) {
+                sendBinary(sessionId, encoder, positionsOf(outgoing, riders), now);
+            } else {
+                byte[] json = jsonByRiders.computeIfAbsent(riders,
+                        r -> payloadSerializer.serialize(jsonFrame(positionsOf(outgoing, r), now)));
+                messagingTemplate.send(viewportDestination(sessionId), payloadSerializer.toMessage(json, sessionId));
+            }
+            frameCounter.increment();
+            sentCounter.increment(riders.cardinality());
+        });
+    }
+
+    private void sendToSession(String sessionId, List<RiderPositionFormat.Position> positions, long now) {
+        RiderPositionFormat.Encoder encoder = binarySessions.get(sessionId);
+        if (encoder == null) {
+            messagingTemplate.send(viewportDestination(sessionId),
+                    payloadSerializer.toMessage(jsonFrame(positions, now), sessionId));
+            return;
+        }
+        sendBinary(sessionId, encoder, positions, now);
+    }
+
+    private void sendBinary(String sessionId, RiderPositionFormat.Encoder encoder,
+                            List<RiderPositionFormat.Position> positions, long now) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setSessionId(sessionId);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_OCTET_STREAM);
+        accessor.setLeaveMutable(true);
+        byte[] frame = encoder.encode(positions, now);
+        messagingTemplate.send(viewportDestination(sessionId),
+                MessageBuilder.createMessage(frame, accessor.getMessageHeaders()));
+    }
+
+    private static String viewportDestination(String sessionId) {
+        return "/user/" + sessionId + VIEWPORT_DESTINATION;
+    }
+
+    private static List<RiderPositionFormat.Position> positionsOf(List<Outgoing> outgoing, BitSet riders) {
+        List<RiderPositionFormat.Position> positions = new ArrayList<>(riders.cardinality());
+        riders.stream().forEach(i -> positions.add(outgoing.get(i).position()));
+        return positions;
+    }
+
+    private static RiderLocationsFrame jsonFrame(List<RiderPositionFormat.Position> positions, long now) {
+        List<RiderLocationMessage> riders = new ArrayList<>(positions.size());
+        for (RiderPositionFormat.Position position : positions) {
+            riders.add(RiderLocationMessage.from(position));
+        }
+        return RiderLocationsFrame.of(riders, now);
+    }
+
+    /**
+     * 근무를 마친 라이더는 마지막 전송 위치를 잊어 다음 근무의 첫 위치를 바로 보낸다.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onRiderStatusChanged(RiderStatusChangedEvent event) {
+        if (!event.onShift()) {
+            lastSent.remove(event.riderId());
+        }
+    }
+
+    /** 보낼 필요가 없으면 null */
+    private Outgoing toOutgoing(String riderId, PendingLocation location) {
+        RiderLocationIndex.RiderPosition position = riderLocationIndex.get(riderId);
+        RiderStatus status = position != null ? position.getStatus() : null;
+
+        SentLocation previous = lastSent.get(riderId);
+        if (previous != null && previous.status() == status
+                && GeoUtils.distanceMeters(previous.latitude(), previous.longitude(),
+                        location.latitude(), location.longitude()) < minDistanceMeters) {
+            return null;
+        }
+        lastSent.put(riderId, new SentLocation(location.latitude(), location.longitude(), status));
+
+        RiderPositionFormat.Position outgoing = new RiderPositionFormat.Position(riderId,
+                position != null ? position.getName() : null, status,
+                position != null ? position.getVehicleType() : null,
+                location.latitude(), location.longitude(), location.description());
+        return new Outgoing(outgoing, previous);
+    }
+}
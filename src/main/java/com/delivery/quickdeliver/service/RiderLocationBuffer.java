@@ -0,0 +1,148 @@
+package com.delivery.quickdeliver.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라이더 GPS 위치 write-behind 버퍼.
+ *
+ * <p>위치 수신마다 JPA 조회·저장을 하지 않고 라이더별 최신 위치만 메모리에 남겨둔 뒤,
+ * 주기적으로 JDBC 배치 UPDATE 한 번으로 {@code riders} 테이블에 반영한다.
+ * 같은 주기 안에 여러 번 들어온 위치는 마지막 것 하나로 합쳐진다.</p>
+ *
+ * <p>버퍼에만 있는 최신 위치는 {@link RiderLocationIndex}가 들고 있으므로
+ * 배정·지도 표시에는 지연이 없고, DB 반영만 최대 한 주기 늦어진다.</p>
+ */
+@Slf4j
+@Component
+public class RiderLocationBuffer {
+
+    private static final String UPDATE_SQL =
+            "UPDATE riders SET current_latitude = ?, current_longitude = ?, last_location_update = ? " +
+            "WHERE rider_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    private final ConcurrentHashMap<String, PendingLocation> pending = new ConcurrentHashMap<>();
+
+    private final Counter receivedCounter;
+    private final Counter flushedCounter;
+    private final Timer flushTimer;
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class PendingLocation {
+        private final String riderId;
+        private final double latitude;
+        private final double longitude;
+        private final LocalDateTime receivedAt;
+    }
+
+    public RiderLocationBuffer(JdbcTemplate jdbcTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${rider.location.flush.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = Math.max(1, batchSize);
+
+        this.receivedCounter = Counter.builder("rider.location.updates.received")
+                .description("수신한 라이더 위치 업데이트 수")
+                .register(meterRegistry);
+        this.flushedCounter = Counter.builder("rider.location.updates.flushed")
+                .description("DB에 기록한 라이더 위치 행 수")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("rider.location.flush")
+                .description("위치 버퍼 플러시 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("rider.location.buffer.pending", pending, Map::size)
+                .description("플러시 대기 중인 라이더 수")
+                .register(meterRegistry);
+        Gauge.builder("rider.location.coalescing.ratio", this, RiderLocationBuffer::coalescingRatio)
+                .description("병합되어 DB 쓰기를 생략한 위치 업데이트 비율")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 라이더 위치를 버퍼에 기록한다. 이전에 대기 중인 위치가 있으면 덮어쓴다.
+     */
+    public void offer(String riderId, double latitude, double longitude) {
+        pending.put(riderId, new PendingLocation(riderId, latitude, longitude, LocalDateTime.now()));
+        receivedCounter.increment();
+    }
+
+    /**
+     * 대기 중인 위치를 배치 UPDATE로 DB에 반영한다.
+     */
+    @Scheduled(fixedDelayString = "${rider.location.flush.interval-ms:1000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // 꺼내는 사이 새 위치가 들어온 라이더는 다음 주기에 반영되도록 값이 같을 때만 제거
+        List<PendingLocation> batch = new ArrayList<>(pending.size());
+        for (Map.Entry<String, PendingLocation> entry : pending.entrySet()) {
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+        }
+
+        flushTimer.record(() -> write(batch));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        log.info("[LocationBuffer] 종료 전 위치 버퍼 플러시 완료");
+    }
+
+    public int pendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 수신 대비 DB 쓰기를 생략한 비율 (0 ~ 1)
+     */
+    public double coalescingRatio() {
+        double received = receivedCounter.count();
+        if (received == 0) return 0.0;
+        return Math.max(0.0, 1.0 - flushedCounter.count() / received);
+    }
+
+    private void write(List<PendingLocation> batch) {
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            List<PendingLocation> chunk = batch.subList(from, Math.min(from + batchSize, batch.size()));
+            try {
+                jdbcTemplate.batchUpdate(UPDATE_SQL, chunk, chunk.size(), (ps, location) -> {
+                    ps.setDouble(1, location.getLatitude());
+                    ps.setDouble(2, location.getLongitude());
+                    ps.setTimestamp(3, Timestamp.valueOf(location.getReceivedAt()));
+                    ps.setString(4, location.getRiderId());
+                });
+                flushedCounter.increment(chunk.size());
+            } catch (Exception e) {
+                log.error("[LocationBuffer] 위치 배치 저장 실패 ({}건), 다음 주기에 재시도", chunk.size(), e);
+                // 그 사이 더 최신 위치가 들어왔으면 그것을 유지
+                chunk.forEach(location -> pending.putIfAbsent(location.getRiderId(), location));
+            }
+        }
+        log.debug("[LocationBuffer] {}명 위치 플러시", batch.size());
+    }
+}
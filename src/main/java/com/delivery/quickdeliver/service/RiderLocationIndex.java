@@ -0,0 +1,294 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import com.delivery.quickdeliver.util.GeoUtils;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 라이더 위치 인메모리 공간 인덱스 (균등 그리드 버킷).
+ *
+ * <p>위·경도를 {@link #CELL_SIZE_DEGREES} 크기의 셀로 나누고, 셀마다 그 안에 있는 라이더 ID를 보관한다.
+ * 반경 검색과 k-최근접 검색은 주변 셀만 훑으므로 전체 라이더 수와 무관하게 빠르다.</p>
+ *
+ * <p>위치는 {@link RiderService#updateLocation}, WebSocket 위치 수신에서, 상태는 라이더 상태가 바뀌는
+ * 서비스 메소드에서 {@link #update(Rider)}로 갱신한다. 위치 수신 경로는 라이더 이름·이메일도 여기서 읽어 DB 조회를 생략한다.
+ * 트랜잭션 롤백 등으로 인덱스가 DB와 어긋날 수 있으므로 배정 직전에는 반드시 DB 상태를 다시 확인해야 한다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RiderLocationIndex {
+
+    /** 그리드 셀 크기 (도). 위도 기준 약 1.1km */
+    private static final double CELL_SIZE_DEGREES = 0.01;
+
+    private final RiderRepository riderRepository;
+
+    private final ConcurrentHashMap<String, RiderPosition> positions = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> cells = new ConcurrentHashMap<>();
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RiderPosition {
+        private final String riderId;
+        private final String name;
+        private final String email;
+        private final RiderStatus status;
+        private final VehicleType vehicleType;
+        private final Double latitude;
+        private final Double longitude;
+        private final LocalDateTime locationUpdatedAt;
+
+        private boolean hasLocation() {
+            return latitude != null && longitude != null;
+        }
+
+        private boolean isNewerThan(LocalDateTime other) {
+            return hasLocation() && locationUpdatedAt != null
+                    && (other == null || locationUpdatedAt.isAfter(other));
+        }
+
+        private RiderPosition withLocation(double lat, double lon, LocalDateTime updatedAt) {
+            return new RiderPosition(riderId, name, email, status, vehicleType, lat, lon, updatedAt);
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Candidate {
+        private final String riderId;
+        private final double distanceKm;
+    }
+
+    /**
+     * 애플리케이션 기동 완료 시 DB의 라이더 전체를 인덱스에 적재한다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRiders() {
+        List<Rider> riders = riderRepository.findAll();
+        riders.forEach(this::update);
+        log.info("[RiderIndex] {}명의 라이더 위치를 인덱스에 적재", riders.size());
+    }
+
+    /**
+     * 라이더 엔티티의 현재 상태(상태, 차량, 위치)로 인덱스를 갱신한다.
+     * 위치는 write-behind 버퍼({@link RiderLocationBuffer})보다 DB가 늦을 수 있으므로,
+     * 인덱스에 더 최신 위치가 있으면 그 위치를 유지한다.
+     */
+    public void update(Rider rider) {
+        positions.compute(rider.getRiderId(), (id, previous) -> {
+            boolean keepPrevious = previous != null && previous.isNewerThan(rider.getLastLocationUpdate());
+            RiderPosition position = new RiderPosition(id, rider.getName(), rider.getEmail(),
+                    rider.getStatus(), rider.getVehicleType(),
+                    keepPrevious ? previous.getLatitude() : rider.getCurrentLatitude(),
+                    keepPrevious ? previous.getLongitude() : rider.getCurrentLongitude(),
+                    keepPrevious ? previous.getLocationUpdatedAt() : rider.getLastLocationUpdate());
+            return move(id, previous, position);
+        });
+    }
+
+    /**
+     * 라이더 위치만 갱신한다.
+     *
+     * @return 인덱스에 없는 라이더면 false (호출 측에서 {@link #update(Rider)}로 적재해야 한다)
+     */
+    public boolean updateLocation(String riderId, double latitude, double longitude) {
+        LocalDateTime now = LocalDateTime.now();
+        return positions.computeIfPresent(riderId,
+                (id, previous) -> move(id, previous, previous.withLocation(latitude, longitude, now))) != null;
+    }
+
+    public void remove(String riderId) {
+        positions.computeIfPresent(riderId, (id, previous) -> move(id, previous, null));
+    }
+
+    public RiderPosition get(String riderId) {
+        return positions.get(riderId);
+    }
+
+    /**
+     * 반경 내 조건에 맞는 라이더를 가까운 순으로 반환한다.
+     *
+     * @param status    라이더 상태 필터 (null 이면 전체)
+     * @param minWeight 차량 최대 적재 무게 하한 (kg)
+     */
+    public List<Candidate> findWithinRadius(double latitude, double longitude, double radiusKm,
+                                            RiderStatus status, double minWeight) {
+        double dLat = radiusKm / GeoUtils.KM_PER_DEGREE_LAT;
+        double dLon = radiusKm / GeoUtils.kmPerDegreeLon(latitude);
+
+        int minLatIdx = cellIndex(latitude - dLat);
+        int maxLatIdx = cellIndex(latitude + dLat);
+        int minLonIdx = cellIndex(longitude - dLon);
+        int maxLonIdx = cellIndex(longitude + dLon);
+
+        List<Candidate> result = new ArrayList<>();
+        for (int i = minLatIdx; i <= maxLatIdx; i++) {
+            for (int j = minLonIdx; j <= maxLonIdx; j++) {
+                Set<String> cell = cells.get(cellKey(i, j));
+                if (cell == null) continue;
+                for (String riderId : cell) {
+                    RiderPosition position = positions.get(riderId);
+                    if (!matches(position, status, minWeight)) continue;
+                    double distance = GeoUtils.distanceKm(latitude, longitude,
+                            position.getLatitude(), position.getLongitude());
+                    if (distance <= radiusKm) {
+                        result.add(new Candidate(riderId, distance));
+                    }
+                }
+            }
+        }
+        result.sort(Comparator.comparingDouble(Candidate::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * 중심 셀에서 바깥 링으로 넓혀가며 조건에 맞는 가장 가까운 k명을 찾는다.
+     * 이미 찾은 k번째 거리보다 다음 링이 멀어지면 탐색을 멈춘다.
+     */
+    public List<Candidate> findNearest(double latitude, double longitude, int k, double maxRadiusKm,
+                                       RiderStatus status, double minWeight) {
+        if (k <= 0) return List.of();
+
+        // 셀 한 칸의 최소 폭 (경도 방향이 더 좁다)
+        double cellKm = CELL_SIZE_DEGREES * Math.min(
+                GeoUtils.KM_PER_DEGREE_LAT, GeoUtils.kmPerDegreeLon(latitude));
+        int maxRing = (int) Math.ceil(maxRadiusKm / cellKm) + 1;
+        int centerLat = cellIndex(latitude);
+        int centerLon = cellIndex(longitude);
+
+        PriorityQueue<Candidate> nearest = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidate::getDistanceKm).reversed());
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            for (int i = centerLat - ring; i <= centerLat + ring; i++) {
+                boolean edgeRow = i == centerLat - ring || i == centerLat + ring;
+                int step = edgeRow ? 1 : Math.max(1, 2 * ring);
+                for (int j = centerLon - ring; j <= centerLon + ring; j += step) {
+                    Set<String> cell = cells.get(cellKey(i, j));
+                    if (cell == null) continue;
+                    for (String riderId : cell) {
+                        RiderPosition position = positions.get(riderId);
+                        if (!matches(position, status, minWeight)) continue;
+                        double distance = GeoUtils.distanceKm(latitude, longitude,
+                                position.getLatitude(), position.getLongitude());
+                        if (distance > maxRadiusKm) continue;
+                        if (nearest.size() < k) {
+                            nearest.add(new Candidate(riderId, distance));
+                        } else if (distance < nearest.peek().getDistanceKm()) {
+                            nearest.poll();
+                            nearest.add(new Candidate(riderId, distance));
+                        }
+                    }
+                }
+            }
+            if (nearest.size() == k && nearest.peek().getDistanceKm() <= ring * cellKm) {
+                break;
+            }
+        }
+
+        List<Candidate> result = new ArrayList<>(nearest);
+        result.sort(Comparator.comparingDouble(Candidate::getDistanceKm));
+        return result;
+    }
+
+    /**
+     * 위·경도 범위 안에 위치가 있는 라이더 (상태 무관).
+     * 범위의 셀 수가 라이더 수보다 많으면 셀 대신 라이더 전체를 훑는다.
+     */
+    public List<RiderPosition> findWithinBounds(double minLatitude, double minLongitude,
+                                                double maxLatitude, double maxLongitude) {
+        List<RiderPosition> result = new ArrayList<>();
+        int minLatIdx = cellIndex(minLatitude);
+        int maxLatIdx = cellIndex(maxLatitude);
+        int minLonIdx = cellIndex(minLongitude);
+        int maxLonIdx = cellIndex(maxLongitude);
+        long cellCount = ((long) maxLatIdx - minLatIdx + 1) * ((long) maxLonIdx - minLonIdx + 1);
+
+        if (cellCount > positions.size()) {
+            for (RiderPosition position : positions.values()) {
+                if (withinBounds(position, minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+                    result.add(position);
+                }
+            }
+            return result;
+        }
+        for (int i = minLatIdx; i <= maxLatIdx; i++) {
+            for (int j = minLonIdx; j <= maxLonIdx; j++) {
+                Set<String> cell = cells.get(cellKey(i, j));
+                if (cell == null) continue;
+                for (String riderId : cell) {
+                    RiderPosition position = positions.get(riderId);
+                    if (withinBounds(position, minLatitude, minLongitude, maxLatitude, maxLongitude)) {
+                        result.add(position);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return positions.size();
+    }
+
+    private static boolean withinBounds(RiderPosition position, double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude) {
+        return position != null && position.hasLocation()
+                && position.getLatitude() >= minLatitude && position.getLatitude() <= maxLatitude
+                && position.getLongitude() >= minLongitude && position.getLongitude() <= maxLongitude;
+    }
+
+    private boolean matches(RiderPosition position, RiderStatus status, double minWeight) {
+        if (position == null || !position.hasLocation()) return false;
+        if (status != null && position.getStatus() != status) return false;
+        return position.getVehicleType() != null && position.getVehicleType().getMaxWeight() >= minWeight;
+    }
+
+    /**
+     * 셀 소속을 옮긴다. 같은 라이더에 대한 호출은 {@link ConcurrentHashMap#compute} 안에서 직렬화된다.
+     */
+    private RiderPosition move(String riderId, RiderPosition previous, RiderPosition next) {
+        Long previousKey = previous != null && previous.hasLocation()
+                ? cellKey(previous.getLatitude(), previous.getLongitude()) : null;
+        Long nextKey = next != null && next.hasLocation()
+                ? cellKey(next.getLatitude(), next.getLongitude()) : null;
+
+        if (previousKey != null && !previousKey.equals(nextKey)) {
+            Set<String> cell = cells.get(previousKey);
+            if (cell != null) cell.remove(riderId);
+        }
+        if (nextKey != null && !nextKey.equals(previousKey)) {
+            cells.computeIfAbsent(nextKey, key -> ConcurrentHashMap.newKeySet()).add(riderId);
+        }
+        return next;
+    }
+
+    private static int cellIndex(double degrees) {
+        return (int) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return cellKey(cellIndex(latitude), cellIndex(longitude));
+    }
+
+    private static long cellKey(int latIndex, int lonIndex) {
+        return ((long) latIndex << 32) | (lonIndex & 0xffffffffL);
+    }
+}
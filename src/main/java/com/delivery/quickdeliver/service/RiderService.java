@@ -3,6 +3,7 @@ package com.delivery.quickdeliver.service;
 import com.delivery.quickdeliver.domain.entity.Rider;
 import com.delivery.quickdeliver.domain.entity.RiderPerformance;
 import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
 import com.delivery.quickdeliver.dto.request.LocationUpdateRequest;
 import com.delivery.quickdeliver.dto.request.RiderRegisterRequest;
 import com.delivery.quickdeliver.dto.response.RiderDashboardResponse;
@@ -13,6 +14,7 @@ import com.delivery.quickdeliver.repository.DeliveryRepository;
 import com.delivery.quickdeliver.repository.RiderRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -32,6 +34,9 @@ public class RiderService {
     private final RiderRepository riderRepository;
     private final DeliveryRepository deliveryRepository;
     private final WebSocketService webSocketService;
+    private final RiderLocationIndex riderLocationIndex;
+    private final RiderLocationBuffer riderLocationBuffer;
+    private final ApplicationEventPublisher eventPublisher;
     // dev 프로파일에서만 동작
     private final Optional<LocationSimulatorService> locationSimulatorService;
 
@@ -61,16 +66,23 @@ public class RiderService {
                 .build();
 
         rider = riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+        eventPublisher.publishEvent(RiderStatusChangedEvent.registered(rider));
         return RiderResponse.from(rider);
     }
 
-    @Transactional
+    /**
+     * 위치는 버퍼에만 기록하고 DB 반영은 {@link RiderLocationBuffer}가 배치로 처리한다.
+     */
     public void updateLocation(String riderId, LocationUpdateRequest request) {
-        Rider rider = riderRepository.findByRiderId(riderId)
-                .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
+        if (riderLocationIndex.get(riderId) == null) {
+            Rider rider = riderRepository.findByRiderId(riderId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
+            riderLocationIndex.update(rider);
+        }
 
-        rider.updateLocation(request.getLatitude(), request.getLongitude());
-        riderRepository.save(rider);
+        riderLocationBuffer.offer(riderId, request.getLatitude(), request.getLongitude());
+        riderLocationIndex.updateLocation(riderId, request.getLatitude(), request.getLongitude());
 
         // WebSocket을 통해 실시간 위치 브로드캐스트
         webSocketService.broadcastRiderLocation(riderId, request.getLatitude(), request.getLongitude());
@@ -84,8 +96,12 @@ public class RiderService {
         Rider rider = riderRepository.findByRiderId(riderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
 
+        RiderStatus previousStatus = rider.getStatus();
+        boolean previouslyOnShift = rider.isOnShift();
         rider.startShift();
         riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+        eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, previousStatus, previouslyOnShift));
         
         log.info("Rider {} started shift", riderId);
     }
@@ -95,8 +111,12 @@ public class RiderService {
         Rider rider = riderRepository.findByRiderId(riderId)
                 .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
 
+        RiderStatus previousStatus = rider.getStatus();
+        boolean previouslyOnShift = rider.isOnShift();
         rider.endShift();
         riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+        eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, previousStatus, previouslyOnShift));
 
         // 일일 성과 계산 및 저장
         calculateDailyPerformance(rider);
@@ -112,6 +132,8 @@ public class RiderService {
         RiderStatus oldStatus = rider.getStatus();
         rider.setStatus(status);
         riderRepository.save(rider);
+        riderLocationIndex.update(rider);
+        eventPublisher.publishEvent(RiderStatusChangedEvent.of(rider, oldStatus, rider.isOnShift()));
         
         // 배송 중으로 변경 시 경로 시뮬레이션 시작 (dev 프로파일에서만 동작)
         locationSimulatorService.ifPresent(sim -> {
@@ -2,9 +2,18 @@ package com.delivery.quickdeliver.service;
 
 import com.delivery.quickdeliver.domain.entity.Address;
 import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
 import com.delivery.quickdeliver.dto.response.OptimizedRouteResponse;
+import com.delivery.quickdeliver.exception.ResourceNotFoundException;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import com.delivery.quickdeliver.util.DeliveryZones;
+import com.delivery.quickdeliver.util.GeoUtils;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
@@ -14,13 +23,73 @@ import java.util.*;
 @RequiredArgsConstructor
 public class RouteOptimizationService {
 
+    private final List<RouteSolver> routeSolvers;
+    private final RiderRepository riderRepository;
+    private final DeliveryRepository deliveryRepository;
+    private final RiderLocationIndex riderLocationIndex;
+
+    /** 사용할 경로 탐색기 ({@link RouteSolver#name()}) */
+    @Value("${route.solver:local-search}")
+    private String solverName;
+
+    /** 경로 개선 탐색 시간 한도 (ms) */
+    @Value("${route.time-budget-ms:50}")
+    private long timeBudgetMillis;
+
+    private RouteSolver routeSolver;
+
+    @PostConstruct
+    void selectSolver() {
+        routeSolver = routeSolvers.stream()
+                .filter(solver -> solver.name().equals(solverName))
+                .findFirst()
+                .orElseGet(() -> {
+                    log.warn("[Route] 알 수 없는 route.solver={}, {} 사용", solverName, LocalSearchRouteSolver.NAME);
+                    return routeSolvers.stream()
+                            .filter(solver -> solver.name().equals(LocalSearchRouteSolver.NAME))
+                            .findFirst()
+                            .orElseThrow();
+                });
+        log.info("[Route] 경로 탐색기: {} (시간 한도 {}ms)", routeSolver.name(), timeBudgetMillis);
+    }
+
     /**
-     * 여러 배송지에 대한 최적 경로 계산 (TSP - Traveling Salesman Problem)
+     * 라이더의 진행 중인 배송 전체에 대한 최적 경로.
+     * 출발지는 라이더 현재 위치이며, 이미 픽업한(IN_TRANSIT) 배송은 배송지만 방문한다.
+     */
+    public OptimizedRouteResponse optimizeRiderRoute(String riderId) {
+        Rider rider = riderRepository.findByRiderId(riderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Rider not found"));
+
+        // 인덱스 위치가 DB보다 최신일 수 있다
+        RiderLocationIndex.RiderPosition position = riderLocationIndex.get(riderId);
+        Address start = Address.builder()
+                .latitude(position != null && position.getLatitude() != null
+                        ? position.getLatitude() : rider.getCurrentLatitude())
+                .longitude(position != null && position.getLongitude() != null
+                        ? position.getLongitude() : rider.getCurrentLongitude())
+                .build();
+
+        return optimizeMultipleDeliveries(start, deliveryRepository.findActiveDeliveriesByRiderId(riderId));
+    }
+
+    /**
+     * 여러 배송지에 대한 최적 경로 계산 (픽업 → 배송 선후 제약이 있는 경로 문제)
+     *
+     * <p>거리 행렬을 한 번 만든 뒤 설정된 {@link RouteSolver}로 방문 순서를 구한다.
+     * 각 정차 지점의 estimatedArrival 은 출발 시점부터의 누적 도착 예정 시간(분)이다.</p>
      */
     public OptimizedRouteResponse optimizeMultipleDeliveries(
             Address startPoint, 
             List<Delivery> deliveries) {
-        
+        return optimizeMultipleDeliveries(startPoint, deliveries, timeBudgetMillis);
+    }
+
+    public OptimizedRouteResponse optimizeMultipleDeliveries(
+            Address startPoint,
+            List<Delivery> deliveries,
+            long timeBudgetMillis) {
+
         log.info("Optimizing route for {} deliveries", deliveries.size());
 
         if (deliveries.isEmpty()) {
@@ -31,42 +100,49 @@ public class RouteOptimizationService {
                     .build();
         }
 
-        // 간단한 Nearest Neighbor 알고리즘 구현
-        List<OptimizedRouteResponse.Waypoint> waypoints = new ArrayList<>();
-        Set<Delivery> visited = new HashSet<>();
-        Address currentLocation = startPoint;
-        double totalDistance = 0;
+        // 노드 0 = 출발지, 이후 배송마다 (픽업), 배송 순
+        int capacity = deliveries.size() * 2 + 1;
+        List<Address> addresses = new ArrayList<>(capacity);
+        List<Delivery> owners = new ArrayList<>(capacity);
+        List<String> types = new ArrayList<>(capacity);
+        int[] predecessor = new int[capacity];
 
-        while (visited.size() < deliveries.size()) {
-            Delivery nearest = findNearestDelivery(currentLocation, deliveries, visited);
-            if (nearest == null) break;
+        addresses.add(startPoint);
+        owners.add(null);
+        types.add(null);
+        predecessor[0] = -1;
 
-            // 픽업 지점으로 이동
-            double pickupDistance = calculateDistance(
-                    currentLocation, nearest.getPickupAddress());
-            totalDistance += pickupDistance;
-
-            waypoints.add(OptimizedRouteResponse.Waypoint.builder()
-                    .deliveryId(nearest.getDeliveryId())
-                    .type("PICKUP")
-                    .address(nearest.getPickupAddress())
-                    .estimatedArrival(calculateEstimatedTime(pickupDistance))
-                    .build());
+        for (Delivery delivery : deliveries) {
+            int pickupNode = -1;
+            if (delivery.getStatus() != DeliveryStatus.IN_TRANSIT) {
+                pickupNode = addresses.size();
+                addresses.add(delivery.getPickupAddress());
+                owners.add(delivery);
+                types.add("PICKUP");
+                predecessor[pickupNode] = -1;
+            }
+            int deliveryNode = addresses.size();
+            addresses.add(delivery.getDeliveryAddress());
+            owners.add(delivery);
+            types.add("DELIVERY");
+            predecessor[deliveryNode] = pickupNode;
+        }
 
-            // 배송 지점으로 이동
-            double deliveryDistance = calculateDistance(
-                    nearest.getPickupAddress(), nearest.getDeliveryAddress());
-            totalDistance += deliveryDistance;
+        double[][] distance = buildDistanceMatrix(addresses);
+        int[] order = routeSolver.solve(distance, Arrays.copyOf(predecessor, addresses.size()), timeBudgetMillis);
 
+        List<OptimizedRouteResponse.Waypoint> waypoints = new ArrayList<>(order.length);
+        double totalDistance = 0;
+        int previous = 0;
+        for (int node : order) {
+            totalDistance += distance[previous][node];
             waypoints.add(OptimizedRouteResponse.Waypoint.builder()
-                    .deliveryId(nearest.getDeliveryId())
-                    .type("DELIVERY")
-                    .address(nearest.getDeliveryAddress())
-                    .estimatedArrival(calculateEstimatedTime(deliveryDistance))
+                    .deliveryId(owners.get(node).getDeliveryId())
+                    .type(types.get(node))
+                    .address(addresses.get(node))
+                    .estimatedArrival(calculateEstimatedTime(totalDistance))
                     .build());
-
-            currentLocation = nearest.getDeliveryAddress();
-            visited.add(nearest);
+            previous = node;
         }
 
         return OptimizedRouteResponse.builder()
@@ -101,31 +177,29 @@ public class RouteOptimizationService {
             return 0.0;
         }
 
-        double R = 6371; // 지구 반경 (km)
-        double dLat = Math.toRadians(to.getLatitude() - from.getLatitude());
-        double dLon = Math.toRadians(to.getLongitude() - from.getLongitude());
-        
-        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2) +
-                Math.cos(Math.toRadians(from.getLatitude())) * 
-                Math.cos(Math.toRadians(to.getLatitude())) *
-                Math.sin(dLon / 2) * Math.sin(dLon / 2);
-        
-        double c = 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
-        return R * c;
+        return GeoUtils.distanceKm(from.getLatitude(), from.getLongitude(),
+                to.getLatitude(), to.getLongitude());
     }
 
     /**
      * 배송 밀집도 분석
      */
     public Map<String, Object> analyzeDeliveryDensity(List<Delivery> deliveries) {
-        Map<String, Object> analysis = new HashMap<>();
-        
         // 구역별 배송 건수 계산
-        Map<String, Integer> zoneCount = new HashMap<>();
+        Map<String, Long> zoneCount = new HashMap<>();
         for (Delivery delivery : deliveries) {
             String zone = getZone(delivery.getDeliveryAddress());
-            zoneCount.put(zone, zoneCount.getOrDefault(zone, 0) + 1);
+            zoneCount.merge(zone, 1L, Long::sum);
         }
+        return analyzeZoneDensity(zoneCount);
+    }
+
+    /**
+     * 구역별 배송 건수로 밀집도를 분석한다 (집계 테이블 조회 결과용)
+     */
+    public Map<String, Object> analyzeZoneDensity(Map<String, Long> zoneCount) {
+        Map<String, Object> analysis = new HashMap<>();
+        long totalDeliveries = zoneCount.values().stream().mapToLong(Long::longValue).sum();
         
         // 핫스팟 식별
         List<String> hotspots = zoneCount.entrySet().stream()
@@ -135,23 +209,38 @@ public class RouteOptimizationService {
         
         analysis.put("zoneDistribution", zoneCount);
         analysis.put("hotspots", hotspots);
-        analysis.put("totalDeliveries", deliveries.size());
-        analysis.put("averageDensity", deliveries.size() / (double) zoneCount.size());
+        analysis.put("totalDeliveries", totalDeliveries);
+        analysis.put("averageDensity", zoneCount.isEmpty() ? 0.0 : totalDeliveries / (double) zoneCount.size());
         
         return analysis;
     }
 
-    private Delivery findNearestDelivery(Address currentLocation, 
-                                         List<Delivery> deliveries, 
-                                         Set<Delivery> visited) {
-        return deliveries.stream()
-                .filter(d -> !visited.contains(d))
-                .min((d1, d2) -> {
-                    double dist1 = calculateDistance(currentLocation, d1.getPickupAddress());
-                    double dist2 = calculateDistance(currentLocation, d2.getPickupAddress());
-                    return Double.compare(dist1, dist2);
-                })
-                .orElse(null);
+    /**
+     * 정차 지점 간 하버사인 거리 행렬 (좌표가 없는 지점은 거리 0)
+     */
+    private double[][] buildDistanceMatrix(List<Address> addresses) {
+        int size = addresses.size();
+        double[] lat = new double[size];
+        double[] lon = new double[size];
+        boolean[] known = new boolean[size];
+        for (int i = 0; i < size; i++) {
+            Address address = addresses.get(i);
+            known[i] = address != null && address.getLatitude() != null && address.getLongitude() != null;
+            if (known[i]) {
+                lat[i] = address.getLatitude();
+                lon[i] = address.getLongitude();
+            }
+        }
+
+        double[][] distance = new double[size][size];
+        for (int i = 0; i < size; i++) {
+            for (int j = i + 1; j < size; j++) {
+                double d = known[i] && known[j] ? GeoUtils.distanceKm(lat[i], lon[i], lat[j], lon[j]) : 0.0;
+                distance[i][j] = d;
+                distance[j][i] = d;
+            }
+        }
+        return distance;
     }
 
     private int calculateEstimatedTime(double distance) {
@@ -174,10 +263,7 @@ public class RouteOptimizationService {
     }
 
     private String getZone(Address address) {
-        // TODO: 행정구역 API 사용
-        if (address == null || address.getAddress() == null) return "Unknown";
-        String[] parts = address.getAddress().split(" ");
-        return parts.length > 1 ? parts[1] : "Zone1";
+        return DeliveryZones.of(address == null ? null : address.getAddress());
     }
 
     private String generateMockPolyline(Address from, Address to) {
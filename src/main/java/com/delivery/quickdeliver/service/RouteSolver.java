@@ -0,0 +1,35 @@
+package com.delivery.quickdeliver.service;
+
+/**
+ * 픽업·배송 순서 제약이 있는 단일 라이더 경로 탐색기.
+ *
+ * <p>노드 0은 출발지이고 1..N은 반드시 한 번씩 방문해야 하는 정차 지점이다.
+ * {@code predecessor[i]}가 -1이 아니면 노드 i는 그 노드보다 뒤에 방문해야 한다 (픽업 → 배송).
+ * 경로는 출발지로 돌아오지 않는 열린 경로다.</p>
+ */
+public interface RouteSolver {
+
+    /** application.yml {@code route.solver} 값과 매칭되는 이름 */
+    String name();
+
+    /**
+     * @param distance         (N+1)×(N+1) 거리 행렬 (km)
+     * @param predecessor      노드별 선행 노드 (없으면 -1)
+     * @param timeBudgetMillis 탐색 시간 한도 (개선형 탐색기만 사용)
+     * @return 방문 순서 (출발지 0 제외, 길이 N)
+     */
+    int[] solve(double[][] distance, int[] predecessor, long timeBudgetMillis);
+
+    /**
+     * 출발지에서 순서대로 방문할 때의 총 거리
+     */
+    static double pathLength(double[][] distance, int[] order) {
+        double total = 0;
+        int previous = 0;
+        for (int node : order) {
+            total += distance[previous][node];
+            previous = node;
+        }
+        return total;
+    }
+}
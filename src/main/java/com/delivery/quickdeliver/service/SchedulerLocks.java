@@ -0,0 +1,69 @@
+package com.delivery.quickdeliver.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * 여러 노드(relay 모드)에서 같이 도는 스케줄 작업을 DB 행으로 조율한다.
+ *
+ * <p>잠금 행({@link #lock})은 트랜잭션 안에서 {@code SELECT ... FOR UPDATE}로 잡아 같은 작업을 한 노드씩 실행한다.
+ * 임대 행({@link #tryLease})은 한 노드만 계속 맡아야 하는 작업용이다. 맡은 노드가 만료 전에 연장하고,
+ * 연장이 끊기면 만료 후 다른 노드가 가져간다. 만료 판정은 각 노드 시계로 하므로 임대 시간은 노드 간 시계 차보다 길게 둔다.</p>
+ *
+ * <p>행은 db/migration V4 스크립트가 만든다.</p>
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchedulerLocks {
+
+    /** 일괄 배정 ({@link BatchDispatchService}) */
+    public static final String DISPATCH = "dispatch";
+
+    /** 관제 delta 발행 ({@link MonitoringSnapshotPublisher}) */
+    public static final String MONITORING_PUBLISHER = "monitoring-publisher";
+
+    private static final String LOCK_SQL = "SELECT name FROM scheduler_locks WHERE name = ? FOR UPDATE";
+
+    private static final String LEASE_SQL =
+            "UPDATE scheduler_locks SET owner = ?, expires_at = ? " +
+            "WHERE name = ? AND (owner = ? OR owner IS NULL OR expires_at < ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /** 이 노드 식별자 (기동마다 새로 만든다) */
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /**
+     * 잠금 행을 트랜잭션 끝까지 잡는다. 다른 노드의 같은 작업은 커밋할 때까지 기다린다.
+     * 트랜잭션 안에서 호출해야 한다.
+     */
+    public void lock(String name) {
+        jdbcTemplate.queryForObject(LOCK_SQL, String.class, name);
+    }
+
+    /**
+     * 임대를 얻거나 연장한다.
+     *
+     * @return 이 노드가 임대를 가지고 있으면 true. DB 오류도 false 로 본다
+     */
+    public boolean tryLease(String name, Duration ttl) {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            return jdbcTemplate.update(LEASE_SQL, nodeId, Timestamp.valueOf(now.plus(ttl)), name, nodeId,
+                    Timestamp.valueOf(now)) == 1;
+        } catch (Exception e) {
+            log.warn("[SchedulerLock] 임대 갱신 실패: {}", name, e);
+            return false;
+        }
+    }
+}
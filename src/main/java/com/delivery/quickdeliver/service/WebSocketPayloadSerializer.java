@@ -0,0 +1,57 @@
+package com.delivery.quickdeliver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * STOMP 페이로드를 JSON 바이트 메시지로 만든다.
+ *
+ * <p>만든 메시지는 {@code SimpMessagingTemplate#send} 로 보내면 메시지 변환기를 거치지 않는다.
+ * 같은 페이로드를 여러 목적지로 보낼 때는 {@link #serialize} 결과를 {@link #toMessage(byte[], String)} 로 재사용한다
+ * (예: {@link RiderLocationBroadcaster} 의 영역 세션 전송).</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class WebSocketPayloadSerializer {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 페이로드를 JSON 메시지로 만든다.
+     *
+     * @param sessionId 사용자 목적지(/user/{sessionId}/...)로 보낼 때 세션 ID, 아니면 null
+     */
+    public Message<byte[]> toMessage(Object payload, String sessionId) {
+        return toMessage(serialize(payload), sessionId);
+    }
+
+    /**
+     * 이미 직렬화한 JSON 으로 메시지를 만든다.
+     *
+     * @param sessionId 사용자 목적지(/user/{sessionId}/...)로 보낼 때 세션 ID, 아니면 null
+     */
+    public Message<byte[]> toMessage(byte[] json, String sessionId) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        if (sessionId != null) {
+            accessor.setSessionId(sessionId);
+        }
+        accessor.setLeaveMutable(true);
+        return MessageBuilder.createMessage(json, accessor.getMessageHeaders());
+    }
+
+    public byte[] serialize(Object payload) {
+        try {
+            return objectMapper.writeValueAsBytes(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("WebSocket 페이로드 직렬화 실패: " + payload.getClass().getSimpleName(), e);
+        }
+    }
+}
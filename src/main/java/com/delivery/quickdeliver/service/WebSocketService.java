@@ -1,61 +1,54 @@
 package com.delivery.quickdeliver.service;
 
+import com.delivery.quickdeliver.dto.websocket.DeliveryStatusMessage;
+import com.delivery.quickdeliver.dto.websocket.NotificationMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class WebSocketService {
 
     private final SimpMessagingTemplate messagingTemplate;
+    private final WebSocketPayloadSerializer payloadSerializer;
+    private final RiderLocationBroadcaster riderLocationBroadcaster;
 
     public void sendToRider(String riderId, String eventType, String message) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", eventType);
-        payload.put("message", message);
-        payload.put("timestamp", System.currentTimeMillis());
+        sendToRider(riderId, NotificationMessage.of(eventType, message));
+    }
 
-        messagingTemplate.convertAndSend("/topic/rider/" + riderId, payload);
-        log.debug("Sent WebSocket message to rider {}: {}", riderId, eventType);
+    /**
+     * 라이더 채널로 타입이 정해진 메시지(배정, 긴급 등)를 보낸다.
+     */
+    public void sendToRider(String riderId, Object payload) {
+        send("/topic/rider/" + riderId, payload);
+        log.debug("Sent WebSocket message to rider {}: {}", riderId, payload.getClass().getSimpleName());
     }
 
     public void sendToCustomer(String orderNumber, String eventType, String message) {
-        Map<String, Object> payload = new HashMap<>();
-        payload.put("type", eventType);
-        payload.put("message", message);
-        payload.put("timestamp", System.currentTimeMillis());
-
-        messagingTemplate.convertAndSend("/topic/order/" + orderNumber, payload);
+        send("/topic/order/" + orderNumber, NotificationMessage.of(eventType, message));
         log.debug("Sent WebSocket message for order {}: {}", orderNumber, eventType);
     }
 
     public void broadcastRiderLocation(String riderId, Double latitude, Double longitude) {
-        Map<String, Object> location = new HashMap<>();
-        location.put("riderId", riderId);
-        location.put("latitude", latitude);
-        location.put("longitude", longitude);
-        location.put("timestamp", System.currentTimeMillis());
-
-        // 관제센터로 브로드캐스트
-        messagingTemplate.convertAndSend("/topic/monitoring/riders", location);
-        log.debug("Broadcast rider {} location: {}, {}", riderId, latitude, longitude);
+        // 관제센터로는 병합해 주기마다 묶어 보낸다
+        riderLocationBroadcaster.offer(riderId, latitude, longitude);
+        log.debug("Queued rider {} location broadcast: {}, {}", riderId, latitude, longitude);
     }
 
     public void broadcastDeliveryUpdate(String deliveryId, String status, String riderId) {
-        Map<String, Object> update = new HashMap<>();
-        update.put("deliveryId", deliveryId);
-        update.put("status", status);
-        update.put("riderId", riderId);
-        update.put("timestamp", System.currentTimeMillis());
-
         // 관제센터로 브로드캐스트
-        messagingTemplate.convertAndSend("/topic/monitoring/deliveries", update);
+        send("/topic/monitoring/deliveries", DeliveryStatusMessage.of(deliveryId, status, riderId));
         log.debug("Broadcast delivery {} status: {} (rider: {})", deliveryId, status, riderId);
     }
+
+    /**
+     * JSON 바이트로 직렬화해 보낸다. 메시지 변환기를 거치지 않는다.
+     */
+    public void send(String destination, Object payload) {
+        messagingTemplate.send(destination, payloadSerializer.toMessage(payload, null));
+    }
 }
@@ -0,0 +1,125 @@
+package com.delivery.quickdeliver.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 최근 N회 호출의 실패율로 동작하는 간단한 서킷 브레이커.
+ *
+ * <ul>
+ *   <li>CLOSED: 모든 호출 허용. 최근 {@code windowSize}회 중 실패율이 임계치를 넘으면 OPEN</li>
+ *   <li>OPEN: {@code openDuration} 동안 호출 차단 (즉시 fallback)</li>
+ *   <li>HALF_OPEN: 시험 호출 1건만 허용. 성공하면 CLOSED, 실패하면 다시 OPEN</li>
+ * </ul>
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final String name;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+
+    /** 최근 호출 결과 링 버퍼 (true = 실패) */
+    private final boolean[] outcomes;
+    private int cursor;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    /**
+     * @param failureRateThreshold 차단 실패율 (0 ~ 100, %)
+     */
+    public CircuitBreaker(String name, int windowSize, int minimumCalls,
+                          double failureRateThreshold, Duration openDuration) {
+        this.name = name;
+        this.windowSize = Math.max(1, windowSize);
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, this.windowSize));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+        this.outcomes = new boolean[this.windowSize];
+    }
+
+    /**
+     * 호출 허용 여부. 허용된 호출은 반드시 {@link #onSuccess()} 또는 {@link #onFailure()}로 결과를 알려야 한다.
+     */
+    public synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (System.nanoTime() - openedAt < openDurationNanos) {
+                    return false;
+                }
+                state = State.HALF_OPEN;
+                trialInFlight = true;
+                return true;
+            default:
+                if (trialInFlight) return false;
+                trialInFlight = true;
+                return true;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            close();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= minimumCalls
+                && failures * 100.0 / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private void record(boolean failure) {
+        if (recorded == windowSize) {
+            if (outcomes[cursor]) failures--;
+        } else {
+            recorded++;
+        }
+        outcomes[cursor] = failure;
+        if (failure) failures++;
+        cursor = (cursor + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        trialInFlight = false;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        trialInFlight = false;
+        cursor = 0;
+        recorded = 0;
+        failures = 0;
+        Arrays.fill(outcomes, false);
+    }
+}
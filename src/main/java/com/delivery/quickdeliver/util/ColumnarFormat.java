@@ -0,0 +1,373 @@
+package com.delivery.quickdeliver.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 분석용 열 지향 파일 포맷 (.qdc).
+ *
+ * <pre>
+ * int    magic "QDC1"
+ * short  version
+ * int    rowCount
+ * short  columnCount
+ * column * columnCount:
+ *   UTF   name
+ *   byte  encoding
+ *   int   rawLength
+ *   int   compressedLength
+ *   byte[compressedLength]  deflate(null 비트맵 ceil(rowCount/8) 바이트 + 값)
+ * </pre>
+ *
+ * <p>값은 null 이 아닌 행만 순서대로 기록한다. 정수는 zigzag varint.</p>
+ * <ul>
+ *   <li>STRING: 길이 + UTF-8</li>
+ *   <li>DICTIONARY: 사전 크기, 사전 항목(STRING), 행별 사전 코드. 상태·우선순위처럼 값 종류가 적은 열</li>
+ *   <li>TIMESTAMP: epoch millis(로컬 시각을 UTC로 간주)의 이전 값 대비 차이</li>
+ *   <li>COORDINATE: 1e-6도 고정소수점의 이전 값 대비 차이</li>
+ *   <li>LONG: 값 그대로</li>
+ *   <li>DOUBLE: IEEE 754 8바이트</li>
+ * </ul>
+ */
+public final class ColumnarFormat {
+
+    public static final int MAGIC = 0x51444331; // "QDC1"
+    public static final short VERSION = 1;
+    public static final String FILE_EXTENSION = ".qdc";
+
+    private static final double COORDINATE_SCALE = 1e6;
+
+    private ColumnarFormat() {
+    }
+
+    public enum Encoding {
+        STRING, DICTIONARY, TIMESTAMP, COORDINATE, LONG, DOUBLE
+    }
+
+    /**
+     * 한 파일에 들어갈 열 묶음. 모든 열에 같은 수의 행을 추가해야 한다.
+     */
+    public static final class Table {
+
+        private final List<Column> columns = new ArrayList<>();
+
+        public Column column(String name, Encoding encoding) {
+            Column column = new Column(name, encoding);
+            columns.add(column);
+            return column;
+        }
+
+        public int rowCount() {
+            return columns.isEmpty() ? 0 : columns.get(0).rows;
+        }
+
+        public void write(OutputStream out) throws IOException {
+            int rows = rowCount();
+            for (Column column : columns) {
+                if (column.rows != rows) {
+                    throw new IllegalStateException("열 " + column.name + " 행 수 불일치: " + column.rows + " != " + rows);
+                }
+            }
+
+            DataOutputStream data = new DataOutputStream(out);
+            data.writeInt(MAGIC);
+            data.writeShort(VERSION);
+            data.writeInt(rows);
+            data.writeShort(columns.size());
+
+            Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try {
+                for (Column column : columns) {
+                    byte[] raw = column.encode();
+                    byte[] compressed = deflate(deflater, raw);
+                    data.writeUTF(column.name);
+                    data.writeByte(column.encoding.ordinal());
+                    data.writeInt(raw.length);
+                    data.writeInt(compressed.length);
+                    data.write(compressed);
+                }
+            } finally {
+                deflater.end();
+            }
+            data.flush();
+        }
+    }
+
+    /**
+     * 열 하나의 값을 인코딩된 형태로 누적한다.
+     */
+    public static final class Column {
+
+        private final String name;
+        private final Encoding encoding;
+        private final BitSet nulls = new BitSet();
+        private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+        private final Map<String, Integer> dictionary;
+        private int rows;
+        private long previous;
+
+        private Column(String name, Encoding encoding) {
+            this.name = name;
+            this.encoding = encoding;
+            this.dictionary = encoding == Encoding.DICTIONARY ? new LinkedHashMap<>() : null;
+        }
+
+        public void addString(String value) {
+            if (value == null) {
+                addNull();
+                return;
+            }
+            switch (encoding) {
+                case STRING -> writeString(values, value);
+                case DICTIONARY -> writeVarLong(values, dictionary.computeIfAbsent(value, v -> dictionary.size()));
+                default -> throw new IllegalStateException(name + " 는 문자열 열이 아닙니다");
+            }
+            rows++;
+        }
+
+        public void addTimestamp(LocalDateTime value) {
+            requireEncoding(Encoding.TIMESTAMP);
+            if (value == null) {
+                addNull();
+                return;
+            }
+            addDelta(value.toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+
+        public void addCoordinate(Double value) {
+            requireEncoding(Encoding.COORDINATE);
+            if (value == null) {
+                addNull();
+                return;
+            }
+            addDelta(Math.round(value * COORDINATE_SCALE));
+        }
+
+        public void addLong(Number value) {
+            requireEncoding(Encoding.LONG);
+            if (value == null) {
+                addNull();
+                return;
+            }
+            writeVarLong(values, value.longValue());
+            rows++;
+        }
+
+        public void addDouble(Double value) {
+            requireEncoding(Encoding.DOUBLE);
+            if (value == null) {
+                addNull();
+                return;
+            }
+            long bits = Double.doubleToLongBits(value);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                values.write((int) (bits >>> shift));
+            }
+            rows++;
+        }
+
+        private void addDelta(long value) {
+            writeVarLong(values, value - previous);
+            previous = value;
+            rows++;
+        }
+
+        private void addNull() {
+            nulls.set(rows);
+            rows++;
+        }
+
+        private void requireEncoding(Encoding expected) {
+            if (encoding != expected) {
+                throw new IllegalStateException(name + " 는 " + encoding + " 열입니다");
+            }
+        }
+
+        private byte[] encode() {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(values.size() + rows / 8 + 64);
+            out.writeBytes(Arrays.copyOf(nulls.toByteArray(), (rows + 7) / 8));
+            if (dictionary != null) {
+                writeVarLong(out, dictionary.size());
+                for (String entry : dictionary.keySet()) {
+                    writeString(out, entry);
+                }
+            }
+            out.writeBytes(values.toByteArray());
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 파일 전체를 읽어 열 이름별 값 배열로 돌려준다 (null 포함, 행 순서 유지).
+     * 값 타입: STRING/DICTIONARY → String, TIMESTAMP → LocalDateTime, COORDINATE/DOUBLE → Double, LONG → Long
+     */
+    public static Map<String, Object[]> read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        int rows = readHeader(data);
+        int columnCount = data.readShort();
+
+        Map<String, Object[]> result = new LinkedHashMap<>();
+        Inflater inflater = new Inflater();
+        try {
+            for (int c = 0; c < columnCount; c++) {
+                String name = data.readUTF();
+                Encoding encoding = Encoding.values()[data.readByte()];
+                byte[] raw = new byte[data.readInt()];
+                byte[] compressed = new byte[data.readInt()];
+                data.readFully(compressed);
+                inflate(inflater, compressed, raw);
+                result.put(name, decode(encoding, raw, rows));
+            }
+        } finally {
+            inflater.end();
+        }
+        return result;
+    }
+
+    /**
+     * 헤더만 읽어 행 수를 반환한다.
+     */
+    public static int readRowCount(InputStream in) throws IOException {
+        return readHeader(new DataInputStream(in));
+    }
+
+    /** magic·버전을 확인하고 행 수를 반환한다 */
+    private static int readHeader(DataInputStream data) throws IOException {
+        if (data.readInt() != MAGIC) {
+            throw new IOException("QDC 파일이 아닙니다");
+        }
+        short version = data.readShort();
+        if (version != VERSION) {
+            throw new IOException("지원하지 않는 버전: " + version);
+        }
+        int rows = data.readInt();
+        if (rows < 0) {
+            throw new IOException("행 수가 올바르지 않습니다: " + rows);
+        }
+        return rows;
+    }
+
+    private static Object[] decode(Encoding encoding, byte[] raw, int rows) {
+        int bitmapLength = (rows + 7) / 8;
+        BitSet nulls = BitSet.valueOf(Arrays.copyOf(raw, bitmapLength));
+        int[] position = {bitmapLength};
+
+        String[] dictionary = null;
+        if (encoding == Encoding.DICTIONARY) {
+            dictionary = new String[(int) readVarLong(raw, position)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(raw, position);
+            }
+        }
+
+        Object[] values = new Object[rows];
+        long previous = 0;
+        for (int row = 0; row < rows; row++) {
+            if (nulls.get(row)) continue;
+            switch (encoding) {
+                case STRING -> values[row] = readString(raw, position);
+                case DICTIONARY -> values[row] = dictionary[(int) readVarLong(raw, position)];
+                case TIMESTAMP -> {
+                    previous += readVarLong(raw, position);
+                    values[row] = LocalDateTime.ofEpochSecond(
+                            Math.floorDiv(previous, 1000), (int) Math.floorMod(previous, 1000) * 1_000_000,
+                            ZoneOffset.UTC);
+                }
+                case COORDINATE -> {
+                    previous += readVarLong(raw, position);
+                    values[row] = previous / COORDINATE_SCALE;
+                }
+                case LONG -> values[row] = readVarLong(raw, position);
+                case DOUBLE -> {
+                    long bits = 0;
+                    for (int i = 0; i < 8; i++) {
+                        bits = (bits << 8) | (raw[position[0]++] & 0xff);
+                    }
+                    values[row] = Double.longBitsToDouble(bits);
+                }
+            }
+        }
+        return values;
+    }
+
+    private static byte[] deflate(Deflater deflater, byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(buffer);
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+
+    private static void inflate(Inflater inflater, byte[] compressed, byte[] raw) throws IOException {
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            int offset = 0;
+            while (offset < raw.length && !inflater.finished()) {
+                int n = inflater.inflate(raw, offset, raw.length - offset);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("열 데이터가 잘렸습니다");
+                }
+                offset += n;
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("열 데이터 압축 해제 실패", e);
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(byte[] raw, int[] position) {
+        int length = (int) readVarLong(raw, position);
+        String value = new String(raw, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    /** zigzag varint */
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(byte[] raw, int[] position) {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = raw[position[0]++];
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
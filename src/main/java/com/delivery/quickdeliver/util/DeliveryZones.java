@@ -0,0 +1,23 @@
+package com.delivery.quickdeliver.util;
+
+/**
+ * 주소 문자열에서 배송 구역을 구한다. 밀집도 분석과 집계 테이블이 같은 구역 기준을 쓰도록 한 곳에 둔다.
+ */
+public final class DeliveryZones {
+
+    public static final String UNKNOWN = "Unknown";
+    public static final String DEFAULT_ZONE = "Zone1";
+
+    private DeliveryZones() {
+    }
+
+    /**
+     * "서울 강남구 ..." 형태 주소의 두 번째 토큰(구 단위)을 구역으로 쓴다.
+     */
+    public static String of(String address) {
+        // TODO: 행정구역 API 사용
+        if (address == null) return UNKNOWN;
+        String[] parts = address.split(" ");
+        return parts.length > 1 ? parts[1] : DEFAULT_ZONE;
+    }
+}
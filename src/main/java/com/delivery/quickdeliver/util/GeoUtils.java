@@ -0,0 +1,42 @@
+package com.delivery.quickdeliver.util;
+
+/**
+ * 좌표 계산 유틸리티
+ */
+public final class GeoUtils {
+
+    /** 지구 반지름 (km) */
+    public static final double EARTH_RADIUS_KM = 6371.0;
+
+    /** 위도 1도당 거리 (km) */
+    public static final double KM_PER_DEGREE_LAT = 111.32;
+
+    private GeoUtils() {
+    }
+
+    /**
+     * 하버사인 공식으로 두 좌표 간 거리(km)를 계산한다.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return EARTH_RADIUS_KM * 2 * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    /**
+     * 하버사인 공식으로 두 좌표 간 거리(미터)를 계산한다.
+     */
+    public static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        return distanceKm(lat1, lon1, lat2, lon2) * 1000;
+    }
+
+    /**
+     * 주어진 위도에서 경도 1도당 거리(km). 극지방에서 0이 되지 않도록 하한을 둔다.
+     */
+    public static double kmPerDegreeLon(double latitude) {
+        return Math.max(KM_PER_DEGREE_LAT * Math.cos(Math.toRadians(latitude)), 0.01);
+    }
+}
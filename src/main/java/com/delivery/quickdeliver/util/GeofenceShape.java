@@ -0,0 +1,178 @@
+package com.delivery.quickdeliver.util;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * 지오펜스 도형 (원, 다각형).
+ *
+ * <p>거리는 검사 좌표를 원점으로 한 국소 평면(위도 1도 = {@link GeoUtils#KM_PER_DEGREE_LAT}km)에서 계산한다.
+ * 수백 미터 단위 펜스에서는 하버사인과 차이가 무시할 만하다.</p>
+ *
+ * <p>저장 형식: {@code circle:위도,경도,반경m} / {@code polygon:위도,경도;위도,경도;...}</p>
+ */
+public sealed interface GeofenceShape permits GeofenceShape.Circle, GeofenceShape.Polygon {
+
+    /**
+     * 좌표에서 도형 경계까지 거리(m). 도형 안이면 0.
+     */
+    double distanceMeters(double latitude, double longitude);
+
+    /**
+     * 도형을 marginMeters 만큼 넓힌 위·경도 범위.
+     */
+    Bounds bounds(double marginMeters);
+
+    String format();
+
+    static GeofenceShape parse(String text) {
+        int colon = text.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("지오펜스 형식 오류: " + text);
+        }
+        String body = text.substring(colon + 1);
+        switch (text.substring(0, colon)) {
+            case "circle" -> {
+                String[] values = body.split(",");
+                if (values.length != 3) {
+                    throw new IllegalArgumentException("원 형식 오류: " + text);
+                }
+                return new Circle(Double.parseDouble(values[0]), Double.parseDouble(values[1]),
+                        Double.parseDouble(values[2]));
+            }
+            case "polygon" -> {
+                String[] points = body.split(";");
+                double[] latitudes = new double[points.length];
+                double[] longitudes = new double[points.length];
+                for (int i = 0; i < points.length; i++) {
+                    String[] values = points[i].split(",");
+                    if (values.length != 2) {
+                        throw new IllegalArgumentException("다각형 형식 오류: " + text);
+                    }
+                    latitudes[i] = Double.parseDouble(values[0]);
+                    longitudes[i] = Double.parseDouble(values[1]);
+                }
+                return new Polygon(latitudes, longitudes);
+            }
+            default -> throw new IllegalArgumentException("알 수 없는 지오펜스 도형: " + text);
+        }
+    }
+
+    record Bounds(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude) {
+    }
+
+    /**
+     * 중심과 반경으로 정한 원. 반경 0 이면 점(픽업지·배달지 좌표)이다.
+     */
+    record Circle(double latitude, double longitude, double radiusMeters) implements GeofenceShape {
+
+        public Circle {
+            if (radiusMeters < 0) {
+                throw new IllegalArgumentException("반경은 0 이상이어야 합니다");
+            }
+        }
+
+        @Override
+        public double distanceMeters(double lat, double lng) {
+            return Math.max(0, GeoUtils.distanceMeters(lat, lng, latitude, longitude) - radiusMeters);
+        }
+
+        @Override
+        public Bounds bounds(double marginMeters) {
+            double meters = radiusMeters + marginMeters;
+            double dLat = meters / (GeoUtils.KM_PER_DEGREE_LAT * 1000);
+            double dLng = meters / (GeoUtils.kmPerDegreeLon(latitude) * 1000);
+            return new Bounds(latitude - dLat, longitude - dLng, latitude + dLat, longitude + dLng);
+        }
+
+        @Override
+        public String format() {
+            return String.format(Locale.ROOT, "circle:%.7f,%.7f,%.1f", latitude, longitude, radiusMeters);
+        }
+    }
+
+    /**
+     * 꼭짓점 순서대로 이은 단순 다각형 (마지막 점과 첫 점을 잇는다).
+     */
+    record Polygon(double[] latitudes, double[] longitudes) implements GeofenceShape {
+
+        public Polygon {
+            if (latitudes.length != longitudes.length || latitudes.length < 3) {
+                throw new IllegalArgumentException("다각형은 꼭짓점이 3개 이상이어야 합니다");
+            }
+            latitudes = latitudes.clone();
+            longitudes = longitudes.clone();
+        }
+
+        @Override
+        public double distanceMeters(double lat, double lng) {
+            double metersPerLat = GeoUtils.KM_PER_DEGREE_LAT * 1000;
+            double metersPerLng = GeoUtils.kmPerDegreeLon(lat) * 1000;
+
+            boolean inside = false;
+            double nearest = Double.MAX_VALUE;
+            int n = latitudes.length;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                // 검사 좌표를 원점으로 한 미터 좌표
+                double xi = (longitudes[i] - lng) * metersPerLng;
+                double yi = (latitudes[i] - lat) * metersPerLat;
+                double xj = (longitudes[j] - lng) * metersPerLng;
+                double yj = (latitudes[j] - lat) * metersPerLat;
+
+                // 원점에서 +x 방향 반직선과 교차하는 변의 수가 홀수면 안쪽
+                if ((yi > 0) != (yj > 0) && xi - yi * (xj - xi) / (yj - yi) > 0) {
+                    inside = !inside;
+                }
+                nearest = Math.min(nearest, distanceToSegment(xi, yi, xj, yj));
+            }
+            return inside ? 0 : nearest;
+        }
+
+        @Override
+        public Bounds bounds(double marginMeters) {
+            double minLat = Double.MAX_VALUE, minLng = Double.MAX_VALUE;
+            double maxLat = -Double.MAX_VALUE, maxLng = -Double.MAX_VALUE;
+            for (int i = 0; i < latitudes.length; i++) {
+                minLat = Math.min(minLat, latitudes[i]);
+                maxLat = Math.max(maxLat, latitudes[i]);
+                minLng = Math.min(minLng, longitudes[i]);
+                maxLng = Math.max(maxLng, longitudes[i]);
+            }
+            double dLat = marginMeters / (GeoUtils.KM_PER_DEGREE_LAT * 1000);
+            // 경도 폭은 극에 가까운 쪽 위도에서 가장 좁으므로 그 기준으로 넓힌다
+            double dLng = marginMeters / (GeoUtils.kmPerDegreeLon(Math.max(Math.abs(minLat), Math.abs(maxLat))) * 1000);
+            return new Bounds(minLat - dLat, minLng - dLng, maxLat + dLat, maxLng + dLng);
+        }
+
+        @Override
+        public String format() {
+            StringBuilder text = new StringBuilder("polygon:");
+            for (int i = 0; i < latitudes.length; i++) {
+                if (i > 0) text.append(';');
+                text.append(String.format(Locale.ROOT, "%.7f,%.7f", latitudes[i], longitudes[i]));
+            }
+            return text.toString();
+        }
+
+        /** 배열 내용으로 비교한다 (같은 도형이면 펜스를 다시 색인하지 않도록) */
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Polygon other
+                    && Arrays.equals(latitudes, other.latitudes) && Arrays.equals(longitudes, other.longitudes);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Arrays.hashCode(latitudes) + Arrays.hashCode(longitudes);
+        }
+
+        /** 원점에서 선분 (x1,y1)-(x2,y2) 까지 거리 */
+        private static double distanceToSegment(double x1, double y1, double x2, double y2) {
+            double dx = x2 - x1;
+            double dy = y2 - y1;
+            double lengthSquared = dx * dx + dy * dy;
+            double t = lengthSquared == 0 ? 0 : Math.max(0, Math.min(1, -(x1 * dx + y1 * dy) / lengthSquared));
+            return Math.hypot(x1 + t * dx, y1 + t * dy);
+        }
+    }
+}
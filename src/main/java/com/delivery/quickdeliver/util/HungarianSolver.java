@@ -0,0 +1,110 @@
+package com.delivery.quickdeliver.util;
+
+import java.util.Arrays;
+
+/**
+ * 헝가리안 알고리즘 기반 최소 비용 할당 (O(n²m)).
+ *
+ * <p>행 수와 열 수가 달라도 된다. 행이 열보다 많으면 전치해서 풀고,
+ * 짝을 찾지 못한 행은 -1 로 돌려준다.</p>
+ */
+public final class HungarianSolver {
+
+    private HungarianSolver() {
+    }
+
+    /**
+     * 총 비용이 최소가 되도록 각 행에 서로 다른 열을 하나씩 배정한다.
+     *
+     * @param cost cost[i][j] = 행 i를 열 j에 배정하는 비용 (유한한 값이어야 한다)
+     * @return 행별 배정 열 인덱스. 배정되지 않은 행은 -1
+     */
+    public static int[] solve(double[][] cost) {
+        int rows = cost.length;
+        if (rows == 0) return new int[0];
+        int cols = cost[0].length;
+        if (cols == 0) {
+            int[] none = new int[rows];
+            Arrays.fill(none, -1);
+            return none;
+        }
+
+        if (rows <= cols) {
+            return solveRowsLeCols(cost, rows, cols);
+        }
+
+        // 행이 더 많으면 전치해서 열 → 행 배정을 구한 뒤 뒤집는다
+        double[][] transposed = new double[cols][rows];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                transposed[j][i] = cost[i][j];
+            }
+        }
+        int[] colToRow = solveRowsLeCols(transposed, cols, rows);
+        int[] rowToCol = new int[rows];
+        Arrays.fill(rowToCol, -1);
+        for (int j = 0; j < cols; j++) {
+            if (colToRow[j] >= 0) rowToCol[colToRow[j]] = j;
+        }
+        return rowToCol;
+    }
+
+    /**
+     * 포텐셜(u, v)을 유지하며 행을 하나씩 추가하고 최단 증가 경로로 매칭을 넓힌다. (1-based 내부 인덱스)
+     */
+    private static int[] solveRowsLeCols(double[][] cost, int n, int m) {
+        double[] u = new double[n + 1];
+        double[] v = new double[m + 1];
+        int[] match = new int[m + 1];   // match[j] = 열 j에 배정된 행
+        int[] way = new int[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            match[0] = i;
+            int j0 = 0;
+            double[] minv = new double[m + 1];
+            boolean[] used = new boolean[m + 1];
+            Arrays.fill(minv, Double.POSITIVE_INFINITY);
+
+            do {
+                used[j0] = true;
+                int i0 = match[j0];
+                int j1 = 0;
+                double delta = Double.POSITIVE_INFINITY;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) continue;
+                    double reduced = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                    if (reduced < minv[j]) {
+                        minv[j] = reduced;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[match[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (match[j0] != 0);
+
+            do {
+                int j1 = way[j0];
+                match[j0] = match[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        int[] result = new int[n];
+        Arrays.fill(result, -1);
+        for (int j = 1; j <= m; j++) {
+            if (match[j] != 0) result[match[j] - 1] = j - 1;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,30 @@
+package com.delivery.quickdeliver.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+/**
+ * {@code [lat1, lng1, lat2, lng2, ...]} 좌표 버퍼를 {@code [[lat1, lng1], [lat2, lng2], ...]} 형태로 직렬화한다.
+ * 내부 표현은 primitive 배열 하나로 두고 JSON 응답 형식은 기존과 같게 유지하기 위해 사용한다.
+ */
+public class LatLngPathSerializer extends StdSerializer<double[]> {
+
+    public LatLngPathSerializer() {
+        super(double[].class);
+    }
+
+    @Override
+    public void serialize(double[] latLng, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartArray();
+        for (int i = 0; i + 1 < latLng.length; i += 2) {
+            gen.writeStartArray();
+            gen.writeNumber(latLng[i]);
+            gen.writeNumber(latLng[i + 1]);
+            gen.writeEndArray();
+        }
+        gen.writeEndArray();
+    }
+}
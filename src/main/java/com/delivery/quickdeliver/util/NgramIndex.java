@@ -0,0 +1,183 @@
+package com.delivery.quickdeliver.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 부분 문자열 검색용 메모리 bigram 역색인.
+ *
+ * <p>문서마다 검색 대상 필드를 정규화(소문자, 공백·하이픈 제거)해 이어 붙이고 2글자 조각별 문서 번호 목록을 둔다.
+ * 검색어의 모든 조각 목록을 교집합한 뒤 실제로 부분 문자열이 포함되는지 확인한다.
+ * 문서 번호는 추가 순서대로 증가하므로 목록은 항상 정렬되어 있고, 결과는 최근에 추가한 문서부터 돌려준다.</p>
+ *
+ * <p>검색 대상 텍스트는 추가할 때 고정되며 이후에는 값만 바꿀 수 있다. 읽기는 동시에, 쓰기는 하나씩 처리한다.</p>
+ */
+public final class NgramIndex<T> {
+
+    public static final int GRAM_LENGTH = 2;
+
+    /** 필드 경계를 넘는 일치를 막는 구분자 (정규화된 검색어에는 나오지 않는다) */
+    private static final char FIELD_SEPARATOR = '\u0001';
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<T> values = new ArrayList<>();
+    private final List<String> texts = new ArrayList<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<String, IntList> postings = new HashMap<>();
+
+    /**
+     * 색인과 검색어에 공통으로 쓰는 정규화: 소문자, 공백과 하이픈 제거.
+     * "010-1234-5678" 과 "01012345678", "강남구 테헤란로" 와 "강남구테헤란로" 가 같아진다.
+     */
+    public static String normalize(String text) {
+        if (text == null) return "";
+        StringBuilder normalized = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c) || c == '-' || c == FIELD_SEPARATOR) continue;
+            normalized.append(c);
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 새 문서를 추가한다. 이미 있는 key 면 값만 교체한다 (텍스트는 바꾸지 않는다).
+     */
+    public void put(String key, T value, String... fields) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = docIds.get(key);
+            if (existing != null) {
+                values.set(existing, value);
+                return;
+            }
+
+            StringBuilder joined = new StringBuilder();
+            for (String field : fields) {
+                String normalized = normalize(field);
+                if (normalized.isEmpty()) continue;
+                if (joined.length() > 0) joined.append(FIELD_SEPARATOR);
+                joined.append(normalized);
+            }
+            String text = joined.toString();
+
+            int docId = values.size();
+            values.add(value);
+            texts.add(text);
+            docIds.put(key, docId);
+            for (String gram : grams(text)) {
+                postings.computeIfAbsent(gram, g -> new IntList()).add(docId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 이미 색인된 문서의 값만 바꾼다.
+     *
+     * @return 색인에 없는 key 면 false
+     */
+    public boolean update(String key, T value) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.get(key);
+            if (docId == null) return false;
+            values.set(docId, value);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 정규화된 검색어를 포함하는 문서를 최근 추가 순으로 최대 limit 건 돌려준다.
+     * 검색어가 {@value #GRAM_LENGTH}글자보다 짧으면 빈 결과.
+     */
+    public List<T> search(String normalizedQuery, int limit) {
+        if (normalizedQuery.length() < GRAM_LENGTH || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            List<IntList> lists = new ArrayList<>();
+            for (String gram : grams(normalizedQuery)) {
+                IntList posting = postings.get(gram);
+                if (posting == null) return List.of();
+                lists.add(posting);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            // 가장 짧은 목록부터 교집합
+            int[] candidates = Arrays.copyOf(lists.get(0).data, lists.get(0).size);
+            int count = candidates.length;
+            for (int i = 1; i < lists.size() && count > 0; i++) {
+                count = intersect(candidates, count, lists.get(i));
+            }
+
+            List<T> result = new ArrayList<>(Math.min(limit, count));
+            for (int i = count - 1; i >= 0 && result.size() < limit; i--) {
+                int docId = candidates[i];
+                if (texts.get(docId).contains(normalizedQuery)) {
+                    result.add(values.get(docId));
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return values.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            String gram = text.substring(i, i + GRAM_LENGTH);
+            if (gram.indexOf(FIELD_SEPARATOR) < 0) {
+                grams.add(gram);
+            }
+        }
+        return grams;
+    }
+
+    /** 정렬된 candidates[0, count) 중 posting 에도 있는 값만 앞으로 모으고 개수를 반환한다 */
+    private static int intersect(int[] candidates, int count, IntList posting) {
+        int kept = 0;
+        int j = 0;
+        for (int i = 0; i < count && j < posting.size; i++) {
+            int docId = candidates[i];
+            while (j < posting.size && posting.data[j] < docId) j++;
+            if (j < posting.size && posting.data[j] == docId) {
+                candidates[kept++] = docId;
+            }
+        }
+        return kept;
+    }
+
+    private static final class IntList {
+        private int[] data = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                data = Arrays.copyOf(data, size * 2);
+            }
+            data[size++] = value;
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.delivery.quickdeliver.util;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * 경로 좌표 버퍼 유틸리티.
+ *
+ * <p>좌표는 {@code [lat1, lng1, lat2, lng2, ...]} 형태의 double 배열 하나로 다룬다.</p>
+ */
+public final class PolylineUtils {
+
+    /** Google encoded polyline 정밀도 (소수점 5자리) */
+    private static final double ENCODING_FACTOR = 1e5;
+
+    private PolylineUtils() {
+    }
+
+    public static int pointCount(double[] latLng) {
+        return latLng == null ? 0 : latLng.length / 2;
+    }
+
+    /**
+     * Douglas-Peucker 알고리즘으로 허용 오차(미터) 안에서 좌표 수를 줄인다.
+     * 시작·끝 좌표는 항상 유지한다.
+     *
+     * @return 줄인 좌표 버퍼 (줄일 것이 없으면 입력 그대로)
+     */
+    public static double[] simplify(double[] latLng, double toleranceMeters) {
+        int n = pointCount(latLng);
+        if (n < 3 || toleranceMeters <= 0) return latLng;
+
+        // 경로 중심 위도(최소·최대 위도의 가운데) 기준 등거리 투영 (수 km 범위에서 충분히 정확)
+        double minLat = latLng[0];
+        double maxLat = latLng[0];
+        for (int i = 1; i < n; i++) {
+            minLat = Math.min(minLat, latLng[i * 2]);
+            maxLat = Math.max(maxLat, latLng[i * 2]);
+        }
+        double refLat = Math.toRadians((minLat + maxLat) / 2);
+        double metersPerDegLat = GeoUtils.KM_PER_DEGREE_LAT * 1000;
+        double metersPerDegLng = metersPerDegLat * Math.cos(refLat);
+        double toleranceSq = toleranceMeters * toleranceMeters;
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+
+        Deque<int[]> stack = new ArrayDeque<>();
+        stack.push(new int[]{0, n - 1});
+        while (!stack.isEmpty()) {
+            int[] range = stack.pop();
+            int first = range[0];
+            int last = range[1];
+            if (last - first < 2) continue;
+
+            double ax = latLng[first * 2 + 1] * metersPerDegLng;
+            double ay = latLng[first * 2] * metersPerDegLat;
+            double bx = latLng[last * 2 + 1] * metersPerDegLng;
+            double by = latLng[last * 2] * metersPerDegLat;
+
+            int farthest = -1;
+            double maxSq = toleranceSq;
+            for (int i = first + 1; i < last; i++) {
+                double px = latLng[i * 2 + 1] * metersPerDegLng;
+                double py = latLng[i * 2] * metersPerDegLat;
+                double distSq = segmentDistanceSq(px, py, ax, ay, bx, by);
+                if (distSq > maxSq) {
+                    maxSq = distSq;
+                    farthest = i;
+                }
+            }
+
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                stack.push(new int[]{first, farthest});
+                stack.push(new int[]{farthest, last});
+            }
+        }
+
+        int kept = 0;
+        for (boolean k : keep) if (k) kept++;
+        if (kept == n) return latLng;
+
+        double[] result = new double[kept * 2];
+        int out = 0;
+        for (int i = 0; i < n; i++) {
+            if (!keep[i]) continue;
+            result[out++] = latLng[i * 2];
+            result[out++] = latLng[i * 2 + 1];
+        }
+        return result;
+    }
+
+    /**
+     * Google encoded polyline 문자열로 변환한다 (lat, lng 순서, 정밀도 1e-5).
+     */
+    public static String encode(double[] latLng) {
+        int n = pointCount(latLng);
+        StringBuilder encoded = new StringBuilder(n * 8);
+        long prevLat = 0;
+        long prevLng = 0;
+        for (int i = 0; i < n; i++) {
+            long lat = Math.round(latLng[i * 2] * ENCODING_FACTOR);
+            long lng = Math.round(latLng[i * 2 + 1] * ENCODING_FACTOR);
+            encodeValue(lat - prevLat, encoded);
+            encodeValue(lng - prevLng, encoded);
+            prevLat = lat;
+            prevLng = lng;
+        }
+        return encoded.toString();
+    }
+
+    /**
+     * Google encoded polyline 문자열을 좌표 버퍼로 되돌린다.
+     */
+    public static double[] decode(String encoded) {
+        double[] buffer = new double[Math.max(2, encoded.length())];
+        int size = 0;
+        int index = 0;
+        long lat = 0;
+        long lng = 0;
+        while (index < encoded.length()) {
+            long[] result = new long[1];
+            index = decodeValue(encoded, index, result);
+            lat += result[0];
+            index = decodeValue(encoded, index, result);
+            lng += result[0];
+            if (size + 2 > buffer.length) buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            buffer[size++] = lat / ENCODING_FACTOR;
+            buffer[size++] = lng / ENCODING_FACTOR;
+        }
+        return Arrays.copyOf(buffer, size);
+    }
+
+    private static void encodeValue(long value, StringBuilder out) {
+        long v = value < 0 ? ~(value << 1) : (value << 1);
+        while (v >= 0x20) {
+            out.append((char) ((0x20 | (v & 0x1f)) + 63));
+            v >>= 5;
+        }
+        out.append((char) (v + 63));
+    }
+
+    private static int decodeValue(String encoded, int index, long[] result) {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = encoded.charAt(index++) - 63;
+            value |= (long) (b & 0x1f) << shift;
+            shift += 5;
+        } while (b >= 0x20);
+        result[0] = (value & 1) != 0 ? ~(value >> 1) : (value >> 1);
+        return index;
+    }
+
+    /** 점 P와 선분 AB 사이 거리의 제곱 */
+    private static double segmentDistanceSq(double px, double py,
+                                            double ax, double ay, double bx, double by) {
+        double dx = bx - ax;
+        double dy = by - ay;
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((px - ax) * dx + (py - ay) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        double cx = ax + t * dx - px;
+        double cy = ay + t * dy - py;
+        return cx * cx + cy * cy;
+    }
+}
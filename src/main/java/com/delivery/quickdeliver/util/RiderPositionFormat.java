@@ -0,0 +1,256 @@
+package com.delivery.quickdeliver.util;
+
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 라이더 위치 스트림용 바이너리 delta 포맷 (관제 WebSocket 구독, 연결마다 협상).
+ *
+ * <pre>
+ * byte    version (1)
+ * byte    flags   bit0 = reset (수신 측은 이전 상태를 버린다)
+ * varint  timestamp (epoch millis)
+ * varint  사전 항목 수
+ *   varint index, STRING riderId, STRING name, byte vehicleType (0 = 없음, ordinal + 1)
+ * varint  위치 수
+ *   varint index
+ *   byte   mask  bit0 = 절대 좌표, bit1 = 상태 포함, bit2 = 설명 포함
+ *   varint 위도, varint 경도 (1e-5도 고정소수점. 절대 좌표가 아니면 직전 값 대비 차이)
+ *   byte   상태 ordinal (bit1)
+ *   STRING 설명 (bit2)
+ * </pre>
+ *
+ * <p>정수는 zigzag varint, STRING 은 길이 + UTF-8 ({@link ColumnarFormat}과 같다).
+ * 라이더 ID 는 연결마다 처음 한 번만 사전 항목으로 보내고 이후 index 로 가리킨다.
+ * 차이는 직전에 보낸 고정소수점 값 기준이라 누적 오차가 없다.</p>
+ *
+ * <p>delta 는 프레임 순서에 의존하므로 같은 연결로 순서대로 전달되어야 한다.</p>
+ */
+public final class RiderPositionFormat {
+
+    public static final byte VERSION = 1;
+
+    /** 1e-5도 ≈ 1.1m */
+    private static final double COORDINATE_SCALE = 1e5;
+
+    private static final int FLAG_RESET = 1;
+
+    private static final int MASK_ABSOLUTE = 1;
+    private static final int MASK_STATUS = 1 << 1;
+    private static final int MASK_DESCRIPTION = 1 << 2;
+
+    private static final RiderStatus[] STATUSES = RiderStatus.values();
+    private static final VehicleType[] VEHICLE_TYPES = VehicleType.values();
+
+    private RiderPositionFormat() {
+    }
+
+    /**
+     * 프레임에 담는 라이더 위치 하나.
+     */
+    public record Position(String riderId, String name, RiderStatus status, VehicleType vehicleType,
+                           double latitude, double longitude, String description) {
+    }
+
+    public record Frame(long timestamp, List<Position> positions) {
+    }
+
+    /**
+     * 연결 하나의 인코더. 사전과 직전 좌표를 들고 있으므로 연결마다 따로 만들고, 한 스레드씩 써야 한다.
+     */
+    public static final class Encoder {
+
+        private final Map<String, RiderState> riders = new HashMap<>();
+        private boolean resetPending = true;
+
+        /**
+         * 다음 프레임부터 사전과 좌표를 처음부터 다시 보낸다.
+         */
+        public void reset() {
+            riders.clear();
+            resetPending = true;
+        }
+
+        public byte[] encode(List<Position> positions, long timestamp) {
+            ByteArrayOutputStream dictionary = new ByteArrayOutputStream();
+            ByteArrayOutputStream updates = new ByteArrayOutputStream(positions.size() * 8);
+            int dictionaryCount = 0;
+
+            for (Position position : positions) {
+                RiderState state = riders.get(position.riderId());
+                if (state == null) {
+                    state = new RiderState(riders.size());
+                    riders.put(position.riderId(), state);
+                }
+                if (!state.dictionarySent
+                        || !Objects.equals(state.name, position.name())
+                        || state.vehicleType != position.vehicleType()) {
+                    writeVarLong(dictionary, state.index);
+                    writeString(dictionary, position.riderId());
+                    writeString(dictionary, position.name() != null ? position.name() : "");
+                    dictionary.write(position.vehicleType() != null ? position.vehicleType().ordinal() + 1 : 0);
+                    state.name = position.name();
+                    state.vehicleType = position.vehicleType();
+                    state.dictionarySent = true;
+                    dictionaryCount++;
+                }
+
+                long latitude = Math.round(position.latitude() * COORDINATE_SCALE);
+                long longitude = Math.round(position.longitude() * COORDINATE_SCALE);
+                int mask = 0;
+                if (!state.positionSent) mask |= MASK_ABSOLUTE;
+                if (position.status() != null && position.status() != state.status) mask |= MASK_STATUS;
+                if (position.description() != null) mask |= MASK_DESCRIPTION;
+
+                writeVarLong(updates, state.index);
+                updates.write(mask);
+                if ((mask & MASK_ABSOLUTE) != 0) {
+                    writeVarLong(updates, latitude);
+                    writeVarLong(updates, longitude);
+                } else {
+                    writeVarLong(updates, latitude - state.latitude);
+                    writeVarLong(updates, longitude - state.longitude);
+                }
+                if ((mask & MASK_STATUS) != 0) {
+                    updates.write(position.status().ordinal());
+                    state.status = position.status();
+                }
+                if ((mask & MASK_DESCRIPTION) != 0) {
+                    writeString(updates, position.description());
+                }
+                state.latitude = latitude;
+                state.longitude = longitude;
+                state.positionSent = true;
+            }
+
+            ByteArrayOutputStream out = new ByteArrayOutputStream(updates.size() + dictionary.size() + 16);
+            out.write(VERSION);
+            out.write(resetPending ? FLAG_RESET : 0);
+            writeVarLong(out, timestamp);
+            writeVarLong(out, dictionaryCount);
+            out.writeBytes(dictionary.toByteArray());
+            writeVarLong(out, positions.size());
+            out.writeBytes(updates.toByteArray());
+            resetPending = false;
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * 연결 하나의 디코더. 받은 순서대로 넣어야 한다.
+     */
+    public static final class Decoder {
+
+        private final Map<Long, RiderState> riders = new HashMap<>();
+        private final Map<Long, String> riderIds = new HashMap<>();
+
+        public Frame decode(byte[] raw) {
+            int[] position = {0};
+            if (raw[position[0]++] != VERSION) {
+                throw new IllegalArgumentException("지원하지 않는 위치 포맷 버전: " + raw[0]);
+            }
+            int flags = raw[position[0]++];
+            if ((flags & FLAG_RESET) != 0) {
+                riders.clear();
+                riderIds.clear();
+            }
+            long timestamp = readVarLong(raw, position);
+
+            long dictionaryCount = readVarLong(raw, position);
+            for (long i = 0; i < dictionaryCount; i++) {
+                long index = readVarLong(raw, position);
+                riderIds.put(index, readString(raw, position));
+                RiderState state = riders.computeIfAbsent(index, k -> new RiderState((int) (long) k));
+                String name = readString(raw, position);
+                state.name = name.isEmpty() ? null : name;
+                int vehicleType = raw[position[0]++];
+                state.vehicleType = vehicleType == 0 ? null : VEHICLE_TYPES[vehicleType - 1];
+            }
+
+            long count = readVarLong(raw, position);
+            List<Position> positions = new ArrayList<>((int) count);
+            for (long i = 0; i < count; i++) {
+                long index = readVarLong(raw, position);
+                RiderState state = riders.get(index);
+                if (state == null) {
+                    throw new IllegalArgumentException("사전에 없는 라이더 index: " + index);
+                }
+                int mask = raw[position[0]++];
+                long latitude = readVarLong(raw, position);
+                long longitude = readVarLong(raw, position);
+                if ((mask & MASK_ABSOLUTE) == 0) {
+                    latitude += state.latitude;
+                    longitude += state.longitude;
+                }
+                state.latitude = latitude;
+                state.longitude = longitude;
+                if ((mask & MASK_STATUS) != 0) {
+                    state.status = STATUSES[raw[position[0]++]];
+                }
+                String description = (mask & MASK_DESCRIPTION) != 0 ? readString(raw, position) : null;
+                positions.add(new Position(riderIds.get(index), state.name, state.status, state.vehicleType,
+                        latitude / COORDINATE_SCALE, longitude / COORDINATE_SCALE, description));
+            }
+            return new Frame(timestamp, positions);
+        }
+    }
+
+    /** 연결별 라이더 상태 (사전 index, 직전 고정소수점 좌표) */
+    private static final class RiderState {
+        private final int index;
+        private String name;
+        private VehicleType vehicleType;
+        private RiderStatus status;
+        private long latitude;
+        private long longitude;
+        private boolean dictionarySent;
+        private boolean positionSent;
+
+        private RiderState(int index) {
+            this.index = index;
+        }
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(out, bytes.length);
+        out.writeBytes(bytes);
+    }
+
+    private static String readString(byte[] raw, int[] position) {
+        int length = (int) readVarLong(raw, position);
+        String value = new String(raw, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    /** zigzag varint */
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            out.write((int) ((v & 0x7F) | 0x80));
+            v >>>= 7;
+        }
+        out.write((int) v);
+    }
+
+    private static long readVarLong(byte[] raw, int[] position) {
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = raw[position[0]++];
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return (v >>> 1) ^ -(v & 1);
+    }
+}
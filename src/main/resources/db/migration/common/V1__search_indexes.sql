@@ -0,0 +1,14 @@
+-- 배송 목록/검색: 조건 컬럼 + (requested_time, id) keyset 순서
+-- findDeliveriesBetweenDates 도 idx_deliveries_requested 범위 조회로 처리된다
+CREATE INDEX IF NOT EXISTS idx_deliveries_requested ON deliveries (requested_time, id);
+CREATE INDEX IF NOT EXISTS idx_deliveries_status_requested ON deliveries (status, requested_time, id);
+CREATE INDEX IF NOT EXISTS idx_deliveries_rider_requested ON deliveries (rider_id, requested_time, id);
+CREATE INDEX IF NOT EXISTS idx_deliveries_priority_requested ON deliveries (priority, requested_time, id);
+CREATE INDEX IF NOT EXISTS idx_deliveries_zone_requested ON deliveries (zone, requested_time, id);
+
+-- 상담 검색의 색인 기간 이전 연락처 조회
+CREATE INDEX IF NOT EXISTS idx_deliveries_delivery_phone ON deliveries (delivery_contact_phone);
+CREATE INDEX IF NOT EXISTS idx_deliveries_pickup_phone ON deliveries (pickup_contact_phone);
+
+-- 분석 집계 구간 조회
+CREATE INDEX IF NOT EXISTS idx_delivery_rollups_bucket ON delivery_rollups (granularity, bucket_start);
@@ -0,0 +1,13 @@
+-- H2 는 부분 인덱스가 없어 상태를 선두 컬럼으로 둔 복합 인덱스로 만든다
+
+-- findActiveDeliveriesByRiderId: GPS 수신마다 라이더의 진행 중 배송 조회
+CREATE INDEX IF NOT EXISTS idx_deliveries_rider_status ON deliveries (rider_id, status, requested_time);
+
+-- findDelayedDeliveries / countDelayedDeliveries: 진행 중 상태 + 예상 도착 시각 경과
+CREATE INDEX IF NOT EXISTS idx_deliveries_status_eta ON deliveries (status, estimated_delivery_time);
+
+-- findPendingDeliveries: PENDING 을 우선순위, 요청 시각 순으로
+CREATE INDEX IF NOT EXISTS idx_deliveries_status_priority ON deliveries (status, priority, requested_time);
+
+-- findAvailableRidersWithinRadius: 가용 상태 + 위도/경도 범위
+CREATE INDEX IF NOT EXISTS idx_riders_status_location ON riders (status, current_latitude, current_longitude);
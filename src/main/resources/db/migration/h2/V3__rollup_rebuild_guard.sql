@@ -0,0 +1,7 @@
+-- 집계 구간 중복 방지: 차원 조합마다 한 행. 미배정(rider_id NULL)도 같은 값으로 본다
+CREATE UNIQUE NULLS NOT DISTINCT INDEX IF NOT EXISTS ux_delivery_rollups_bucket
+    ON delivery_rollups (granularity, bucket_start, status, priority, zone, rider_id);
+
+-- 여러 노드의 재집계를 하나씩 실행하기 위한 잠금 행 (SELECT ... FOR UPDATE)
+CREATE TABLE IF NOT EXISTS delivery_rollup_locks (name VARCHAR(32) PRIMARY KEY);
+MERGE INTO delivery_rollup_locks KEY (name) VALUES ('rebuild');
@@ -0,0 +1,9 @@
+-- 여러 노드에서 도는 스케줄 작업 조율
+--   dispatch             : 일괄 배정을 한 노드씩 실행하기 위한 잠금 행 (SELECT ... FOR UPDATE)
+--   monitoring-publisher : 관제 delta 를 보낼 노드 하나를 정하는 임대 행 (owner, expires_at)
+CREATE TABLE IF NOT EXISTS scheduler_locks (
+    name       VARCHAR(32) PRIMARY KEY,
+    owner      VARCHAR(64),
+    expires_at TIMESTAMP
+);
+MERGE INTO scheduler_locks (name) KEY (name) VALUES ('dispatch'), ('monitoring-publisher');
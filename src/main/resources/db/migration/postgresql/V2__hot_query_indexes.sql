@@ -0,0 +1,17 @@
+-- 조회 조건의 상태 값으로 제한한 부분 인덱스. 완료/취소 배송(대부분의 행)은 인덱스에 들어가지 않는다
+
+-- findActiveDeliveriesByRiderId: GPS 수신마다 라이더의 진행 중 배송 조회
+CREATE INDEX IF NOT EXISTS idx_deliveries_active_rider ON deliveries (rider_id, requested_time DESC)
+    WHERE status IN ('ASSIGNED', 'PICKING_UP', 'IN_TRANSIT');
+
+-- findDelayedDeliveries / countDelayedDeliveries: 진행 중 상태 + 예상 도착 시각 경과
+CREATE INDEX IF NOT EXISTS idx_deliveries_active_eta ON deliveries (estimated_delivery_time)
+    WHERE status IN ('ASSIGNED', 'PICKING_UP', 'IN_TRANSIT');
+
+-- findPendingDeliveries: PENDING 을 우선순위, 요청 시각 순으로
+CREATE INDEX IF NOT EXISTS idx_deliveries_pending ON deliveries (priority DESC, requested_time)
+    WHERE status = 'PENDING';
+
+-- findAvailableRidersWithinRadius: 가용 라이더의 위도/경도 범위
+CREATE INDEX IF NOT EXISTS idx_riders_available_location ON riders (current_latitude, current_longitude)
+    WHERE status = 'AVAILABLE';
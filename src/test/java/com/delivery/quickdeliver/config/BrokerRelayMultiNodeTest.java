@@ -0,0 +1,221 @@
+package com.delivery.quickdeliver.config;
+
+import com.delivery.quickdeliver.QuickDeliverApplication;
+import com.delivery.quickdeliver.dto.websocket.UrgentMessage;
+import com.delivery.quickdeliver.security.JwtTokenProvider;
+import com.delivery.quickdeliver.service.RiderLocationBroadcaster;
+import com.delivery.quickdeliver.service.WebSocketService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSession;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 앱 인스턴스 두 개를 내장 Artemis 브로커에 relay 로 붙여 노드 사이 전달을 확인한다.
+ * 노드 A 가 브로커를 띄우고 클라이언트는 노드 A 에 연결한다. 메시지는 노드 B 에서 보낸다.
+ */
+class BrokerRelayMultiNodeTest {
+
+    private static final String USERNAME = "operator@example.com";
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private static ConfigurableApplicationContext nodeA;
+    private static ConfigurableApplicationContext nodeB;
+
+    private ThreadPoolTaskScheduler taskScheduler;
+    private WebSocketStompClient stompClient;
+    private StompSession session;
+
+    @BeforeAll
+    static void startNodes() throws Exception {
+        int brokerPort = freePort();
+        nodeA = startNode("nodeA", brokerPort,
+                "--websocket.broker.embedded.enabled=true",
+                "--websocket.broker.embedded.port=" + brokerPort);
+        nodeB = startNode("nodeB", brokerPort);
+        awaitBrokerAvailable(nodeA);
+        awaitBrokerAvailable(nodeB);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        // 브로커를 띄운 노드 A 를 나중에 내린다
+        if (nodeB != null) nodeB.close();
+        if (nodeA != null) nodeA.close();
+    }
+
+    @BeforeEach
+    void connect() throws Exception {
+        String token = nodeA.getBean(JwtTokenProvider.class).generateTokenFromUsername(USERNAME);
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization", "Bearer " + token);
+
+        // RECEIPT 대기(setAutoReceipt)에는 스케줄러가 필요하다
+        taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.initialize();
+        stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+        stompClient.setTaskScheduler(taskScheduler);
+        session = stompClient.connectAsync("ws://localhost:" + port(nodeA) + "/ws",
+                        new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() { })
+                .get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        session.setAutoReceipt(true);
+    }
+
+    @AfterEach
+    void disconnect() {
+        if (session != null && session.isConnected()) session.disconnect();
+        if (stompClient != null) stompClient.stop();
+        if (taskScheduler != null) taskScheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("다른 노드가 보낸 배송 상태가 /topic/monitoring/deliveries 구독자에게 온다")
+    void deliversMonitoringTopicAcrossNodes() throws Exception {
+        BlockingQueue<String> received = subscribe("/topic/monitoring/deliveries");
+
+        nodeB.getBean(WebSocketService.class).broadcastDeliveryUpdate("DLV-1001", "PICKED_UP", "RIDER-7");
+
+        assertThat(received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .contains("DLV-1001")
+                .contains("PICKED_UP");
+    }
+
+    @Test
+    @DisplayName("다른 노드의 라이더 위치 프레임이 /topic/monitoring/riders 구독자에게 온다")
+    void deliversRiderFramesAcrossNodes() throws Exception {
+        BlockingQueue<String> received = subscribe(RiderLocationBroadcaster.DESTINATION);
+
+        RiderLocationBroadcaster broadcaster = nodeB.getBean(RiderLocationBroadcaster.class);
+        broadcaster.offer("RIDER-42", 37.4979, 127.0276);
+        broadcaster.flush();
+
+        assertThat(received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .contains("RIDER_LOCATIONS")
+                .contains("RIDER-42");
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 보낸 사용자 메시지가 노드 A 세션의 /user/queue 로 온다")
+    void deliversUserDestinationAcrossNodes() throws Exception {
+        BlockingQueue<String> received = subscribe("/user/queue/urgent");
+        awaitUserSessionsSynced();
+
+        nodeB.getBean(SimpMessagingTemplate.class)
+                .convertAndSendToUser(USERNAME, "/queue/urgent", UrgentMessage.of("노드 B 긴급 호출"));
+
+        assertThat(received.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .contains(UrgentMessage.TYPE)
+                .contains("노드 B 긴급 호출");
+    }
+
+    /** 브로커가 구독을 받았다는 RECEIPT 까지 기다린다 */
+    private BlockingQueue<String> subscribe(String destination) throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        StompSession.Subscription subscription = session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+            }
+        });
+        subscription.addReceiptTask(subscribed::countDown);
+        assertThat(subscribed.await(TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                .as("%s 구독 RECEIPT", destination)
+                .isTrue();
+        return received;
+    }
+
+    /**
+     * 노드 B 가 보는 사용자 세션이 노드 A 의 현재 세션과 같아질 때까지 기다린다.
+     * 레지스트리는 주기적으로만 공유되므로, 앞선 테스트의 끊긴 세션이 남아 있으면 노드 B 가 그 세션 큐로 보낸다.
+     * 노드 B 에 사용자가 없으면 미해결 목적지로 넘겨 노드 A 가 풀므로 그것도 통과로 본다.
+     */
+    private static void awaitUserSessionsSynced() throws InterruptedException {
+        SimpUserRegistry registryA = nodeA.getBean(SimpUserRegistry.class);
+        SimpUserRegistry registryB = nodeB.getBean(SimpUserRegistry.class);
+        // 레지스트리 공유 주기(10초)를 한 번 넘길 만큼 기다린다
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2 * TIMEOUT_SECONDS);
+        while (true) {
+            Set<String> seenByB = sessionIds(registryB.getUser(USERNAME));
+            if (seenByB.isEmpty() || seenByB.equals(sessionIds(registryA.getUser(USERNAME)))) return;
+            assertThat(System.nanoTime()).as("노드 B 사용자 레지스트리 동기화 대기").isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    private static Set<String> sessionIds(SimpUser user) {
+        if (user == null) return Set.of();
+        return user.getSessions().stream().map(SimpSession::getId).collect(Collectors.toSet());
+    }
+
+    private static ConfigurableApplicationContext startNode(String name, int brokerPort, String... extraArgs) {
+        String[] common = {
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--websocket.broker.mode=relay",
+                "--websocket.broker.relay.port=" + brokerPort
+        };
+        String[] args = new String[common.length + extraArgs.length];
+        System.arraycopy(common, 0, args, 0, common.length);
+        System.arraycopy(extraArgs, 0, args, common.length, extraArgs.length);
+        return new SpringApplicationBuilder(QuickDeliverApplication.class)
+                .profiles("test")
+                .run(args);
+    }
+
+    private static void awaitBrokerAvailable(ConfigurableApplicationContext node) throws InterruptedException {
+        StompBrokerRelayMessageHandler relay =
+                node.getBean("stompBrokerRelayMessageHandler", StompBrokerRelayMessageHandler.class);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (!relay.isBrokerAvailable()) {
+            assertThat(System.nanoTime()).as("브로커 relay 연결 대기").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+    }
+
+    private static int port(ConfigurableApplicationContext node) {
+        return ((ServletWebServerApplicationContext) node).getWebServer().getPort();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.delivery.quickdeliver.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 내장 브로커를 멈추면 시작할 때 만든 임시 디렉터리가 지워지는지 확인한다.
+ */
+class EmbeddedStompBrokerTest {
+
+    @Test
+    @DisplayName("종료하면 브로커 인스턴스 디렉터리를 지운다")
+    void deletesDataDirectoryOnStop() throws IOException {
+        EmbeddedStompBroker broker = new EmbeddedStompBroker("localhost", freePort());
+
+        broker.start();
+        Path dataDirectory = (Path) ReflectionTestUtils.getField(broker, "dataDirectory");
+        assertThat(broker.isRunning()).isTrue();
+        assertThat(dataDirectory).isDirectory();
+
+        broker.stop();
+        assertThat(broker.isRunning()).isFalse();
+        assertThat(dataDirectory).doesNotExist();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.delivery.quickdeliver.config;
+
+import com.delivery.quickdeliver.domain.entity.User;
+import com.delivery.quickdeliver.domain.enums.UserRole;
+import com.delivery.quickdeliver.repository.UserRepository;
+import com.delivery.quickdeliver.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 운영자 전용 API 가 다른 역할의 토큰을 거부하는지 실제 HTTP 요청으로 확인한다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "kakao.mobility.api-key=")
+@ActiveProfiles("test")
+class SecurityConfigTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        saveUser("access-rider", UserRole.RIDER, "010-9100-0001");
+        saveUser("access-customer", UserRole.CUSTOMER, "010-9100-0002");
+        saveUser("access-backoffice", UserRole.BACKOFFICE, "010-9100-0003");
+        saveUser("access-admin", UserRole.ADMIN, "010-9100-0004");
+    }
+
+    @Test
+    @DisplayName("배송 검색은 백오피스만 되고 라이더·고객은 403 이다")
+    void deliverySearchIsForOperators() {
+        String url = "/api/deliveries/search?query=010";
+
+        assertThat(get(url, "access-backoffice")).isEqualTo(HttpStatus.OK);
+        assertThat(get(url, "access-rider")).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(get(url, "access-customer")).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    @DisplayName("집계 재생성은 백오피스만 되고 라이더·고객은 403 이다")
+    void rollupBackfillIsForOperators() {
+        String url = "/api/analytics/rollups/backfill?startDate=2026-01-01&endDate=2026-01-01";
+
+        assertThat(exchange(HttpMethod.POST, url, "access-rider")).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(exchange(HttpMethod.POST, url, "access-customer")).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(exchange(HttpMethod.POST, url, "access-backoffice")).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    @DisplayName("메트릭은 관리자 토큰이 있어야 하고, 헬스 체크는 토큰 없이 된다")
+    void metricsRequireAdmin() {
+        assertThat(get("/actuator/metrics", null)).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(get("/actuator/metrics/rider.location.buffer.pending", null)).isEqualTo(HttpStatus.UNAUTHORIZED);
+        assertThat(get("/actuator/metrics", "access-backoffice")).isEqualTo(HttpStatus.FORBIDDEN);
+        assertThat(get("/actuator/metrics", "access-admin")).isEqualTo(HttpStatus.OK);
+        assertThat(get("/actuator/health", null)).isEqualTo(HttpStatus.OK);
+    }
+
+    private HttpStatusCode get(String url, String username) {
+        return exchange(HttpMethod.GET, url, username);
+    }
+
+    private HttpStatusCode exchange(HttpMethod method, String url, String username) {
+        HttpHeaders headers = new HttpHeaders();
+        if (username != null) {
+            headers.setBearerAuth(jwtTokenProvider.generateTokenFromUsername(username));
+        }
+        return restTemplate.exchange(url, method, new HttpEntity<>(headers), String.class).getStatusCode();
+    }
+
+    private void saveUser(String username, UserRole role, String phoneNumber) {
+        if (userRepository.findByUsername(username).isPresent()) return;
+        userRepository.save(User.builder()
+                .username(username)
+                .password("unused")
+                .name(username)
+                .email(username + "@example.com")
+                .phoneNumber(phoneNumber)
+                .role(role)
+                .enabled(true)
+                .build());
+    }
+}
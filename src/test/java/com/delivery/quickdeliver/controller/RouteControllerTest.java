@@ -0,0 +1,98 @@
+package com.delivery.quickdeliver.controller;
+
+import com.delivery.quickdeliver.domain.entity.User;
+import com.delivery.quickdeliver.domain.enums.UserRole;
+import com.delivery.quickdeliver.repository.UserRepository;
+import com.delivery.quickdeliver.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 비동기로 응답하는 경로 API 가 JWT 인증을 ASYNC 디스패치까지 유지하는지 실제 HTTP 요청으로 확인한다.
+ * Kakao REST 키를 비워 외부 호출 없이 available=false 응답을 받는다.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "kakao.mobility.api-key=")
+@ActiveProfiles("test")
+class RouteControllerTest {
+
+    private static final String USERNAME = "route-admin";
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepository.findByUsername(USERNAME).isEmpty()) {
+            userRepository.save(User.builder()
+                    .username(USERNAME)
+                    .password("unused")
+                    .name("경로 관리자")
+                    .email("route-admin@example.com")
+                    .phoneNumber("010-9000-0001")
+                    .role(UserRole.ADMIN)
+                    .enabled(true)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("토큰이 있으면 GET /api/routes 가 비동기 응답까지 200 이다")
+    void getRouteWithBearerToken() {
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/routes?originLat=37.4979&originLng=127.0276&destLat=37.5665&destLng=126.9780",
+                HttpMethod.GET, new HttpEntity<>(authorized()), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("\"available\":false");
+    }
+
+    @Test
+    @DisplayName("토큰이 있으면 POST /api/routes/batch 가 비동기 응답까지 200 이다")
+    void getMultiLegRouteWithBearerToken() {
+        HttpHeaders headers = authorized();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        String body = "{\"waypoints\":[{\"latitude\":37.4979,\"longitude\":127.0276},"
+                + "{\"latitude\":37.5665,\"longitude\":126.9780},{\"latitude\":37.5172,\"longitude\":127.0473}]}";
+
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/routes/batch", HttpMethod.POST, new HttpEntity<>(body, headers), String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).contains("\"available\":false");
+    }
+
+    @Test
+    @DisplayName("토큰이 없으면 401 이다")
+    void rejectsWithoutToken() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                "/api/routes?originLat=37.4979&originLng=127.0276&destLat=37.5665&destLng=126.9780", String.class);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private HttpHeaders authorized() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtTokenProvider.generateTokenFromUsername(USERNAME));
+        return headers;
+    }
+}
@@ -0,0 +1,72 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.dto.request.DeliverySearchCondition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 건수 상한 조회가 조건에 맞는 행을 limit 까지만 세는지 확인한다.
+ */
+@DataJpaTest
+class DeliveryCountUpToTest {
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 5; i++) {
+            deliveryRepository.save(delivery(i, i < 3 ? DeliveryStatus.PENDING : DeliveryStatus.DELIVERED, now));
+        }
+    }
+
+    @Test
+    @DisplayName("조건에 맞는 건수가 limit 보다 적으면 실제 건수")
+    void countsAllWhenBelowLimit() {
+        assertThat(deliveryRepository.countUpTo(DeliverySearchCondition.builder().build(), 10)).isEqualTo(5);
+        assertThat(deliveryRepository.countUpTo(DeliverySearchCondition.builder()
+                .statuses(Set.of(DeliveryStatus.PENDING)).build(), 10)).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("조건에 맞는 건수가 limit 이상이면 limit")
+    void stopsAtLimit() {
+        assertThat(deliveryRepository.countUpTo(DeliverySearchCondition.builder().build(), 4)).isEqualTo(4);
+        assertThat(deliveryRepository.countUpTo(DeliverySearchCondition.builder()
+                .statuses(Set.of(DeliveryStatus.PENDING)).build(), 2)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("요청 시각·우선순위 조건도 같은 의미로 센다")
+    void appliesTimeAndPriorityConditions() {
+        LocalDateTime now = LocalDateTime.now();
+        assertThat(deliveryRepository.countUpTo(DeliverySearchCondition.builder()
+                .requestedFrom(now.minusMinutes(2).minusSeconds(30))
+                .priorities(Set.of(Priority.NORMAL))
+                .build(), 10)).isEqualTo(3);
+        assertThat(deliveryRepository.countUpTo(DeliverySearchCondition.builder()
+                .riderId("RIDER-NONE").build(), 10)).isZero();
+    }
+
+    private static Delivery delivery(int i, DeliveryStatus status, LocalDateTime now) {
+        return Delivery.builder()
+                .deliveryId("DEL-COUNT00" + i)
+                .orderNumber("ORD-count00" + i)
+                .status(status)
+                .priority(Priority.NORMAL)
+                .requestedTime(now.minusMinutes(i))
+                .build();
+    }
+}
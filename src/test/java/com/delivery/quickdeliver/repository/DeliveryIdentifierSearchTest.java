@@ -0,0 +1,66 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 색인 기간 이전 배송을 정규화한 검색어(하이픈·공백 제거, 소문자)로 찾는지 확인한다.
+ */
+@DataJpaTest
+class DeliveryIdentifierSearchTest {
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    private LocalDateTime before;
+
+    @BeforeEach
+    void setUp() {
+        before = LocalDateTime.now();
+        deliveryRepository.save(Delivery.builder()
+                .deliveryId("DEL-A1B2C3D4")
+                .orderNumber("ORD-9f8e7d6c")
+                .pickupAddress(Address.builder().address("서울 강남구").contactPhone("02-555-0101").build())
+                .deliveryAddress(Address.builder().address("서울 서초구").contactPhone("010-1234-5678").build())
+                .status(DeliveryStatus.DELIVERED)
+                .priority(Priority.NORMAL)
+                .requestedTime(before.minusDays(30))
+                .build());
+    }
+
+    @Test
+    @DisplayName("하이픈 없이 입력한 연락처로 하이픈 저장 연락처를 찾는다")
+    void findsHyphenatedPhone() {
+        assertThat(deliveryRepository.findByIdentifierPrefix("01012345678", before, 10))
+                .extracting(DeliveryResponse::getDeliveryId)
+                .containsExactly("DEL-A1B2C3D4");
+        assertThat(deliveryRepository.findByIdentifierPrefix("025550101", before, 10)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("정규화된 배송ID·주문번호 앞부분으로 찾는다")
+    void findsIdentifierPrefix() {
+        assertThat(deliveryRepository.findByIdentifierPrefix("dela1b2", before, 10)).hasSize(1);
+        assertThat(deliveryRepository.findByIdentifierPrefix("ord9f8e", before, 10)).hasSize(1);
+        assertThat(deliveryRepository.findByIdentifierPrefix("del", before, 10)).hasSize(1);
+        assertThat(deliveryRepository.findByIdentifierPrefix("delzz", before, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("기준 시각 이후 요청 건은 제외한다")
+    void excludesIndexedWindow() {
+        assertThat(deliveryRepository.findByIdentifierPrefix("01012345678", before.minusDays(31), 10)).isEmpty();
+    }
+}
@@ -0,0 +1,100 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 일괄 배정이 쓰는 조회와 라이더 조건부 선점을 확인한다.
+ */
+@DataJpaTest
+class DispatchQueryTest {
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private RiderRepository riderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("픽업 좌표가 있는 대기 배송만 우선순위·요청 순으로 페이지 크기까지 읽는다")
+    void readsPendingWithPickupUpToPageSize() {
+        LocalDateTime now = LocalDateTime.now();
+        deliveryRepository.save(delivery("DEL-DISP001", DeliveryStatus.PENDING, Priority.NORMAL, now.minusMinutes(3), true));
+        deliveryRepository.save(delivery("DEL-DISP002", DeliveryStatus.PENDING, Priority.URGENT, now.minusMinutes(1), true));
+        deliveryRepository.save(delivery("DEL-DISP003", DeliveryStatus.PENDING, Priority.NORMAL, now.minusMinutes(2), true));
+        deliveryRepository.save(delivery("DEL-DISP004", DeliveryStatus.PENDING, Priority.URGENT, now.minusMinutes(5), false));
+        deliveryRepository.save(delivery("DEL-DISP005", DeliveryStatus.DELIVERED, Priority.URGENT, now.minusMinutes(5), true));
+
+        assertThat(deliveryRepository.findPendingDeliveriesWithPickup(PageRequest.of(0, 2)))
+                .extracting(Delivery::getDeliveryId)
+                .containsExactly("DEL-DISP002", "DEL-DISP001");
+    }
+
+    @Test
+    @DisplayName("AVAILABLE 라이더는 한 번만 BUSY 로 잡힌다")
+    void claimsAvailableRiderOnce() {
+        Rider rider = riderRepository.save(rider("RIDER-DISP01", RiderStatus.AVAILABLE));
+
+        assertThat(riderRepository.claimIfAvailable(rider.getId())).isEqualTo(1);
+        assertThat(riderRepository.claimIfAvailable(rider.getId())).isZero();
+        assertThat(statusOf(rider)).isEqualTo("BUSY");
+    }
+
+    @Test
+    @DisplayName("AVAILABLE 가 아닌 라이더는 잡지 않는다")
+    void skipsUnavailableRider() {
+        Rider rider = riderRepository.save(rider("RIDER-DISP02", RiderStatus.OFFLINE));
+
+        assertThat(riderRepository.claimIfAvailable(rider.getId())).isZero();
+        assertThat(statusOf(rider)).isEqualTo("OFFLINE");
+    }
+
+    private String statusOf(Rider rider) {
+        return jdbcTemplate.queryForObject("SELECT status FROM riders WHERE id = ?", String.class, rider.getId());
+    }
+
+    private static Delivery delivery(String deliveryId, DeliveryStatus status, Priority priority,
+                                     LocalDateTime requestedTime, boolean pickupCoordinate) {
+        return Delivery.builder()
+                .deliveryId(deliveryId)
+                .orderNumber("ORD-" + deliveryId)
+                .status(status)
+                .priority(priority)
+                .requestedTime(requestedTime)
+                .pickupAddress(Address.builder()
+                        .address("서울 강남구")
+                        .latitude(pickupCoordinate ? 37.4979 : null)
+                        .longitude(pickupCoordinate ? 127.0276 : null)
+                        .build())
+                .build();
+    }
+
+    private static Rider rider(String riderId, RiderStatus status) {
+        return Rider.builder()
+                .riderId(riderId)
+                .name("라이더")
+                .phoneNumber("010-7000-" + riderId.substring(riderId.length() - 2))
+                .email(riderId.toLowerCase() + "@example.com")
+                .status(status)
+                .vehicleType(VehicleType.MOTORCYCLE)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.delivery.quickdeliver.repository;
+
+import com.delivery.quickdeliver.config.SchemaMigrationRunner;
+import com.delivery.quickdeliver.domain.entity.SchemaMigration;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 자주 호출되는 조회가 마이그레이션 인덱스를 타는지 H2 EXPLAIN 으로 확인한다.
+ * Hibernate 가 실제로 만든 SQL 을 잡아 실행 계획에 전체 테이블 스캔(tableScan)이 있으면 실패한다.
+ *
+ * <p>빈 테이블에서는 H2 가 비용이 같은 외래 키 인덱스를 고르므로, 운영처럼 대부분 완료된 배송을 채우고
+ * ANALYZE 로 통계를 갱신한 뒤 계획을 본다.</p>
+ *
+ * <p>PostgreSQL 부분 인덱스(db/migration/postgresql)는 이 테스트로 검증되지 않는다. H2 계획만 확인하며,
+ * PostgreSQL 계획은 실제 DB 에서 EXPLAIN 으로 따로 확인해야 한다.</p>
+ */
+@DataJpaTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.delivery.quickdeliver.repository.HotQueryPlanTest$CapturedSql")
+@Import(SchemaMigrationRunner.class)
+class HotQueryPlanTest {
+
+    private static final int RIDERS = 20;
+    private static final int DELIVERIES = 2000;
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private RiderRepository riderRepository;
+
+    @Autowired
+    private SchemaMigrationRepository schemaMigrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // ANALYZE 가 트랜잭션을 커밋하므로 채운 행은 테스트 사이에 남는다
+        if (riderRepository.count() == 0) {
+            seedRows();
+        }
+        CapturedSql.STATEMENTS.clear();
+    }
+
+    @Test
+    @DisplayName("공통 스크립트와 H2 스크립트가 버전 순으로 적용된다")
+    void appliesCommonAndVendorMigrations() {
+        assertThat(schemaMigrationRepository.findAll())
+                .extracting(SchemaMigration::getScript)
+                .containsExactly("common/V1__search_indexes.sql", "h2/V2__hot_query_indexes.sql",
+                        "h2/V3__rollup_rebuild_guard.sql", "h2/V4__scheduler_locks.sql");
+    }
+
+    @Test
+    @DisplayName("라이더 진행 중 배송 조회는 인덱스를 탄다")
+    void activeDeliveriesByRiderUsesIndex() {
+        deliveryRepository.findActiveDeliveriesByRiderId("RIDER-001");
+
+        assertIndexOnly(capturedSelect());
+    }
+
+    @Test
+    @DisplayName("지연 배송 조회는 인덱스를 탄다")
+    void delayedDeliveriesUsesIndex() {
+        deliveryRepository.findDelayedDeliveries(LocalDateTime.now());
+
+        assertIndexOnly(capturedSelect());
+    }
+
+    @Test
+    @DisplayName("대기 배송 조회는 인덱스를 탄다")
+    void pendingDeliveriesUsesIndex() {
+        deliveryRepository.findPendingDeliveries();
+
+        assertIndexOnly(capturedSelect());
+    }
+
+    @Test
+    @DisplayName("일괄 배정 대상 조회도 같은 인덱스를 탄다")
+    void pendingDeliveriesWithPickupUsesIndex() {
+        deliveryRepository.findPendingDeliveriesWithPickup(PageRequest.of(0, 200));
+
+        assertIndexOnly(capturedSelect());
+    }
+
+    @Test
+    @DisplayName("기간 배송 조회는 인덱스를 탄다")
+    void deliveriesBetweenDatesUsesIndex() {
+        LocalDateTime now = LocalDateTime.now();
+        deliveryRepository.findDeliveriesBetweenDates(now.minusDays(1), now);
+
+        assertIndexOnly(capturedSelect());
+    }
+
+    @Test
+    @DisplayName("반경 내 가용 라이더 조회는 인덱스를 탄다")
+    void availableRidersWithinRadiusUsesIndex() {
+        riderRepository.findAvailableRidersWithinRadius(37.4979, 127.0276, 3.0);
+
+        assertIndexOnly(capturedSelect());
+    }
+
+    /** 라이더 {@value #RIDERS}명, 배송 {@value #DELIVERIES}건 중 진행 중·대기는 일부만 */
+    private void seedRows() {
+        List<Object[]> riders = new ArrayList<>();
+        for (int r = 0; r < RIDERS; r++) {
+            riders.add(new Object[]{"RIDER-" + r, "rider" + r + "@example.com", "010-0000-" + r,
+                    r % 2 == 0 ? "AVAILABLE" : "OFFLINE"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO riders (rider_id, name, email, phone_number, vehicle_type, status) " +
+                "VALUES (?, 'rider', ?, ?, 'MOTORCYCLE', ?)", riders);
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> deliveries = new ArrayList<>();
+        for (int i = 0; i < DELIVERIES; i++) {
+            String status = i % 50 == 0 ? "PENDING" : i % 20 == 0 ? "IN_TRANSIT" : "DELIVERED";
+            deliveries.add(new Object[]{"DEL-" + i, "ORD-" + i, status, "RIDER-" + (i % RIDERS),
+                    now.minusMinutes(i), now.minusMinutes(i).plusMinutes(40)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO deliveries " +
+                "(delivery_id, order_number, status, priority, rider_id, requested_time, estimated_delivery_time) " +
+                "VALUES (?, ?, ?, 'NORMAL', (SELECT id FROM riders WHERE rider_id = ?), ?, ?)", deliveries);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private String capturedSelect() {
+        List<String> selects = CapturedSql.STATEMENTS.stream()
+                .filter(sql -> sql.trim().toLowerCase(Locale.ROOT).startsWith("select"))
+                .toList();
+        assertThat(selects).as("실행된 SELECT").isNotEmpty();
+        return selects.get(selects.size() - 1);
+    }
+
+    private void assertIndexOnly(String sql) {
+        // 계획은 준비 시점에 정해지므로 파라미터는 null 로 채워도 된다
+        String plan = jdbcTemplate.execute((Connection connection) -> {
+            try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+                int parameters = statement.getParameterMetaData().getParameterCount();
+                for (int i = 1; i <= parameters; i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet rs = statement.executeQuery()) {
+                    rs.next();
+                    return rs.getString(1);
+                }
+            }
+        });
+
+        assertThat(plan).as("실행 계획:%n%s", plan)
+                .doesNotContain("tableScan")
+                .containsIgnoringCase("IDX_");
+    }
+
+    /**
+     * Hibernate 가 실행하는 SQL 을 모은다 (설정 프로퍼티로 클래스 이름을 넘겨 생성된다).
+     */
+    public static class CapturedSql implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.config.SchemaMigrationRunner;
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.entity.Delivery;
+import com.delivery.quickdeliver.domain.entity.DeliveryRollup;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.Priority;
+import com.delivery.quickdeliver.domain.enums.RollupGranularity;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.DeliveryRollupRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * 재집계가 저장된 구역으로 묶이고, 다시 실행해도 구간 행이 중복되지 않는지 확인한다.
+ */
+@DataJpaTest
+@Import({SchemaMigrationRunner.class, DeliveryRollupService.class})
+class DeliveryRollupServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private DeliveryRepository deliveryRepository;
+
+    @Autowired
+    private DeliveryRollupRepository deliveryRollupRepository;
+
+    @Autowired
+    private DeliveryRollupService deliveryRollupService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        deliveryRepository.save(delivery("DEL-ROLL0001", "서울 강남구 테헤란로 1", DAY.atTime(9, 10)));
+        deliveryRepository.save(delivery("DEL-ROLL0002", "서울 강남구 역삼로 2", DAY.atTime(9, 40)));
+        deliveryRepository.save(delivery("DEL-ROLL0003", "서울 서초구 서초대로 3", DAY.atTime(14, 5)));
+    }
+
+    @Test
+    @DisplayName("주소를 다시 해석하지 않고 저장된 배송 구역별로 집계한다")
+    void groupsByPersistedZone() {
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createNativeQuery("UPDATE deliveries SET zone = '관리구역' WHERE delivery_id = 'DEL-ROLL0002'")
+                .executeUpdate();
+
+        deliveryRollupService.backfill(DAY, DAY);
+
+        assertThat(deliveryRollupService.countByZone(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay()))
+                .containsOnly(entry("강남구", 1L), entry("관리구역", 1L), entry("서초구", 1L));
+        assertThat(deliveryRollupRepository.findBuckets(RollupGranularity.HOUR,
+                DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay())).hasSize(3);
+    }
+
+    @Test
+    @DisplayName("같은 날을 다시 집계해도 행이 늘지 않는다")
+    void rebuildIsIdempotent() {
+        deliveryRollupService.backfill(DAY, DAY);
+        long rows = deliveryRollupRepository.count();
+
+        deliveryRollupService.backfill(DAY, DAY);
+
+        assertThat(deliveryRollupRepository.count()).isEqualTo(rows);
+        assertThat(deliveryRollupService.totals(DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay())
+                .getDeliveryCount()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("미배정 건을 포함해 같은 차원 조합의 행은 두 번 들어갈 수 없다")
+    void rejectsDuplicateBucket() {
+        deliveryRollupRepository.saveAndFlush(rollup());
+
+        assertThatThrownBy(() -> deliveryRollupRepository.saveAndFlush(rollup()))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    @DisplayName("재집계 잠금 행을 잡을 수 있다")
+    void locksRebuildRow() {
+        assertThat(deliveryRollupRepository.lockRebuild()).isEqualTo("rebuild");
+    }
+
+    private static Delivery delivery(String deliveryId, String address, LocalDateTime requestedTime) {
+        return Delivery.builder()
+                .deliveryId(deliveryId)
+                .orderNumber("ORD-" + deliveryId)
+                .deliveryAddress(Address.builder().address(address).build())
+                .status(DeliveryStatus.PENDING)
+                .priority(Priority.NORMAL)
+                .requestedTime(requestedTime)
+                .build();
+    }
+
+    private static DeliveryRollup rollup() {
+        return DeliveryRollup.builder()
+                .granularity(RollupGranularity.HOUR)
+                .bucketStart(DAY.atTime(9, 0))
+                .status(DeliveryStatus.PENDING)
+                .priority(Priority.NORMAL)
+                .zone("강남구")
+                .deliveryCount(1)
+                .build();
+    }
+}
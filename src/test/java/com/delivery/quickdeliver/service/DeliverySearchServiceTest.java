@@ -0,0 +1,89 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Address;
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.dto.response.DeliveryResponse;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 색인 검색 결과에 따라 DB 식별자 조회로 넘어가는 조건을 확인한다.
+ */
+class DeliverySearchServiceTest {
+
+    private DeliveryRepository deliveryRepository;
+    private DeliverySearchService searchService;
+
+    @BeforeEach
+    void setUp() {
+        deliveryRepository = mock(DeliveryRepository.class);
+        when(deliveryRepository.findResponses(any(), any(), any(), anyInt()))
+                .thenReturn(List.of(delivery("DEL-A1B2C3D4", "서울 강남구 테헤란로 152", "010-1234-5678")));
+        when(deliveryRepository.findByIdentifierPrefix(any(), any(), anyInt())).thenReturn(List.of());
+
+        searchService = new DeliverySearchService(deliveryRepository);
+        ReflectionTestUtils.setField(searchService, "windowDays", 7);
+        searchService.rebuild();
+    }
+
+    @Test
+    @DisplayName("색인에서 찾은 주소 검색은 limit 보다 적어도 DB 를 조회하지 않는다")
+    void skipsDatabaseWhenIndexHasHits() {
+        List<DeliveryResponse> results = searchService.search("테헤란로", 20);
+
+        assertThat(results).extracting(DeliveryResponse::getDeliveryId).containsExactly("DEL-A1B2C3D4");
+        verify(deliveryRepository, never()).findByIdentifierPrefix(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("색인에 없는 검색어는 DB 에서 정규화한 값으로 찾는다")
+    void fallsBackWhenIndexIsEmpty() {
+        searchService.search("부산 해운대", 20);
+
+        verify(deliveryRepository).findByIdentifierPrefix(eq("부산해운대"), any(LocalDateTime.class), eq(20));
+    }
+
+    @Test
+    @DisplayName("연락처처럼 보이는 검색어는 색인 결과가 있어도 이전 배송을 정규화한 값으로 찾는다")
+    void fallsBackForIdentifierQueries() {
+        List<DeliveryResponse> results = searchService.search("010-1234-5678", 20);
+
+        assertThat(results).hasSize(1);
+        verify(deliveryRepository).findByIdentifierPrefix(eq("01012345678"), any(LocalDateTime.class), eq(19));
+    }
+
+    @Test
+    @DisplayName("식별자 판정: 영문·숫자로만 되어 있고 숫자를 포함")
+    void detectsIdentifierLikeQueries() {
+        assertThat(DeliverySearchService.looksLikeIdentifier("01012345678")).isTrue();
+        assertThat(DeliverySearchService.looksLikeIdentifier("dela1b2")).isTrue();
+        assertThat(DeliverySearchService.looksLikeIdentifier("del")).isFalse();
+        assertThat(DeliverySearchService.looksLikeIdentifier("테헤란로152")).isFalse();
+    }
+
+    private static DeliveryResponse delivery(String deliveryId, String address, String phone) {
+        return DeliveryResponse.builder()
+                .id(1L)
+                .deliveryId(deliveryId)
+                .orderNumber("ORD-1a2b3c4d")
+                .deliveryAddress(Address.builder().address(address).contactPhone(phone).build())
+                .status(DeliveryStatus.PENDING)
+                .requestedTime(LocalDateTime.now().minusHours(1))
+                .build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.enums.DeliveryStatus;
+import com.delivery.quickdeliver.domain.enums.GeofenceOwnerType;
+import com.delivery.quickdeliver.domain.enums.GeofenceTier;
+import com.delivery.quickdeliver.domain.event.GeofenceEvent;
+import com.delivery.quickdeliver.domain.event.GeofenceEvent.Type;
+import com.delivery.quickdeliver.util.GeoUtils;
+import com.delivery.quickdeliver.util.GeofenceShape;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 지오펜스 단계별 진입·체류·이탈 판정과 히스테리시스, 펜스 교체·제거, 셀 경계의 펜스 색인을 확인한다.
+ */
+class GeofenceEngineTest {
+
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+
+    /** 위도 1m (도) */
+    private static final double METER_LAT = 1 / (GeoUtils.KM_PER_DEGREE_LAT * 1000);
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 2, 12, 0);
+
+    private GeofenceEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new GeofenceEngine();
+        ReflectionTestUtils.setField(engine, "hysteresisMeters", 20.0);
+        ReflectionTestUtils.setField(engine, "dwellSeconds", 60L);
+        engine.putArea(GeofenceOwnerType.MERCHANT, "M-1", new GeofenceShape.Circle(LAT, LNG, 0));
+    }
+
+    @Test
+    @DisplayName("가까워지면 바깥 단계부터 차례로 진입한다")
+    void entersTiersInOrder() {
+        assertThat(evaluate("R-1", 600, T0)).isEmpty();
+        assertThat(evaluate("R-1", 400, T0.plusSeconds(5)))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactly(tuple(Type.ENTER, GeofenceTier.APPROACH));
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(10)))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactlyInAnyOrder(tuple(Type.ENTER, GeofenceTier.SITE), tuple(Type.ENTER, GeofenceTier.ARRIVAL));
+
+        assertThat(engine.isInside("R-1", GeofenceOwnerType.MERCHANT, "M-1", GeofenceTier.ARRIVAL)).isTrue();
+        assertThat(engine.isInside("R-2", GeofenceOwnerType.MERCHANT, "M-1", GeofenceTier.ARRIVAL)).isFalse();
+    }
+
+    @Test
+    @DisplayName("반경을 넘어도 히스테리시스 안이면 이탈하지 않는다")
+    void exitsOnlyBeyondHysteresis() {
+        evaluate("R-1", 40, T0);
+
+        // 도착 반경 50m 밖이지만 50 + 20m 이내
+        assertThat(evaluate("R-1", 65, T0.plusSeconds(1))).isEmpty();
+        // 다시 들어와도 이미 안에 있으므로 진입 이벤트 없음
+        assertThat(evaluate("R-1", 45, T0.plusSeconds(2))).isEmpty();
+
+        assertThat(evaluate("R-1", 80, T0.plusSeconds(3)))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactly(tuple(Type.EXIT, GeofenceTier.ARRIVAL));
+        assertThat(engine.isInside("R-1", GeofenceOwnerType.MERCHANT, "M-1", GeofenceTier.ARRIVAL)).isFalse();
+        assertThat(engine.isInside("R-1", GeofenceOwnerType.MERCHANT, "M-1", GeofenceTier.SITE)).isTrue();
+    }
+
+    @Test
+    @DisplayName("진입 후 체류 시간이 지나면 단계마다 DWELL 을 한 번만 낸다")
+    void reportsDwellOnce() {
+        evaluate("R-1", 300, T0);
+        evaluate("R-1", 40, T0.plusSeconds(30));
+
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(59))).isEmpty();
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(60)))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactly(tuple(Type.DWELL, GeofenceTier.APPROACH));
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(90)))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactlyInAnyOrder(tuple(Type.DWELL, GeofenceTier.SITE), tuple(Type.DWELL, GeofenceTier.ARRIVAL));
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(300))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("이탈 후 다시 들어오면 체류 시간을 새로 잰다")
+    void restartsDwellAfterExit() {
+        evaluate("R-1", 40, T0);
+        assertThat(evaluate("R-1", 700, T0.plusSeconds(10)))
+                .extracting(GeofenceEvent::type)
+                .containsOnly(Type.EXIT)
+                .hasSize(3);
+
+        evaluate("R-1", 40, T0.plusSeconds(20));
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(70))).isEmpty();
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(80))).extracting(GeofenceEvent::type)
+                .containsOnly(Type.DWELL)
+                .hasSize(3);
+    }
+
+    @Test
+    @DisplayName("펜스 셀 밖으로 멀리 이동하면 남은 단계에서 모두 이탈한다")
+    void exitsWhenLeavingIndexedCells() {
+        evaluate("R-1", 40, T0);
+
+        assertThat(evaluate("R-1", 5_000, T0.plusSeconds(1)))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactlyInAnyOrder(tuple(Type.EXIT, GeofenceTier.APPROACH),
+                        tuple(Type.EXIT, GeofenceTier.SITE), tuple(Type.EXIT, GeofenceTier.ARRIVAL));
+    }
+
+    @Test
+    @DisplayName("제거된 펜스는 이벤트 없이 소속에서 빠진다")
+    void dropsRemovedFence() {
+        evaluate("R-1", 40, T0);
+
+        engine.removeArea(GeofenceOwnerType.MERCHANT, "M-1");
+
+        assertThat(engine.fenceCount()).isZero();
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(1))).isEmpty();
+        assertThat(engine.isInside("R-1", GeofenceOwnerType.MERCHANT, "M-1", GeofenceTier.APPROACH)).isFalse();
+    }
+
+    @Test
+    @DisplayName("배송 펜스는 배정된 라이더에게만 적용하고, 배송이 끝나면 빠진다")
+    void deliveryFencesApplyToAssignedRider() {
+        double dropLat = LAT + 0.05;
+        engine.putDelivery(new ActiveDeliveryRegistry.ActiveDelivery("DEL-1", "ORD-1", "R-1",
+                DeliveryStatus.IN_TRANSIT, null, null, dropLat, LNG, T0));
+
+        assertThat(engine.evaluate("R-2", dropLat, LNG, T0)).isEmpty();
+        assertThat(engine.evaluate("R-1", dropLat, LNG, T0))
+                .extracting(GeofenceEvent::ownerType, GeofenceEvent::ownerId)
+                .containsOnly(tuple(GeofenceOwnerType.DROP, "DEL-1"))
+                .hasSize(3);
+
+        engine.replaceDeliveries(List.of());
+        assertThat(engine.fenceCount()).isEqualTo(1);
+        assertThat(engine.evaluate("R-1", dropLat, LNG, T0.plusSeconds(1))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("셀 경계 바로 건너편 좌표도 넓혀 등록한 셀에서 펜스를 찾는다")
+    void findsFenceAcrossCellBoundary() {
+        // 0.01도 셀 경계(35.50) 바로 위 펜스, 경계 아래 셀의 라이더
+        double fenceLat = 35.5001;
+        engine.putArea(GeofenceOwnerType.MERCHANT, "M-2", new GeofenceShape.Circle(fenceLat, 129.0, 0));
+
+        assertThat(engine.evaluate("R-1", 35.4998, 129.0, T0))
+                .extracting(GeofenceEvent::type, GeofenceEvent::tier)
+                .containsExactlyInAnyOrder(tuple(Type.ENTER, GeofenceTier.APPROACH),
+                        tuple(Type.ENTER, GeofenceTier.SITE), tuple(Type.ENTER, GeofenceTier.ARRIVAL));
+        // 접근 반경 끝도 경계 너머 셀에서 찾는다
+        assertThat(engine.evaluate("R-3", fenceLat - 490 * METER_LAT, 129.0, T0))
+                .extracting(GeofenceEvent::tier)
+                .containsExactly(GeofenceTier.APPROACH);
+    }
+
+    @Test
+    @DisplayName("같은 도형을 다시 등록해도 판정 상태가 유지된다")
+    void keepsMembershipOnSameShape() {
+        evaluate("R-1", 40, T0);
+
+        engine.putArea(GeofenceOwnerType.MERCHANT, "M-1", GeofenceShape.parse(
+                new GeofenceShape.Circle(LAT, LNG, 0).format()));
+
+        assertThat(evaluate("R-1", 40, T0.plusSeconds(1))).isEmpty();
+        assertThat(engine.fenceCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("셀 상한을 넘는 넓은 도형은 거부하고 기존 펜스를 그대로 둔다")
+    void rejectsOversizedShape() {
+        GeofenceShape wide = new GeofenceShape.Polygon(
+                new double[]{LAT, LAT, LAT + 1}, new double[]{LNG, LNG + 1, LNG + 1});
+
+        assertThatThrownBy(() -> engine.putArea(GeofenceOwnerType.MERCHANT, "M-1", wide))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> engine.putArea(GeofenceOwnerType.MERCHANT, "M-2", wide))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(engine.fenceCount()).isEqualTo(1);
+        assertThat(evaluate("R-1", 40, T0)).isNotEmpty();
+
+        // 원형 최대 반경(5km)은 상한 안이다
+        engine.putArea(GeofenceOwnerType.MERCHANT, "M-3", new GeofenceShape.Circle(LAT, LNG, 5000));
+        assertThat(engine.fenceCount()).isEqualTo(2);
+    }
+
+    /** 가맹점 M-1 에서 북쪽으로 meters 떨어진 좌표로 판정 */
+    private List<GeofenceEvent> evaluate(String riderId, double meters, LocalDateTime now) {
+        return engine.evaluate(riderId, LAT + meters * METER_LAT, LNG, now);
+    }
+}
@@ -0,0 +1,227 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.dto.response.MultiLegRouteInfo;
+import com.delivery.quickdeliver.dto.response.RouteInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 로컬 스텁 서버를 Kakao Mobility 대신 띄워 경로 캐시와 HTTP 클라이언트 보호 장치를 검증한다.
+ * 스텁은 응답 지연과 오류 상태 코드를 주입할 수 있다.
+ */
+class KakaoRouteServiceTest {
+
+    private static final String ROUTE_JSON = """
+            {"routes":[{"result_code":0,
+              "summary":{"duration":600,"distance":3000},
+              "sections":[{"roads":[{"vertexes":[127.0276,37.4979,127.0300,37.5000,127.0350,37.5050]}]}]}]}
+            """;
+
+    private HttpServer server;
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private volatile int responseStatus = 200;
+    private volatile long responseDelayMillis = 0;
+
+    private KakaoRouteService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v1/directions", exchange -> {
+            upstreamCalls.incrementAndGet();
+            try {
+                if (responseDelayMillis > 0) Thread.sleep(responseDelayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = (responseStatus == 200 ? ROUTE_JSON : "{}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(responseStatus, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+
+        service = new KakaoRouteService(new SimpleMeterRegistry(), new ObjectMapper());
+        ReflectionTestUtils.setField(service, "apiKey", "test-key");
+        ReflectionTestUtils.setField(service, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        ReflectionTestUtils.setField(service, "gridMeters", 30.0);
+        ReflectionTestUtils.setField(service, "cacheTtlSeconds", 60L);
+        ReflectionTestUtils.setField(service, "cacheMaxSize", 100L);
+        ReflectionTestUtils.setField(service, "connectTimeoutMillis", 500L);
+        ReflectionTestUtils.setField(service, "requestTimeoutMillis", 2000L);
+        ReflectionTestUtils.setField(service, "maxConcurrent", 16);
+        ReflectionTestUtils.setField(service, "circuitWindowSize", 4);
+        ReflectionTestUtils.setField(service, "circuitMinimumCalls", 4);
+        ReflectionTestUtils.setField(service, "circuitFailureRateThreshold", 50.0);
+        ReflectionTestUtils.setField(service, "circuitOpenMillis", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("같은 격자 좌표는 캐시에서 반환")
+    void returnsCachedRouteForSameGridCell() {
+        service.init();
+        RouteInfo first = service.getRoute(37.49790, 127.02760, 37.50500, 127.03500, null, null);
+        // 수 미터 차이는 같은 격자
+        RouteInfo second = service.getRoute(37.49791, 127.02762, 37.50501, 127.03501, null, null);
+
+        assertThat(first.isAvailable()).isTrue();
+        assertThat(second.isAvailable()).isTrue();
+        assertThat(first.getPath()).hasSize(6); // 3개 좌표 [lat, lng, ...]
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+
+        Map<String, Object> stats = service.getCacheStats();
+        assertThat(stats.get("hitCount")).isEqualTo(1L);
+        assertThat(stats.get("missCount")).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("경유지가 다르면 별도 조회")
+    void waypointIsPartOfCacheKey() {
+        service.init();
+        service.getRoute(37.4979, 127.0276, 37.5050, 127.0350, null, null);
+        service.getRoute(37.4979, 127.0276, 37.5050, 127.0350, 37.5000, 127.0300);
+
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("동시 요청은 외부 호출 한 번으로 합쳐진다")
+    void coalescesConcurrentIdenticalLookups() throws Exception {
+        service.init();
+        responseDelayMillis = 200;
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<RouteInfo>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return service.getRoute(37.4979, 127.0276, 37.5050, 127.0350, null, null);
+                }));
+            }
+            start.countDown();
+            for (Future<RouteInfo> result : results) {
+                assertThat(result.get().isAvailable()).isTrue();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("실패 결과는 캐시하지 않는다")
+    void doesNotCacheUnavailableResult() {
+        service.init();
+        responseStatus = 500;
+        RouteInfo failed = service.getRoute(37.4979, 127.0276, 37.5050, 127.0350, null, null);
+        assertThat(failed.isAvailable()).isFalse();
+
+        responseStatus = 200;
+        RouteInfo recovered = service.getRoute(37.4979, 127.0276, 37.5050, 127.0350, null, null);
+        assertThat(recovered.isAvailable()).isTrue();
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("응답이 마감 시간을 넘기면 fallback")
+    void fallsBackWhenUpstreamExceedsDeadline() {
+        ReflectionTestUtils.setField(service, "requestTimeoutMillis", 300L);
+        service.init();
+        responseDelayMillis = 1500;
+
+        long started = System.nanoTime();
+        RouteInfo route = service.getRoute(37.4979, 127.0276, 37.5050, 127.0350, null, null);
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertThat(route.isAvailable()).isFalse();
+        assertThat(elapsedMillis).isLessThan(1200);
+    }
+
+    @Test
+    @DisplayName("실패가 누적되면 서킷이 열려 외부 호출 없이 fallback")
+    void opensCircuitAfterRepeatedFailures() {
+        service.init();
+        responseStatus = 503;
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(service.getRoute(37.4979, 127.0276, 37.5050 + i * 0.01, 127.0350, null, null)
+                    .isAvailable()).isFalse();
+        }
+        assertThat(upstreamCalls.get()).isEqualTo(4);
+        assertThat(service.getClientStats().get("circuitState")).isEqualTo("OPEN");
+
+        responseStatus = 200;
+        RouteInfo route = service.getRoute(37.4979, 127.0276, 37.6000, 127.0350, null, null);
+
+        assertThat(route.isAvailable()).isFalse();
+        assertThat(upstreamCalls.get()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("동시 호출 한도를 넘으면 대기 없이 fallback")
+    void rejectsCallsBeyondConcurrencyLimit() {
+        ReflectionTestUtils.setField(service, "maxConcurrent", 1);
+        service.init();
+        responseDelayMillis = 500;
+
+        CompletableFuture<RouteInfo> first =
+                service.getRouteAsync(37.4979, 127.0276, 37.5050, 127.0350, null, null);
+        RouteInfo second = service.getRoute(37.4979, 127.0276, 37.5500, 127.0350, null, null);
+
+        assertThat(second.isAvailable()).isFalse();
+        assertThat(first.join().isAvailable()).isTrue();
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("다중 경유 경로는 구간별 조회 결과를 합치고 캐시된 구간을 재사용한다")
+    void mergesMultiLegRouteAndReusesCachedLegs() {
+        service.init();
+        List<double[]> points = List.of(
+                new double[]{37.4979, 127.0276},
+                new double[]{37.5050, 127.0350},
+                new double[]{37.5120, 127.0420});
+
+        MultiLegRouteInfo first = service.getMultiLegRouteAsync(points).join();
+        MultiLegRouteInfo second = service.getMultiLegRouteAsync(points).join();
+
+        assertThat(first.isAvailable()).isTrue();
+        assertThat(first.getLegs()).hasSize(2);
+        assertThat(first.getDurationSeconds()).isEqualTo(1200);
+        assertThat(first.getLegs().get(1).getCumulativeDurationSeconds()).isEqualTo(1200);
+        assertThat(second.getPath()).hasSameSizeAs(first.getPath());
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+}
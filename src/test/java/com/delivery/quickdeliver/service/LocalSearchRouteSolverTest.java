@@ -0,0 +1,86 @@
+package com.delivery.quickdeliver.service;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 2-opt / Or-opt 개선이 최근접 이웃 해보다 경로를 늘리지 않고, 픽업 → 배송 순서를 지키는지 확인한다.
+ */
+class LocalSearchRouteSolverTest {
+
+    private static final long TIME_BUDGET_MILLIS = 1_000;
+
+    private final LocalSearchRouteSolver solver = new LocalSearchRouteSolver();
+
+    @Test
+    @DisplayName("최근접 이웃 해가 되돌아가는 경로면 더 짧게 고친다")
+    void shortensBacktrackingRoute() {
+        // 직선 위 1 → -1.5 → -6 → 4 (18) 로 되돌아가는 최근접 이웃 해. 1 → 4 → -1.5 → -6 은 14
+        double[][] distance = distanceMatrix(new double[][]{{0, 0}, {1, 0}, {-1.5, 0}, {4, 0}, {-6, 0}});
+        int[] predecessor = {-1, -1, -1, -1, -1};
+
+        int[] greedy = NearestNeighborRouteSolver.construct(distance, predecessor);
+        int[] improved = solver.solve(distance, predecessor, TIME_BUDGET_MILLIS);
+
+        assertThat(RouteSolver.pathLength(distance, improved))
+                .isLessThan(RouteSolver.pathLength(distance, greedy));
+    }
+
+    @Test
+    @DisplayName("무작위 픽업·배송 묶음에서 경로가 늘지 않고 선후 제약을 지킨다")
+    void neverLengthensAndKeepsPrecedence() {
+        Random random = new Random(42);
+        for (int round = 0; round < 50; round++) {
+            int pairs = 2 + random.nextInt(6);
+            double[][] points = new double[2 * pairs + 1][];
+            points[0] = new double[]{0, 0};
+            int[] predecessor = new int[2 * pairs + 1];
+            predecessor[0] = -1;
+            for (int node = 1; node < points.length; node++) {
+                points[node] = new double[]{random.nextDouble() * 10 - 5, random.nextDouble() * 10 - 5};
+                // 홀수 노드는 픽업, 바로 다음 짝수 노드는 그 배송
+                predecessor[node] = node % 2 == 0 ? node - 1 : -1;
+            }
+            double[][] distance = distanceMatrix(points);
+
+            int[] greedy = NearestNeighborRouteSolver.construct(distance, predecessor);
+            int[] improved = solver.solve(distance, predecessor, TIME_BUDGET_MILLIS);
+
+            assertThat(improved).containsExactlyInAnyOrder(IntStream.rangeClosed(1, 2 * pairs).toArray());
+            assertThat(RouteSolver.pathLength(distance, improved))
+                    .isLessThanOrEqualTo(RouteSolver.pathLength(distance, greedy) + 1e-9);
+            assertPrecedence(improved, predecessor);
+        }
+    }
+
+    private static void assertPrecedence(int[] order, int[] predecessor) {
+        int[] pos = new int[predecessor.length];
+        for (int idx = 0; idx < order.length; idx++) {
+            pos[order[idx]] = idx;
+        }
+        for (int node = 1; node < predecessor.length; node++) {
+            if (predecessor[node] > 0) {
+                assertThat(pos[predecessor[node]])
+                        .as("노드 %d 는 %d 뒤에 방문 (%s)", node, predecessor[node], Arrays.toString(order))
+                        .isLessThan(pos[node]);
+            }
+        }
+    }
+
+    /** 평면 좌표 사이 유클리드 거리 행렬 */
+    private static double[][] distanceMatrix(double[][] points) {
+        double[][] distance = new double[points.length][points.length];
+        for (int i = 0; i < points.length; i++) {
+            for (int j = 0; j < points.length; j++) {
+                distance[i][j] = Math.hypot(points[i][0] - points[j][0], points[i][1] - points[j][1]);
+            }
+        }
+        return distance;
+    }
+}
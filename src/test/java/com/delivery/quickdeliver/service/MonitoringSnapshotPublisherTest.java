@@ -0,0 +1,86 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.event.RiderStatusChangedEvent;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.repository.DeliveryRepository;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * relay 모드에서 발행 임대를 가진 노드만 관제 메시지를 보내고, 발행 노드가 되면 전체 상태부터 보내는지 확인한다.
+ */
+class MonitoringSnapshotPublisherTest {
+
+    private static final String NODE_ID = "node-a";
+
+    private SimpMessagingTemplate messagingTemplate;
+    private SchedulerLocks schedulerLocks;
+    private MonitoringSnapshotPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        DeliveryRepository deliveryRepository = Mockito.mock(DeliveryRepository.class);
+        RiderRepository riderRepository = Mockito.mock(RiderRepository.class);
+        when(deliveryRepository.findByStatusInWithRider(any())).thenReturn(List.of());
+        when(riderRepository.findActiveRiders()).thenReturn(List.of());
+
+        messagingTemplate = Mockito.mock(SimpMessagingTemplate.class);
+        schedulerLocks = Mockito.mock(SchedulerLocks.class);
+        when(schedulerLocks.getNodeId()).thenReturn(NODE_ID);
+
+        publisher = new MonitoringSnapshotPublisher(deliveryRepository, riderRepository, messagingTemplate, schedulerLocks);
+        ReflectionTestUtils.setField(publisher, "brokerMode", "relay");
+        ReflectionTestUtils.setField(publisher, "leaseTtlMillis", 10_000L);
+    }
+
+    @Test
+    @DisplayName("임대가 없는 노드는 변경이 있어도 보내지 않는다")
+    void skipsWithoutLease() {
+        when(schedulerLocks.tryLease(eq(SchedulerLocks.MONITORING_PUBLISHER), any(Duration.class))).thenReturn(false);
+        publisher.onRiderStatusChanged(new RiderStatusChangedEvent("R-1", null, RiderStatus.AVAILABLE, false, true));
+
+        publisher.publishDelta();
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+
+    @Test
+    @DisplayName("발행 노드가 되면 전체 상태를 먼저 보내고 이후 변경은 노드 표시와 함께 delta 로 보낸다")
+    @SuppressWarnings("unchecked")
+    void sendsSnapshotThenDeltasAsPublisher() {
+        when(schedulerLocks.tryLease(eq(SchedulerLocks.MONITORING_PUBLISHER), any(Duration.class))).thenReturn(true);
+
+        publisher.publishDelta();
+        // 바뀐 것이 없으면 보내지 않는다
+        publisher.publishDelta();
+        publisher.onRiderStatusChanged(new RiderStatusChangedEvent("R-1", null, RiderStatus.AVAILABLE, false, true));
+        publisher.publishDelta();
+
+        ArgumentCaptor<Object> messages = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2))
+                .convertAndSend(eq(MonitoringSnapshotPublisher.DELTA_DESTINATION), messages.capture());
+        Map<String, Object> first = (Map<String, Object>) messages.getAllValues().get(0);
+        Map<String, Object> second = (Map<String, Object>) messages.getAllValues().get(1);
+        assertThat(first).containsEntry("type", "SNAPSHOT").containsEntry("node", NODE_ID);
+        assertThat(second).containsEntry("type", "DELTA").containsEntry("node", NODE_ID).containsEntry("seq", 1L);
+    }
+}
@@ -0,0 +1,97 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.service.MonitoringViewportRegistry.Viewport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 관제 영역 타일 색인의 등록·교체·해제 대칭과 전체 라이더 세션 전환을 확인한다.
+ */
+class MonitoringViewportRegistryTest {
+
+    /** 0.05도 타일, 20 x 20 타일까지 */
+    private MonitoringViewportRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new MonitoringViewportRegistry(0.05, 400);
+    }
+
+    @Test
+    @DisplayName("영역이 걸친 타일의 좌표만 세션을 찾는다")
+    void findsSessionsByTile() {
+        registry.update("s1", new Viewport(37.49, 127.02, 37.52, 127.06));
+
+        assertThat(registry.sessionsAt(37.50, 127.03)).containsExactly("s1");
+        // 영역 밖이지만 같은 타일 (타일 경계 여유)
+        assertThat(registry.sessionsAt(37.46, 127.01)).containsExactly("s1");
+        assertThat(registry.sessionsAt(37.60, 127.03)).isEmpty();
+        assertThat(registry.sessionsAt(37.50, 126.90)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("여러 세션이 같은 타일을 보면 모두 돌려준다")
+    void mergesOverlappingSessions() {
+        registry.update("s1", new Viewport(37.49, 127.02, 37.52, 127.06));
+        registry.update("s2", new Viewport(37.50, 127.03, 37.51, 127.04));
+
+        assertThat(registry.sessionsAt(37.505, 127.035)).containsExactlyInAnyOrder("s1", "s2");
+    }
+
+    @Test
+    @DisplayName("영역을 교체하면 이전 타일에서 빠진다")
+    void replacesPreviousTiles() {
+        registry.update("s1", new Viewport(37.49, 127.02, 37.52, 127.06));
+        registry.update("s1", new Viewport(35.10, 129.00, 35.12, 129.05));
+
+        assertThat(registry.sessionsAt(37.50, 127.03)).isEmpty();
+        assertThat(registry.sessionsAt(35.11, 129.01)).containsExactly("s1");
+        assertThat(registry.sessionCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("등록한 뒤 해제하면 타일이 남지 않는다")
+    void removeUndoesUpdate() {
+        registry.update("s1", new Viewport(37.49, 127.02, 37.52, 127.06));
+        registry.update("s2", new Viewport(37.40, 126.90, 37.60, 127.20));
+
+        registry.remove("s1");
+        registry.remove("s2");
+
+        assertThat(registry.isEmpty()).isTrue();
+        assertThat(registry.sessionCount()).isZero();
+        assertThat(registry.get("s1")).isNull();
+        assertThat(registry.sessionsAt(37.50, 127.03)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("타일 수가 상한을 넘는 넓은 영역은 모든 좌표에서 찾는다")
+    void treatsWideViewportAsFleetWide() {
+        registry.update("wide", new Viewport(33.0, 124.0, 39.0, 132.0));
+        registry.update("s1", new Viewport(37.49, 127.02, 37.52, 127.06));
+
+        assertThat(registry.sessionsAt(35.11, 129.01)).containsExactly("wide");
+        assertThat(registry.sessionsAt(37.50, 127.03)).containsExactlyInAnyOrder("wide", "s1");
+
+        registry.remove("wide");
+        assertThat(registry.sessionsAt(35.11, 129.01)).isEmpty();
+        assertThat(registry.sessionsAt(37.50, 127.03)).containsExactly("s1");
+    }
+
+    @Test
+    @DisplayName("위·경도 범위를 벗어나거나 NaN 인 영역은 만들 수 없다")
+    void rejectsInvalidViewport() {
+        assertThatThrownBy(() -> new Viewport(-91, 127.0, 37.0, 127.1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Viewport(37.0, 127.0, 37.1, 181))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Viewport(Double.NaN, 127.0, 37.1, 127.1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new Viewport(37.2, 127.0, 37.1, 127.1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import com.delivery.quickdeliver.service.MonitoringViewportRegistry.Viewport;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+
+/**
+ * 같은 주기에 같은 라이더 목록을 받는 영역 세션이 직렬화 결과를 함께 쓰는지 확인한다.
+ */
+class RiderLocationBroadcasterTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private MonitoringViewportRegistry viewportRegistry;
+    private RiderLocationBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        messagingTemplate = Mockito.mock(SimpMessagingTemplate.class);
+        viewportRegistry = new MonitoringViewportRegistry(0.05, 400);
+        RiderLocationIndex index = new RiderLocationIndex(Mockito.mock(RiderRepository.class));
+        index.update(rider("R-1", 37.4979, 127.0276));
+        index.update(rider("R-2", 35.1796, 129.0756));
+        broadcaster = new RiderLocationBroadcaster(messagingTemplate, index, viewportRegistry,
+                new WebSocketPayloadSerializer(new ObjectMapper()), new SimpleMeterRegistry(), 10);
+    }
+
+    @Test
+    @DisplayName("같은 라이더 목록을 받는 세션은 한 번 직렬화한 바이트를 함께 쓴다")
+    void sharesJsonAcrossSessions() {
+        viewportRegistry.update("seoul-1", new Viewport(37.49, 127.02, 37.51, 127.04));
+        viewportRegistry.update("seoul-2", new Viewport(37.48, 127.01, 37.50, 127.03));
+        viewportRegistry.update("busan", new Viewport(35.17, 129.07, 35.19, 129.09));
+        viewportRegistry.update("all", new Viewport(33.0, 124.0, 39.0, 132.0));
+
+        broadcaster.offer("R-1", 37.4979, 127.0276);
+        broadcaster.offer("R-2", 35.1796, 129.0756);
+        broadcaster.flush();
+
+        Map<String, byte[]> sent = sentPayloads();
+        assertThat(sent.get(sessionDestination("seoul-1"))).isSameAs(sent.get(sessionDestination("seoul-2")));
+        assertThat(sent.get(sessionDestination("all"))).isSameAs(sent.get(RiderLocationBroadcaster.DESTINATION));
+        assertThat(new String(sent.get(sessionDestination("seoul-1")), StandardCharsets.UTF_8))
+                .contains("R-1").doesNotContain("R-2");
+        assertThat(new String(sent.get(sessionDestination("busan")), StandardCharsets.UTF_8))
+                .contains("R-2").doesNotContain("R-1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, byte[]> sentPayloads() {
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Message<?>> messages = ArgumentCaptor.forClass(Message.class);
+        verify(messagingTemplate, Mockito.atLeastOnce()).send(destinations.capture(), messages.capture());
+        verify(messagingTemplate, Mockito.times(5)).send(anyString(), any(Message.class));
+
+        Map<String, byte[]> sent = new HashMap<>();
+        List<String> sentTo = destinations.getAllValues();
+        for (int i = 0; i < sentTo.size(); i++) {
+            sent.put(sentTo.get(i), (byte[]) messages.getAllValues().get(i).getPayload());
+        }
+        return sent;
+    }
+
+    private static String sessionDestination(String sessionId) {
+        return "/user/" + sessionId + RiderLocationBroadcaster.VIEWPORT_DESTINATION;
+    }
+
+    private static Rider rider(String riderId, double latitude, double longitude) {
+        return Rider.builder()
+                .riderId(riderId)
+                .name(riderId)
+                .email(riderId + "@example.com")
+                .status(RiderStatus.AVAILABLE)
+                .vehicleType(VehicleType.MOTORCYCLE)
+                .currentLatitude(latitude)
+                .currentLongitude(longitude)
+                .lastLocationUpdate(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+}
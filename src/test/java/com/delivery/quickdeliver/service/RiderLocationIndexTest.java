@@ -0,0 +1,73 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.domain.entity.Rider;
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+import com.delivery.quickdeliver.repository.RiderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 영역 검색이 셀을 훑는 경우와 라이더 전체를 훑는 경우 같은 결과를 내는지 확인한다.
+ */
+class RiderLocationIndexTest {
+
+    private RiderLocationIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new RiderLocationIndex(Mockito.mock(RiderRepository.class));
+        index.update(rider("R-1", 37.4979, 127.0276));
+        index.update(rider("R-2", 37.5665, 126.9780));
+        index.update(rider("R-3", 35.1796, 129.0756));
+    }
+
+    @Test
+    @DisplayName("좁은 영역은 셀을 훑어 영역 안 라이더만 찾는다")
+    void findsWithinNarrowBounds() {
+        assertThat(index.findWithinBounds(37.49, 127.02, 37.51, 127.04))
+                .extracting(RiderLocationIndex.RiderPosition::getRiderId)
+                .containsExactly("R-1");
+    }
+
+    @Test
+    @DisplayName("셀 수가 라이더 수보다 많은 넓은 영역은 전체를 훑어 같은 조건으로 찾는다")
+    void findsWithinWideBounds() {
+        assertThat(index.findWithinBounds(37.0, 126.5, 38.0, 127.5))
+                .extracting(RiderLocationIndex.RiderPosition::getRiderId)
+                .containsExactlyInAnyOrder("R-1", "R-2");
+        assertThat(index.findWithinBounds(-90, -180, 90, 180))
+                .extracting(RiderLocationIndex.RiderPosition::getRiderId)
+                .containsExactlyInAnyOrder("R-1", "R-2", "R-3");
+    }
+
+    @Test
+    @DisplayName("위치를 옮기면 이전 영역에서 빠진다")
+    void followsLocationUpdates() {
+        index.updateLocation("R-1", 35.18, 129.08);
+
+        assertThat(index.findWithinBounds(37.49, 127.02, 37.51, 127.04)).isEmpty();
+        assertThat(index.findWithinBounds(35.17, 129.07, 35.19, 129.09))
+                .extracting(RiderLocationIndex.RiderPosition::getRiderId)
+                .containsExactlyInAnyOrder("R-1", "R-3");
+    }
+
+    private static Rider rider(String riderId, double latitude, double longitude) {
+        return Rider.builder()
+                .riderId(riderId)
+                .name(riderId)
+                .email(riderId + "@example.com")
+                .status(RiderStatus.AVAILABLE)
+                .vehicleType(VehicleType.MOTORCYCLE)
+                .currentLatitude(latitude)
+                .currentLongitude(longitude)
+                .lastLocationUpdate(LocalDateTime.now().minusMinutes(1))
+                .build();
+    }
+}
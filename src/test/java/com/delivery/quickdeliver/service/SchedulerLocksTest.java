@@ -0,0 +1,53 @@
+package com.delivery.quickdeliver.service;
+
+import com.delivery.quickdeliver.config.SchemaMigrationRunner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 마이그레이션이 만든 임대 행을 두 노드가 나눠 갖지 않는지, 만료되면 넘어가는지 확인한다.
+ */
+@DataJpaTest
+@Import(SchemaMigrationRunner.class)
+class SchedulerLocksTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("임대는 한 노드만 갖고, 가진 노드는 연장할 수 있다")
+    void leaseHasSingleOwner() {
+        SchedulerLocks nodeA = new SchedulerLocks(jdbcTemplate);
+        SchedulerLocks nodeB = new SchedulerLocks(jdbcTemplate);
+
+        assertThat(nodeA.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofSeconds(10))).isTrue();
+        assertThat(nodeB.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofSeconds(10))).isFalse();
+        assertThat(nodeA.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofSeconds(10))).isTrue();
+    }
+
+    @Test
+    @DisplayName("연장하지 않아 만료된 임대는 다른 노드가 가져간다")
+    void expiredLeaseMovesToAnotherNode() {
+        SchedulerLocks nodeA = new SchedulerLocks(jdbcTemplate);
+        SchedulerLocks nodeB = new SchedulerLocks(jdbcTemplate);
+
+        assertThat(nodeA.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofSeconds(-1))).isTrue();
+
+        assertThat(nodeB.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofSeconds(10))).isTrue();
+        assertThat(nodeA.tryLease(SchedulerLocks.MONITORING_PUBLISHER, Duration.ofSeconds(10))).isFalse();
+    }
+
+    @Test
+    @DisplayName("없는 임대 이름은 얻지 못한다")
+    void unknownLeaseIsNeverAcquired() {
+        assertThat(new SchedulerLocks(jdbcTemplate).tryLease("unknown", Duration.ofSeconds(10))).isFalse();
+    }
+}
@@ -0,0 +1,154 @@
+package com.delivery.quickdeliver.util;
+
+import com.delivery.quickdeliver.util.ColumnarFormat.Encoding;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 열 포맷을 쓰고 다시 읽었을 때 모든 인코딩의 값과 null 위치가 그대로인지, 헤더 검증이 같은지 확인한다.
+ */
+class ColumnarFormatTest {
+
+    @Test
+    @DisplayName("모든 인코딩의 값과 null 이 행 순서대로 되돌아온다")
+    void roundTripsEveryEncoding() throws IOException {
+        ColumnarFormat.Table table = new ColumnarFormat.Table();
+        ColumnarFormat.Column text = table.column("address", Encoding.STRING);
+        ColumnarFormat.Column status = table.column("status", Encoding.DICTIONARY);
+        ColumnarFormat.Column requested = table.column("requestedTime", Encoding.TIMESTAMP);
+        ColumnarFormat.Column latitude = table.column("latitude", Encoding.COORDINATE);
+        ColumnarFormat.Column rating = table.column("rating", Encoding.LONG);
+        ColumnarFormat.Column distance = table.column("distance", Encoding.DOUBLE);
+
+        LocalDateTime base = LocalDateTime.of(2026, 3, 2, 9, 30, 15, 123_000_000);
+        text.addString("서울 강남구 테헤란로 1");
+        text.addString(null);
+        text.addString("");
+        text.addString("부산 해운대구");
+        status.addString("PENDING");
+        status.addString("DELIVERED");
+        status.addString(null);
+        status.addString("PENDING");
+        requested.addTimestamp(base);
+        requested.addTimestamp(null);
+        // 이전 값보다 이른 시각 (음수 차이), 1970년 이전 시각
+        requested.addTimestamp(base.minusHours(5));
+        requested.addTimestamp(LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000));
+        latitude.addCoordinate(37.497942);
+        latitude.addCoordinate(-33.868820);
+        latitude.addCoordinate(null);
+        latitude.addCoordinate(35.179554);
+        rating.addLong(5);
+        rating.addLong(null);
+        rating.addLong(Long.MIN_VALUE);
+        rating.addLong(-1L);
+        distance.addDouble(3.25);
+        distance.addDouble(-0.5);
+        distance.addDouble(Double.NaN);
+        distance.addDouble(null);
+
+        Map<String, Object[]> read = roundTrip(table);
+
+        assertThat(read).containsOnlyKeys("address", "status", "requestedTime", "latitude", "rating", "distance");
+        assertThat(read.get("address")).containsExactly("서울 강남구 테헤란로 1", null, "", "부산 해운대구");
+        assertThat(read.get("status")).containsExactly("PENDING", "DELIVERED", null, "PENDING");
+        assertThat(read.get("requestedTime")).containsExactly(base, null, base.minusHours(5),
+                LocalDateTime.of(1969, 12, 31, 23, 59, 59, 999_000_000));
+        assertThat(read.get("latitude")).containsExactly(37.497942, -33.868820, null, 35.179554);
+        assertThat(read.get("rating")).containsExactly(5L, null, Long.MIN_VALUE, -1L);
+        assertThat(read.get("distance")).containsExactly(3.25, -0.5, Double.NaN, null);
+    }
+
+    @Test
+    @DisplayName("모든 행이 null 인 열도 되돌아온다")
+    void roundTripsAllNullColumn() throws IOException {
+        ColumnarFormat.Table table = new ColumnarFormat.Table();
+        ColumnarFormat.Column status = table.column("status", Encoding.DICTIONARY);
+        for (int i = 0; i < 9; i++) {
+            status.addString(null);
+        }
+
+        assertThat(roundTrip(table).get("status")).hasSize(9).containsOnlyNulls();
+    }
+
+    @Test
+    @DisplayName("행이나 열이 없는 표도 쓰고 읽을 수 있다")
+    void roundTripsEmptyTable() throws IOException {
+        assertThat(roundTrip(new ColumnarFormat.Table())).isEmpty();
+
+        ColumnarFormat.Table noRows = new ColumnarFormat.Table();
+        noRows.column("address", Encoding.STRING);
+        noRows.column("requestedTime", Encoding.TIMESTAMP);
+        Map<String, Object[]> read = roundTrip(noRows);
+        assertThat(read).containsOnlyKeys("address", "requestedTime");
+        assertThat(read.get("address")).isEmpty();
+        assertThat(ColumnarFormat.readRowCount(new ByteArrayInputStream(write(noRows)))).isZero();
+    }
+
+    @Test
+    @DisplayName("행 수는 헤더만 읽어 돌려준다")
+    void readsRowCount() throws IOException {
+        ColumnarFormat.Table table = new ColumnarFormat.Table();
+        ColumnarFormat.Column rating = table.column("rating", Encoding.LONG);
+        rating.addLong(1);
+        rating.addLong(2);
+        rating.addLong(null);
+
+        assertThat(ColumnarFormat.readRowCount(new ByteArrayInputStream(write(table)))).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("행 수 읽기도 magic 과 버전을 검증한다")
+    void readRowCountValidatesHeader() throws IOException {
+        byte[] wrongMagic = header(0x12345678, ColumnarFormat.VERSION);
+        byte[] wrongVersion = header(ColumnarFormat.MAGIC, (short) (ColumnarFormat.VERSION + 1));
+
+        assertThatThrownBy(() -> ColumnarFormat.readRowCount(new ByteArrayInputStream(wrongMagic)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ColumnarFormat.readRowCount(new ByteArrayInputStream(wrongVersion)))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> ColumnarFormat.read(new ByteArrayInputStream(wrongVersion)))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    @DisplayName("열마다 행 수가 다르면 쓰지 않는다")
+    void rejectsRaggedColumns() {
+        ColumnarFormat.Table table = new ColumnarFormat.Table();
+        table.column("rating", Encoding.LONG).addLong(1);
+        table.column("distance", Encoding.DOUBLE);
+
+        assertThatThrownBy(() -> table.write(new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static Map<String, Object[]> roundTrip(ColumnarFormat.Table table) throws IOException {
+        return ColumnarFormat.read(new ByteArrayInputStream(write(table)));
+    }
+
+    private static byte[] write(ColumnarFormat.Table table) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        table.write(out);
+        return out.toByteArray();
+    }
+
+    private static byte[] header(int magic, short version) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(magic);
+        data.writeShort(version);
+        data.writeInt(0);
+        data.writeShort(0);
+        return out.toByteArray();
+    }
+}
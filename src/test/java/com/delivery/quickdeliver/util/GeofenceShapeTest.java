@@ -0,0 +1,114 @@
+package com.delivery.quickdeliver.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 원·다각형의 경계 거리, 넓힌 범위, 저장 형식 왕복을 확인한다.
+ */
+class GeofenceShapeTest {
+
+    private static final double LAT = 37.5;
+    private static final double LNG = 127.0;
+
+    /** 위도 1m (도) */
+    private static final double METER_LAT = 1 / (GeoUtils.KM_PER_DEGREE_LAT * 1000);
+
+    /** 이 위도에서 경도 1m (도) */
+    private static final double METER_LNG = 1 / (GeoUtils.kmPerDegreeLon(LAT) * 1000);
+
+    /** 한 변 200m 정사각형 (중심 LAT, LNG) */
+    private static final GeofenceShape.Polygon SQUARE = new GeofenceShape.Polygon(
+            new double[]{LAT - 100 * METER_LAT, LAT - 100 * METER_LAT, LAT + 100 * METER_LAT, LAT + 100 * METER_LAT},
+            new double[]{LNG - 100 * METER_LNG, LNG + 100 * METER_LNG, LNG + 100 * METER_LNG, LNG - 100 * METER_LNG});
+
+    @Test
+    @DisplayName("원은 안쪽이면 0, 바깥이면 경계까지 거리")
+    void circleDistance() {
+        GeofenceShape.Circle circle = new GeofenceShape.Circle(LAT, LNG, 50);
+
+        assertThat(circle.distanceMeters(LAT, LNG)).isZero();
+        assertThat(circle.distanceMeters(LAT + 30 * METER_LAT, LNG)).isZero();
+        assertThat(circle.distanceMeters(LAT + 150 * METER_LAT, LNG)).isCloseTo(100, within(1.0));
+        assertThatThrownBy(() -> new GeofenceShape.Circle(LAT, LNG, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("다각형은 안쪽이면 0, 바깥이면 가장 가까운 변까지 거리")
+    void polygonInsideAndOutside() {
+        assertThat(SQUARE.distanceMeters(LAT, LNG)).isZero();
+        assertThat(SQUARE.distanceMeters(LAT + 99 * METER_LAT, LNG + 99 * METER_LNG)).isZero();
+
+        // 북쪽 변에서 50m, 동쪽 변에서 30m
+        assertThat(SQUARE.distanceMeters(LAT + 150 * METER_LAT, LNG)).isCloseTo(50, within(0.5));
+        assertThat(SQUARE.distanceMeters(LAT, LNG + 130 * METER_LNG)).isCloseTo(30, within(0.5));
+        // 꼭짓점 바깥 대각선: 꼭짓점까지 거리
+        assertThat(SQUARE.distanceMeters(LAT + 130 * METER_LAT, LNG + 140 * METER_LNG))
+                .isCloseTo(50, within(0.5));
+    }
+
+    @Test
+    @DisplayName("다각형 경계와 꼭짓점 위 좌표는 거리 0 이다")
+    void polygonEdges() {
+        assertThat(SQUARE.distanceMeters(LAT + 100 * METER_LAT, LNG)).isCloseTo(0, within(1e-6));
+        assertThat(SQUARE.distanceMeters(LAT - 100 * METER_LAT, LNG - 100 * METER_LNG)).isCloseTo(0, within(1e-6));
+        // 꼭짓점과 같은 위도에서 반직선이 꼭짓점을 지나는 경우
+        assertThat(SQUARE.distanceMeters(LAT + 100 * METER_LAT, LNG - 300 * METER_LNG)).isCloseTo(200, within(0.5));
+    }
+
+    @Test
+    @DisplayName("오목한 다각형의 파인 부분은 바깥이다")
+    void concavePolygon() {
+        // ㄱ자: 남동쪽 100m x 100m 가 빠진 200m 정사각형
+        GeofenceShape.Polygon concave = new GeofenceShape.Polygon(
+                new double[]{LAT - 100 * METER_LAT, LAT - 100 * METER_LAT, LAT, LAT,
+                        LAT + 100 * METER_LAT, LAT + 100 * METER_LAT},
+                new double[]{LNG - 100 * METER_LNG, LNG, LNG, LNG + 100 * METER_LNG,
+                        LNG + 100 * METER_LNG, LNG - 100 * METER_LNG});
+
+        assertThat(concave.distanceMeters(LAT + 50 * METER_LAT, LNG + 50 * METER_LNG)).isZero();
+        assertThat(concave.distanceMeters(LAT - 50 * METER_LAT, LNG - 50 * METER_LNG)).isZero();
+        assertThat(concave.distanceMeters(LAT - 50 * METER_LAT, LNG + 50 * METER_LNG)).isCloseTo(50, within(0.5));
+    }
+
+    @Test
+    @DisplayName("넓힌 범위는 도형 범위에 여유 거리를 더한다")
+    void boundsAddMargin() {
+        GeofenceShape.Bounds bounds = SQUARE.bounds(100);
+
+        assertThat(bounds.maxLatitude()).isCloseTo(LAT + 200 * METER_LAT, within(1e-7));
+        assertThat(bounds.minLatitude()).isCloseTo(LAT - 200 * METER_LAT, within(1e-7));
+        // 경도 여유는 극에 가까운 꼭짓점 위도 기준이라 중심 위도 기준보다 조금 넓다
+        assertThat(bounds.maxLongitude()).isGreaterThanOrEqualTo(LNG + 200 * METER_LNG);
+        assertThat(bounds.minLongitude()).isLessThanOrEqualTo(LNG - 200 * METER_LNG);
+    }
+
+    @Test
+    @DisplayName("저장 형식으로 쓰고 다시 읽으면 같은 도형이다")
+    void parseFormatRoundTrip() {
+        GeofenceShape circle = new GeofenceShape.Circle(37.4979420, 127.0276210, 120.5);
+        GeofenceShape polygon = GeofenceShape.parse("polygon:37.5,127.0;37.5,127.01;37.51,127.01");
+
+        assertThat(GeofenceShape.parse(circle.format())).isEqualTo(circle);
+        assertThat(GeofenceShape.parse(polygon.format())).isEqualTo(polygon);
+        assertThat(polygon.format()).isEqualTo("polygon:37.5000000,127.0000000;37.5000000,127.0100000;"
+                + "37.5100000,127.0100000");
+    }
+
+    @Test
+    @DisplayName("형식이 틀리면 거부한다")
+    void rejectsMalformedText() {
+        assertThatThrownBy(() -> GeofenceShape.parse("37.5,127.0,50")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeofenceShape.parse("circle:37.5,127.0")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeofenceShape.parse("polygon:37.5,127.0;37.6,127.1"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeofenceShape.parse("polygon:37.5,127.0;37.6;37.7,127.2"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> GeofenceShape.parse("square:37.5,127.0")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
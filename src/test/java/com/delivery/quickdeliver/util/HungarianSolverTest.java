@@ -0,0 +1,151 @@
+package com.delivery.quickdeliver.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 헝가리안 할당 결과를 작은 행렬의 전수 탐색 최적값과 비교한다.
+ */
+class HungarianSolverTest {
+
+    /** BatchDispatchService 의 배정 불가 비용과 같은 값 */
+    private static final double INFEASIBLE = 1e9;
+
+    @Test
+    @DisplayName("정방 행렬에서 총 비용이 최소인 배정을 찾는다")
+    void solvesSquareMatrix() {
+        double[][] cost = {
+                {4, 1, 3},
+                {2, 0, 5},
+                {3, 2, 2}
+        };
+
+        int[] assignment = HungarianSolver.solve(cost);
+
+        assertThat(assignment).containsExactly(1, 0, 2);
+        assertThat(total(cost, assignment)).isEqualTo(5.0);
+    }
+
+    @Test
+    @DisplayName("열이 더 많으면 모든 행이 서로 다른 열을 받는다")
+    void solvesWideMatrix() {
+        double[][] cost = {
+                {9, 2, 7, 8},
+                {6, 4, 3, 7}
+        };
+
+        int[] assignment = HungarianSolver.solve(cost);
+
+        assertThat(assignment).containsExactly(1, 2);
+        assertThat(total(cost, assignment)).isEqualTo(bruteForceMinimum(cost));
+    }
+
+    @Test
+    @DisplayName("행이 더 많으면 남는 행은 -1 이고 나머지는 최소 비용으로 배정된다")
+    void solvesTallMatrix() {
+        double[][] cost = {
+                {5, 9},
+                {1, 8},
+                {7, 2}
+        };
+
+        int[] assignment = HungarianSolver.solve(cost);
+
+        assertThat(assignment).containsExactly(-1, 0, 1);
+        assertThat(total(cost, assignment)).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("비용이 모두 같아도 열을 중복 없이 배정한다")
+    void handlesTies() {
+        double[][] cost = new double[4][4];
+        for (double[] row : cost) Arrays.fill(row, 1.0);
+
+        int[] assignment = HungarianSolver.solve(cost);
+
+        assertThat(assignment).doesNotContain(-1);
+        assertThat(Arrays.stream(assignment).distinct().count()).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("배정 불가 비용은 다른 배정이 있으면 피하고, 없으면 그 행만 불가 칸에 남는다")
+    void avoidsInfeasibleCells() {
+        double[][] cost = {
+                {INFEASIBLE, 3.0, INFEASIBLE},
+                {1.0, 2.0, INFEASIBLE},
+                {INFEASIBLE, INFEASIBLE, INFEASIBLE}
+        };
+
+        int[] assignment = HungarianSolver.solve(cost);
+
+        assertThat(assignment[0]).isEqualTo(1);
+        assertThat(assignment[1]).isEqualTo(0);
+        // 가능한 열이 없는 행은 남은 열을 받지만 비용으로 걸러낼 수 있다
+        assertThat(cost[2][assignment[2]]).isGreaterThanOrEqualTo(INFEASIBLE);
+    }
+
+    @Test
+    @DisplayName("음수 비용(긴급도 보너스)이 섞인 무작위 행렬도 전수 탐색 최적값과 같다")
+    void matchesBruteForceOnRandomMatrices() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int rows = 1 + random.nextInt(5);
+            int cols = 1 + random.nextInt(5);
+            double[][] cost = new double[rows][cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    cost[i][j] = random.nextInt(10) == 0 ? INFEASIBLE : random.nextInt(20) - 4;
+                }
+            }
+
+            int[] assignment = HungarianSolver.solve(cost);
+
+            assertThat(Arrays.stream(assignment).filter(j -> j >= 0).count())
+                    .isEqualTo(Math.min(rows, cols));
+            assertThat(Arrays.stream(assignment).filter(j -> j >= 0).distinct().count())
+                    .isEqualTo(Math.min(rows, cols));
+            assertThat(total(cost, assignment)).isEqualTo(bruteForceMinimum(cost));
+        }
+    }
+
+    @Test
+    @DisplayName("빈 행렬과 열이 없는 행렬")
+    void handlesEmptyInput() {
+        assertThat(HungarianSolver.solve(new double[0][0])).isEmpty();
+        assertThat(HungarianSolver.solve(new double[2][0])).containsExactly(-1, -1);
+    }
+
+    private static double total(double[][] cost, int[] assignment) {
+        double sum = 0;
+        for (int i = 0; i < assignment.length; i++) {
+            if (assignment[i] >= 0) sum += cost[i][assignment[i]];
+        }
+        return sum;
+    }
+
+    /** 행과 열 중 작은 쪽을 모두 짝짓는 배정 가운데 최소 비용 */
+    private static double bruteForceMinimum(double[][] cost) {
+        int rows = cost.length;
+        int cols = cost[0].length;
+        return search(cost, 0, new boolean[cols], Math.min(rows, cols), 0);
+    }
+
+    private static double search(double[][] cost, int row, boolean[] usedCols, int remaining, double sum) {
+        if (remaining == 0) return sum;
+        if (cost.length - row < remaining) return Double.POSITIVE_INFINITY;
+        // 이 행을 비워 두는 경우 (행이 열보다 많을 때만 의미가 있다)
+        double best = search(cost, row + 1, usedCols, remaining, sum);
+        for (int j = 0; j < usedCols.length; j++) {
+            if (usedCols[j]) continue;
+            usedCols[j] = true;
+            best = Math.min(best, search(cost, row + 1, usedCols, remaining - 1, sum + cost[row][j]));
+            usedCols[j] = false;
+        }
+        return best;
+    }
+}
@@ -0,0 +1,87 @@
+package com.delivery.quickdeliver.util;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * bigram 색인의 정규화, 부분 일치, 필드 경계, 결과 순서를 확인한다.
+ */
+class NgramIndexTest {
+
+    private NgramIndex<String> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NgramIndex<>();
+        index.put("DEL-A", "A", "DEL-A1B2C3D4", "서울 강남구 테헤란로 152", "010-1234-5678");
+        index.put("DEL-B", "B", "DEL-B9F8E7D6", "서울 서초구 서초대로 77", "02-555-0101");
+        index.put("DEL-C", "C", "DEL-C0C0C0C0", "경기 성남시 분당구 판교역로 235", "010-1234-9999");
+    }
+
+    @Test
+    @DisplayName("공백·하이픈·대소문자를 무시하고 정규화한다")
+    void normalizesText() {
+        assertThat(NgramIndex.normalize(" 010-1234 5678 ")).isEqualTo("01012345678");
+        assertThat(NgramIndex.normalize("DEL-A1B2")).isEqualTo("dela1b2");
+        assertThat(NgramIndex.normalize(null)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("하이픈 없는 연락처로 하이픈 저장 연락처를 찾는다")
+    void findsPhoneWithoutHyphens() {
+        assertThat(index.search(NgramIndex.normalize("01012345678"), 10)).containsExactly("A");
+        assertThat(index.search(NgramIndex.normalize("010-1234"), 10)).containsExactly("C", "A");
+    }
+
+    @Test
+    @DisplayName("주소 일부는 띄어쓰기와 무관하게 찾는다")
+    void findsAddressFragment() {
+        assertThat(index.search(NgramIndex.normalize("강남구테헤란"), 10)).containsExactly("A");
+        assertThat(index.search(NgramIndex.normalize("서초 대로"), 10)).containsExactly("B");
+    }
+
+    @Test
+    @DisplayName("모든 조각이 있어도 연속된 부분 문자열이 아니면 제외한다")
+    void requiresContiguousMatch() {
+        // "강남" 과 "판교" 조각은 있지만 이어진 문자열은 없다
+        assertThat(index.search(NgramIndex.normalize("강남판교"), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("필드 경계를 넘는 일치는 찾지 않는다")
+    void doesNotMatchAcrossFields() {
+        // 주소 끝 "152" 와 연락처 앞 "010" 이 이어 붙지 않는다
+        assertThat(index.search(NgramIndex.normalize("152010"), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("최근에 추가한 문서부터 limit 건까지 돌려준다")
+    void returnsMostRecentFirstUpToLimit() {
+        assertThat(index.search("del", 10)).containsExactly("C", "B", "A");
+        assertThat(index.search("del", 2)).containsExactly("C", "B");
+        assertThat(index.search("del", 0)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("두 글자보다 짧거나 없는 조각이 있는 검색어는 빈 결과")
+    void returnsEmptyForShortOrUnknownQuery() {
+        assertThat(index.search("d", 10)).isEmpty();
+        assertThat(index.search("zz", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("같은 key 로 다시 넣거나 update 하면 값만 바뀌고 검색 텍스트는 그대로다")
+    void replacesValueButKeepsText() {
+        index.put("DEL-A", "A2", "부산 해운대구");
+        assertThat(index.update("DEL-B", "B2")).isTrue();
+        assertThat(index.update("DEL-Z", "Z")).isFalse();
+
+        assertThat(index.search(NgramIndex.normalize("테헤란로"), 10)).containsExactly("A2");
+        assertThat(index.search(NgramIndex.normalize("해운대"), 10)).isEmpty();
+        assertThat(index.search(NgramIndex.normalize("서초대로"), 10)).containsExactly("B2");
+        assertThat(index.size()).isEqualTo(3);
+    }
+}
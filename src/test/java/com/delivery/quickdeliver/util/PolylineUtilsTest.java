@@ -0,0 +1,57 @@
+package com.delivery.quickdeliver.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * encoded polyline 왕복과 Douglas-Peucker 단순화를 확인한다.
+ */
+class PolylineUtilsTest {
+
+    /** 위도 1m (도) */
+    private static final double METER_LAT = 1 / (GeoUtils.KM_PER_DEGREE_LAT * 1000);
+
+    @Test
+    @DisplayName("Google 예제 좌표를 알려진 문자열로 인코딩하고 다시 읽는다")
+    void encodesKnownExample() {
+        double[] path = {38.5, -120.2, 40.7, -120.95, 43.252, -126.453};
+
+        String encoded = PolylineUtils.encode(path);
+
+        assertThat(encoded).isEqualTo("_p~iF~ps|U_ulLnnqC_mqNvxq`@");
+        assertThat(PolylineUtils.decode(encoded)).containsExactly(path);
+    }
+
+    @Test
+    @DisplayName("인코딩 후 디코딩하면 소수점 5자리 안에서 같은 좌표다")
+    void roundTripsWithinPrecision() {
+        double[] path = {37.4979420, 127.0276210, 37.4985113, 127.0281377, 37.5001234, 127.0199999,
+                37.5001234, 127.0199999, 35.1795543, 129.0756416};
+
+        double[] decoded = PolylineUtils.decode(PolylineUtils.encode(path));
+
+        assertThat(decoded).containsExactly(path, within(0.5e-5));
+        assertThat(PolylineUtils.decode("")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("허용 오차 안의 중간 좌표는 버리고 시작·끝과 꺾인 점은 남긴다")
+    void simplifiesWithinTolerance() {
+        double lng = 127.0;
+        double[] path = {
+                37.5, lng,
+                37.5 + 100 * METER_LAT, lng + 0.000001,
+                37.5 + 200 * METER_LAT, lng,
+                37.5 + 200 * METER_LAT, lng + 0.01,
+                37.5 + 300 * METER_LAT, lng + 0.01};
+
+        double[] simplified = PolylineUtils.simplify(path, 5);
+
+        assertThat(PolylineUtils.pointCount(simplified)).isEqualTo(4);
+        assertThat(simplified).startsWith(37.5, lng).endsWith(37.5 + 300 * METER_LAT, lng + 0.01);
+        assertThat(PolylineUtils.simplify(path, 0)).isSameAs(path);
+    }
+}
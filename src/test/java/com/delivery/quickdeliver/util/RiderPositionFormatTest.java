@@ -0,0 +1,146 @@
+package com.delivery.quickdeliver.util;
+
+import com.delivery.quickdeliver.domain.enums.RiderStatus;
+import com.delivery.quickdeliver.domain.enums.VehicleType;
+import com.delivery.quickdeliver.util.RiderPositionFormat.Frame;
+import com.delivery.quickdeliver.util.RiderPositionFormat.Position;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * 인코더로 만든 프레임을 같은 순서로 디코딩했을 때 여러 프레임에 걸쳐 위치·사전·상태가 그대로인지 확인한다.
+ */
+class RiderPositionFormatTest {
+
+    /** 1e-5도 고정소수점 */
+    private static final double PRECISION = 1e-5;
+
+    private RiderPositionFormat.Encoder encoder;
+    private RiderPositionFormat.Decoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        encoder = new RiderPositionFormat.Encoder();
+        decoder = new RiderPositionFormat.Decoder();
+    }
+
+    @Test
+    @DisplayName("여러 프레임의 delta 좌표와 상태 변경이 누적 오차 없이 되돌아온다")
+    void roundTripsAcrossFrames() {
+        Position first = position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.MOTORCYCLE, 37.497942, 127.027621);
+        // 남서쪽으로 이동 (음수 차이), 상태 변경
+        Position moved = position("R-1", "김라이더", RiderStatus.BUSY, VehicleType.MOTORCYCLE, 37.490011, 127.019902);
+        // 상태 그대로, 큰 음수 차이
+        Position far = position("R-1", "김라이더", RiderStatus.BUSY, VehicleType.MOTORCYCLE, 35.179554, 126.000001);
+
+        Frame decoded1 = roundTrip(List.of(first), 1_000L);
+        Frame decoded2 = roundTrip(List.of(moved), 1_500L);
+        Frame decoded3 = roundTrip(List.of(far), 2_000L);
+
+        assertThat(decoded1.timestamp()).isEqualTo(1_000L);
+        assertThat(decoded3.timestamp()).isEqualTo(2_000L);
+        assertPosition(decoded1.positions().get(0), first);
+        assertPosition(decoded2.positions().get(0), moved);
+        assertPosition(decoded3.positions().get(0), far);
+    }
+
+    @Test
+    @DisplayName("스트림 중간에 나타난 라이더는 사전 항목과 절대 좌표로 받는다")
+    void addsRidersMidStream() {
+        Position r1 = position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE, 37.5, 127.0);
+        roundTrip(List.of(r1), 1_000L);
+
+        Position r1Moved = position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE, 37.50010, 127.00020);
+        Position r2 = position("R-2", "이라이더", RiderStatus.BUSY, VehicleType.CAR, -33.868820, 151.209296);
+        Frame decoded = roundTrip(List.of(r1Moved, r2), 1_500L);
+
+        assertThat(decoded.positions()).hasSize(2);
+        assertPosition(decoded.positions().get(0), r1Moved);
+        assertPosition(decoded.positions().get(1), r2);
+
+        // 이후 프레임에서 두 라이더 모두 delta 로 이어진다
+        Position r2Moved = position("R-2", "이라이더", RiderStatus.BUSY, VehicleType.CAR, -33.869001, 151.208000);
+        assertPosition(roundTrip(List.of(r2Moved), 2_000L).positions().get(0), r2Moved);
+    }
+
+    @Test
+    @DisplayName("설명은 넣은 프레임에만 실리고 이름·차종을 바꾸면 사전 항목을 다시 보낸다")
+    void carriesDescriptionAndRedefinitions() {
+        Position withDescription = new Position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE,
+                37.5, 127.0, "강남역 경유");
+        Frame decoded = roundTrip(List.of(withDescription), 1_000L);
+        assertThat(decoded.positions().get(0).description()).isEqualTo("강남역 경유");
+
+        Position withoutDescription = position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE,
+                37.5001, 127.0001);
+        assertThat(roundTrip(List.of(withoutDescription), 1_500L).positions().get(0).description()).isNull();
+
+        Position renamed = position("R-1", "김배달", RiderStatus.AVAILABLE, VehicleType.TRUCK, 37.5002, 127.0002);
+        assertPosition(roundTrip(List.of(renamed), 2_000L).positions().get(0), renamed);
+
+        // 이름이 없어지는 경우도 사전을 다시 보낸다
+        Position unnamed = position("R-1", null, RiderStatus.AVAILABLE, null, 37.5003, 127.0003);
+        assertPosition(roundTrip(List.of(unnamed), 2_500L).positions().get(0), unnamed);
+    }
+
+    @Test
+    @DisplayName("reset 뒤 프레임은 사전과 절대 좌표를 처음부터 다시 보내 디코더 상태를 덮는다")
+    void resetsAfterSnapshot() {
+        roundTrip(List.of(
+                position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE, 37.5, 127.0),
+                position("R-2", "이라이더", RiderStatus.BUSY, VehicleType.CAR, 37.6, 127.1)), 1_000L);
+
+        // 영역 스냅샷 (RiderLocationBroadcaster#sendViewportSnapshot): R-2 만 남고 index 가 0부터 다시 매겨진다
+        encoder.reset();
+        Position r2 = position("R-2", "이라이더", RiderStatus.BUSY, VehicleType.CAR, 37.6001, 127.1001);
+        Frame snapshot = roundTrip(List.of(r2), 2_000L);
+        assertPosition(snapshot.positions().get(0), r2);
+
+        Position r1 = position("R-1", "김라이더", RiderStatus.RETURNING, VehicleType.BIKE, 37.4, 126.9);
+        Position r2Moved = position("R-2", "이라이더", RiderStatus.BUSY, VehicleType.CAR, 37.6002, 127.0999);
+        Frame next = roundTrip(List.of(r2Moved, r1), 2_500L);
+        assertPosition(next.positions().get(0), r2Moved);
+        assertPosition(next.positions().get(1), r1);
+    }
+
+    @Test
+    @DisplayName("reset 이 빠진 디코더는 사전에 없는 index 를 거부한다")
+    void rejectsUnknownIndex() {
+        byte[] frame = encoder.encode(List.of(position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE,
+                37.5, 127.0)), 1_000L);
+        encoder.encode(List.of(position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE,
+                37.5001, 127.0)), 1_500L);
+        byte[] deltaOnly = encoder.encode(List.of(position("R-1", "김라이더", RiderStatus.AVAILABLE, VehicleType.BIKE,
+                37.5002, 127.0)), 2_000L);
+
+        assertThat(decoder.decode(frame).positions()).hasSize(1);
+        assertThatThrownBy(() -> new RiderPositionFormat.Decoder().decode(deltaOnly))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Frame roundTrip(List<Position> positions, long timestamp) {
+        return decoder.decode(encoder.encode(positions, timestamp));
+    }
+
+    private static Position position(String riderId, String name, RiderStatus status, VehicleType vehicleType,
+                                     double latitude, double longitude) {
+        return new Position(riderId, name, status, vehicleType, latitude, longitude, null);
+    }
+
+    private static void assertPosition(Position actual, Position expected) {
+        assertThat(actual.riderId()).isEqualTo(expected.riderId());
+        assertThat(actual.name()).isEqualTo(expected.name());
+        assertThat(actual.status()).isEqualTo(expected.status());
+        assertThat(actual.vehicleType()).isEqualTo(expected.vehicleType());
+        assertThat(actual.latitude()).isCloseTo(expected.latitude(), within(PRECISION));
+        assertThat(actual.longitude()).isCloseTo(expected.longitude(), within(PRECISION));
+        assertThat(actual.description()).isEqualTo(expected.description());
+    }
+}